@@ -0,0 +1,87 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.AbsenceReportDto;
+import com.company.amsbackend.api.dto.EmployeeSummaryResponse;
+import com.company.amsbackend.benchmark.RepositoryStubs;
+import com.company.amsbackend.benchmark.SyntheticDataset;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.repository.AgendaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HR dashboard summary grouping and monthly absence computation over the current month.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeSummaryBenchmark {
+
+    @Param({"100", "1000"})
+    public int employees;
+
+    @Param({"2"})
+    public int sessionsPerDay;
+
+    private EmployeeServiceImpl employeeService;
+    private AttendanceServiceImpl attendanceService;
+    private List<Employee> employeeList;
+    private YearMonth currentMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        currentMonth = YearMonth.from(today);
+        SyntheticDataset dataset = SyntheticDataset.generate(employees, currentMonth, today.getDayOfMonth(),
+                sessionsPerDay, 2);
+        employeeService = new EmployeeServiceImpl(
+                RepositoryStubs.employeeRepository(dataset),
+                RepositoryStubs.attendanceRepository(dataset),
+                null,
+                null);
+        AgendaRepository agendaRepository = RepositoryStubs.agendaRepository(dataset);
+        AgendaServiceImpl agendaService = new AgendaServiceImpl(agendaRepository, null, RepositoryStubs.uncachedAgendas(), 0);
+        // Buckets stay disabled and the archive is empty, so reads go straight to the attendance stub
+        attendanceService = new AttendanceServiceImpl(
+                RepositoryStubs.attendanceRepository(dataset),
+                RepositoryStubs.employeeRepository(dataset),
+                agendaService,
+                new AttendanceBucketServiceImpl(
+                        RepositoryStubs.attendanceRepository(dataset),
+                        RepositoryStubs.employeeRepository(dataset),
+                        null,
+                        agendaService,
+                        null),
+                RepositoryStubs.emptyArchive(),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null);
+        employeeList = dataset.getEmployees();
+    }
+
+    @Benchmark
+    public List<EmployeeSummaryResponse> summaryGrouping() {
+        return employeeService.getAllEmployeesWithSummary();
+    }
+
+    @Benchmark
+    public void absenceComputation(Blackhole bh) {
+        for (Employee employee : employeeList) {
+            AbsenceReportDto report = attendanceService.getMonthlyAbsenceReport(
+                    employee.getEmployeeId(), currentMonth.getYear(), currentMonth.getMonthValue());
+            bh.consume(report);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.AgendaWithStatusDto;
+import com.company.amsbackend.benchmark.RepositoryStubs;
+import com.company.amsbackend.benchmark.SyntheticDataset;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.repository.AgendaRepository;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Timesheet generation for a single employee-month, split into the parts we keep arguing about.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportGenerationBenchmark {
+
+    @Param({"31"})
+    public int days;
+
+    @Param({"1", "3", "6"})
+    public int sessionsPerDay;
+
+    @Param({"3"})
+    public int agendasPerSession;
+
+    private final YearMonth yearMonth = YearMonth.of(2025, 1);
+
+    private AgendaServiceImpl agendaService;
+    private ReportServiceImpl reportService;
+    private Employee employee;
+    private List<Attendance> attendances;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticDataset dataset = SyntheticDataset.generate(1, yearMonth, days, sessionsPerDay, agendasPerSession);
+        AgendaRepository agendaRepository = RepositoryStubs.agendaRepository(dataset);
+        agendaService = new AgendaServiceImpl(agendaRepository, null, RepositoryStubs.uncachedAgendas(), 0);
+        reportService = new ReportServiceImpl(null, null, agendaService, null, null, null, null);
+        employee = dataset.getEmployees().get(0);
+        attendances = dataset.getAttendances();
+    }
+
+    @Benchmark
+    public byte[] timesheet() throws IOException {
+        Map<LocalDate, List<Attendance>> byDate = attendances.stream()
+                .collect(Collectors.groupingBy(a -> a.getCheckInTime().toLocalDate()));
+        Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(attendances);
+        return reportService.generateExcelReport(employee, yearMonth, byDate, agendasByAttendance,
+                yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    @Benchmark
+    public void agendaFormatting(Blackhole bh) {
+        Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(attendances);
+        for (Attendance attendance : attendances) {
+            List<AgendaWithStatusDto> agendas = reportService.formatAgendas(agendasByAttendance, attendance);
+            bh.consume(reportService.formatAgendasForExcel(agendas, false));
+            bh.consume(reportService.formatAgendasForExcel(agendas, true));
+        }
+    }
+
+    @Benchmark
+    public Sheet sheetWithoutBorders() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            return fillSheet(workbook);
+        }
+    }
+
+    @Benchmark
+    public Sheet sheetWithBorders() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = fillSheet(workbook);
+            reportService.addTableBorders(sheet, 0, sheet.getLastRowNum(), 0, 9);
+            return sheet;
+        }
+    }
+
+    private Sheet fillSheet(Workbook workbook) {
+        Sheet sheet = workbook.createSheet("Monthly Timesheet");
+        CellStyle style = workbook.createCellStyle();
+        style.setBorderTop(BorderStyle.THIN);
+        int rows = Math.max(days, attendances.size()) + 10;
+        for (int r = 0; r < rows; r++) {
+            Row row = sheet.createRow(r);
+            for (int c = 0; c < 10; c++) {
+                Cell cell = row.createCell(c);
+                cell.setCellValue("r" + r + "c" + c);
+                cell.setCellStyle(style);
+            }
+        }
+        return sheet;
+    }
+}
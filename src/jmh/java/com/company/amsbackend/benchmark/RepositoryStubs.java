@@ -0,0 +1,97 @@
+package com.company.amsbackend.benchmark;
+
+import com.company.amsbackend.application.service.AttendanceArchiveService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.cache.AgendaCache;
+import com.company.amsbackend.infrastructure.repository.AgendaRepository;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory repository stand-ins backed by a {@link SyntheticDataset}.
+ * Only the query methods exercised by the benchmarked code paths are answered.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    public static AgendaRepository agendaRepository(SyntheticDataset dataset) {
+        Map<String, Agenda> agendas = dataset.getAgendas();
+        return stub(AgendaRepository.class, (name, args) -> switch (name) {
+            case "findAllById" -> {
+                List<Agenda> result = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    Agenda agenda = agendas.get((String) id);
+                    if (agenda != null) {
+                        result.add(agenda);
+                    }
+                }
+                yield result;
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    // No entries kept and no batching window; the benchmarked datasets only hold legacy agendas, which bypass it
+    public static AgendaCache uncachedAgendas() {
+        return new AgendaCache(null, new SimpleMeterRegistry(), 0, 0, 0);
+    }
+
+    public static AttendanceRepository attendanceRepository(SyntheticDataset dataset) {
+        List<Attendance> attendances = dataset.getAttendances();
+        return stub(AttendanceRepository.class, (name, args) -> switch (name) {
+            case "findByEmployeeIdAndCheckInTimeBetween", "findReportingByEmployeeIdAndCheckInTimeBetween" -> attendances.stream()
+                    .filter(a -> a.getEmployeeId().equals(args[0]))
+                    .filter(a -> between(a.getCheckInTime(), (LocalDateTime) args[1], (LocalDateTime) args[2]))
+                    .toList();
+            case "findAttendanceSummaryBetween", "findByCheckInTimeBetween" -> attendances.stream()
+                    .filter(a -> between(a.getCheckInTime(), (LocalDateTime) args[0], (LocalDateTime) args[1]))
+                    .toList();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    public static AttendanceArchiveService emptyArchive() {
+        return stub(AttendanceArchiveService.class, (name, args) -> switch (name) {
+            case "findAttendances" -> new ArrayList<Attendance>();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    public static EmployeeRepository employeeRepository(SyntheticDataset dataset) {
+        Map<String, Employee> byEmployeeId = new HashMap<>();
+        dataset.getEmployees().forEach(e -> byEmployeeId.put(e.getEmployeeId(), e));
+        return stub(EmployeeRepository.class, (name, args) -> switch (name) {
+            case "findAll" -> new ArrayList<>(dataset.getEmployees());
+            case "findByEmployeeId" -> Optional.ofNullable(byEmployeeId.get((String) args[0]));
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private static boolean between(LocalDateTime value, LocalDateTime from, LocalDateTime to) {
+        return value != null && !value.isBefore(from) && !value.isAfter(to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, BiFunction<String, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            return handler.apply(method.getName(), args == null ? new Object[0] : args);
+        });
+    }
+}
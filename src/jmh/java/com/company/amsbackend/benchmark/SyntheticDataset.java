@@ -0,0 +1,93 @@
+package com.company.amsbackend.benchmark;
+
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Deterministic employees x days x sessions dataset used by the benchmarks.
+ * Every session is a completed one with its own agendas.
+ */
+public final class SyntheticDataset {
+
+    private final List<Employee> employees = new ArrayList<>();
+    private final List<Attendance> attendances = new ArrayList<>();
+    private final Map<String, Agenda> agendas = new HashMap<>();
+
+    private SyntheticDataset() {
+    }
+
+    public static SyntheticDataset generate(int employeeCount, YearMonth yearMonth, int days,
+                                            int sessionsPerDay, int agendasPerSession) {
+        SyntheticDataset dataset = new SyntheticDataset();
+        Random random = new Random(42);
+        int daysInMonth = Math.min(days, yearMonth.lengthOfMonth());
+        long attendanceSeq = 0;
+        long agendaSeq = 0;
+
+        for (int e = 0; e < employeeCount; e++) {
+            String employeeId = String.format("EMP-%04d", e + 1);
+            dataset.employees.add(Employee.builder()
+                    .id("emp-" + e)
+                    .employeeId(employeeId)
+                    .name("Employee " + (e + 1))
+                    .email("employee" + (e + 1) + "@example.com")
+                    .contact("9000000000")
+                    .role(EmployeeRole.EMPLOYEE)
+                    .address("Somewhere")
+                    .active(true)
+                    .build());
+
+            for (int d = 1; d <= daysInMonth; d++) {
+                LocalDate date = yearMonth.atDay(d);
+                LocalDateTime cursor = date.atTime(9, random.nextInt(30));
+                for (int s = 0; s < sessionsPerDay; s++) {
+                    List<String> agendaIds = new ArrayList<>(agendasPerSession);
+                    for (int a = 0; a < agendasPerSession; a++) {
+                        String agendaId = "agenda-" + (agendaSeq++);
+                        dataset.agendas.put(agendaId, Agenda.builder()
+                                .id(agendaId)
+                                .title("Task " + random.nextInt(500) + " for sprint work")
+                                .complete(random.nextBoolean())
+                                .build());
+                        agendaIds.add(agendaId);
+                    }
+                    long minutes = 60 + random.nextInt(180);
+                    LocalDateTime checkOut = cursor.plusMinutes(minutes);
+                    dataset.attendances.add(Attendance.builder()
+                            .id("att-" + (attendanceSeq++))
+                            .employeeId(employeeId)
+                            .checkInTime(cursor)
+                            .checkOutTime(checkOut)
+                            .minutesWorked(minutes)
+                            .agendaIds(agendaIds)
+                            .remark("Worked on assigned tasks")
+                            .referenceLink("https://example.com/ref/" + attendanceSeq)
+                            .checkInLocation("Office")
+                            .activeSession(false)
+                            .build());
+                    cursor = checkOut.plusMinutes(15);
+                }
+            }
+        }
+        return dataset;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public List<Attendance> getAttendances() {
+        return attendances;
+    }
+
+    public Map<String, Agenda> getAgendas() {
+        return agendas;
+    }
+}
@@ -0,0 +1,136 @@
+package com.company.amsbackend.infrastructure.mongo.converter;
+
+import com.company.amsbackend.benchmark.SyntheticDataset;
+import com.company.amsbackend.config.MongoConfig;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Document-to-entity decoding through MappingMongoConverter, with and without the hand-written converters.
+ * Documents are produced by the reflective converter, so they look like what is already in the database.
+ * Run with the default {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityDecodeBenchmark {
+
+    private static final Set<String> SUMMARY_FIELDS =
+            Set.of("_id", "employeeId", "checkInTime", "checkOutTime", "minutesWorked", "activeSession");
+
+    @Param({"100"})
+    public int employees;
+
+    private MappingMongoConverter reflective;
+    private MappingMongoConverter handWritten;
+
+    private List<Document> attendanceDocuments;
+    private List<Document> summaryDocuments;
+    private List<Document> employeeDocuments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticDataset dataset = SyntheticDataset.generate(employees, YearMonth.of(2025, 1), 22, 2, 3);
+        reflective = converter(new MongoCustomConversions(List.of()));
+        handWritten = converter(new MongoConfig().mongoCustomConversions());
+
+        attendanceDocuments = new ArrayList<>();
+        summaryDocuments = new ArrayList<>();
+        for (Attendance attendance : dataset.getAttendances()) {
+            Document document = new Document();
+            reflective.write(attendance, document);
+            attendanceDocuments.add(document);
+
+            Document summary = new Document();
+            document.forEach((key, value) -> {
+                if (SUMMARY_FIELDS.contains(key)) {
+                    summary.put(key, value);
+                }
+            });
+            summaryDocuments.add(summary);
+        }
+        employeeDocuments = new ArrayList<>();
+        for (Employee employee : dataset.getEmployees()) {
+            Document document = new Document();
+            reflective.write(employee, document);
+            employeeDocuments.add(document);
+        }
+
+        // Both paths must agree before their speed is worth comparing
+        for (Document document : attendanceDocuments) {
+            Attendance expected = reflective.read(Attendance.class, document);
+            Attendance actual = handWritten.read(Attendance.class, document);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Converter mismatch: " + expected + " vs " + actual);
+            }
+        }
+    }
+
+    @Benchmark
+    public void attendanceReflective(Blackhole blackhole) {
+        for (Document document : attendanceDocuments) {
+            blackhole.consume(reflective.read(Attendance.class, document));
+        }
+    }
+
+    @Benchmark
+    public void attendanceHandWritten(Blackhole blackhole) {
+        for (Document document : attendanceDocuments) {
+            blackhole.consume(handWritten.read(Attendance.class, document));
+        }
+    }
+
+    @Benchmark
+    public void summaryProjectionReflective(Blackhole blackhole) {
+        for (Document document : summaryDocuments) {
+            blackhole.consume(reflective.read(Attendance.class, document));
+        }
+    }
+
+    @Benchmark
+    public void summaryProjectionHandWritten(Blackhole blackhole) {
+        for (Document document : summaryDocuments) {
+            blackhole.consume(handWritten.read(Attendance.class, document));
+        }
+    }
+
+    @Benchmark
+    public void employeeReflective(Blackhole blackhole) {
+        for (Document document : employeeDocuments) {
+            blackhole.consume(reflective.read(Employee.class, document));
+        }
+    }
+
+    @Benchmark
+    public void employeeHandWritten(Blackhole blackhole) {
+        for (Document document : employeeDocuments) {
+            blackhole.consume(handWritten.read(Employee.class, document));
+        }
+    }
+
+    private static MappingMongoConverter converter(MongoCustomConversions conversions) {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.amsbackend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds) and error counter for one endpoint. Arrivals skipped for want of an
+ * idle employee never reach the endpoint; they count as requests and as errors, with no latency.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess(long elapsedNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), latencies.getHighestTrackableValue()));
+    }
+
+    void recordError(long elapsedNanos) {
+        errors.increment();
+        recordSuccess(elapsedNanos);
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    void printSummary(PrintStream out) {
+        long notSent = skipped.sum();
+        long total = latencies.getTotalCount() + notSent;
+        long failed = errors.sum() + notSent;
+        out.printf("%-22s %8d %8d %8d %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, total, failed, notSent, total == 0 ? 0.0 : failed * 100.0 / total,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    void writeDistribution(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(name.replaceAll("[^a-zA-Z0-9]+", "_") + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
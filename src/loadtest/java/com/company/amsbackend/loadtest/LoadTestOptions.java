@@ -0,0 +1,40 @@
+package com.company.amsbackend.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as --key=value pairs.
+ */
+record LoadTestOptions(
+        int employees,
+        double rate,
+        int durationSeconds,
+        int rampSeconds,
+        int concurrency,
+        long thinkTimeMs,
+        String mongoUri,
+        String histogramDir
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("employees", "500")),
+                Double.parseDouble(values.getOrDefault("rate", "50")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Integer.parseInt(values.getOrDefault("ramp", "10")),
+                Integer.parseInt(values.getOrDefault("concurrency", "200")),
+                Long.parseLong(values.getOrDefault("think-time-ms", "200")),
+                values.get("mongo-uri"),
+                values.get("histogram-dir")
+        );
+    }
+}
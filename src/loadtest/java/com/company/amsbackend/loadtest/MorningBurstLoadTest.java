@@ -0,0 +1,264 @@
+package com.company.amsbackend.loadtest;
+
+import com.company.amsbackend.AMSBackEndApplication;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a morning burst of login -> check-in -> active session -> check-out flows against a locally
+ * started application and prints a per-endpoint latency and error-rate report.
+ * <p>
+ * Arrivals follow an open model: new flows start at the configured rate (ramped up linearly over
+ * {@code --ramp} seconds) regardless of how fast earlier flows complete. Each flow uses an idle seeded
+ * employee; arrivals that find no idle employee are reported as skipped and count as errors on every
+ * endpoint of the flow. A flow's login is timed from its scheduled arrival, not from when a worker got to
+ * it, so time spent queued behind a saturated server shows up in the latencies instead of being omitted.
+ */
+public class MorningBurstLoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LoadTestOptions options;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Queue<Employee> idleEmployees = new ConcurrentLinkedQueue<>();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final LongAdder skippedArrivals = new LongAdder();
+    private final LongAdder completedFlows = new LongAdder();
+
+    MorningBurstLoadTest(LoadTestOptions options, int port, List<Employee> employees) {
+        this.options = options;
+        this.baseUrl = "http://localhost:" + port;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        this.idleEmployees.addAll(employees);
+        for (String endpoint : List.of("POST /auth/login", "POST /attendance/check-in",
+                "GET /attendance/{id}/active", "POST /attendance/check-out")) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if ((long) options.employees() * 10 < (long) (options.rate() * options.durationSeconds())) {
+            System.out.println("WARNING: more flows than 10 per employee; the daily check-in limit will produce errors");
+        }
+
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        String mongoUri = options.mongoUri();
+        if (mongoUri == null) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            ServerAddress address = mongod.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/ams-loadtest";
+            System.out.println("Started embedded mongod at " + mongoUri);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AMSBackEndApplication.class)
+                .run("--server.port=0",
+                        "--spring.data.mongodb.uri=" + mongoUri,
+                        "--spring.data.mongodb.database=ams-loadtest",
+                        "--spring.mail.host=localhost",
+                        "--app.logging.request-sample-rate=0.0");
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            List<Employee> employees = seedEmployees(context, options.employees());
+            MorningBurstLoadTest test = new MorningBurstLoadTest(options, port, employees);
+            test.run();
+            test.report();
+        } finally {
+            context.close();
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+    }
+
+    private static List<Employee> seedEmployees(ConfigurableApplicationContext context, int count) {
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        String runTag = Long.toString(System.currentTimeMillis(), 36);
+
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            employees.add(Employee.builder()
+                    .employeeId(String.format("LT-%s-%05d", runTag, i))
+                    .name("Load Test " + i)
+                    .email(String.format("loadtest-%s-%d@example.com", runTag, i))
+                    .contact("9000000000")
+                    .role(EmployeeRole.EMPLOYEE)
+                    .address("Load test")
+                    .passwordHash(passwordHash)
+                    .active(true)
+                    .build());
+        }
+        for (int from = 0; from < employees.size(); from += 1000) {
+            employeeRepository.saveAll(employees.subList(from, Math.min(from + 1000, employees.size())));
+        }
+        System.out.println("Seeded " + count + " employees");
+        return employees;
+    }
+
+    private void run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        long rampNanos = TimeUnit.SECONDS.toNanos(Math.max(0, options.rampSeconds()));
+        long nextArrival = start;
+
+        while (nextArrival < end) {
+            long now = System.nanoTime();
+            if (now < nextArrival) {
+                LockSupport.parkNanos(nextArrival - now);
+                continue;
+            }
+            Employee employee = idleEmployees.poll();
+            long scheduled = nextArrival;
+            if (employee == null) {
+                skippedArrivals.increment();
+                stats.values().forEach(EndpointStats::recordSkipped);
+            } else {
+                workers.execute(() -> {
+                    try {
+                        runFlow(employee, scheduled);
+                    } finally {
+                        idleEmployees.add(employee);
+                    }
+                });
+            }
+            double rampFactor = rampNanos == 0 ? 1.0 : Math.min(1.0, Math.max(0.05, (double) (now - start) / rampNanos));
+            nextArrival += (long) (TimeUnit.SECONDS.toNanos(1) / (options.rate() * rampFactor));
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.MINUTES);
+    }
+
+    private void runFlow(Employee employee, long scheduledStart) {
+        ObjectNode login = MAPPER.createObjectNode()
+                .put("email", employee.getEmail())
+                .put("password", PASSWORD);
+        JsonNode auth = call("POST /auth/login", post("/auth/login", null, login), scheduledStart);
+        if (auth == null) {
+            return;
+        }
+        String token = auth.path("token").asText();
+
+        ObjectNode checkIn = MAPPER.createObjectNode()
+                .put("employeeId", employee.getEmployeeId())
+                .put("location", "Office");
+        checkIn.putArray("agendas").add("Daily standup").add("Feature work");
+        if (call("POST /attendance/check-in", post("/attendance/check-in", token, checkIn), System.nanoTime()) == null) {
+            return;
+        }
+        think();
+
+        HttpRequest activeRequest = request("/attendance/" + employee.getEmployeeId() + "/active", token).GET().build();
+        JsonNode active = call("GET /attendance/{id}/active", activeRequest, System.nanoTime());
+        if (active == null) {
+            return;
+        }
+        think();
+
+        ObjectNode checkOut = MAPPER.createObjectNode()
+                .put("employeeId", employee.getEmployeeId())
+                .put("remark", "Load test")
+                .put("referenceLink", "https://example.com/loadtest");
+        ArrayNode completions = checkOut.putArray("agendaCompletions");
+        for (JsonNode agenda : active.path("agendas")) {
+            completions.addObject().put("agendaId", agenda.path("id").asText()).put("complete", true);
+        }
+        if (call("POST /attendance/check-out", post("/attendance/check-out", token, checkOut), System.nanoTime()) != null) {
+            completedFlows.increment();
+        }
+    }
+
+    // started is when the call was due: the arrival time for a login, the previous call's return for the rest
+    private JsonNode call(String endpoint, HttpRequest request, long started) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - started;
+            if (response.statusCode() / 100 != 2) {
+                endpointStats.recordError(elapsed);
+                return null;
+            }
+            endpointStats.recordSuccess(elapsed);
+            return MAPPER.readTree(response.body());
+        } catch (Exception e) {
+            endpointStats.recordError(System.nanoTime() - started);
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, String token, JsonNode body) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("User-Agent", "ams-loadtest");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private void think() {
+        if (options.thinkTimeMs() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(options.thinkTimeMs()));
+        }
+    }
+
+    private void report() throws Exception {
+        System.out.println();
+        System.out.printf("Target rate: %.1f flows/s | duration: %ds | employees: %d | completed flows: %d | skipped arrivals: %d%n",
+                options.rate(), options.durationSeconds(), options.employees(), completedFlows.sum(), skippedArrivals.sum());
+        System.out.printf("%-22s %8s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "skipped", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpointStats : stats.values()) {
+            endpointStats.printSummary(System.out);
+            if (options.histogramDir() != null) {
+                endpointStats.writeDistribution(Path.of(options.histogramDir()));
+            }
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.company.amsbackend;
 
+import com.company.amsbackend.config.NativeImageHints;
 import io.github.cdimascio.dotenv.Dotenv;
 import jakarta.annotation.PostConstruct;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 import java.util.TimeZone;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeImageHints.class)
 public class AMSBackEndApplication {
 
     @PostConstruct
@@ -28,6 +31,8 @@ public class AMSBackEndApplication {
             System.setProperty(entry.getKey(), entry.getValue());
         });
 
+        // Also set here: with lazy initialization (prod profile) the @PostConstruct above never runs
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
         SpringApplication.run(AMSBackEndApplication.class, args);
     }
 }
\ No newline at end of file
@@ -3,17 +3,20 @@ package com.company.amsbackend.api.controller;
 import com.company.amsbackend.api.dto.AbsenceReportDto;
 import com.company.amsbackend.api.dto.AgendaCompletionDto;
 import com.company.amsbackend.api.dto.AgendaWithStatusDto;
+import com.company.amsbackend.api.dto.AttendanceBatchRequest;
+import com.company.amsbackend.api.dto.AttendanceBatchResponse;
 import com.company.amsbackend.api.dto.AttendanceEditRequestDto;
+import com.company.amsbackend.api.dto.AttendanceRecordDto;
 import com.company.amsbackend.api.dto.AttendanceResponseDto;
 import com.company.amsbackend.api.dto.CheckInRequest;
 import com.company.amsbackend.api.dto.CheckOutRequest;
+import com.company.amsbackend.application.service.AttendanceBatchService;
 import com.company.amsbackend.application.service.AttendanceEditRequestService;
 import com.company.amsbackend.application.service.AttendanceService;
 import com.company.amsbackend.application.service.EmployeeService;
-import com.company.amsbackend.domain.entity.Attendance;
 import com.company.amsbackend.domain.entity.AttendanceEditRequest;
+import com.company.amsbackend.domain.enums.EmployeeRole;
 import com.company.amsbackend.domain.enums.RequestStatus;
-import com.company.amsbackend.domain.exception.AttendanceNotFoundException;
 import com.company.amsbackend.domain.exception.EmployeeNotFoundException;
 
 import lombok.RequiredArgsConstructor;
@@ -39,6 +42,7 @@ public class AttendanceController {
         private final AttendanceService attendanceService;
         private final AttendanceEditRequestService attendanceEditRequestService;
         private final EmployeeService employeeService;
+        private final AttendanceBatchService attendanceBatchService;
 
         private String getIp(HttpServletRequest request) {
                 String ip = request.getHeader("X-Forwarded-For");
@@ -51,6 +55,11 @@ public class AttendanceController {
                 return request.getHeader("User-Agent");
         }
 
+        private boolean isHr(Authentication auth) {
+                return auth.getAuthorities().stream()
+                                .anyMatch(authority -> ("ROLE_" + EmployeeRole.HR.name()).equals(authority.getAuthority()));
+        }
+
         @PostMapping("/check-in")
         public ResponseEntity<AttendanceResponseDto> checkIn(@RequestBody CheckInRequest request,
                         HttpServletRequest httpRequest) {
@@ -103,6 +112,28 @@ public class AttendanceController {
                 return ResponseEntity.ok(response);
         }
 
+        @PostMapping("/batch")
+        public ResponseEntity<AttendanceBatchResponse> applyBatch(Authentication auth,
+                        @Valid @RequestBody AttendanceBatchRequest request,
+                        HttpServletRequest httpRequest) {
+                String ip = getIp(httpRequest);
+                String userAgent = getUserAgent(httpRequest);
+                log.info("Received attendance batch | email: {} | events: {} | IP: {} | Device: {}",
+                                auth.getName(), request.getEvents().size(), ip, userAgent);
+
+                // Events carry their own time, so only HR may submit them on someone else's behalf
+                String submittedBy = null;
+                if (!isHr(auth)) {
+                        submittedBy = employeeService.findByEmail(auth.getName())
+                                        .orElseThrow(() -> new EmployeeNotFoundException(auth.getName()))
+                                        .getEmployeeId();
+                }
+                AttendanceBatchResponse response = attendanceBatchService.applyBatch(request.getEvents(), submittedBy);
+                log.info("Attendance batch processed | applied: {} | duplicates: {} | rejected: {}",
+                                response.getApplied(), response.getDuplicates(), response.getRejected());
+                return ResponseEntity.ok(response);
+        }
+
         @GetMapping("/{employeeId}/active")
         public ResponseEntity<AttendanceResponseDto> getActiveSession(@PathVariable String employeeId,
                         HttpServletRequest httpRequest) {
@@ -114,7 +145,7 @@ public class AttendanceController {
         }
 
         @GetMapping("/{employeeId}/records")
-        public ResponseEntity<List<Attendance>> getRecords(
+        public ResponseEntity<List<AttendanceRecordDto>> getRecords(
                         @PathVariable String employeeId,
                         @RequestParam(required = false) String from,
                         @RequestParam(required = false) String to,
@@ -127,12 +158,12 @@ public class AttendanceController {
                 LocalDate fromDate = (from != null) ? LocalDate.parse(from) : null;
                 LocalDate toDate = (to != null) ? LocalDate.parse(to) : null;
 
-                List<Attendance> records = attendanceService.getAttendancesForEmployee(employeeId, fromDate, toDate);
+                List<AttendanceRecordDto> records = attendanceService.getAttendanceRecords(employeeId, fromDate, toDate);
                 return ResponseEntity.ok(records);
         }
 
         @GetMapping("/monthly/{employeeId}")
-        public ResponseEntity<List<Attendance>> getMonthlyRecords(
+        public ResponseEntity<List<AttendanceRecordDto>> getMonthlyRecords(
                         @PathVariable String employeeId,
                         @RequestParam int year,
                         @RequestParam int month,
@@ -145,12 +176,12 @@ public class AttendanceController {
                 LocalDate startDate = LocalDate.of(year, month, 1);
                 LocalDate endDate = startDate.plusMonths(1).minusDays(1);
 
-                List<Attendance> records = attendanceService.getAttendancesForEmployee(employeeId, startDate, endDate);
+                List<AttendanceRecordDto> records = attendanceService.getAttendanceRecords(employeeId, startDate, endDate);
                 return ResponseEntity.ok(records);
         }
 
         @GetMapping("/daily/{employeeId}")
-        public ResponseEntity<List<Attendance>> getDailyAttendanceByEmployee(
+        public ResponseEntity<List<AttendanceRecordDto>> getDailyAttendanceByEmployee(
                         @PathVariable String employeeId,
                         @RequestParam String date,
                         HttpServletRequest httpRequest) {
@@ -160,7 +191,7 @@ public class AttendanceController {
                                 employeeId, date, ip, userAgent);
 
                 LocalDate targetDate = LocalDate.parse(date);
-                List<Attendance> records = attendanceService.getAttendancesForEmployee(
+                List<AttendanceRecordDto> records = attendanceService.getAttendanceRecords(
                                 employeeId, targetDate, targetDate);
 
                 return ResponseEntity.ok(records);
@@ -205,14 +236,10 @@ public class AttendanceController {
                                         .createRequest(requestDto);
 
                         try {
-                                Attendance attendance = attendanceService.findById(requestDto.getAttendanceId())
-                                                .orElseThrow(() -> new AttendanceNotFoundException(
-                                                                requestDto.getAttendanceId()));
-                                attendance.setEditRequestStatus(RequestStatus.PENDING);
-                                System.out.println(editAttendanceRequest.getId());
-                                attendance.setEditRequestId(editAttendanceRequest.getId());
-
-                                attendanceService.save(attendance);
+                                attendanceService.update(requestDto.getAttendanceId(), attendance -> {
+                                        attendance.setEditRequestStatus(RequestStatus.PENDING);
+                                        attendance.setEditRequestId(editAttendanceRequest.getId());
+                                });
                                 log.info("Attendance record {} marked with PENDING edit request status",
                                                 requestDto.getAttendanceId());
                         } catch (Exception e) {
@@ -0,0 +1,64 @@
+package com.company.amsbackend.api.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a Flux to the servlet response as NDJSON (one object per line) or as a single JSON array.
+ * Elements are requested from the source {@link #PREFETCH} at a time and only as fast as the client
+ * reads, so memory per request does not grow with the result size. Spring MVC would instead collect
+ * a Flux into a list before writing it as application/json.
+ */
+final class FluxResponseWriter {
+
+    static final int PREFETCH = 256;
+
+    private FluxResponseWriter() {
+    }
+
+    static boolean wantsJsonArray(String accept) {
+        return accept != null
+                && accept.contains(MediaType.APPLICATION_JSON_VALUE)
+                && !accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> stream(Flux<T> source, ObjectMapper objectMapper, boolean jsonArray) {
+        return ResponseEntity.ok()
+                .contentType(jsonArray ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+                .body(body(source, objectMapper, jsonArray));
+    }
+
+    static <T> StreamingResponseBody body(Flux<T> source, ObjectMapper objectMapper, boolean jsonArray) {
+        return out -> {
+            // Closing the stream cancels the subscription, e.g. when the client disconnects mid-write
+            try (Stream<T> items = source.toStream(PREFETCH);
+                 JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (jsonArray) {
+                    generator.writeStartArray();
+                }
+                int written = 0;
+                for (Iterator<T> it = items.iterator(); it.hasNext(); ) {
+                    generator.writeObject(it.next());
+                    if (!jsonArray) {
+                        generator.writeRaw('\n');
+                    }
+                    if (++written % PREFETCH == 0) {
+                        generator.flush();
+                    }
+                }
+                if (jsonArray) {
+                    generator.writeEndArray();
+                }
+                generator.flush();
+            }
+        };
+    }
+}
@@ -5,7 +5,12 @@ import com.company.amsbackend.api.dto.DailyActivityDto;
 import com.company.amsbackend.api.dto.EmployeeCreateRequest;
 import com.company.amsbackend.api.dto.EmployeeSummaryResponse;
 import com.company.amsbackend.api.dto.MonthlyReportRequest;
+import com.company.amsbackend.application.service.AttendanceAnalyticsExportService;
+import com.company.amsbackend.application.service.AttendanceArchiveService;
+import com.company.amsbackend.application.service.AttendanceBucketService;
 import com.company.amsbackend.application.service.AttendanceEditRequestService;
+import com.company.amsbackend.application.service.AttendanceExportService;
+import com.company.amsbackend.application.service.AttendanceProjectionService;
 import com.company.amsbackend.application.service.AttendanceService;
 import com.company.amsbackend.application.service.EmployeeService;
 import com.company.amsbackend.application.service.ReportService;
@@ -13,9 +18,9 @@ import com.company.amsbackend.application.service.ScheduledReportService;
 import com.company.amsbackend.domain.entity.AttendanceEditRequest;
 import com.company.amsbackend.domain.entity.Employee;
 import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.domain.exception.DomainException;
+import com.company.amsbackend.domain.exception.EmployeeNotFoundException;
 import com.company.amsbackend.domain.enums.RequestStatus;
-import com.company.amsbackend.domain.exception.AttendanceNotFoundException;
-import com.company.amsbackend.domain.entity.Attendance;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,12 +30,14 @@ import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -38,11 +45,19 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class HrController {
 
+        // Two years of monthly sheets; audits ask for one
+        private static final int MAX_TIMESHEET_RANGE_MONTHS = 24;
+
         private final EmployeeService employeeService;
         private final AttendanceService attendanceService;
         private final ReportService reportService;
         private final ScheduledReportService scheduledReportService;
         private final AttendanceEditRequestService attendanceEditRequestService;
+        private final AttendanceBucketService attendanceBucketService;
+        private final AttendanceArchiveService attendanceArchiveService;
+        private final AttendanceExportService attendanceExportService;
+        private final AttendanceAnalyticsExportService attendanceAnalyticsExportService;
+        private final AttendanceProjectionService attendanceProjectionService;
 
         private String getIp(HttpServletRequest request) {
                 String ip = request.getHeader("X-Forwarded-For");
@@ -142,6 +157,112 @@ public class HrController {
                                 .body(new ByteArrayResource(excelData));
         }
 
+        @GetMapping("/export/attendance")
+        public ResponseEntity<StreamingResponseBody> exportAttendance(@RequestParam String from,
+                        @RequestParam String to,
+                        @RequestParam(defaultValue = "ndjson") String format,
+                        HttpServletRequest httpRequest) {
+                String ip = getIp(httpRequest);
+                String userAgent = getUserAgent(httpRequest);
+                log.info("Export attendance | from: {} | to: {} | format: {} | IP: {} | Device: {}", from, to, format, ip,
+                                userAgent);
+
+                LocalDate fromDate = LocalDate.parse(from);
+                LocalDate toDate = LocalDate.parse(to);
+                if (toDate.isBefore(fromDate)) {
+                        throw new DomainException("'to' must not be before 'from'");
+                }
+                AttendanceExportService.Format exportFormat;
+                try {
+                        exportFormat = AttendanceExportService.Format.valueOf(format.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                        throw new DomainException("Unsupported export format: " + format);
+                }
+
+                String filename = String.format("attendance_%s_%s.%s.gz", fromDate, toDate, format.toLowerCase());
+                // Rows are gzipped as they are written; nothing is buffered beyond one cursor chunk
+                StreamingResponseBody body = out -> {
+                        GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+                        attendanceExportService.exportAttendance(fromDate, toDate, exportFormat, gzip);
+                        gzip.finish();
+                        gzip.flush();
+                };
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                                .contentType(MediaType.parseMediaType("application/gzip"))
+                                .body(body);
+        }
+
+        @GetMapping("/reports/employee/{employeeId}/timesheet/range")
+        public ResponseEntity<StreamingResponseBody> downloadEmployeeTimesheetRange(
+                        @PathVariable String employeeId,
+                        @RequestParam String from,
+                        @RequestParam String to,
+                        HttpServletRequest httpRequest) {
+                String ip = getIp(httpRequest);
+                String userAgent = getUserAgent(httpRequest);
+                log.info("Download timesheet range | employeeId: {} | from: {} | to: {} | IP: {} | Device: {}", employeeId,
+                                from, to, ip, userAgent);
+
+                YearMonth fromMonth = YearMonth.parse(from);
+                YearMonth toMonth = YearMonth.parse(to);
+                if (toMonth.isBefore(fromMonth)) {
+                        throw new DomainException("'to' must not be before 'from'");
+                }
+                if (fromMonth.plusMonths(MAX_TIMESHEET_RANGE_MONTHS).isBefore(toMonth.plusMonths(1))) {
+                        throw new DomainException("A timesheet range covers at most " + MAX_TIMESHEET_RANGE_MONTHS + " months");
+                }
+                // Looked up before streaming starts, so an unknown employee is still a 404
+                Employee employee = employeeService.findByEmployeeId(employeeId)
+                                .orElseThrow(() -> new EmployeeNotFoundException(employeeId));
+
+                String sanitizedName = employee.getName().replaceAll("[^a-zA-Z0-9]", "_").toLowerCase();
+                String filename = String.format("%s_timesheet_%s_%s.xlsx", sanitizedName, fromMonth, toMonth);
+                StreamingResponseBody body = out -> reportService.writeEmployeeTimesheetRange(employeeId, fromMonth,
+                                toMonth, out);
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                                .contentType(MediaType.parseMediaType(
+                                                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                                .body(body);
+        }
+
+        @GetMapping("/reports/timesheets")
+        public ResponseEntity<StreamingResponseBody> downloadOrganizationTimesheets(@RequestParam int year,
+                        @RequestParam int month,
+                        @RequestParam(defaultValue = "xlsx") String format,
+                        HttpServletRequest httpRequest) {
+                String ip = getIp(httpRequest);
+                String userAgent = getUserAgent(httpRequest);
+                log.info("Download organization timesheets | year: {} | month: {} | format: {} | IP: {} | Device: {}",
+                                year, month, format, ip, userAgent);
+
+                YearMonth yearMonth = YearMonth.of(year, month);
+                ReportService.Packaging packaging;
+                MediaType contentType;
+                switch (format.toLowerCase()) {
+                        case "xlsx" -> {
+                                packaging = ReportService.Packaging.WORKBOOK;
+                                contentType = MediaType.parseMediaType(
+                                                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+                        }
+                        case "zip" -> {
+                                packaging = ReportService.Packaging.ZIP;
+                                contentType = MediaType.parseMediaType("application/zip");
+                        }
+                        default -> throw new DomainException("Unsupported timesheet format: " + format);
+                }
+
+                String filename = String.format("timesheets_%s_%d.%s", Month.of(month).toString().toLowerCase(), year,
+                                format.toLowerCase());
+                // Only one employee's rows are in memory at a time: earlier sheets are spilled to temp files or already zipped
+                StreamingResponseBody body = out -> reportService.writeOrganizationTimesheets(yearMonth, packaging, out);
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                                .contentType(contentType)
+                                .body(body);
+        }
+
         @PostMapping("/reports/generate-monthly")
         public ResponseEntity<Map<String, String>> generateMonthlyReports(@RequestBody MonthlyReportRequest request,
                         HttpServletRequest httpRequest) {
@@ -175,6 +296,54 @@ public class HrController {
                                                 "yearMonth", yearMonth.toString()));
         }
 
+        @PostMapping("/maintenance/buckets/compact")
+        public ResponseEntity<Map<String, String>> compactAttendanceMonth(@RequestParam int year,
+                        @RequestParam int month, HttpServletRequest httpRequest) {
+                String ip = getIp(httpRequest);
+                String userAgent = getUserAgent(httpRequest);
+                YearMonth yearMonth = YearMonth.of(year, month);
+                log.info("Manual bucket compaction | yearMonth: {} | IP: {} | Device: {}", yearMonth, ip, userAgent);
+
+                int buckets = attendanceBucketService.compactMonth(yearMonth);
+                return ResponseEntity.ok(Map.of(
+                                "yearMonth", yearMonth.toString(),
+                                "buckets", String.valueOf(buckets)));
+        }
+
+        @PostMapping("/maintenance/archive")
+        public ResponseEntity<Map<String, String>> archiveAttendanceMonth(@RequestParam int year,
+                        @RequestParam int month, HttpServletRequest httpRequest) {
+                String ip = getIp(httpRequest);
+                String userAgent = getUserAgent(httpRequest);
+                YearMonth yearMonth = YearMonth.of(year, month);
+                log.info("Manual attendance archive | yearMonth: {} | IP: {} | Device: {}", yearMonth, ip, userAgent);
+
+                long sessions = attendanceArchiveService.archiveMonth(yearMonth);
+                return ResponseEntity.ok(Map.of(
+                                "yearMonth", yearMonth.toString(),
+                                "sessions", String.valueOf(sessions)));
+        }
+
+        @PostMapping("/maintenance/analytics/export")
+        public ResponseEntity<Map<String, String>> exportAnalytics(HttpServletRequest httpRequest) {
+                String ip = getIp(httpRequest);
+                String userAgent = getUserAgent(httpRequest);
+                log.info("Manual analytics export | IP: {} | Device: {}", ip, userAgent);
+
+                long rows = attendanceAnalyticsExportService.exportIncremental();
+                return ResponseEntity.ok(Map.of("rows", String.valueOf(rows)));
+        }
+
+        @PostMapping("/maintenance/projections/rebuild")
+        public ResponseEntity<Map<String, String>> rebuildProjections(HttpServletRequest httpRequest) {
+                String ip = getIp(httpRequest);
+                String userAgent = getUserAgent(httpRequest);
+                log.info("Manual projection rebuild | IP: {} | Device: {}", ip, userAgent);
+
+                long events = attendanceProjectionService.rebuild();
+                return ResponseEntity.ok(Map.of("events", String.valueOf(events)));
+        }
+
         @PostMapping("/{employeeId}/deactivate")
         public ResponseEntity<Map<String, String>> deactivateEmployee(@PathVariable String employeeId,
                         HttpServletRequest httpRequest) {
@@ -210,16 +379,9 @@ public class HrController {
                 log.info("Attendance edit request reviewed | HR: {} | requestId: {} | status: {}", hrEmail, requestId,
                                 editAttendancereviewed);
                 try {
-                        Attendance attendance = attendanceService.findById(editAttendancereviewed.getAttendanceId())
-                                        .orElseThrow(() -> new AttendanceNotFoundException(
-                                                        editAttendancereviewed.getAttendanceId()));
-                        if (approved) {
-                                attendance.setEditRequestStatus(RequestStatus.APPROVED);
-                        } else {
-                                attendance.setEditRequestStatus(RequestStatus.REJECTED);
-                        }
-
-                        attendanceService.save(attendance);
+                        attendanceService.update(editAttendancereviewed.getAttendanceId(),
+                                        attendance -> attendance.setEditRequestStatus(
+                                                        approved ? RequestStatus.APPROVED : RequestStatus.REJECTED));
 
                 } catch (Exception e) {
                         log.error("Failed to update Attendance editRequestStatus for requestId={} | Error={}",
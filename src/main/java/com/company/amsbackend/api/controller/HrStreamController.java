@@ -0,0 +1,67 @@
+package com.company.amsbackend.api.controller;
+
+import com.company.amsbackend.application.service.DashboardStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Streaming versions of the HR dashboard reads. Responses are NDJSON by default, or one JSON array
+ * when the client accepts only application/json.
+ */
+@Slf4j
+@RestController
+@RequestMapping(value = "/hr/v2", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+@RequiredArgsConstructor
+public class HrStreamController {
+
+        private final DashboardStreamService dashboardStreamService;
+        private final ObjectMapper objectMapper;
+
+        private String getIp(HttpServletRequest request) {
+                String ip = request.getHeader("X-Forwarded-For");
+                if (ip == null || ip.isEmpty())
+                        ip = request.getRemoteAddr();
+                return ip;
+        }
+
+        @GetMapping("/employees")
+        public ResponseEntity<StreamingResponseBody> streamEmployees(
+                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                        HttpServletRequest httpRequest) {
+                log.info("Stream employees request | IP: {}", getIp(httpRequest));
+                return FluxResponseWriter.stream(dashboardStreamService.streamEmployeeSummaries(), objectMapper,
+                                FluxResponseWriter.wantsJsonArray(accept));
+        }
+
+        @GetMapping("/activity/daily")
+        public ResponseEntity<StreamingResponseBody> streamDailyActivity(@RequestParam String date,
+                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                        HttpServletRequest httpRequest) {
+                log.info("Stream daily activity | date: {} | IP: {}", date, getIp(httpRequest));
+                return FluxResponseWriter.stream(dashboardStreamService.streamDailyActivities(LocalDate.parse(date)),
+                                objectMapper, FluxResponseWriter.wantsJsonArray(accept));
+        }
+
+        @GetMapping("/attendance/{employeeId}/records")
+        public ResponseEntity<StreamingResponseBody> streamRecords(@PathVariable String employeeId,
+                        @RequestParam(required = false) String from,
+                        @RequestParam(required = false) String to,
+                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                        HttpServletRequest httpRequest) {
+                log.info("Stream attendance records | employeeId: {} | from: {} | to: {} | IP: {}",
+                                employeeId, from, to, getIp(httpRequest));
+                LocalDate fromDate = (from != null) ? LocalDate.parse(from) : null;
+                LocalDate toDate = (to != null) ? LocalDate.parse(to) : null;
+                return FluxResponseWriter.stream(dashboardStreamService.streamAttendanceRecords(employeeId, fromDate, toDate),
+                                objectMapper, FluxResponseWriter.wantsJsonArray(accept));
+        }
+}
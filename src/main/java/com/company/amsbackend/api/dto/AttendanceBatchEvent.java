@@ -0,0 +1,36 @@
+package com.company.amsbackend.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Validated per event by the batch service, so one bad event is rejected without failing the whole batch
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceBatchEvent {
+
+    public enum Type {
+        CHECK_IN, CHECK_OUT
+    }
+
+    private Type type;
+    private String employeeId;
+    private LocalDateTime clientTimestamp; // When the event happened on the device; becomes the check-in/out time
+    private String idempotencyKey;
+
+    // CHECK_IN
+    private List<String> agendas;
+    private String location;
+
+    // CHECK_OUT; agendas not listed by id or title are left incomplete
+    private List<AgendaCompletionDto> agendaCompletions;
+    private List<String> completedAgendaTitles; // For sessions opened offline, whose agenda ids the device never saw
+    private String remark;
+    private String referenceLink;
+}
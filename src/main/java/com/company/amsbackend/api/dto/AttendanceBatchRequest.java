@@ -0,0 +1,18 @@
+package com.company.amsbackend.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceBatchRequest {
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 500, message = "A batch may carry at most 500 events")
+    private List<AttendanceBatchEvent> events; // Applied per employee in list order
+}
@@ -0,0 +1,19 @@
+package com.company.amsbackend.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceBatchResponse {
+    private int applied;
+    private int duplicates;
+    private int rejected;
+    private List<AttendanceBatchResult> results; // Same order as the submitted events
+}
@@ -0,0 +1,23 @@
+package com.company.amsbackend.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceBatchResult {
+
+    public enum Status {
+        APPLIED, DUPLICATE, REJECTED
+    }
+
+    private int index;
+    private String idempotencyKey;
+    private Status status;
+    private String attendanceId;
+    private String message;
+}
@@ -0,0 +1,34 @@
+package com.company.amsbackend.api.dto;
+
+import com.company.amsbackend.domain.enums.RequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One session as returned by the records endpoints, with the same fields whether it is read from the live
+ * collection, a month bucket or the archive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceRecordDto {
+    private String id;
+    private String employeeId;
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+    private List<String> agendaIds; // Ids of the agendas below: catalog ids, or legacy agenda ids for older sessions
+    private List<AgendaWithStatusDto> agendas;
+    private String remark;
+    private String referenceLink;
+    private String checkInLocation;
+    private boolean activeSession;
+    private Long minutesWorked;
+    private RequestStatus editRequestStatus;
+    private String editRequestId;
+}
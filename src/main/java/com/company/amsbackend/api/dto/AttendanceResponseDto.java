@@ -15,4 +15,6 @@ import java.util.List;
 public class AttendanceResponseDto {
     private Attendance attendance;
     private List<AgendaWithStatusDto> agendas;
+    // Accepted during a database outage, or a check-out ahead of its journaled check-in; applied on replay
+    private boolean journaled;
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.AgendaWithStatusDto;
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.AgendaCatalogEntry;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.infrastructure.cache.AgendaCache;
+import com.company.amsbackend.infrastructure.repository.AgendaRepository;
+import com.mongodb.bulk.BulkWriteUpsert;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Agendas of new sessions live in the {@code agenda_catalog}, one entry per employee and normalized title,
+ * with completion kept on the session's {@link Attendance.AgendaItem}s. Sessions opened before the catalog
+ * still reference documents in {@code agendas}; both forms are read back as {@link Agenda}s, whose id is the
+ * catalog id or the legacy agenda id.
+ */
+@Slf4j
+@Service
+public class AgendaServiceImpl implements AgendaService {
+
+    private final AgendaRepository agendaRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AgendaCache agendaCache;
+    private final Map<String, AgendaCatalogEntry> interned;
+
+    public AgendaServiceImpl(AgendaRepository agendaRepository, MongoTemplate mongoTemplate, AgendaCache agendaCache,
+                             @Value("${app.agendas.intern-cache-size:50000}") int internCacheSize) {
+        this.agendaRepository = agendaRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.agendaCache = agendaCache;
+        // Entries never change once created, so a cached entry can only be evicted, never stale
+        this.interned = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AgendaCatalogEntry> eldest) {
+                return size() > internCacheSize;
+            }
+        };
+    }
+
+    @Override
+    public List<Agenda> internAgendas(String employeeId, List<String> titles) {
+        // Titles normalizing to the same entry are one agenda of the session; the first spelling is kept
+        Map<String, String> byNormalized = new LinkedHashMap<>();
+        for (String title : titles) {
+            if (title != null && !title.isBlank()) {
+                byNormalized.putIfAbsent(AgendaCatalogEntry.normalize(title), title.strip());
+            }
+        }
+
+        Map<String, AgendaCatalogEntry> entries = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        synchronized (interned) {
+            for (String normalized : byNormalized.keySet()) {
+                AgendaCatalogEntry entry = interned.get(internKey(employeeId, normalized));
+                if (entry != null) {
+                    entries.put(normalized, entry);
+                } else {
+                    missing.add(normalized);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<AgendaCatalogEntry> loaded = upsertCatalogEntries(employeeId, missing, byNormalized);
+            // The session's check-out and active-session reads then find them without a query
+            agendaCache.putCatalogEntries(loaded);
+            synchronized (interned) {
+                for (AgendaCatalogEntry entry : loaded) {
+                    interned.put(internKey(employeeId, entry.getNormalizedTitle()), entry);
+                    entries.put(entry.getNormalizedTitle(), entry);
+                }
+            }
+        }
+
+        return byNormalized.keySet().stream()
+                .map(entries::get)
+                .filter(Objects::nonNull)
+                .map(entry -> entry.toAgenda(false))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Agenda> findAgendas(Attendance attendance) {
+        if (attendance.getEmbeddedAgendas() != null) {
+            return attendance.getEmbeddedAgendas();
+        }
+        if (attendance.usesAgendaCatalog()) {
+            Map<String, AgendaCatalogEntry> catalog = loadCatalogById(attendance.agendaReferences());
+            return resolveItems(attendance.getAgendaItems(), catalog);
+        }
+        List<String> agendaIds = attendance.getAgendaIds();
+        if (agendaIds == null || agendaIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return resolveLegacy(agendaIds, loadLegacyById(agendaIds));
+    }
+
+    @Override
+    public Map<String, List<Agenda>> findAgendasForAttendances(Collection<Attendance> attendances) {
+        Set<String> legacyIds = new HashSet<>();
+        Set<String> catalogIds = new HashSet<>();
+        for (Attendance attendance : attendances) {
+            if (attendance.getEmbeddedAgendas() != null) {
+                continue;
+            }
+            (attendance.usesAgendaCatalog() ? catalogIds : legacyIds).addAll(attendance.agendaReferences());
+        }
+
+        Map<String, Agenda> byId = legacyIds.isEmpty() ? Collections.emptyMap() : loadLegacyById(legacyIds);
+        Map<String, AgendaCatalogEntry> catalog = catalogIds.isEmpty() ? Collections.emptyMap() : loadCatalogById(catalogIds);
+        log.debug("Agendas loaded for attendances | attendances: {} | agendas: {} | catalog entries: {}",
+                attendances.size(), byId.size(), catalog.size());
+
+        Map<String, List<Agenda>> result = new HashMap<>();
+        for (Attendance attendance : attendances) {
+            if (attendance.getId() == null) {
+                continue;
+            }
+            if (attendance.getEmbeddedAgendas() != null) {
+                result.put(attendance.getId(), attendance.getEmbeddedAgendas());
+            } else if (attendance.usesAgendaCatalog()) {
+                result.put(attendance.getId(), resolveItems(attendance.getAgendaItems(), catalog));
+            } else if (attendance.getAgendaIds() != null) {
+                result.put(attendance.getId(), resolveLegacy(attendance.getAgendaIds(), byId));
+            }
+        }
+        return result;
+    }
+
+    // Legacy agenda documents only; catalog sessions keep completion on their agenda items
+    @Override
+    public void updateCompletion(List<Agenda> agendas) {
+        if (agendas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Agenda.class);
+        for (Agenda agenda : agendas) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(agenda.getId())),
+                    Update.update("complete", agenda.isComplete()));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void deleteAgendas(Collection<String> agendaIds) {
+        if (agendaIds.isEmpty()) {
+            return;
+        }
+        agendaRepository.deleteAllById(agendaIds);
+    }
+
+    @Override
+    public List<AgendaWithStatusDto> toDtos(List<Agenda> agendas) {
+        return agendas.stream()
+                .map(agenda -> AgendaWithStatusDto.builder()
+                        .id(agenda.getId())
+                        .title(agenda.getTitle())
+                        .complete(agenda.isComplete())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Upserts on the unique (employeeId, normalizedTitle) index, so concurrent check-ins with the same new title
+     * on any node end up with the same entry. New titles come back with the upsert; only titles that already had
+     * an entry are read afterwards.
+     */
+    private List<AgendaCatalogEntry> upsertCatalogEntries(String employeeId, List<String> normalizedTitles,
+                                                          Map<String, String> titles) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, AgendaCatalogEntry.class);
+        for (String normalized : normalizedTitles) {
+            bulk.upsert(catalogQuery(employeeId, List.of(normalized)),
+                    new Update().setOnInsert("title", titles.get(normalized)));
+        }
+        List<BulkWriteUpsert> upserts = bulk.execute().getUpserts();
+
+        List<AgendaCatalogEntry> entries = new ArrayList<>(normalizedTitles.size());
+        Set<String> existing = new LinkedHashSet<>(normalizedTitles);
+        for (BulkWriteUpsert upsert : upserts) {
+            String normalized = normalizedTitles.get(upsert.getIndex());
+            entries.add(AgendaCatalogEntry.builder()
+                    .id(upsert.getId().asObjectId().getValue().toHexString())
+                    .employeeId(employeeId)
+                    .normalizedTitle(normalized)
+                    .title(titles.get(normalized))
+                    .build());
+            existing.remove(normalized);
+        }
+        if (!existing.isEmpty()) {
+            entries.addAll(mongoTemplate.find(catalogQuery(employeeId, existing), AgendaCatalogEntry.class));
+        }
+        log.debug("Agenda catalog lookup | employeeId: {} | created: {} | existing: {}", employeeId, upserts.size(), existing.size());
+        return entries;
+    }
+
+    private static Query catalogQuery(String employeeId, Collection<String> normalizedTitles) {
+        return new Query(Criteria.where("employeeId").is(employeeId).and("normalizedTitle").in(normalizedTitles));
+    }
+
+    private static String internKey(String employeeId, String normalizedTitle) {
+        return employeeId + '\n' + normalizedTitle;
+    }
+
+    private static List<Agenda> resolveItems(List<Attendance.AgendaItem> items, Map<String, AgendaCatalogEntry> catalog) {
+        List<Agenda> agendas = new ArrayList<>(items.size());
+        for (Attendance.AgendaItem item : items) {
+            AgendaCatalogEntry entry = catalog.get(item.getCatalogId());
+            if (entry != null) {
+                agendas.add(entry.toAgenda(item.isComplete()));
+            }
+        }
+        return agendas;
+    }
+
+    private static List<Agenda> resolveLegacy(List<String> agendaIds, Map<String, Agenda> byId) {
+        return agendaIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Read on every call: completion of legacy agendas changes at check-out, on whichever node handles it
+    private Map<String, Agenda> loadLegacyById(Collection<String> agendaIds) {
+        return agendaRepository.findAllById(agendaIds).stream()
+                .collect(Collectors.toMap(Agenda::getId, agenda -> agenda, (a, b) -> a));
+    }
+
+    private Map<String, AgendaCatalogEntry> loadCatalogById(Collection<String> catalogIds) {
+        if (catalogIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return agendaCache.getCatalogEntries(catalogIds);
+    }
+}
@@ -0,0 +1,135 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceAnalyticsExportService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.analytics.AttendanceParquetStore;
+import com.company.amsbackend.infrastructure.analytics.AttendanceParquetStore.AnalyticsRow;
+import com.company.amsbackend.infrastructure.scheduling.SchedulerLockManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceAnalyticsExportServiceImpl implements AttendanceAnalyticsExportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final MongoTemplate mongoTemplate;
+    private final AgendaService agendaService;
+    private final AttendanceParquetStore parquetStore;
+    private final SchedulerLockManager schedulerLockManager;
+
+    @Value("${app.analytics.enabled:false}")
+    private boolean enabled;
+
+    // Check-outs newer than this are left for the next run, so a save still in flight is not skipped
+    @Value("${app.analytics.settle-minutes:5}")
+    private long settleMinutes;
+
+    @Override
+    @Scheduled(cron = "${app.analytics.cron:0 30 4 * * *}", zone = "Asia/Kolkata")
+    public void exportScheduled() {
+        if (!enabled) {
+            return;
+        }
+        schedulerLockManager.executeWithLock("exportAttendanceParquet",
+                Duration.ofHours(2), Duration.ofMinutes(10), this::exportIncremental);
+    }
+
+    @Override
+    public synchronized long exportIncremental() {
+        Optional<Instant> since = parquetStore.readHighWaterMark();
+        Instant upTo = Instant.now().minus(Duration.ofMinutes(settleMinutes));
+        log.info("START exportIncremental | since: {} | upTo: {}", since.orElse(null), upTo);
+        if (since.isPresent() && !since.get().isBefore(upTo)) {
+            return 0;
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        Criteria checkOut = Criteria.where("activeSession").is(false).and("checkOutTime");
+        since.ifPresent(mark -> checkOut.gt(LocalDateTime.ofInstant(mark, zone)));
+        checkOut.lte(LocalDateTime.ofInstant(upTo, zone));
+        Query query = new Query(checkOut).with(Sort.by("checkInTime")).cursorBatchSize(CHUNK_SIZE);
+        query.fields().include("employeeId", "checkInTime", "checkOutTime", "minutesWorked", "checkInLocation", "agendaIds", "agendaItems");
+
+        Map<String, String> employeeNames = employeeNames();
+        String runId = LocalDateTime.now().format(RUN_ID);
+        long start = System.currentTimeMillis();
+        try (AttendanceParquetStore.RunWriter writer = parquetStore.openRun(runId);
+             Stream<Attendance> cursor = mongoTemplate.stream(query, Attendance.class)) {
+            List<Attendance> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (Iterator<Attendance> it = cursor.iterator(); it.hasNext(); ) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, employeeNames, zone, writer);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, employeeNames, zone, writer);
+            writer.commit(upTo);
+
+            log.info("END exportIncremental | run: {} | rows: {} | durationMs: {}",
+                    runId, writer.getRowCount(), System.currentTimeMillis() - start);
+            return writer.getRowCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Parquet export failed for run " + runId, e);
+        }
+    }
+
+    private void writeChunk(List<Attendance> chunk, Map<String, String> employeeNames, ZoneId zone,
+                            AttendanceParquetStore.RunWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, List<Agenda>> agendas = agendaService.findAgendasForAttendances(chunk);
+        for (Attendance attendance : chunk) {
+            if (attendance.getCheckInTime() == null || attendance.getEmployeeId() == null) {
+                continue;
+            }
+            List<AnalyticsRow.AgendaCell> cells = agendas.getOrDefault(attendance.getId(), Collections.emptyList()).stream()
+                    .map(a -> new AnalyticsRow.AgendaCell(Objects.toString(a.getTitle(), ""), a.isComplete()))
+                    .collect(Collectors.toList());
+            writer.write(YearMonth.from(attendance.getCheckInTime()), new AnalyticsRow(
+                    attendance.getId(),
+                    attendance.getEmployeeId(),
+                    employeeNames.get(attendance.getEmployeeId()),
+                    toEpochMillis(attendance.getCheckInTime(), zone),
+                    attendance.getCheckOutTime() != null ? toEpochMillis(attendance.getCheckOutTime(), zone) : null,
+                    attendance.getMinutesWorked(),
+                    attendance.getCheckInLocation(),
+                    cells));
+        }
+    }
+
+    private Map<String, String> employeeNames() {
+        Query projection = new Query();
+        projection.fields().include("employeeId", "name");
+        return mongoTemplate.find(projection, Employee.class).stream()
+                .filter(e -> e.getEmployeeId() != null && e.getName() != null)
+                .collect(Collectors.toMap(Employee::getEmployeeId, Employee::getName, (a, b) -> a));
+    }
+
+    private static long toEpochMillis(LocalDateTime time, ZoneId zone) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+}
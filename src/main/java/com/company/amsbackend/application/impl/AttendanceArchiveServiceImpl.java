@@ -0,0 +1,246 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceArchiveService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceArchiveMonth;
+import com.company.amsbackend.domain.entity.AttendanceMonthBucket;
+import com.company.amsbackend.domain.exception.DomainException;
+import com.company.amsbackend.infrastructure.archive.AttendanceSnapshotStore;
+import com.company.amsbackend.infrastructure.repository.AttendanceBucketRepository;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.scheduling.SchedulerLockManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceArchiveServiceImpl implements AttendanceArchiveService {
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceBucketRepository attendanceBucketRepository;
+    private final AgendaService agendaService;
+    private final AttendanceSnapshotStore snapshotStore;
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLockManager schedulerLockManager;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.horizon-months:24}")
+    private int horizonMonths;
+
+    @Value("${app.archive.delete-batch-size:500}")
+    private int deleteBatchSize;
+
+    @Value("${app.archive.publish-delay-minutes:10}")
+    private long publishDelayMinutes;
+
+    @Override
+    @Scheduled(cron = "${app.archive.cron:0 0 3 3 * *}", zone = "Asia/Kolkata")
+    public void archiveExpiredMonths() {
+        if (!enabled) {
+            return;
+        }
+        schedulerLockManager.executeWithLock("archiveExpiredMonths",
+                Duration.ofHours(6), Duration.ofMinutes(10), this::archivePendingMonths);
+    }
+
+    private void archivePendingMonths() {
+        YearMonth horizon = YearMonth.now().minusMonths(horizonMonths);
+        Attendance oldest = mongoTemplate.findOne(
+                new Query(Criteria.where("checkInTime").lt(horizon.atDay(1).atStartOfDay()))
+                        .with(Sort.by("checkInTime"))
+                        .limit(1),
+                Attendance.class);
+        if (oldest == null || oldest.getCheckInTime() == null) {
+            log.info("Nothing to archive | horizon: {}", horizon);
+            return;
+        }
+        for (YearMonth month = YearMonth.from(oldest.getCheckInTime()); month.isBefore(horizon); month = month.plusMonths(1)) {
+            if (snapshotStore.findMonth(month).isPresent()) {
+                continue;
+            }
+            try {
+                archiveMonth(month);
+            } catch (Exception e) {
+                // Later months are left alone so the archive never has holes
+                log.error("Error archiving month | month: {} | error: {}", month, e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.archive.purge-interval-ms:900000}")
+    public void purgeArchivedOriginals() {
+        if (!enabled) {
+            return;
+        }
+        schedulerLockManager.executeWithLock("purgeArchivedOriginals",
+                Duration.ofHours(1), Duration.ofMinutes(1), this::purgePublishedMonths);
+    }
+
+    @Override
+    public long archiveMonth(YearMonth yearMonth) {
+        log.info("START archiveMonth | month: {}", yearMonth);
+        if (!yearMonth.isBefore(YearMonth.now().minusMonths(horizonMonths))) {
+            throw new DomainException("Month is inside the archive horizon: " + yearMonth);
+        }
+        if (snapshotStore.findMonth(yearMonth).isPresent()) {
+            throw new DomainException("Month is already archived: " + yearMonth);
+        }
+
+        LocalDateTime start = yearMonth.atDay(1).atStartOfDay();
+        LocalDateTime end = yearMonth.plusMonths(1).atDay(1).atStartOfDay().minusSeconds(1);
+        List<String> employeeIds = mongoTemplate.findDistinct(
+                new Query(Criteria.where("checkInTime").gte(start).lte(end)), "employeeId", Attendance.class, String.class);
+
+        long sessions;
+        try (AttendanceSnapshotStore.Writer writer = snapshotStore.openWriter(yearMonth)) {
+            for (String employeeId : employeeIds) {
+                List<Attendance> attendances = attendanceRepository.findPrimaryByEmployeeIdAndCheckInTimeBetween(employeeId, start, end);
+                Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(attendances);
+                writer.writeEmployee(employeeId, attendances.stream()
+                        .sorted(Comparator.comparing(Attendance::getCheckInTime))
+                        .map(a -> AttendanceMonthBucket.Session.of(a, agendasByAttendance.getOrDefault(a.getId(), Collections.emptyList())))
+                        .collect(Collectors.toList()));
+            }
+            sessions = writer.getSessionCount();
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write snapshot for " + yearMonth, e);
+        }
+
+        // Originals stay until every node has picked up the manifest; see purgeArchivedOriginals
+        log.info("END archiveMonth | month: {} | employees: {} | sessions: {}", yearMonth, employeeIds.size(), sessions);
+        return sessions;
+    }
+
+    @Override
+    public List<Attendance> findAttendances(String employeeId, LocalDateTime from, LocalDateTime to) {
+        YearMonth fromMonth = YearMonth.from(from);
+        YearMonth toMonth = YearMonth.from(to);
+        List<Attendance> records = new ArrayList<>();
+        for (YearMonth month : snapshotStore.getArchivedMonths()) {
+            if (month.isBefore(fromMonth) || month.isAfter(toMonth)) {
+                continue;
+            }
+            for (AttendanceMonthBucket.Session session : snapshotStore.read(employeeId, month)) {
+                LocalDateTime checkIn = session.getCheckInTime();
+                if (checkIn != null && !checkIn.isBefore(from) && !checkIn.isAfter(to)) {
+                    records.add(session.toAttendance(employeeId));
+                }
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public Set<YearMonth> getArchivedMonths() {
+        return snapshotStore.getArchivedMonths();
+    }
+
+    @Override
+    public List<Attendance> findMonthAttendances(YearMonth yearMonth) {
+        if (!snapshotStore.isArchived(yearMonth)) {
+            return Collections.emptyList();
+        }
+        List<Attendance> records = new ArrayList<>();
+        for (AttendanceArchiveMonth.Member member : snapshotStore.getMembers(yearMonth)) {
+            for (AttendanceMonthBucket.Session session : snapshotStore.read(member.getEmployeeId(), yearMonth)) {
+                records.add(session.toAttendance(member.getEmployeeId()));
+            }
+        }
+        return records;
+    }
+
+    private void purgePublishedMonths() {
+        Instant publishedBefore = Instant.now().minus(Duration.ofMinutes(publishDelayMinutes));
+        for (AttendanceArchiveMonth month : snapshotStore.findUnpurgedMonths()) {
+            if (month.getCommittedAt().isAfter(publishedBefore)) {
+                continue;
+            }
+            try {
+                purgeMonth(YearMonth.parse(month.getYearMonth()));
+            } catch (Exception e) {
+                log.error("Error purging archived month | month: {} | error: {}", month.getYearMonth(), e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Deletes the live documents of an archived month that are unchanged since the snapshot. Documents edited
+     * after it, e.g. by an approved edit request, keep their newer version in attendances and take precedence
+     * over the archived copy; their employee's bucket is kept as well.
+     */
+    private void purgeMonth(YearMonth yearMonth) {
+        log.info("START purgeMonth | month: {}", yearMonth);
+        long deleted = 0;
+        long kept = 0;
+        for (AttendanceArchiveMonth.Member member : snapshotStore.getMembers(yearMonth)) {
+            List<AttendanceMonthBucket.Session> sessions = snapshotStore.read(member.getEmployeeId(), yearMonth);
+            int keptForEmployee = 0;
+            for (int i = 0; i < sessions.size(); i += deleteBatchSize) {
+                List<AttendanceMonthBucket.Session> batch = sessions.subList(i, Math.min(i + deleteBatchSize, sessions.size()));
+                int keptInBatch = deleteUnchanged(batch);
+                deleted += batch.size() - keptInBatch;
+                keptForEmployee += keptInBatch;
+            }
+            if (keptForEmployee == 0) {
+                attendanceBucketRepository.deleteById(AttendanceMonthBucket.idOf(member.getEmployeeId(), yearMonth));
+            }
+            kept += keptForEmployee;
+        }
+        snapshotStore.markPurged(yearMonth, kept);
+        log.info("END purgeMonth | month: {} | deleted: {} | kept: {}", yearMonth, deleted, kept);
+    }
+
+    // Returns how many of the sessions still have a live document
+    private int deleteUnchanged(List<AttendanceMonthBucket.Session> sessions) {
+        Map<String, Long> archivedVersions = new HashMap<>();
+        sessions.forEach(session -> archivedVersions.put(session.getAttendanceId(), session.getVersion()));
+        List<Attendance> originals = attendanceRepository.findAllById(archivedVersions.keySet());
+        List<Attendance> unchanged = originals.stream()
+                .filter(a -> Objects.equals(a.getVersion(), archivedVersions.get(a.getId())))
+                .collect(Collectors.toList());
+        if (unchanged.isEmpty()) {
+            return originals.size();
+        }
+
+        // The version is matched again in the delete, so an edit between the read and here keeps its document
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attendance.class);
+        unchanged.forEach(a -> bulk.remove(new Query(Criteria.where("_id").is(a.getId()).and("version").is(a.getVersion()))));
+        bulk.execute();
+        Set<String> remaining = mongoTemplate.find(new Query(Criteria.where("_id").in(archivedVersions.keySet())),
+                        Attendance.class).stream()
+                .map(Attendance::getId)
+                .collect(Collectors.toSet());
+
+        agendaService.deleteAgendas(unchanged.stream()
+                .filter(a -> !remaining.contains(a.getId()) && !a.usesAgendaCatalog() && a.getAgendaIds() != null)
+                .flatMap(a -> a.getAgendaIds().stream())
+                .collect(Collectors.toList()));
+        return remaining.size();
+    }
+}
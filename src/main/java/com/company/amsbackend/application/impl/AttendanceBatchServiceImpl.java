@@ -0,0 +1,372 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.AgendaCompletionDto;
+import com.company.amsbackend.api.dto.AttendanceBatchEvent;
+import com.company.amsbackend.api.dto.AttendanceBatchResponse;
+import com.company.amsbackend.api.dto.AttendanceBatchResult;
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceBatchService;
+import com.company.amsbackend.application.service.AttendanceBucketService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.concurrency.EmployeeLockStripes;
+import com.company.amsbackend.infrastructure.events.AttendanceEventLog;
+import com.company.amsbackend.infrastructure.mongo.MongoCircuitBreaker;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.company.amsbackend.api.dto.AttendanceBatchResult.Status.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceBatchServiceImpl implements AttendanceBatchService {
+
+    private static final int DAILY_CHECK_IN_LIMIT = 10;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final AttendanceRepository attendanceRepository;
+    private final AgendaService agendaService;
+    private final AttendanceBucketService attendanceBucketService;
+    private final EmployeeLockStripes employeeLockStripes;
+    private final MongoTemplate mongoTemplate;
+    private final AttendanceEventLog attendanceEventLog;
+
+    // Device clocks may run slightly ahead; anything further in the future is rejected
+    @Value("${app.attendance.batch.max-clock-skew-seconds:300}")
+    private long maxClockSkewSeconds;
+
+    // Same window the daily auto-checkout looks back over
+    @Value("${app.attendance.batch.max-event-age-days:7}")
+    private long maxEventAgeDays;
+
+    @Override
+    public AttendanceBatchResponse applyBatch(List<AttendanceBatchEvent> events) {
+        return applyBatch(events, null);
+    }
+
+    @Override
+    public AttendanceBatchResponse applyBatch(List<AttendanceBatchEvent> events, String submittedBy) {
+        log.info("START applyBatch | events: {} | submittedBy: {}", events.size(), submittedBy);
+        AttendanceBatchResult[] results = new AttendanceBatchResult[events.size()];
+        LocalDateTime now = LocalDateTime.now();
+
+        Set<String> keysInBatch = new HashSet<>();
+        Map<String, List<Integer>> byEmployee = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            AttendanceBatchEvent event = events.get(i);
+            String problem = validate(event, now);
+            if (problem == null && submittedBy != null && !submittedBy.equals(event.getEmployeeId())) {
+                problem = "Events can only be submitted for your own employee ID";
+            }
+            if (problem != null) {
+                results[i] = result(i, event, REJECTED, null, problem);
+            } else if (!keysInBatch.add(event.getIdempotencyKey())) {
+                results[i] = result(i, event, DUPLICATE, null, "Idempotency key repeated within the batch");
+            } else {
+                byEmployee.computeIfAbsent(event.getEmployeeId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // Keys applied by an earlier submission of this batch
+        Map<String, Attendance> applied = new HashMap<>();
+        if (!keysInBatch.isEmpty()) {
+            for (Attendance attendance : attendanceRepository.findByIdempotencyKeys(keysInBatch)) {
+                if (attendance.getCheckInKey() != null) {
+                    applied.put(attendance.getCheckInKey(), attendance);
+                }
+                if (attendance.getCheckOutKey() != null) {
+                    applied.put(attendance.getCheckOutKey(), attendance);
+                }
+            }
+        }
+        Set<String> knownEmployees = knownEmployees(byEmployee.keySet());
+
+        for (Map.Entry<String, List<Integer>> entry : byEmployee.entrySet()) {
+            String employeeId = entry.getKey();
+            List<Integer> pending = new ArrayList<>();
+            for (int index : entry.getValue()) {
+                AttendanceBatchEvent event = events.get(index);
+                Attendance previous = applied.get(event.getIdempotencyKey());
+                if (previous != null) {
+                    results[index] = result(index, event, DUPLICATE, previous.getId(), "Already applied");
+                } else if (!knownEmployees.contains(employeeId)) {
+                    results[index] = result(index, event, REJECTED, null, "Employee not found: " + employeeId);
+                } else {
+                    pending.add(index);
+                }
+            }
+            if (pending.isEmpty()) {
+                continue;
+            }
+            try {
+                Map<Integer, AttendanceBatchResult> employeeResults = employeeLockStripes.callExclusive(employeeId,
+                        () -> applyForEmployee(employeeId, pending, events));
+                employeeResults.forEach((index, result) -> results[index] = result);
+            } catch (RuntimeException e) {
+                if (MongoCircuitBreaker.isUnavailable(e)) {
+                    // Whatever was written carries its idempotency key, so the caller can safely retry the batch
+                    throw e;
+                }
+                log.error("Error applying batch events | employeeId: {} | error: {}", employeeId, e.getMessage(), e);
+                for (int index : pending) {
+                    results[index] = result(index, events.get(index), REJECTED, null, "Could not be applied, retry later");
+                }
+            }
+        }
+
+        List<AttendanceBatchResult> ordered = Arrays.asList(results);
+        AttendanceBatchResponse response = AttendanceBatchResponse.builder()
+                .applied(count(ordered, APPLIED))
+                .duplicates(count(ordered, DUPLICATE))
+                .rejected(count(ordered, REJECTED))
+                .results(ordered)
+                .build();
+        log.info("END applyBatch | applied: {} | duplicates: {} | rejected: {}",
+                response.getApplied(), response.getDuplicates(), response.getRejected());
+        return response;
+    }
+
+    /**
+     * Replays one employee's events against their current state and writes the outcome: the session that
+     * was open before the batch with a versioned save, everything created by the batch with one bulk insert
+     * of attendances. Runs under the employee's lock; apart from agenda catalog entries, which are shared and
+     * reused by a retry, nothing is written before the versioned save, so a retry after a conflict starts
+     * from scratch. A backdated check-in must not start before the previous check-out, whether that check-out
+     * is earlier in the batch or already stored.
+     */
+    private Map<Integer, AttendanceBatchResult> applyForEmployee(String employeeId, List<Integer> indexes,
+                                                                 List<AttendanceBatchEvent> events) {
+        Map<Integer, AttendanceBatchResult> results = new LinkedHashMap<>();
+        Attendance existingOpen = attendanceRepository.findByEmployeeIdAndActiveSessionTrue(employeeId).stream()
+                .findFirst().orElse(null);
+        boolean existingClosed = false;
+        List<Agenda> existingAgendas = Collections.emptyList();
+
+        Attendance open = existingOpen;
+        List<Agenda> openAgendas = null; // agendas of a session opened in this batch
+        LocalDateTime lastCheckOut = null;
+        boolean storedCheckOutLoaded = false;
+        Map<LocalDate, Long> checkInsPerDay = new HashMap<>();
+
+        List<Attendance> created = new ArrayList<>();
+        List<Integer> createdBy = new ArrayList<>();
+        Map<Integer, Integer> closedBy = new HashMap<>(); // position in created -> index of its check-out
+        Map<Integer, AttendanceEvent> emitted = new LinkedHashMap<>();
+
+        for (int index : indexes) {
+            AttendanceBatchEvent event = events.get(index);
+            LocalDateTime at = event.getClientTimestamp();
+
+            if (event.getType() == AttendanceBatchEvent.Type.CHECK_IN) {
+                if (open != null) {
+                    results.put(index, result(index, event, REJECTED, open.getId(), "Already checked in! Please check-out first."));
+                    continue;
+                }
+                if (lastCheckOut == null && !storedCheckOutLoaded) {
+                    lastCheckOut = attendanceRepository.findFirstByEmployeeIdOrderByCheckInTimeDesc(employeeId)
+                            .map(Attendance::getCheckOutTime)
+                            .orElse(null);
+                    storedCheckOutLoaded = true;
+                }
+                if (lastCheckOut != null && at.isBefore(lastCheckOut)) {
+                    results.put(index, result(index, event, REJECTED, null, "Check-in is earlier than the previous check-out"));
+                    continue;
+                }
+                LocalDate day = at.toLocalDate();
+                long today = checkInsPerDay.computeIfAbsent(day, d -> attendanceRepository.countByEmployeeIdAndCheckInTimeBetween(
+                        employeeId, d.atStartOfDay(), d.plusDays(1).atStartOfDay().minusSeconds(1)));
+                if (today >= DAILY_CHECK_IN_LIMIT) {
+                    results.put(index, result(index, event, REJECTED, null, "Check-in limit reached for " + day));
+                    continue;
+                }
+                checkInsPerDay.put(day, today + 1);
+
+                openAgendas = agendaService.internAgendas(employeeId, event.getAgendas());
+                open = Attendance.builder()
+                        .id(new ObjectId().toHexString())
+                        .employeeId(employeeId)
+                        .checkInTime(at)
+                        .agendaItems(Attendance.AgendaItem.of(openAgendas))
+                        .checkInLocation(event.getLocation())
+                        .activeSession(true)
+                        .checkInKey(event.getIdempotencyKey())
+                        .version(0L)
+                        .build();
+                created.add(open);
+                createdBy.add(index);
+                emitted.put(index, AttendanceEvent.checkedIn(open));
+                results.put(index, result(index, event, APPLIED, open.getId(), null));
+            } else {
+                if (open == null) {
+                    results.put(index, result(index, event, REJECTED, null, "No active session found. Please check-in first."));
+                    continue;
+                }
+                if (at.isBefore(open.getCheckInTime())) {
+                    results.put(index, result(index, event, REJECTED, open.getId(), "Check-out is earlier than the check-in"));
+                    continue;
+                }
+                open.setCheckOutTime(at);
+                open.setRemark(event.getRemark());
+                open.setReferenceLink(event.getReferenceLink());
+                open.setActiveSession(false);
+                open.setMinutesWorked(Duration.between(open.getCheckInTime(), at).toMinutes());
+                open.setCheckOutKey(event.getIdempotencyKey());
+
+                if (open == existingOpen) {
+                    existingAgendas = agendaService.findAgendas(open);
+                    applyCompletions(existingAgendas, event);
+                    if (open.usesAgendaCatalog()) {
+                        open.setAgendaItems(Attendance.AgendaItem.of(existingAgendas));
+                    }
+                    existingClosed = true;
+                } else {
+                    applyCompletions(openAgendas, event);
+                    open.setAgendaItems(Attendance.AgendaItem.of(openAgendas));
+                    closedBy.put(created.size() - 1, index);
+                }
+                emitted.put(index, AttendanceEvent.checkedOut(open));
+                results.put(index, result(index, event, APPLIED, open.getId(), null));
+                lastCheckOut = at;
+                open = null;
+                openAgendas = null;
+            }
+        }
+
+        if (existingClosed) {
+            // Versioned: a concurrent check-out on another node fails this save and the whole replay is retried
+            attendanceRepository.save(existingOpen);
+            if (!existingOpen.usesAgendaCatalog()) {
+                agendaService.updateCompletion(existingAgendas);
+            }
+            attendanceBucketService.refreshIfCompacted(employeeId, existingOpen.getCheckInTime());
+        }
+        if (!created.isEmpty()) {
+            insertCreated(created, createdBy, closedBy, events, results);
+        }
+        emitted.forEach((index, applied) -> {
+            if (results.get(index).getStatus() == APPLIED) {
+                attendanceEventLog.record(applied);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * An insert can still collide with the same batch replayed concurrently elsewhere; those events become duplicates,
+     * together with the check-out that closed the session in this batch, since it was applied with it.
+     * An open session colliding with one opened meanwhile by a live check-in is rejected like a second check-in.
+     */
+    private void insertCreated(List<Attendance> created, List<Integer> createdBy, Map<Integer, Integer> closedBy,
+                               List<AttendanceBatchEvent> events, Map<Integer, AttendanceBatchResult> results) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Attendance.class)
+                    .insert(created)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (var error : e.getErrors()) {
+                int position = error.getIndex();
+                int index = createdBy.get(position);
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                if (error.getMessage() != null && error.getMessage().contains(Attendance.ACTIVE_SESSION_INDEX)) {
+                    results.put(index, result(index, events.get(index), REJECTED, null,
+                            "Already checked in! Please check-out first."));
+                } else {
+                    results.put(index, result(index, events.get(index), DUPLICATE, null, "Already applied"));
+                    Integer checkOut = closedBy.get(position);
+                    if (checkOut != null) {
+                        results.put(checkOut, result(checkOut, events.get(checkOut), DUPLICATE, null, "Already applied"));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void applyCompletions(List<Agenda> agendas, AttendanceBatchEvent event) {
+        Map<String, Boolean> byId = event.getAgendaCompletions() == null ? Collections.emptyMap()
+                : event.getAgendaCompletions().stream()
+                .filter(c -> c.getAgendaId() != null)
+                .collect(Collectors.toMap(AgendaCompletionDto::getAgendaId, AgendaCompletionDto::isComplete, (a, b) -> b));
+        Set<String> completedTitles = event.getCompletedAgendaTitles() == null ? Collections.emptySet()
+                : new HashSet<>(event.getCompletedAgendaTitles());
+        for (Agenda agenda : agendas) {
+            agenda.setComplete(Boolean.TRUE.equals(byId.get(agenda.getId())) || completedTitles.contains(agenda.getTitle()));
+        }
+    }
+
+    private String validate(AttendanceBatchEvent event, LocalDateTime now) {
+        if (event == null || event.getType() == null) {
+            return "Event type is required";
+        }
+        if (event.getEmployeeId() == null || event.getEmployeeId().isBlank()) {
+            return "Employee ID is required";
+        }
+        if (event.getIdempotencyKey() == null || event.getIdempotencyKey().isBlank()) {
+            return "Idempotency key is required";
+        }
+        LocalDateTime at = event.getClientTimestamp();
+        if (at == null) {
+            return "Client timestamp is required";
+        }
+        if (at.isAfter(now.plusSeconds(maxClockSkewSeconds))) {
+            return "Client timestamp is in the future";
+        }
+        if (at.isBefore(now.minusDays(maxEventAgeDays))) {
+            return "Event is older than " + maxEventAgeDays + " days; submit an edit request instead";
+        }
+        if (event.getType() == AttendanceBatchEvent.Type.CHECK_IN
+                && (event.getAgendas() == null || event.getAgendas().isEmpty())) {
+            return "At least one agenda is required for check-in";
+        }
+        if (event.getType() == AttendanceBatchEvent.Type.CHECK_OUT
+                && (event.getReferenceLink() == null || event.getReferenceLink().trim().isEmpty())) {
+            return "Reference link is required for check-out";
+        }
+        return null;
+    }
+
+    private Set<String> knownEmployees(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Query query = new Query(Criteria.where("employeeId").in(employeeIds));
+        query.fields().include("employeeId");
+        return mongoTemplate.find(query, Employee.class).stream()
+                .map(Employee::getEmployeeId)
+                .collect(Collectors.toSet());
+    }
+
+    private static AttendanceBatchResult result(int index, AttendanceBatchEvent event, AttendanceBatchResult.Status status,
+                                                String attendanceId, String message) {
+        return AttendanceBatchResult.builder()
+                .index(index)
+                .idempotencyKey(event != null ? event.getIdempotencyKey() : null)
+                .status(status)
+                .attendanceId(attendanceId)
+                .message(message)
+                .build();
+    }
+
+    private static int count(List<AttendanceBatchResult> results, AttendanceBatchResult.Status status) {
+        return (int) results.stream().filter(r -> r.getStatus() == status).count();
+    }
+}
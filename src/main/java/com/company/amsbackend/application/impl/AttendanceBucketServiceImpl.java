@@ -0,0 +1,187 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceBucketService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceMonthBucket;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.exception.DomainException;
+import com.company.amsbackend.infrastructure.repository.AttendanceBucketRepository;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.infrastructure.scheduling.SchedulerLockManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceBucketServiceImpl implements AttendanceBucketService {
+
+    // Bucket lookups never go further back than this; older ranges are served from live documents only
+    private static final YearMonth EARLIEST_BUCKET_MONTH = YearMonth.of(2000, 1);
+
+    private final AttendanceRepository attendanceRepository;
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceBucketRepository attendanceBucketRepository;
+    private final AgendaService agendaService;
+    private final SchedulerLockManager schedulerLockManager;
+
+    @Value("${app.attendance.buckets.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    @Scheduled(cron = "${app.attendance.buckets.compaction-cron:0 30 2 2 * *}", zone = "Asia/Kolkata")
+    public void compactPreviousMonth() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth previousMonth = YearMonth.now().minusMonths(1);
+        schedulerLockManager.executeWithLock("compactPreviousMonth",
+                Duration.ofHours(2), Duration.ofMinutes(10), () -> compactMonth(previousMonth));
+    }
+
+    @Override
+    public int compactMonth(YearMonth yearMonth) {
+        log.info("START compactMonth | month: {}", yearMonth);
+        if (!yearMonth.isBefore(YearMonth.now())) {
+            throw new DomainException("Only closed months can be compacted: " + yearMonth);
+        }
+
+        int compacted = 0;
+        for (Employee employee : employeeRepository.findAll()) {
+            try {
+                compactEmployeeMonth(employee.getEmployeeId(), yearMonth);
+                compacted++;
+            } catch (Exception e) {
+                log.error("Error compacting month | employeeId: {} | month: {} | error: {}",
+                        employee.getEmployeeId(), yearMonth, e.getMessage(), e);
+            }
+        }
+        log.info("END compactMonth | month: {} | buckets: {}", yearMonth, compacted);
+        return compacted;
+    }
+
+    @Override
+    public void compactEmployeeMonth(String employeeId, YearMonth yearMonth) {
+        List<Attendance> attendances = attendanceRepository.findPrimaryByEmployeeIdAndCheckInTimeBetween(
+                employeeId,
+                yearMonth.atDay(1).atStartOfDay(),
+                yearMonth.plusMonths(1).atDay(1).atStartOfDay().minusSeconds(1)
+        );
+        Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(attendances);
+
+        // An empty bucket is still written: it records that the month is closed and has no sessions
+        List<AttendanceMonthBucket.Session> sessions = attendances.stream()
+                .sorted(Comparator.comparing(Attendance::getCheckInTime))
+                .map(a -> AttendanceMonthBucket.Session.of(a, agendasByAttendance.getOrDefault(a.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+
+        attendanceBucketRepository.save(AttendanceMonthBucket.builder()
+                .id(AttendanceMonthBucket.idOf(employeeId, yearMonth))
+                .employeeId(employeeId)
+                .yearMonth(yearMonth.toString())
+                .sessions(sessions)
+                .compactedAt(LocalDateTime.now())
+                .build());
+        log.debug("Bucket written | employeeId: {} | month: {} | sessions: {}", employeeId, yearMonth, sessions.size());
+    }
+
+    @Override
+    public void refreshIfCompacted(String employeeId, LocalDateTime checkInTime) {
+        if (!enabled || employeeId == null || checkInTime == null) {
+            return;
+        }
+        YearMonth yearMonth = YearMonth.from(checkInTime);
+        if (!yearMonth.isBefore(YearMonth.now())
+                || !attendanceBucketRepository.existsById(AttendanceMonthBucket.idOf(employeeId, yearMonth))) {
+            return;
+        }
+        log.info("Recompacting bucket after edit | employeeId: {} | month: {}", employeeId, yearMonth);
+        compactEmployeeMonth(employeeId, yearMonth);
+    }
+
+    @Override
+    public List<Attendance> findAttendances(String employeeId, LocalDateTime from, LocalDateTime to) {
+        return findAttendances(employeeId, from, to, attendanceBucketRepository::findByEmployeeIdAndYearMonthRange,
+                attendanceRepository::findByEmployeeIdAndCheckInTimeBetween);
+    }
+
+    @Override
+    public List<Attendance> findReportingAttendances(String employeeId, LocalDateTime from, LocalDateTime to) {
+        return findAttendances(employeeId, from, to, attendanceBucketRepository::findReportingByEmployeeIdAndYearMonthRange,
+                attendanceRepository::findReportingByEmployeeIdAndCheckInTimeBetween);
+    }
+
+    private List<Attendance> findAttendances(String employeeId, LocalDateTime from, LocalDateTime to,
+                                             BucketRead bucketRead, LiveRead liveRead) {
+        if (!enabled) {
+            return liveRead.find(employeeId, from, to);
+        }
+
+        YearMonth fromMonth = YearMonth.from(from);
+        YearMonth toMonth = YearMonth.from(to);
+        YearMonth lastClosed = YearMonth.now().minusMonths(1);
+        YearMonth bucketFrom = fromMonth.isBefore(EARLIEST_BUCKET_MONTH) ? EARLIEST_BUCKET_MONTH : fromMonth;
+        YearMonth bucketTo = toMonth.isAfter(lastClosed) ? lastClosed : toMonth;
+        if (bucketFrom.isAfter(bucketTo)) {
+            return liveRead.find(employeeId, from, to);
+        }
+
+        List<AttendanceMonthBucket> buckets = bucketRead.find(employeeId, bucketFrom.toString(), bucketTo.toString());
+        Set<YearMonth> bucketed = buckets.stream()
+                .map(b -> YearMonth.parse(b.getYearMonth()))
+                .collect(Collectors.toSet());
+
+        List<Attendance> records = new ArrayList<>();
+        for (AttendanceMonthBucket bucket : buckets) {
+            for (AttendanceMonthBucket.Session session : bucket.getSessions()) {
+                LocalDateTime checkIn = session.getCheckInTime();
+                if (checkIn != null && !checkIn.isBefore(from) && !checkIn.isAfter(to)) {
+                    records.add(session.toAttendance(employeeId));
+                }
+            }
+        }
+
+        // Live documents are only read from the first month that has no bucket onwards
+        LocalDateTime liveFrom = from;
+        if (!fromMonth.isBefore(EARLIEST_BUCKET_MONTH)) {
+            YearMonth firstUncovered = fromMonth;
+            while (bucketed.contains(firstUncovered)) {
+                firstUncovered = firstUncovered.plusMonths(1);
+            }
+            if (firstUncovered.isAfter(toMonth)) {
+                liveFrom = null;
+            } else if (firstUncovered.isAfter(fromMonth)) {
+                liveFrom = firstUncovered.atDay(1).atStartOfDay();
+            }
+        }
+        if (liveFrom != null) {
+            liveRead.find(employeeId, liveFrom, to).stream()
+                    .filter(a -> a.getCheckInTime() == null || !bucketed.contains(YearMonth.from(a.getCheckInTime())))
+                    .forEach(records::add);
+        }
+
+        records.sort(Comparator.comparing(Attendance::getCheckInTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        log.debug("Attendances read | employeeId: {} | buckets: {} | records: {}", employeeId, buckets.size(), records.size());
+        return records;
+    }
+
+    private interface BucketRead {
+        List<AttendanceMonthBucket> find(String employeeId, String fromYearMonth, String toYearMonth);
+    }
+
+    private interface LiveRead {
+        List<Attendance> find(String employeeId, LocalDateTime from, LocalDateTime to);
+    }
+}
@@ -3,17 +3,22 @@ package com.company.amsbackend.application.impl;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.company.amsbackend.api.dto.AttendanceEditRequestDto;
+import com.company.amsbackend.application.service.AttendanceBucketService;
 import com.company.amsbackend.application.service.AttendanceEditRequestService;
 import com.company.amsbackend.domain.entity.Attendance;
 import com.company.amsbackend.domain.entity.AttendanceEditRequest;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
 import com.company.amsbackend.domain.enums.RequestStatus;
 import com.company.amsbackend.domain.exception.AttendanceNotFoundException;
+import com.company.amsbackend.infrastructure.concurrency.EmployeeLockStripes;
+import com.company.amsbackend.infrastructure.events.AttendanceEventLog;
 import com.company.amsbackend.infrastructure.repository.AttendanceEditRequestRepository;
 import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
 
@@ -30,6 +35,12 @@ public class AttendanceEditRequestServiceImpl implements AttendanceEditRequestSe
 
     private final AttendanceRepository attendanceRepository;
 
+    private final AttendanceBucketService attendanceBucketService;
+
+    private final EmployeeLockStripes employeeLockStripes;
+
+    private final AttendanceEventLog attendanceEventLog;
+
     @Override
     public AttendanceEditRequestDto createRequest(AttendanceEditRequestDto requestDto) {
 
@@ -67,25 +78,39 @@ public class AttendanceEditRequestServiceImpl implements AttendanceEditRequestSe
         request.setStatus(approved ? RequestStatus.APPROVED : RequestStatus.REJECTED);
 
         if (approved) {
-            Attendance attendance = attendanceRepository.findById(request.getAttendanceId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Attendance record not found with id: " + request.getAttendanceId()));
+            employeeLockStripes.runExclusive(request.getEmployeeId(), () -> applyApprovedEdit(request));
+        }
+
+        AttendanceEditRequest UpdatedAttendance = attendanceEditRequestRepository.save(request);
+        return mapToDto(UpdatedAttendance);
+    }
+
+    // Runs under the employee's lock and is retried as a whole if another node saved the attendance first
+    private void applyApprovedEdit(AttendanceEditRequest request) {
+        Attendance attendance = attendanceRepository.findById(request.getAttendanceId())
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Attendance record not found with id: " + request.getAttendanceId()));
 
-            attendance.setCheckInTime(request.getRequestCheckIn());
-            attendance.setCheckOutTime(request.getRequestCheckOut());
-            if (request.getRequestCheckIn() != null && request.getRequestCheckOut() != null) {
+        LocalDateTime previousCheckIn = attendance.getCheckInTime();
+        attendance.setCheckInTime(request.getRequestCheckIn());
+        attendance.setCheckOutTime(request.getRequestCheckOut());
+        if (request.getRequestCheckIn() != null && request.getRequestCheckOut() != null) {
             long minutesWorked = Duration.between(
                     request.getRequestCheckIn(),
                     request.getRequestCheckOut()
             ).toMinutes();
 
-            attendance.setMinutesWorked(minutesWorked); 
+            attendance.setMinutesWorked(minutesWorked);
         }
-            attendanceRepository.save(attendance);
+        attendanceRepository.save(attendance);
+        attendanceEventLog.record(AttendanceEvent.editApproved(attendance, previousCheckIn, request.getId()));
+
+        // The edit may move the session between months, so both affected buckets are rebuilt
+        attendanceBucketService.refreshIfCompacted(attendance.getEmployeeId(), previousCheckIn);
+        if (previousCheckIn == null || attendance.getCheckInTime() == null
+                || !YearMonth.from(previousCheckIn).equals(YearMonth.from(attendance.getCheckInTime()))) {
+            attendanceBucketService.refreshIfCompacted(attendance.getEmployeeId(), attendance.getCheckInTime());
         }
-
-        AttendanceEditRequest UpdatedAttendance = attendanceEditRequestRepository.save(request);
-        return mapToDto(UpdatedAttendance);
     }
 
     @Override
@@ -0,0 +1,267 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceArchiveService;
+import com.company.amsbackend.application.service.AttendanceExportService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.mongo.ReadRouting;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceExportServiceImpl implements AttendanceExportService {
+
+    // Cursor batch and agenda lookup size; only one chunk of sessions is held at a time, except for archived months
+    private static final int CHUNK_SIZE = 500;
+    private static final String[] CSV_HEADER = {
+            "attendanceId", "employeeId", "employeeName", "email", "date", "checkInTime", "checkOutTime",
+            "minutesWorked", "activeSession", "checkInLocation", "agendaCount", "agendasCompleted", "agendas"};
+
+    private final MongoTemplate mongoTemplate;
+    private final AgendaService agendaService;
+    private final AttendanceArchiveService attendanceArchiveService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.employee-directory-ttl-seconds:300}")
+    private long directoryTtlSeconds;
+
+    private volatile EmployeeDirectory employeeDirectory;
+
+    @Override
+    public long exportAttendance(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        log.info("START exportAttendance | from: {} | to: {} | format: {}", from, to, format);
+        long start = System.currentTimeMillis();
+
+        Map<String, Employee> employees = employeeDirectory();
+        Set<YearMonth> archivedMonths = attendanceArchiveService.getArchivedMonths();
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay().minusSeconds(1);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer, objectMapper);
+        long count = 0;
+        // Payroll exports are reporting reads: the live cursors are served by a secondary
+        ReadRouting.enterSecondary();
+        try {
+            rows.writeHeader();
+            // Month by month, so months whose originals were purged after archiving are read from the snapshot
+            for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+                LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+                LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay().minusSeconds(1);
+                LocalDateTime sliceStart = monthStart.isBefore(rangeStart) ? rangeStart : monthStart;
+                LocalDateTime sliceEnd = monthEnd.isAfter(rangeEnd) ? rangeEnd : monthEnd;
+                count += archivedMonths.contains(month)
+                        ? writeArchivedMonth(month, sliceStart, sliceEnd, employees, rows)
+                        : writeLive(sliceStart, sliceEnd, employees, rows);
+            }
+            writer.flush();
+        } finally {
+            ReadRouting.exitSecondary();
+        }
+
+        log.info("END exportAttendance | rows: {} | durationMs: {}", count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private long writeLive(LocalDateTime from, LocalDateTime to, Map<String, Employee> employees, RowWriter rows)
+            throws IOException {
+        long count = 0;
+        List<Attendance> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<Attendance> cursor = mongoTemplate.stream(liveQuery(from, to).cursorBatchSize(CHUNK_SIZE), Attendance.class)) {
+            for (Iterator<Attendance> it = cursor.iterator(); it.hasNext(); ) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    count += writeChunk(chunk, employees, rows);
+                    chunk.clear();
+                }
+            }
+        }
+        return count + writeChunk(chunk, employees, rows);
+    }
+
+    /**
+     * Live documents of an archived month, i.e. those not purged yet or edited after the snapshot, win over
+     * their archived copy. The month is merged in memory to keep rows ordered by check-in time.
+     */
+    private long writeArchivedMonth(YearMonth month, LocalDateTime from, LocalDateTime to,
+                                    Map<String, Employee> employees, RowWriter rows) throws IOException {
+        List<Attendance> sessions = new ArrayList<>(mongoTemplate.find(liveQuery(from, to), Attendance.class));
+        Set<String> liveIds = sessions.stream().map(Attendance::getId).collect(Collectors.toSet());
+        attendanceArchiveService.findMonthAttendances(month).stream()
+                .filter(a -> !liveIds.contains(a.getId()))
+                .filter(a -> a.getCheckInTime() != null && !a.getCheckInTime().isBefore(from) && !a.getCheckInTime().isAfter(to))
+                .forEach(sessions::add);
+        sessions.sort(Comparator.comparing(Attendance::getCheckInTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        log.debug("Archived month merged | month: {} | live: {} | sessions: {}", month, liveIds.size(), sessions.size());
+
+        long count = 0;
+        for (int i = 0; i < sessions.size(); i += CHUNK_SIZE) {
+            count += writeChunk(sessions.subList(i, Math.min(i + CHUNK_SIZE, sessions.size())), employees, rows);
+        }
+        return count;
+    }
+
+    private static Query liveQuery(LocalDateTime from, LocalDateTime to) {
+        Query query = new Query(Criteria.where("checkInTime").gte(from).lte(to)).with(Sort.by("checkInTime"));
+        query.fields().include("employeeId", "checkInTime", "checkOutTime", "minutesWorked",
+                "activeSession", "checkInLocation", "agendaIds", "agendaItems");
+        return query;
+    }
+
+    private int writeChunk(List<Attendance> chunk, Map<String, Employee> employees, RowWriter rows) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        // One $in lookup per chunk rather than one per row
+        Map<String, List<Agenda>> agendas = agendaService.findAgendasForAttendances(chunk);
+        for (Attendance attendance : chunk) {
+            rows.write(attendance, employees.get(attendance.getEmployeeId()),
+                    agendas.getOrDefault(attendance.getId(), Collections.emptyList()));
+        }
+        return chunk.size();
+    }
+
+    private Map<String, Employee> employeeDirectory() {
+        EmployeeDirectory directory = employeeDirectory;
+        if (directory == null || directory.loadedAt().plus(Duration.ofSeconds(directoryTtlSeconds)).isBefore(Instant.now())) {
+            Query projection = new Query();
+            projection.fields().include("employeeId", "name", "email");
+            Map<String, Employee> byId = mongoTemplate.find(projection, Employee.class).stream()
+                    .filter(e -> e.getEmployeeId() != null)
+                    .collect(Collectors.toMap(Employee::getEmployeeId, e -> e, (a, b) -> a));
+            directory = new EmployeeDirectory(byId, Instant.now());
+            employeeDirectory = directory;
+            log.debug("Employee directory loaded | employees: {}", byId.size());
+        }
+        return directory.employees();
+    }
+
+    private record EmployeeDirectory(Map<String, Employee> employees, Instant loadedAt) {
+    }
+
+    private interface RowWriter {
+        void writeHeader() throws IOException;
+
+        void write(Attendance attendance, Employee employee, List<Agenda> agendas) throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            this.writer = writer;
+            this.generator = objectMapper.createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // flush() below only hands the row to the buffered writer; the response is flushed by its buffer
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void write(Attendance attendance, Employee employee, List<Agenda> agendas) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("attendanceId", attendance.getId());
+            generator.writeStringField("employeeId", attendance.getEmployeeId());
+            generator.writeStringField("employeeName", employee != null ? employee.getName() : null);
+            generator.writeStringField("email", employee != null ? employee.getEmail() : null);
+            generator.writeStringField("checkInTime", Objects.toString(attendance.getCheckInTime(), null));
+            generator.writeStringField("checkOutTime", Objects.toString(attendance.getCheckOutTime(), null));
+            if (attendance.getMinutesWorked() != null) {
+                generator.writeNumberField("minutesWorked", attendance.getMinutesWorked());
+            } else {
+                generator.writeNullField("minutesWorked");
+            }
+            generator.writeBooleanField("activeSession", attendance.isActiveSession());
+            generator.writeStringField("checkInLocation", attendance.getCheckInLocation());
+            generator.writeArrayFieldStart("agendas");
+            for (Agenda agenda : agendas) {
+                generator.writeStartObject();
+                generator.writeStringField("title", agenda.getTitle());
+                generator.writeBooleanField("complete", agenda.isComplete());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writer.write(String.join(",", CSV_HEADER));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(Attendance attendance, Employee employee, List<Agenda> agendas) throws IOException {
+            long completed = agendas.stream().filter(Agenda::isComplete).count();
+            String[] cells = {
+                    attendance.getId(),
+                    attendance.getEmployeeId(),
+                    employee != null ? employee.getName() : null,
+                    employee != null ? employee.getEmail() : null,
+                    attendance.getCheckInTime() != null ? attendance.getCheckInTime().toLocalDate().toString() : null,
+                    Objects.toString(attendance.getCheckInTime(), null),
+                    Objects.toString(attendance.getCheckOutTime(), null),
+                    Objects.toString(attendance.getMinutesWorked(), null),
+                    String.valueOf(attendance.isActiveSession()),
+                    attendance.getCheckInLocation(),
+                    String.valueOf(agendas.size()),
+                    String.valueOf(completed),
+                    agendas.stream().map(Agenda::getTitle).filter(Objects::nonNull).collect(Collectors.joining("; "))
+            };
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(cells[i]));
+            }
+            writer.write('\n');
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.AgendaCompletionDto;
+import com.company.amsbackend.api.dto.AttendanceBatchEvent;
+import com.company.amsbackend.api.dto.AttendanceBatchResponse;
+import com.company.amsbackend.api.dto.AttendanceBatchResult;
+import com.company.amsbackend.application.service.AttendanceBatchService;
+import com.company.amsbackend.application.service.AttendanceJournalReplayService;
+import com.company.amsbackend.infrastructure.journal.AttendanceJournal;
+import com.company.amsbackend.domain.entity.OrphanCheckOut;
+import com.company.amsbackend.infrastructure.journal.JournalEntry;
+import com.company.amsbackend.infrastructure.journal.JournalPeers;
+import com.company.amsbackend.infrastructure.mongo.MongoCircuitBreaker;
+import com.company.amsbackend.infrastructure.mongo.MongoUnavailableException;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.OrphanCheckOutRepository;
+import com.company.amsbackend.infrastructure.scheduling.SchedulerLockManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceJournalReplayServiceImpl implements AttendanceJournalReplayService {
+
+    private final AttendanceJournal attendanceJournal;
+    private final MongoCircuitBreaker mongoCircuitBreaker;
+    private final AttendanceBatchService attendanceBatchService;
+    private final MeterRegistry meterRegistry;
+    private final JournalPeers journalPeers;
+    private final OrphanCheckOutRepository orphanCheckOutRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final SchedulerLockManager schedulerLockManager;
+
+    @Value("${app.journal.replay-batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.journal.orphan-check-out-ttl-minutes:60}")
+    private long orphanTtlMinutes;
+
+    // The journal is local to this node, so every node drains its own; no scheduler lock
+    @Override
+    @Scheduled(fixedDelayString = "${app.journal.replay-interval-ms:5000}")
+    public void replayScheduled() {
+        if (attendanceJournal.depth() > 0) {
+            replayPending();
+        }
+        try {
+            mongoCircuitBreaker.run(() -> {
+                // Reported on every run, also when empty: a node that stops reporting is taken for one cut off from Mongo
+                journalPeers.report(attendanceJournal.getJournalId(), attendanceJournal.pendingEmployees());
+                if (orphanCheckOutRepository.count() > 0) {
+                    schedulerLockManager.executeWithLock("resolveOrphanCheckOuts",
+                            Duration.ofMinutes(5), Duration.ZERO, this::resolveOrphanCheckOuts);
+                }
+            });
+        } catch (MongoUnavailableException e) {
+            log.debug("Journal status not reported, Mongo unavailable | error: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void withdraw() {
+        if (attendanceJournal.depth() == 0) {
+            try {
+                journalPeers.remove(attendanceJournal.getJournalId());
+            } catch (RuntimeException e) {
+                log.warn("Could not withdraw journal status | error: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized int replayPending() {
+        log.info("START replayPending | depth: {}", attendanceJournal.depth());
+        int replayed = 0;
+        List<AttendanceJournal.Journaled> entries;
+        while (!(entries = attendanceJournal.peek(batchSize)).isEmpty()) {
+            List<AttendanceBatchEvent> events = entries.stream()
+                    .map(j -> toEvent(j.entry()))
+                    .collect(Collectors.toList());
+            AttendanceBatchResponse response;
+            try {
+                response = mongoCircuitBreaker.call(() -> attendanceBatchService.applyBatch(events));
+            } catch (MongoUnavailableException e) {
+                log.warn("Journal replay paused, Mongo unavailable | depth: {} | error: {}",
+                        attendanceJournal.depth(), e.getMessage());
+                break;
+            }
+
+            for (AttendanceBatchResult result : response.getResults()) {
+                JournalEntry entry = entries.get(result.getIndex()).entry();
+                if (result.getStatus() == AttendanceBatchResult.Status.REJECTED) {
+                    // The event broke a rule that could not be checked offline; it is dropped and left for HR to correct
+                    log.error("Journaled event rejected on replay | employeeId: {} | type: {} | eventTime: {} | sequence: {} | reason: {}",
+                            entry.employeeId(), entry.type(), entry.eventTime(), entry.sequence(), result.getMessage());
+                }
+                Counter.builder("attendance.journal.replayed")
+                        .tag("status", result.getStatus().name())
+                        .register(meterRegistry)
+                        .increment();
+            }
+            attendanceJournal.acknowledge(entries.get(entries.size() - 1).end());
+            replayed += entries.size();
+        }
+        log.info("END replayPending | replayed: {} | depth: {}", replayed, attendanceJournal.depth());
+        return replayed;
+    }
+
+    @Override
+    public synchronized int resolveOrphanCheckOuts() {
+        int applied = 0;
+        Instant expired = Instant.now().minus(Duration.ofMinutes(orphanTtlMinutes));
+        for (OrphanCheckOut orphan : orphanCheckOutRepository.findAllByOrderByEventTimeAsc()) {
+            boolean checkedIn = attendanceRepository.findByEmployeeIdAndActiveSessionTrue(orphan.getEmployeeId()).stream()
+                    .anyMatch(session -> !session.getCheckInTime().isAfter(orphan.getEventTime()));
+            if (checkedIn) {
+                AttendanceBatchResult result = attendanceBatchService.applyBatch(List.of(toEvent(orphan))).getResults().get(0);
+                if (result.getStatus() == AttendanceBatchResult.Status.REJECTED) {
+                    log.error("Orphan check-out rejected | employeeId: {} | eventTime: {} | reason: {}",
+                            orphan.getEmployeeId(), orphan.getEventTime(), result.getMessage());
+                } else {
+                    applied++;
+                }
+                countOrphan(result.getStatus().name());
+            } else if (orphan.getCreatedAt().isBefore(expired)) {
+                // No journaled check-in arrived; left for HR to correct like a rejected replay
+                log.error("Orphan check-out dropped, no check-in arrived | employeeId: {} | eventTime: {}",
+                        orphan.getEmployeeId(), orphan.getEventTime());
+                countOrphan("EXPIRED");
+            } else {
+                continue;
+            }
+            orphanCheckOutRepository.delete(orphan);
+        }
+        if (applied > 0) {
+            log.info("Orphan check-outs applied | count: {}", applied);
+        }
+        return applied;
+    }
+
+    private void countOrphan(String outcome) {
+        Counter.builder("attendance.journal.orphan.check-outs").tag("outcome", outcome).register(meterRegistry).increment();
+    }
+
+    private static AttendanceBatchEvent toEvent(OrphanCheckOut orphan) {
+        Map<String, Boolean> completions = orphan.getAgendaCompletions() != null ? orphan.getAgendaCompletions() : Collections.emptyMap();
+        return AttendanceBatchEvent.builder()
+                .type(AttendanceBatchEvent.Type.CHECK_OUT)
+                .employeeId(orphan.getEmployeeId())
+                .clientTimestamp(orphan.getEventTime())
+                .idempotencyKey("orphan:" + orphan.getId())
+                .agendaCompletions(completions.entrySet().stream()
+                        .map(c -> new AgendaCompletionDto(c.getKey(), c.getValue()))
+                        .collect(Collectors.toList()))
+                .remark(orphan.getRemark())
+                .referenceLink(orphan.getReferenceLink())
+                .build();
+    }
+
+    // The key ties the event to this journal file, so a replay interrupted before acknowledge is a no-op the second time
+    private AttendanceBatchEvent toEvent(JournalEntry entry) {
+        Map<String, Boolean> completions = entry.agendaCompletions() != null ? entry.agendaCompletions() : Collections.emptyMap();
+        return AttendanceBatchEvent.builder()
+                .type(entry.type() == JournalEntry.Type.CHECK_IN ? AttendanceBatchEvent.Type.CHECK_IN : AttendanceBatchEvent.Type.CHECK_OUT)
+                .employeeId(entry.employeeId())
+                .clientTimestamp(entry.eventTime())
+                .idempotencyKey("journal:" + attendanceJournal.getJournalId() + ":" + entry.sequence())
+                .agendas(entry.agendas())
+                .location(entry.location())
+                .agendaCompletions(completions.entrySet().stream()
+                        .map(c -> new AgendaCompletionDto(c.getKey(), c.getValue()))
+                        .collect(Collectors.toList()))
+                .remark(entry.remark())
+                .referenceLink(entry.referenceLink())
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.projection.AttendanceProjection;
+import com.company.amsbackend.application.service.AttendanceProjectionService;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import com.company.amsbackend.domain.entity.ProjectionCheckpoint;
+import com.company.amsbackend.domain.exception.DomainException;
+import com.company.amsbackend.infrastructure.events.AttendanceEventLog;
+import com.company.amsbackend.infrastructure.scheduling.SchedulerLockManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceProjectionServiceImpl implements AttendanceProjectionService {
+
+    private static final String LOCK = "attendanceProjections";
+
+    private final List<AttendanceProjection> projections;
+    private final AttendanceEventLog attendanceEventLog;
+    private final MongoTemplate mongoTemplate;
+    private final SchedulerLockManager schedulerLockManager;
+
+    @Value("${app.projections.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.projections.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.projections.batch-size:5000}")
+    private int batchSize;
+
+    // Sequences come from each node's clock before the insert, so an event can land behind a higher sequence
+    // by the insert latency plus clock skew; catch-up leaves events this recent for the next run
+    @Value("${app.projections.settle-seconds:10}")
+    private long settleSeconds;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void startExecutor() {
+        executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "projection-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.projections.interval-ms:30000}")
+    public void catchUpScheduled() {
+        if (!enabled) {
+            return;
+        }
+        schedulerLockManager.executeWithLock(LOCK, Duration.ofMinutes(30), Duration.ZERO, this::catchUp);
+    }
+
+    @Override
+    public synchronized long catchUp() {
+        long read = 0;
+        while (true) {
+            Map<String, Long> checkpoints = loadCheckpoints();
+            long from = Collections.min(checkpoints.values());
+            Query query = new Query(Criteria.where("sequence").gt(from)
+                    .and("recordedAt").lt(Instant.now().minusSeconds(settleSeconds)))
+                    .with(Sort.by("sequence"))
+                    .limit(batchSize);
+            List<AttendanceEvent> events = mongoTemplate.find(query, AttendanceEvent.class);
+            if (events.isEmpty()) {
+                break;
+            }
+
+            Map<String, List<AttendanceEvent>> byEmployee = events.stream()
+                    .collect(Collectors.groupingBy(AttendanceEvent::getEmployeeId, LinkedHashMap::new, Collectors.toList()));
+            runPartitioned(byEmployee.keySet(), employeeId -> {
+                List<AttendanceEvent> employeeEvents = byEmployee.get(employeeId);
+                for (AttendanceProjection projection : projections) {
+                    long checkpoint = checkpoints.get(projection.name());
+                    List<AttendanceEvent> unseen = employeeEvents.stream()
+                            .filter(e -> e.getSequence() > checkpoint)
+                            .collect(Collectors.toList());
+                    if (!unseen.isEmpty()) {
+                        projection.apply(employeeId, unseen);
+                    }
+                }
+                return (long) employeeEvents.size();
+            });
+
+            long last = events.get(events.size() - 1).getSequence();
+            for (AttendanceProjection projection : projections) {
+                saveCheckpoint(projection.name(), Math.max(last, checkpoints.get(projection.name())), false);
+            }
+            read += events.size();
+            log.info("Projections caught up | events: {} | sequence: {}", events.size(), last);
+            if (events.size() < batchSize) {
+                break;
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public long rebuild() {
+        AtomicLong replayed = new AtomicLong();
+        boolean ran = schedulerLockManager.executeWithLock(LOCK, Duration.ofHours(6), Duration.ZERO,
+                () -> replayed.set(rebuildAll()));
+        if (!ran) {
+            throw new DomainException("Projection catch-up or rebuild is already running");
+        }
+        return replayed.get();
+    }
+
+    private synchronized long rebuildAll() {
+        // Events above the horizon may still be in flight; catch-up picks them up after the rebuild
+        long upTo = attendanceEventLog.horizon();
+        log.info("START rebuildProjections | upTo: {} | projections: {}", upTo,
+                projections.stream().map(AttendanceProjection::name).collect(Collectors.toList()));
+        for (AttendanceProjection projection : projections) {
+            projection.reset();
+            saveCheckpoint(projection.name(), 0, false);
+        }
+
+        List<String> employeeIds = mongoTemplate.findDistinct(new Query(), "employeeId", AttendanceEvent.class, String.class);
+        long replayed = runPartitioned(employeeIds, employeeId -> {
+            long count = 0;
+            long after = 0;
+            while (true) {
+                List<AttendanceEvent> events = mongoTemplate.find(new Query(Criteria.where("employeeId").is(employeeId)
+                                .and("sequence").gt(after).lte(upTo))
+                                .with(Sort.by("sequence"))
+                                .limit(batchSize),
+                        AttendanceEvent.class);
+                if (events.isEmpty()) {
+                    return count;
+                }
+                for (AttendanceProjection projection : projections) {
+                    projection.apply(employeeId, events);
+                }
+                count += events.size();
+                after = events.get(events.size() - 1).getSequence();
+            }
+        });
+
+        for (AttendanceProjection projection : projections) {
+            saveCheckpoint(projection.name(), upTo, true);
+        }
+        log.info("END rebuildProjections | employees: {} | events: {}", employeeIds.size(), replayed);
+        return replayed;
+    }
+
+    // One task per employee; an employee's events are applied on one thread, in order
+    private long runPartitioned(Collection<String> employeeIds, Partition partition) {
+        List<Future<Long>> futures = new ArrayList<>(employeeIds.size());
+        for (String employeeId : employeeIds) {
+            futures.add(executor.submit(() -> partition.apply(employeeId)));
+        }
+        long total = 0;
+        try {
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Projection replay interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Projection replay failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return total;
+    }
+
+    private Map<String, Long> loadCheckpoints() {
+        Map<String, Long> stored = mongoTemplate.findAll(ProjectionCheckpoint.class).stream()
+                .collect(Collectors.toMap(ProjectionCheckpoint::getName, ProjectionCheckpoint::getSequence));
+        Map<String, Long> checkpoints = new HashMap<>();
+        for (AttendanceProjection projection : projections) {
+            checkpoints.put(projection.name(), stored.getOrDefault(projection.name(), 0L));
+        }
+        return checkpoints;
+    }
+
+    private void saveCheckpoint(String name, long sequence, boolean rebuilt) {
+        ProjectionCheckpoint checkpoint = mongoTemplate.findById(name, ProjectionCheckpoint.class);
+        Instant now = Instant.now();
+        mongoTemplate.save(ProjectionCheckpoint.builder()
+                .name(name)
+                .sequence(sequence)
+                .updatedAt(now)
+                .rebuiltAt(rebuilt ? now : checkpoint != null ? checkpoint.getRebuiltAt() : null)
+                .build());
+    }
+
+    @FunctionalInterface
+    private interface Partition {
+        long apply(String employeeId) throws Exception;
+    }
+}
@@ -2,26 +2,41 @@ package com.company.amsbackend.application.impl;
 
 import com.company.amsbackend.api.dto.AbsenceReportDto;
 import com.company.amsbackend.api.dto.AgendaWithStatusDto;
+import com.company.amsbackend.api.dto.AttendanceRecordDto;
 import com.company.amsbackend.api.dto.AttendanceResponseDto;
 import com.company.amsbackend.api.dto.DailyActivityDto;
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceArchiveService;
+import com.company.amsbackend.application.service.AttendanceBucketService;
 import com.company.amsbackend.application.service.AttendanceService;
 import com.company.amsbackend.domain.entity.Agenda;
 import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
 import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.entity.OrphanCheckOut;
 import com.company.amsbackend.domain.exception.AttendanceNotFoundException;
 import com.company.amsbackend.domain.exception.DomainException;
 import com.company.amsbackend.domain.exception.EmployeeNotFoundException;
-import com.company.amsbackend.infrastructure.repository.AgendaRepository;
+import com.company.amsbackend.infrastructure.concurrency.EmployeeLockStripes;
+import com.company.amsbackend.infrastructure.events.AttendanceEventLog;
+import com.company.amsbackend.infrastructure.journal.AttendanceJournal;
+import com.company.amsbackend.infrastructure.journal.JournalEntry;
+import com.company.amsbackend.infrastructure.journal.JournalPeers;
+import com.company.amsbackend.infrastructure.mongo.MongoCircuitBreaker;
+import com.company.amsbackend.infrastructure.mongo.MongoUnavailableException;
 import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
 import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.infrastructure.repository.OrphanCheckOutRepository;
+import com.company.amsbackend.infrastructure.scheduling.SchedulerLockManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,13 +46,39 @@ public class AttendanceServiceImpl implements AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
-    private final AgendaRepository agendaRepository;
+    private final AgendaService agendaService;
+    private final AttendanceBucketService attendanceBucketService;
+    private final AttendanceArchiveService attendanceArchiveService;
+    private final SchedulerLockManager schedulerLockManager;
+    private final EmployeeLockStripes employeeLockStripes;
+    private final AttendanceJournal attendanceJournal;
+    private final MongoCircuitBreaker mongoCircuitBreaker;
+    private final AttendanceEventLog attendanceEventLog;
+    private final JournalPeers journalPeers;
+    private final OrphanCheckOutRepository orphanCheckOutRepository;
 
     private static final int DAILY_CHECK_IN_LIMIT = 10;
 
     @Override
-    @Transactional
     public AttendanceResponseDto checkIn(String employeeId, List<String> agendaTitles, String location) {
+        LocalDateTime requestedAt = LocalDateTime.now();
+        if (!attendanceJournal.hasPending(employeeId)) {
+            try {
+                // Serialized with check-out and auto-checkout so two requests cannot both open a session
+                return mongoCircuitBreaker.call(() -> employeeLockStripes.callExclusive(employeeId,
+                        () -> doCheckIn(employeeId, agendaTitles, location)));
+            } catch (MongoUnavailableException e) {
+                log.warn("Mongo unavailable, journaling check-in | employeeId: {} | error: {}", employeeId, e.getMessage());
+            }
+        }
+        if (agendaTitles == null || agendaTitles.isEmpty()) {
+            throw new DomainException("At least one agenda is required for check-in");
+        }
+        attendanceJournal.append(JournalEntry.checkIn(employeeId, requestedAt, agendaTitles, location));
+        return AttendanceResponseDto.builder().journaled(true).build();
+    }
+
+    private AttendanceResponseDto doCheckIn(String employeeId, List<String> agendaTitles, String location) {
         log.info("START checkIn | employeeId: {} | location: {} | agendas: {}", employeeId, location, agendaTitles);
 
         // Verify employee exists
@@ -68,41 +109,31 @@ public class AttendanceServiceImpl implements AttendanceService {
             throw new DomainException("At least one agenda is required for check-in");
         }
 
-        // Create and save agendas with initial completion status as false
-        List<Agenda> agendas = agendaTitles.stream()
-                .map(title -> Agenda.builder()
-                        .title(title)
-                        .complete(false)
-                        .build())
-                .collect(Collectors.toList());
-
-        List<Agenda> savedAgendas = agendaRepository.saveAll(agendas);
-        log.info("Agendas created | count: {} | employeeId: {}", savedAgendas.size(), employeeId);
-
-        List<String> agendaIds = savedAgendas.stream()
-                .map(Agenda::getId)
-                .collect(Collectors.toList());
+        // Look up (or add) the titles in the employee's agenda catalog; completion starts as false
+        List<Agenda> savedAgendas = agendaService.internAgendas(employeeId, agendaTitles);
+        log.info("Agendas interned | count: {} | employeeId: {}", savedAgendas.size(), employeeId);
 
         // Create and save attendance record
         Attendance attendance = Attendance.builder()
                 .employeeId(employeeId)
                 .checkInTime(LocalDateTime.now())
-                .agendaIds(agendaIds)
+                .agendaItems(Attendance.AgendaItem.of(savedAgendas))
                 .checkInLocation(location)
                 .activeSession(true)
                 .build();
 
-        attendance = attendanceRepository.save(attendance);
+        try {
+            attendance = attendanceRepository.save(attendance);
+        } catch (DuplicateKeyException e) {
+            // Another node opened a session between the check above and this insert
+            log.warn("Active session exists | employeeId: {}", employeeId);
+            throw new DomainException("Already checked in! Please check-out first.");
+        }
+        attendanceEventLog.record(AttendanceEvent.checkedIn(attendance));
         log.info("Check-in successful | employeeId: {} | attendanceId: {}", employeeId, attendance.getId());
 
         // Create response with agendas
-        List<AgendaWithStatusDto> agendaWithStatusDtos = savedAgendas.stream()
-                .map(agenda -> AgendaWithStatusDto.builder()
-                        .id(agenda.getId())
-                        .title(agenda.getTitle())
-                        .complete(agenda.isComplete()) // Uses the getter method
-                        .build())
-                .collect(Collectors.toList());
+        List<AgendaWithStatusDto> agendaWithStatusDtos = agendaService.toDtos(savedAgendas);
 
         log.info("END checkIn | employeeId: {} | attendanceId: {}", employeeId, attendance.getId());
         return AttendanceResponseDto.builder()
@@ -122,32 +153,46 @@ public class AttendanceServiceImpl implements AttendanceService {
         }
 
         Attendance attendance = attendanceOpt.get();
-        List<String> agendaIds = attendance.getAgendaIds();
 
-        if (agendaIds == null || agendaIds.isEmpty()) {
+        if (attendance.agendaReferences().isEmpty()) {
             log.info("No agendas for attendance | attendanceId: {}", attendanceId);
             return new ArrayList<>();
         }
 
-        List<Agenda> agendas = agendaRepository.findAllById(agendaIds);
+        List<Agenda> agendas = agendaService.findAgendas(attendance);
         log.info("Agendas found | count: {} | attendanceId: {}", agendas.size(), attendanceId);
 
-        return agendas.stream()
-                .map(agenda -> AgendaWithStatusDto.builder()
-                        .id(agenda.getId())
-                        .title(agenda.getTitle())
-                        .complete(agenda.isComplete())
-                        .build())
-                .collect(Collectors.toList());
+        return agendaService.toDtos(agendas);
     }
 
     @Override
-    @Transactional
     public AttendanceResponseDto checkOut(
             String employeeId,
             Map<String, Boolean> agendaCompletions,
             String remark,
             String referenceLink
+    ) {
+        LocalDateTime requestedAt = LocalDateTime.now();
+        if (!attendanceJournal.hasPending(employeeId)) {
+            try {
+                return mongoCircuitBreaker.call(() -> employeeLockStripes.callExclusive(employeeId,
+                        () -> doCheckOut(employeeId, agendaCompletions, remark, referenceLink)));
+            } catch (MongoUnavailableException e) {
+                log.warn("Mongo unavailable, journaling check-out | employeeId: {} | error: {}", employeeId, e.getMessage());
+            }
+        }
+        if (referenceLink == null || referenceLink.trim().isEmpty()) {
+            throw new DomainException("Reference link is required for check-out");
+        }
+        attendanceJournal.append(JournalEntry.checkOut(employeeId, requestedAt, agendaCompletions, remark, referenceLink));
+        return AttendanceResponseDto.builder().journaled(true).build();
+    }
+
+    private AttendanceResponseDto doCheckOut(
+            String employeeId,
+            Map<String, Boolean> agendaCompletions,
+            String remark,
+            String referenceLink
     ) {
         log.info("START checkOut | employeeId: {} | remark: {} | referenceLink: {}", employeeId, remark, referenceLink);
 
@@ -161,6 +206,21 @@ public class AttendanceServiceImpl implements AttendanceService {
         // Find active session
         List<Attendance> activeSessions = attendanceRepository.findByEmployeeIdAndActiveSessionTrue(employeeId);
         if (activeSessions.isEmpty()) {
+            // The check-in may sit in another node's journal; the check-out is kept until it is replayed
+            if (referenceLink != null && !referenceLink.trim().isEmpty()
+                    && journalPeers.mayHavePending(employeeId, attendanceJournal.getJournalId())) {
+                OrphanCheckOut orphan = orphanCheckOutRepository.save(OrphanCheckOut.builder()
+                        .employeeId(employeeId)
+                        .eventTime(LocalDateTime.now())
+                        .agendaCompletions(agendaCompletions)
+                        .remark(remark)
+                        .referenceLink(referenceLink)
+                        .createdAt(Instant.now())
+                        .build());
+                log.warn("No active session, check-out kept until journaled check-ins are replayed | employeeId: {} | orphanId: {}",
+                        employeeId, orphan.getId());
+                return AttendanceResponseDto.builder().journaled(true).build();
+            }
             log.warn("No active session found for check-out | employeeId: {}", employeeId);
             throw new DomainException("No active session found. Please check-in first.");
         }
@@ -184,8 +244,8 @@ public class AttendanceServiceImpl implements AttendanceService {
             log.debug("Worked minutes calculated | attendanceId: {} | minutes: {}", attendance.getId(), minutes);
         }
 
-        List<String> agendaIds = attendance.getAgendaIds();
-        if (agendaIds != null && !agendaIds.isEmpty()) {
+        List<String> agendaIds = attendance.agendaReferences();
+        if (!agendaIds.isEmpty()) {
             // Verify that all agendas from the attendance record are included in the completion map
             if (agendaCompletions == null || agendaCompletions.isEmpty()) {
                 log.error("Agenda completion status missing | employeeId: {}", employeeId);
@@ -203,7 +263,7 @@ public class AttendanceServiceImpl implements AttendanceService {
             }
 
             // Fetch all agendas that need to be updated
-            List<Agenda> agendas = agendaRepository.findAllById(agendaIds);
+            List<Agenda> agendas = agendaService.findAgendas(attendance);
 
             if (agendas.size() != agendaIds.size()) {
                 log.error("Some agendas not found | attendanceId: {}", attendance.getId());
@@ -217,27 +277,20 @@ public class AttendanceServiceImpl implements AttendanceService {
                 agenda.setComplete(isComplete != null && isComplete);
             }
 
-            // Save all updated agendas and verify the save was successful
-            List<Agenda> savedAgendas = agendaRepository.saveAll(agendas);
-            log.info("Agendas updated | count: {} | employeeId: {}", savedAgendas.size(), employeeId);
-
-            // Verify if the updates were successful by re-fetching
-            List<Agenda> verifiedAgendas = agendaRepository.findAllById(agendaIds);
-            for (Agenda agenda : verifiedAgendas) {
-                log.debug("Verified agenda ID: {} title: '{}' has completion status: {}",
-                        agenda.getId(), agenda.getTitle(), agenda.isComplete());
+            if (attendance.usesAgendaCatalog()) {
+                // Saved with the attendance below
+                attendance.setAgendaItems(Attendance.AgendaItem.of(agendas));
+            } else {
+                // Persist all completion flags in a single bulk write
+                agendaService.updateCompletion(agendas);
             }
+            log.info("Agendas updated | count: {} | employeeId: {}", agendas.size(), employeeId);
 
-            // Create response DTOs - fixed to use correct property name
-            List<AgendaWithStatusDto> agendaWithStatusDtos = verifiedAgendas.stream()
-                    .map(agenda -> AgendaWithStatusDto.builder()
-                            .id(agenda.getId())
-                            .title(agenda.getTitle())
-                            .complete(agenda.isComplete())
-                            .build())
-                    .collect(Collectors.toList());
+            List<AgendaWithStatusDto> agendaWithStatusDtos = agendaService.toDtos(agendas);
 
             attendance = attendanceRepository.save(attendance);
+            attendanceEventLog.record(AttendanceEvent.checkedOut(attendance));
+            attendanceBucketService.refreshIfCompacted(employeeId, attendance.getCheckInTime());
             log.info("Check-out successful | employeeId: {} | attendanceId: {}", employeeId, attendance.getId());
 
             log.info("END checkOut | employeeId: {} | attendanceId: {}", employeeId, attendance.getId());
@@ -247,6 +300,8 @@ public class AttendanceServiceImpl implements AttendanceService {
                     .build();
         } else {
             attendance = attendanceRepository.save(attendance);
+            attendanceEventLog.record(AttendanceEvent.checkedOut(attendance));
+            attendanceBucketService.refreshIfCompacted(employeeId, attendance.getCheckInTime());
             log.info("Check-out successful (no agendas) | employeeId: {} | attendanceId: {}", employeeId, attendance.getId());
 
             log.info("END checkOut | employeeId: {} | attendanceId: {}", employeeId, attendance.getId());
@@ -277,7 +332,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     public long getTotalWeeklyHours(String employeeId, LocalDate weekStart, LocalDate weekEnd) {
         log.debug("START getTotalWeeklyHours | employeeId: {} | from: {} | to: {}", employeeId, weekStart, weekEnd);
 
-        List<Attendance> attendances = attendanceRepository.findByEmployeeIdAndCheckInTimeBetween(
+        List<Attendance> attendances = readAttendances(
                 employeeId,
                 weekStart.atStartOfDay(),
                 weekEnd.plusDays(1).atStartOfDay().minusSeconds(1)
@@ -309,7 +364,28 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     public List<Attendance> getAttendancesForEmployee(String employeeId, LocalDate from, LocalDate to) {
         log.debug("START getAttendancesForEmployee | employeeId: {} | from: {} | to: {}", employeeId, from, to);
+        return findAttendances(employeeId, from, to, false);
+    }
+
+    @Override
+    public List<AttendanceRecordDto> getAttendanceRecords(String employeeId, LocalDate from, LocalDate to) {
+        log.debug("START getAttendanceRecords | employeeId: {} | from: {} | to: {}", employeeId, from, to);
+        List<Attendance> records = findAttendances(employeeId, from, to, false);
+        // Embedded, catalog and legacy agendas alike, in one lookup per collection for all records
+        Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(records);
+        return records.stream()
+                .map(attendance -> toRecordDto(attendance,
+                        agendasByAttendance.getOrDefault(attendance.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
 
+    @Override
+    public List<Attendance> getAttendancesForReport(String employeeId, LocalDate from, LocalDate to) {
+        log.debug("START getAttendancesForReport | employeeId: {} | from: {} | to: {}", employeeId, from, to);
+        return findAttendances(employeeId, from, to, true);
+    }
+
+    private List<Attendance> findAttendances(String employeeId, LocalDate from, LocalDate to, boolean reporting) {
         // Verify employee exists - only if needed for validation
         Optional<Employee> employeeOpt = employeeRepository.findByEmployeeId(employeeId);
         if (employeeOpt.isEmpty()) {
@@ -319,23 +395,20 @@ public class AttendanceServiceImpl implements AttendanceService {
 
         List<Attendance> records;
         if (from == null && to == null) {
-            records = attendanceRepository.findByEmployeeId(employeeId);
-        } else if (from == null) {
-            LocalDateTime toDateTime = to.plusDays(1).atStartOfDay().minusSeconds(1);
-            records = attendanceRepository.findByEmployeeIdAndCheckInTimeBetween(
-                    employeeId, LocalDate.MIN.atStartOfDay(), toDateTime
-            );
-        } else if (to == null) {
-            LocalDateTime fromDateTime = from.atStartOfDay();
-            records = attendanceRepository.findByEmployeeIdAndCheckInTimeBetween(
-                    employeeId, fromDateTime, LocalDate.MAX.atStartOfDay().minusSeconds(1)
-            );
+            records = reporting
+                    ? attendanceRepository.findReportingByEmployeeId(employeeId)
+                    : attendanceRepository.findByEmployeeId(employeeId);
+            List<Attendance> archived = attendanceArchiveService.findAttendances(
+                    employeeId, LocalDate.MIN.atStartOfDay(), LocalDate.MAX.atStartOfDay());
+            if (!archived.isEmpty()) {
+                records = mergeArchived(archived, records);
+            }
         } else {
-            records = attendanceRepository.findByEmployeeIdAndCheckInTimeBetween(
-                    employeeId,
-                    from.atStartOfDay(),
-                    to.plusDays(1).atStartOfDay().minusSeconds(1)
-            );
+            LocalDateTime fromDateTime = from != null ? from.atStartOfDay() : LocalDate.MIN.atStartOfDay();
+            LocalDateTime toDateTime = to != null
+                    ? to.plusDays(1).atStartOfDay().minusSeconds(1)
+                    : LocalDate.MAX.atStartOfDay().minusSeconds(1);
+            records = readAttendances(employeeId, fromDateTime, toDateTime, reporting);
         }
         log.info("Attendance records found | employeeId: {} | count: {}", employeeId, records.size());
         return records;
@@ -365,16 +438,7 @@ public class AttendanceServiceImpl implements AttendanceService {
                 .filter(emp -> employeeIds.contains(emp.getEmployeeId()))
                 .collect(Collectors.toMap(Employee::getEmployeeId, emp -> emp));
 
-        Set<String> allAgendaIds = attendances.stream()
-                .filter(a -> a.getAgendaIds() != null)
-                .flatMap(a -> a.getAgendaIds().stream())
-                .collect(Collectors.toSet());
-
-        Map<String, Agenda> agendaMap = Collections.emptyMap();
-        if (!allAgendaIds.isEmpty()) {
-            agendaMap = agendaRepository.findAllById(allAgendaIds).stream()
-                    .collect(Collectors.toMap(Agenda::getId, agenda -> agenda));
-        }
+        Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(attendances);
 
         List<DailyActivityDto> activities = new ArrayList<>();
         for (Attendance attendance : attendances) {
@@ -383,18 +447,8 @@ public class AttendanceServiceImpl implements AttendanceService {
                 log.warn("Employee not found for attendance | attendanceId: {} | employeeId: {}", attendance.getId(), attendance.getEmployeeId());
                 continue;
             }
-            List<AgendaWithStatusDto> agendas = new ArrayList<>();
-            if (attendance.getAgendaIds() != null && !attendance.getAgendaIds().isEmpty()) {
-                agendas = attendance.getAgendaIds().stream()
-                        .map(agendaMap::get)
-                        .filter(Objects::nonNull)
-                        .map(agenda -> AgendaWithStatusDto.builder()
-                                .id(agenda.getId())
-                                .title(agenda.getTitle())
-                                .complete(agenda.isComplete())
-                                .build())
-                        .collect(Collectors.toList());
-            }
+            List<AgendaWithStatusDto> agendas = agendaService.toDtos(
+                    agendasByAttendance.getOrDefault(attendance.getId(), Collections.emptyList()));
 
             DailyActivityDto activityDto = DailyActivityDto.builder()
                     .employeeId(employee.getEmployeeId())
@@ -419,63 +473,24 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     @Scheduled(cron = "0 59 11 * * *" , zone = "Asia/Kolkata")
     public void autoCheckoutForAll() {
+        schedulerLockManager.executeWithLock("autoCheckoutForAll",
+                Duration.ofMinutes(30), Duration.ofMinutes(5), this::runAutoCheckout);
+    }
+
+    private void runAutoCheckout() {
         log.info("START autoCheckoutForAll | time: {}", LocalDateTime.now());
 
         LocalDateTime now = LocalDateTime.now();
-        List<Attendance> activeSessions = attendanceRepository.findByCheckInTimeBetween(
+        // Stays on the primary: these sessions are about to be modified
+        List<Attendance> activeSessions = attendanceRepository.findByCheckInTimeBetweenAndActiveSessionTrue(
                 now.minusDays(7), now
-        ).stream().filter(Attendance::isActiveSession).toList();
+        );
 
         log.info("Active sessions to auto-checkout | count: {}", activeSessions.size());
 
         for (Attendance attendance : activeSessions) {
             try {
-                log.debug("Auto-checkout for attendance | attendanceId: {} | employeeId: {}", attendance.getId(), attendance.getEmployeeId());
-                attendance.setCheckOutTime(now);
-                attendance.setActiveSession(false);
-                attendance.setRemark("Auto checkout - Daily cutoff");
-
-                if (attendance.getCheckInTime() != null) {
-                    long minutes = Duration.between(attendance.getCheckInTime(), now).toMinutes();
-                    attendance.setMinutesWorked(minutes);
-                }
-
-                attendanceRepository.save(attendance);
-                log.info("Auto-checkout complete | attendanceId: {} | employeeId: {}", attendance.getId(), attendance.getEmployeeId());
-
-                List<String> newAgendaIds = new ArrayList<>();
-                if (attendance.getAgendaIds() != null && !attendance.getAgendaIds().isEmpty()) {
-                    List<Agenda> oldAgendas = agendaRepository.findAllById(attendance.getAgendaIds());
-                    List<Agenda> newAgendas = new ArrayList<>();
-                    for (Agenda oldAgenda : oldAgendas) {
-                        if (!oldAgenda.isComplete()) {
-                            Agenda newAgenda = Agenda.builder()
-                                    .title(oldAgenda.getTitle())
-                                    .complete(false)
-                                    .build();
-                            newAgendas.add(newAgenda);
-                        }
-                    }
-                    if (!newAgendas.isEmpty()) {
-                        List<Agenda> savedAgendas = agendaRepository.saveAll(newAgendas);
-                        newAgendaIds = savedAgendas.stream()
-                                .map(Agenda::getId)
-                                .collect(Collectors.toList());
-                        log.debug("Incomplete agendas copied | count: {} | employeeId: {}", newAgendaIds.size(), attendance.getEmployeeId());
-                    }
-                }
-
-                Attendance newSession = Attendance.builder()
-                        .employeeId(attendance.getEmployeeId())
-                        .checkInTime(now.plusMinutes(2))
-                        .agendaIds(newAgendaIds)
-                        .checkInLocation(attendance.getCheckInLocation())
-                        .activeSession(true)
-                        .build();
-
-                Attendance savedNewSession = attendanceRepository.save(newSession);
-                log.info("Auto-check-in created | employeeId: {} | attendanceId: {} | agendaCount: {}",
-                        attendance.getEmployeeId(), savedNewSession.getId(), newAgendaIds.size());
+                employeeLockStripes.runExclusive(attendance.getEmployeeId(), () -> autoCheckoutSession(attendance.getId(), now));
             } catch (Exception e) {
                 log.error("Error during auto-checkout | attendanceId: {} | error: {}", attendance.getId(), e.getMessage(), e);
             }
@@ -483,6 +498,68 @@ public class AttendanceServiceImpl implements AttendanceService {
         log.info("END autoCheckoutForAll");
     }
 
+    // Re-read under the employee's lock: the user may have checked out since the batch query ran
+    private void autoCheckoutSession(String attendanceId, LocalDateTime now) {
+        Attendance attendance = attendanceRepository.findById(attendanceId).orElse(null);
+        if (attendance == null || !attendance.isActiveSession()) {
+            log.debug("Session already closed, skipping auto-checkout | attendanceId: {}", attendanceId);
+            return;
+        }
+        log.debug("Auto-checkout for attendance | attendanceId: {} | employeeId: {}", attendance.getId(), attendance.getEmployeeId());
+        attendance.setCheckOutTime(now);
+        attendance.setActiveSession(false);
+        attendance.setRemark("Auto checkout - Daily cutoff");
+
+        if (attendance.getCheckInTime() != null) {
+            long minutes = Duration.between(attendance.getCheckInTime(), now).toMinutes();
+            attendance.setMinutesWorked(minutes);
+        }
+
+        attendanceRepository.save(attendance);
+        attendanceBucketService.refreshIfCompacted(attendance.getEmployeeId(), attendance.getCheckInTime());
+        // Recorded on its own so projections close the session even if the rollover below loses to a check-in
+        attendanceEventLog.record(AttendanceEvent.checkedOut(attendance));
+        log.info("Auto-checkout complete | attendanceId: {} | employeeId: {}", attendance.getId(), attendance.getEmployeeId());
+
+        // Incomplete agendas carry over as references to the same catalog entries; nothing is copied
+        List<Attendance.AgendaItem> carriedOver = new ArrayList<>();
+        if (attendance.usesAgendaCatalog()) {
+            attendance.getAgendaItems().stream()
+                    .filter(item -> !item.isComplete())
+                    .forEach(item -> carriedOver.add(new Attendance.AgendaItem(item.getCatalogId(), false)));
+        } else if (attendance.getAgendaIds() != null && !attendance.getAgendaIds().isEmpty()) {
+            // Sessions opened before the catalog move their incomplete titles into it
+            List<String> incompleteTitles = agendaService.findAgendas(attendance).stream()
+                    .filter(oldAgenda -> !oldAgenda.isComplete())
+                    .map(Agenda::getTitle)
+                    .collect(Collectors.toList());
+            if (!incompleteTitles.isEmpty()) {
+                carriedOver.addAll(Attendance.AgendaItem.of(agendaService.internAgendas(attendance.getEmployeeId(), incompleteTitles)));
+            }
+        }
+        log.debug("Incomplete agendas carried over | count: {} | employeeId: {}", carriedOver.size(), attendance.getEmployeeId());
+
+        Attendance newSession = Attendance.builder()
+                .employeeId(attendance.getEmployeeId())
+                .checkInTime(now.plusMinutes(2))
+                .agendaItems(carriedOver)
+                .checkInLocation(attendance.getCheckInLocation())
+                .activeSession(true)
+                .build();
+
+        Attendance savedNewSession;
+        try {
+            savedNewSession = attendanceRepository.save(newSession);
+        } catch (DuplicateKeyException e) {
+            // The employee checked in on another node right after the cutoff; their session wins over the rollover
+            log.info("Active session exists, skipping auto-check-in | employeeId: {}", attendance.getEmployeeId());
+            return;
+        }
+        attendanceEventLog.record(AttendanceEvent.autoRolledOver(attendance, savedNewSession));
+        log.info("Auto-check-in created | employeeId: {} | attendanceId: {} | agendaCount: {}",
+                attendance.getEmployeeId(), savedNewSession.getId(), carriedOver.size());
+    }
+
     @Override
     public AttendanceResponseDto getActiveSession(String employeeId) {
         log.info("START getActiveSession | employeeId: {}", employeeId);
@@ -503,16 +580,10 @@ public class AttendanceServiceImpl implements AttendanceService {
         Attendance activeAttendance = activeSessions.get(0);
 
         List<AgendaWithStatusDto> agendaWithStatusDtos = new ArrayList<>();
-        if (activeAttendance.getAgendaIds() != null && !activeAttendance.getAgendaIds().isEmpty()) {
-            List<Agenda> agendas = agendaRepository.findAllById(activeAttendance.getAgendaIds());
-
-            agendaWithStatusDtos = agendas.stream()
-                    .map(agenda -> AgendaWithStatusDto.builder()
-                            .id(agenda.getId())
-                            .title(agenda.getTitle())
-                            .complete(agenda.isComplete())
-                            .build())
-                    .collect(Collectors.toList());
+        if (!activeAttendance.agendaReferences().isEmpty()) {
+            List<Agenda> agendas = agendaService.findAgendas(activeAttendance);
+
+            agendaWithStatusDtos = agendaService.toDtos(agendas);
             log.debug("Agendas for active session | count: {}", agendaWithStatusDtos.size());
         }
 
@@ -526,7 +597,6 @@ public class AttendanceServiceImpl implements AttendanceService {
 
     
     @Override
-    @Transactional(readOnly = true)
     public AbsenceReportDto getMonthlyAbsenceReport(String employeeId, int year, int month) {
         employeeRepository.findByEmployeeId(employeeId)
                 .orElseThrow(() -> {
@@ -536,7 +606,7 @@ public class AttendanceServiceImpl implements AttendanceService {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.plusMonths(1).minusDays(1);
 
-        List<Attendance> attendances = attendanceRepository.findByEmployeeIdAndCheckInTimeBetween(
+        List<Attendance> attendances = readAttendances(
                 employeeId,
                 startDate.atStartOfDay(),
                 endDate.plusDays(1).atStartOfDay()
@@ -560,13 +630,70 @@ public class AttendanceServiceImpl implements AttendanceService {
     }
 
 
+    /**
+     * Archived months come from the snapshot files, everything newer from buckets or live documents.
+     */
+    private List<Attendance> readAttendances(String employeeId, LocalDateTime from, LocalDateTime to) {
+        return readAttendances(employeeId, from, to, false);
+    }
+
+    private List<Attendance> readAttendances(String employeeId, LocalDateTime from, LocalDateTime to, boolean reporting) {
+        List<Attendance> archived = attendanceArchiveService.findAttendances(employeeId, from, to);
+        List<Attendance> stored = reporting
+                ? attendanceBucketService.findReportingAttendances(employeeId, from, to)
+                : attendanceBucketService.findAttendances(employeeId, from, to);
+        if (archived.isEmpty()) {
+            return stored;
+        }
+        List<Attendance> records = mergeArchived(archived, stored);
+        records.sort(Comparator.comparing(Attendance::getCheckInTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        return records;
+    }
+
+    private AttendanceRecordDto toRecordDto(Attendance attendance, List<Agenda> agendas) {
+        return AttendanceRecordDto.builder()
+                .id(attendance.getId())
+                .employeeId(attendance.getEmployeeId())
+                .checkInTime(attendance.getCheckInTime())
+                .checkOutTime(attendance.getCheckOutTime())
+                .agendaIds(agendas.stream().map(Agenda::getId).collect(Collectors.toList()))
+                .agendas(agendaService.toDtos(agendas))
+                .remark(attendance.getRemark())
+                .referenceLink(attendance.getReferenceLink())
+                .checkInLocation(attendance.getCheckInLocation())
+                .activeSession(attendance.isActiveSession())
+                .minutesWorked(attendance.getMinutesWorked())
+                .editRequestStatus(attendance.getEditRequestStatus())
+                .editRequestId(attendance.getEditRequestId())
+                .build();
+    }
+
+    // A session still stored live, because its month is not purged yet or it was edited after the snapshot, wins
+    private static List<Attendance> mergeArchived(List<Attendance> archived, List<Attendance> stored) {
+        Set<String> storedIds = stored.stream().map(Attendance::getId).collect(Collectors.toSet());
+        List<Attendance> records = new ArrayList<>(archived.size() + stored.size());
+        archived.stream().filter(a -> !storedIds.contains(a.getId())).forEach(records::add);
+        records.addAll(stored);
+        return records;
+    }
+
     @Override
     public Optional<Attendance> findById(String attendanceId){
         return attendanceRepository.findById(attendanceId);
     }
 
     @Override
-    public Attendance save(Attendance attendance){
-        return attendanceRepository.save(attendance);
+    public Attendance update(String attendanceId, Consumer<Attendance> change) {
+        Attendance current = attendanceRepository.findById(attendanceId)
+                .orElseThrow(() -> new AttendanceNotFoundException("Attendance not found with ID: " + attendanceId));
+        return employeeLockStripes.callExclusive(current.getEmployeeId(), () -> {
+            // Reloaded on every attempt so a retry applies the change to the winning version
+            Attendance attendance = attendanceRepository.findById(attendanceId)
+                    .orElseThrow(() -> new AttendanceNotFoundException("Attendance not found with ID: " + attendanceId));
+            change.accept(attendance);
+            Attendance saved = attendanceRepository.save(attendance);
+            attendanceBucketService.refreshIfCompacted(saved.getEmployeeId(), saved.getCheckInTime());
+            return saved;
+        });
     }
 }
\ No newline at end of file
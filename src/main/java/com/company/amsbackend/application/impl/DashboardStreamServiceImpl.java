@@ -0,0 +1,204 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.DailyActivityDto;
+import com.company.amsbackend.api.dto.EmployeeSummaryResponse;
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceArchiveService;
+import com.company.amsbackend.application.service.DashboardStreamService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.AgendaCatalogEntry;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.archive.AttendanceSnapshotStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+
+    // Employees or sessions joined per round trip; with a concatMap prefetch of 1 at most two windows are in memory
+    private static final int WINDOW_SIZE = 200;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final AgendaService agendaService;
+    private final AttendanceArchiveService attendanceArchiveService;
+    private final AttendanceSnapshotStore snapshotStore;
+
+    @Override
+    public Flux<EmployeeSummaryResponse> streamEmployeeSummaries() {
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.minusDays(today.getDayOfWeek().getValue() - 1);
+        LocalDateTime monthStart = today.withDayOfMonth(1).atStartOfDay();
+        LocalDateTime todayEnd = today.plusDays(1).atStartOfDay().minusSeconds(1);
+
+        return reactiveMongoTemplate.find(new Query().with(Sort.by("employeeId")), Employee.class)
+                .buffer(WINDOW_SIZE)
+                .concatMap(window -> {
+                    List<String> employeeIds = window.stream().map(Employee::getEmployeeId).collect(Collectors.toList());
+                    Query monthSessions = new Query(Criteria.where("employeeId").in(employeeIds)
+                            .and("checkInTime").gte(monthStart).lte(todayEnd));
+                    monthSessions.fields().include("employeeId", "checkInTime", "checkOutTime", "minutesWorked", "activeSession");
+                    return reactiveMongoTemplate.find(monthSessions, Attendance.class)
+                            .collectMultimap(Attendance::getEmployeeId)
+                            .flatMapIterable(byEmployee -> window.stream()
+                                    .map(employee -> EmployeeServiceImpl.buildEmployeeSummary(employee,
+                                            new ArrayList<>(byEmployee.getOrDefault(employee.getEmployeeId(), Collections.emptyList())),
+                                            weekStart, today))
+                                    .collect(Collectors.toList()));
+                }, 1);
+    }
+
+    @Override
+    public Flux<DailyActivityDto> streamDailyActivities(LocalDate date) {
+        Query daySessions = new Query(Criteria.where("checkInTime")
+                .gte(date.atStartOfDay())
+                .lte(date.plusDays(1).atStartOfDay().minusSeconds(1)))
+                .with(Sort.by("checkInTime"));
+
+        return reactiveMongoTemplate.find(daySessions, Attendance.class)
+                .buffer(WINDOW_SIZE)
+                .concatMap(window -> Mono.zip(employeesById(window), agendasByAttendance(window))
+                        .flatMapIterable(joined -> toActivities(window, joined.getT1(), joined.getT2())), 1);
+    }
+
+    @Override
+    public Flux<Attendance> streamAttendanceRecords(String employeeId, LocalDate from, LocalDate to) {
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay().minusSeconds(1) : null;
+
+        List<YearMonth> archivedMonths = snapshotStore.getArchivedMonths().stream()
+                .filter(month -> (start == null || !month.isBefore(YearMonth.from(start)))
+                        && (end == null || !month.isAfter(YearMonth.from(end))))
+                .collect(Collectors.toList());
+        Flux<Attendance> archived = Flux.empty();
+        if (!archivedMonths.isEmpty()) {
+            // Documents of those months still stored live (not purged yet, or edited after the snapshot) win
+            Query storedInArchive = new Query(Criteria.where("employeeId").is(employeeId).and("checkInTime")
+                    .gte(later(start, archivedMonths.get(0).atDay(1).atStartOfDay()))
+                    .lte(earlier(end, archivedMonths.get(archivedMonths.size() - 1).atEndOfMonth().atTime(LocalTime.MAX))));
+            storedInArchive.fields().include("_id");
+            // Archived months are read one snapshot member at a time, on a worker thread since it is blocking I/O
+            archived = reactiveMongoTemplate.find(storedInArchive, Attendance.class)
+                    .map(Attendance::getId)
+                    .collect(Collectors.toSet())
+                    .flatMapMany(storedIds -> Flux.fromIterable(archivedMonths)
+                            .concatMap(month -> Mono.fromCallable(() -> attendanceArchiveService.findAttendances(employeeId,
+                                                    later(start, month.atDay(1).atStartOfDay()),
+                                                    earlier(end, month.atEndOfMonth().atTime(LocalTime.MAX))))
+                                            .subscribeOn(Schedulers.boundedElastic())
+                                            .flatMapIterable(Function.identity()), 1)
+                            .filter(attendance -> !storedIds.contains(attendance.getId())));
+        }
+
+        Criteria live = Criteria.where("employeeId").is(employeeId);
+        if (start != null || end != null) {
+            Criteria checkIn = live.and("checkInTime");
+            if (start != null) {
+                checkIn.gte(start);
+            }
+            if (end != null) {
+                checkIn.lte(end);
+            }
+        }
+        Flux<Attendance> current = reactiveMongoTemplate.find(new Query(live).with(Sort.by("checkInTime")), Attendance.class);
+
+        return archived.concatWith(current)
+                .doOnComplete(() -> log.debug("Attendance records streamed | employeeId: {} | from: {} | to: {}", employeeId, from, to));
+    }
+
+    private static LocalDateTime later(LocalDateTime bound, LocalDateTime monthStart) {
+        return bound != null && bound.isAfter(monthStart) ? bound : monthStart;
+    }
+
+    private static LocalDateTime earlier(LocalDateTime bound, LocalDateTime monthEnd) {
+        return bound != null && bound.isBefore(monthEnd) ? bound : monthEnd;
+    }
+
+    private Mono<Map<String, Employee>> employeesById(List<Attendance> window) {
+        Set<String> employeeIds = window.stream()
+                .map(Attendance::getEmployeeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return reactiveMongoTemplate.find(new Query(Criteria.where("employeeId").in(employeeIds)), Employee.class)
+                .collectMap(Employee::getEmployeeId);
+    }
+
+    // Sessions referencing the agenda catalog and older sessions referencing agenda documents, one query each
+    private Mono<Map<String, List<Agenda>>> agendasByAttendance(List<Attendance> window) {
+        Set<String> legacyIds = new HashSet<>();
+        Set<String> catalogIds = new HashSet<>();
+        for (Attendance attendance : window) {
+            (attendance.usesAgendaCatalog() ? catalogIds : legacyIds).addAll(attendance.agendaReferences());
+        }
+        Mono<Map<String, Agenda>> legacy = legacyIds.isEmpty() ? Mono.just(Collections.emptyMap())
+                : reactiveMongoTemplate.find(new Query(Criteria.where("_id").in(legacyIds)), Agenda.class)
+                .collectMap(Agenda::getId);
+        Mono<Map<String, AgendaCatalogEntry>> catalog = catalogIds.isEmpty() ? Mono.just(Collections.emptyMap())
+                : reactiveMongoTemplate.find(new Query(Criteria.where("_id").in(catalogIds)), AgendaCatalogEntry.class)
+                .collectMap(AgendaCatalogEntry::getId);
+
+        return Mono.zip(legacy, catalog).map(loaded -> {
+            Map<String, List<Agenda>> byAttendance = new HashMap<>();
+            for (Attendance attendance : window) {
+                List<Agenda> agendas = new ArrayList<>();
+                if (attendance.usesAgendaCatalog()) {
+                    for (Attendance.AgendaItem item : attendance.getAgendaItems()) {
+                        AgendaCatalogEntry entry = loaded.getT2().get(item.getCatalogId());
+                        if (entry != null) {
+                            agendas.add(entry.toAgenda(item.isComplete()));
+                        }
+                    }
+                } else {
+                    attendance.agendaReferences().stream().map(loaded.getT1()::get).filter(Objects::nonNull).forEach(agendas::add);
+                }
+                byAttendance.put(attendance.getId(), agendas);
+            }
+            return byAttendance;
+        });
+    }
+
+    private List<DailyActivityDto> toActivities(List<Attendance> window, Map<String, Employee> employees,
+                                                Map<String, List<Agenda>> agendasByAttendance) {
+        List<DailyActivityDto> activities = new ArrayList<>(window.size());
+        for (Attendance attendance : window) {
+            Employee employee = employees.get(attendance.getEmployeeId());
+            if (employee == null) {
+                log.warn("Employee not found for attendance | attendanceId: {} | employeeId: {}", attendance.getId(), attendance.getEmployeeId());
+                continue;
+            }
+            List<Agenda> sessionAgendas = agendasByAttendance.getOrDefault(attendance.getId(), Collections.emptyList());
+
+            activities.add(DailyActivityDto.builder()
+                    .employeeId(employee.getEmployeeId())
+                    .employeeName(employee.getName())
+                    .checkInTime(attendance.getCheckInTime())
+                    .checkOutTime(attendance.getCheckOutTime())
+                    .totalMinutesWorked(attendance.getMinutesWorked())
+                    .agendas(agendaService.toDtos(sessionAgendas))
+                    .remark(attendance.getRemark())
+                    .referenceLink(attendance.getReferenceLink())
+                    .activeSession(attendance.isActiveSession())
+                    .checkInLocation(attendance.getCheckInLocation())
+                    .build());
+        }
+        return activities;
+    }
+}
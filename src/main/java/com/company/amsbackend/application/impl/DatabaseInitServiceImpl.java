@@ -6,17 +6,23 @@ import com.company.amsbackend.domain.entity.Employee;
 import com.company.amsbackend.domain.enums.EmployeeRole;
 import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
-import jakarta.annotation.PostConstruct;
+import java.time.Instant;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DatabaseInitServiceImpl implements DatabaseInitService {
 
     private final EmployeeRepository employeeRepository;
     private final EmployeeService employeeService;
+    private final TaskScheduler taskScheduler;
 
     @Value("${app.hr.email}")
     private String hrEmail;
@@ -27,7 +33,12 @@ public class DatabaseInitServiceImpl implements DatabaseInitService {
     @Value("${app.hr.contact}")
     private String hrContact;
 
-    @PostConstruct
+    // Runs off the main thread once the app is ready, so the lookup, hashing and welcome mail never delay startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        taskScheduler.schedule(this::initializeDatabase, Instant.now());
+    }
+
     @Override
     public void initializeDatabase() {
         // Create default HR user if not exists
@@ -43,9 +54,9 @@ public class DatabaseInitServiceImpl implements DatabaseInitService {
 
             try {
                 employeeService.createEmployee(hrUser, "hr123");
-                System.out.println("Default HR user created successfully");
+                log.info("Default HR user created | email: {}", hrEmail);
             } catch (Exception e) {
-                System.err.println("Failed to create default HR user: " + e.getMessage());
+                log.error("Failed to create default HR user | email: {} | error: {}", hrEmail, e.getMessage(), e);
             }
         }
     }
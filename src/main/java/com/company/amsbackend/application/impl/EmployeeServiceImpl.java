@@ -12,7 +12,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -31,7 +30,6 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final EmailService emailService;
 
     @Override
-    @Transactional
     public Employee createEmployee(Employee employee, String password) {
         log.info("START createEmployee | email: {}", employee.getEmail());
         if (employeeRepository.findByEmail(employee.getEmail()).isPresent()) {
@@ -108,7 +106,9 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .collect(Collectors.groupingBy(Attendance::getEmployeeId));
 
         List<EmployeeSummaryResponse> summaries = employees.parallelStream()
-                .map(employee -> buildEmployeeSummary(employee, attendancesByEmployee, weekStart, monthStart, today))
+                .map(employee -> buildEmployeeSummary(employee,
+                        attendancesByEmployee.getOrDefault(employee.getEmployeeId(), Collections.emptyList()),
+                        weekStart, today))
                 .sorted(Comparator.comparing(EmployeeSummaryResponse::getEmployeeId))
                 .collect(Collectors.toList());
 
@@ -117,12 +117,9 @@ public class EmployeeServiceImpl implements EmployeeService {
         return summaries;
     }
 
-    private EmployeeSummaryResponse buildEmployeeSummary(Employee employee,
-                                                         Map<String, List<Attendance>> attendancesByEmployee,
-                                                         LocalDate weekStart, LocalDate monthStart, LocalDate today) {
-
-        List<Attendance> employeeAttendances = attendancesByEmployee.getOrDefault(
-                employee.getEmployeeId(), Collections.emptyList());
+    // Shared with the streaming dashboard, which feeds it one window of employees at a time
+    static EmployeeSummaryResponse buildEmployeeSummary(Employee employee, List<Attendance> employeeAttendances,
+                                                        LocalDate weekStart, LocalDate today) {
 
         List<Attendance> completedSessions = employeeAttendances.stream()
                 .filter(a -> a.getCheckInTime() != null && a.getCheckOutTime() != null && !a.isActiveSession())
@@ -130,11 +127,11 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         long weeklyMinutes = completedSessions.stream()
                 .filter(a -> !a.getCheckInTime().toLocalDate().isBefore(weekStart))
-                .mapToLong(this::calculateMinutesWorked)
+                .mapToLong(EmployeeServiceImpl::calculateMinutesWorked)
                 .sum();
 
         long monthlyMinutes = completedSessions.stream()
-                .mapToLong(this::calculateMinutesWorked)
+                .mapToLong(EmployeeServiceImpl::calculateMinutesWorked)
                 .sum();
 
         List<LocalDate> presentDates = completedSessions.stream()
@@ -157,7 +154,7 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .build();
     }
 
-    private long calculateMinutesWorked(Attendance attendance) {
+    private static long calculateMinutesWorked(Attendance attendance) {
         if (attendance.getMinutesWorked() != null && attendance.getMinutesWorked() > 0) {
             return attendance.getMinutesWorked();
         }
@@ -168,7 +165,6 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
-    @Transactional
     public boolean deactivateEmployee(String employeeId) {
         log.info("START deactivateEmployee | employeeId: {}", employeeId);
         Employee employee = employeeRepository.findByEmployeeId(employeeId)
@@ -180,7 +176,6 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
-    @Transactional
     public void changePassword(String email, String currentPassword, String newPassword) {
         log.info("START changePassword | email: {}", email);
         Employee employee = employeeRepository.findByEmail(email)
@@ -1,6 +1,12 @@
 package com.company.amsbackend.application.impl;
 
 import com.company.amsbackend.api.dto.AgendaWithStatusDto;
+import com.company.amsbackend.application.report.TimesheetLayouts;
+import com.company.amsbackend.application.report.TimesheetModel;
+import com.company.amsbackend.application.report.TimesheetOverviewSheet;
+import com.company.amsbackend.application.report.TimesheetPlan;
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceArchiveService;
 import com.company.amsbackend.application.service.AttendanceService;
 import com.company.amsbackend.application.service.EmployeeService;
 import com.company.amsbackend.application.service.ReportService;
@@ -8,29 +14,76 @@ import com.company.amsbackend.domain.entity.Agenda;
 import com.company.amsbackend.domain.entity.Attendance;
 import com.company.amsbackend.domain.entity.Employee;
 import com.company.amsbackend.domain.exception.EmployeeNotFoundException;
-import com.company.amsbackend.infrastructure.repository.AgendaRepository;
+import com.company.amsbackend.infrastructure.events.AttendanceEventLog;
+import com.company.amsbackend.infrastructure.mongo.ReadRouting;
+import com.company.amsbackend.infrastructure.reports.TimesheetReportCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.stream.Collectors;
-import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
+    // Rows kept in memory per streaming sheet; a month's sheet is well under this, so it is flushed whole
+    private static final int STREAMING_WINDOW_ROWS = 200;
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final String[] OVERVIEW_KEY_HEADERS = {"Employee ID", "Employee Name", "Sheet"};
+
     private final AttendanceService attendanceService;
     private final EmployeeService employeeService;
-    private final AgendaRepository agendaRepository;
+    private final AgendaService agendaService;
+    private final MongoTemplate mongoTemplate;
+    private final AttendanceArchiveService attendanceArchiveService;
+    private final TimesheetReportCache timesheetReportCache;
+    private final AttendanceEventLog attendanceEventLog;
+
+    @Value("${app.reports.range.parallelism:4}")
+    private int renderParallelism;
+
+    private ForkJoinPool renderPool;
+
+    @PostConstruct
+    void startRenderPool() {
+        renderPool = new ForkJoinPool(Math.max(1, renderParallelism), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("timesheet-render-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    void stopRenderPool() {
+        renderPool.shutdownNow();
+    }
 
     @Override
     public byte[] generateEmployeeMonthlyTimesheet(String employeeId, YearMonth yearMonth) {
@@ -40,10 +93,20 @@ public class ReportServiceImpl implements ReportService {
             Employee employee = employeeService.findByEmployeeId(employeeId)
                     .orElseThrow(() -> new EmployeeNotFoundException(employeeId));
 
+            Optional<byte[]> cached = timesheetReportCache.get(employeeId, employee.getName(), yearMonth);
+            if (cached.isPresent()) {
+                log.info("END generateEmployeeMonthlyTimesheet | employeeId: {} | yearMonth: {} | cached: true", employeeId, yearMonth);
+                return cached.get();
+            }
+            // Taken before the data so that anything recorded while rendering, or still in flight, marks the entry stale
+            boolean cacheable = timesheetReportCache.isCacheable(yearMonth);
+            long sequence = cacheable ? attendanceEventLog.horizon() : 0;
+            String fingerprint = cacheable ? timesheetReportCache.fingerprint(employeeId, yearMonth) : null;
+
             LocalDate firstDayOfMonth = yearMonth.atDay(1);
             LocalDate lastDayOfMonth = yearMonth.atEndOfMonth();
 
-            List<Attendance> attendances = attendanceService.getAttendancesForEmployee(
+            List<Attendance> attendances = attendanceService.getAttendancesForReport(
                     employeeId, firstDayOfMonth, lastDayOfMonth);
 
             log.debug("Attendance records found | employeeId: {} | yearMonth: {} | count: {}", employeeId, yearMonth, attendances.size());
@@ -52,7 +115,12 @@ public class ReportServiceImpl implements ReportService {
                     .filter(a -> a.getCheckInTime() != null)
                     .collect(Collectors.groupingBy(a -> a.getCheckInTime().toLocalDate()));
 
-            byte[] excelData = generateExcelReport(employee, yearMonth, attendancesByDate, firstDayOfMonth, lastDayOfMonth);
+            // One agenda lookup for the whole month instead of one per row
+            Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(attendances);
+
+            byte[] excelData = generateExcelReport(employee, yearMonth, attendancesByDate, agendasByAttendance,
+                    firstDayOfMonth, lastDayOfMonth);
+            timesheetReportCache.put(employeeId, employee.getName(), yearMonth, sequence, fingerprint, excelData);
 
             log.info("END generateEmployeeMonthlyTimesheet | employeeId: {} | yearMonth: {}", employeeId, yearMonth);
             return excelData;
@@ -63,308 +131,339 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private byte[] generateExcelReport(Employee employee, YearMonth yearMonth,
-                                       Map<LocalDate, List<Attendance>> attendancesByDate,
-                                       LocalDate firstDayOfMonth, LocalDate lastDayOfMonth) throws IOException {
+    byte[] generateExcelReport(Employee employee, YearMonth yearMonth,
+                               Map<LocalDate, List<Attendance>> attendancesByDate,
+                               Map<String, List<Agenda>> agendasByAttendance,
+                               LocalDate firstDayOfMonth, LocalDate lastDayOfMonth) throws IOException {
 
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Monthly Timesheet");
+            TimesheetModel.Summary summary = TimesheetLayouts.MONTHLY.bind(workbook)
+                    .write(sheet, TimesheetModel.month(employee, yearMonth, attendancesByDate, agendasByAttendance));
+
+            // Write to byte array
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+
+            log.info("Generated Excel timesheet for employee with {} days present, {} leave days, and {} hours worked",
+                    summary.daysPresent(), summary.leaveDays(), summary.hoursWorked());
 
-            // Create styles
-            CellStyle titleStyle = createTitleStyle(workbook);
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dateStyle = createDateStyle(workbook);
-            CellStyle timeStyle = createTimeStyle(workbook);
-            CellStyle wrapTextStyle = createWrapTextStyle(workbook);
-            CellStyle normalStyle = createNormalStyle(workbook);
-            CellStyle dailyTotalStyle = createDailyTotalStyle(workbook);
-
-            int rowNum = 0;
-
-            // Add company title
-            Row companyTitleRow = sheet.createRow(rowNum++);
-            Cell companyTitleCell = companyTitleRow.createCell(0);
-            companyTitleCell.setCellValue("METAUPSPACE LLP");
-            companyTitleCell.setCellStyle(titleStyle);
-            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 9)); // Updated to span all columns including new ones
-
-            // Add monthly timesheet title
-            Row reportTitleRow = sheet.createRow(rowNum++);
-            Cell reportTitleCell = reportTitleRow.createCell(0);
-            reportTitleCell.setCellValue("MONTHLY TIMESHEET");
-            reportTitleCell.setCellStyle(titleStyle);
-            sheet.addMergedRegion(new CellRangeAddress(1, 1, 0, 9)); // Updated to span all columns including new ones
-
-            // Empty row
-            rowNum++;
-
-            // Employee info header
-            Row employeeRow = sheet.createRow(rowNum++);
-            employeeRow.createCell(0).setCellValue("Employee Name:");
-            employeeRow.createCell(1).setCellValue(employee.getName());
-            employeeRow.getCell(0).setCellStyle(headerStyle);
-            employeeRow.getCell(1).setCellStyle(normalStyle);
-
-            Row monthRow = sheet.createRow(rowNum++);
-            monthRow.createCell(0).setCellValue("Month:");
-            monthRow.createCell(1).setCellValue(yearMonth.getMonth() + " " + yearMonth.getYear());
-            monthRow.getCell(0).setCellStyle(headerStyle);
-            monthRow.getCell(1).setCellStyle(normalStyle);
-
-            // Empty row
-            rowNum++;
-
-            // Column headers
-            Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = {"Date", "Check In Time", "Check Out Time", "Total Time",
-                    "Total Daily Hours", "Agendas", "Completed Agendas", "Reference Link", "Remark", "Validated Hours"};
-
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
+            return outputStream.toByteArray();
+        }
+    }
+
+    @Override
+    public void writeEmployeeTimesheetRange(String employeeId, YearMonth from, YearMonth to, OutputStream out) throws IOException {
+        log.info("START writeEmployeeTimesheetRange | employeeId: {} | from: {} | to: {}", employeeId, from, to);
+        long start = System.currentTimeMillis();
+
+        Employee employee = employeeService.findByEmployeeId(employeeId)
+                .orElseThrow(() -> new EmployeeNotFoundException(employeeId));
+        // One read and one agenda lookup for the whole range, then split by month
+        List<Attendance> attendances = attendanceService.getAttendancesForReport(
+                employeeId, from.atDay(1), to.atEndOfMonth());
+        Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(attendances);
+        Map<YearMonth, Map<LocalDate, List<Attendance>>> attendancesByMonth = attendances.stream()
+                .filter(a -> a.getCheckInTime() != null)
+                .collect(Collectors.groupingBy(a -> YearMonth.from(a.getCheckInTime()),
+                        Collectors.groupingBy(a -> a.getCheckInTime().toLocalDate())));
+
+        // Month models are prepared on the render pool while earlier months are being written;
+        // the workbook itself is not thread-safe, so sheets are written one at a time in month order
+        List<ForkJoinTask<TimesheetModel>> models = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            YearMonth yearMonth = month;
+            models.add(renderPool.submit(() -> TimesheetModel.month(employee, yearMonth,
+                    attendancesByMonth.getOrDefault(yearMonth, Collections.emptyMap()), agendasByAttendance)));
+        }
+
+        SXSSFWorkbook workbook = newStreamingWorkbook();
+        try {
+            TimesheetPlan.Writer writer = TimesheetLayouts.MONTHLY.bind(workbook);
+            TimesheetOverviewSheet summarySheet = new TimesheetOverviewSheet(writer, workbook.createSheet("Summary"),
+                    "TIMESHEET SUMMARY - " + employee.getName() + " - " + from + " TO " + to, "Month");
+            int daysPresent = 0;
+            int leaveDays = 0;
+            long minutesWorked = 0;
+            for (ForkJoinTask<TimesheetModel> task : models) {
+                TimesheetModel model = task.join();
+                Sheet sheet = workbook.createSheet(WorkbookUtil.createSafeSheetName(model.periodLabel()));
+                TimesheetModel.Summary summary = writer.write(sheet, model);
+                ((SXSSFSheet) sheet).flushRows();
+                summarySheet.add(summary, model.periodLabel());
+                daysPresent += summary.daysPresent();
+                leaveDays += summary.leaveDays();
+                minutesWorked += summary.minutesWorked();
             }
+            summarySheet.addTotal(new TimesheetModel.Summary(daysPresent, leaveDays, minutesWorked), "Total");
+
+            workbook.write(out);
+            out.flush();
+        } finally {
+            models.forEach(task -> task.cancel(true));
+            closeStreamingWorkbook(workbook);
+        }
+
+        log.info("END writeEmployeeTimesheetRange | employeeId: {} | months: {} | durationMs: {}",
+                employeeId, models.size(), System.currentTimeMillis() - start);
+    }
 
-            // Data tracking
-            long totalMinutesWorked = 0;
-            int totalDaysCheckedIn = 0;
-            int totalLeaveDays = 0;
-
-            // Iterate through all days of the month
-            for (int day = 1; day <= lastDayOfMonth.getDayOfMonth(); day++) {
-                LocalDate currentDate = yearMonth.atDay(day);
-                List<Attendance> dayAttendances = attendancesByDate.getOrDefault(currentDate, Collections.emptyList());
-
-                if (dayAttendances.isEmpty()) {
-                    // No attendance for this day
-                    totalLeaveDays++;
-                    Row row = sheet.createRow(rowNum++);
-
-                    // Date
-                    Cell dateCell = row.createCell(0);
-                    dateCell.setCellValue(Date.from(currentDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
-                    dateCell.setCellStyle(dateStyle);
-
-                    // Empty cells for check-in and check-out
-                    Cell cell1 = row.createCell(1);
-                    cell1.setCellValue("");
-                    cell1.setCellStyle(normalStyle);
-
-                    Cell cell2 = row.createCell(2);
-                    cell2.setCellValue("");
-                    cell2.setCellStyle(normalStyle);
-
-                    // Total time 00:00
-                    Cell cell3 = row.createCell(3);
-                    cell3.setCellValue("00:00");
-                    cell3.setCellStyle(normalStyle);
-
-                    // Total Daily Hours - 00:00
-                    Cell cell4 = row.createCell(4);
-                    cell4.setCellValue("00:00");
-                    cell4.setCellStyle(dailyTotalStyle);
-
-                    // Empty cells for remaining columns
-                    for (int i = 5; i < headers.length; i++) {
-                        Cell cell = row.createCell(i);
-                        cell.setCellValue("");
-                        cell.setCellStyle(normalStyle);
+    @Override
+    public void writeOrganizationTimesheets(YearMonth yearMonth, Packaging packaging, OutputStream out) throws IOException {
+        log.info("START writeOrganizationTimesheets | yearMonth: {} | packaging: {}", yearMonth, packaging);
+        long start = System.currentTimeMillis();
+
+        OrganizationWriter writer = packaging == Packaging.ZIP
+                ? new ZipOrganizationWriter(yearMonth, out)
+                : new WorkbookOrganizationWriter(yearMonth, out);
+        int employees;
+        try {
+            employees = forEachEmployeeMonth(yearMonth, writer);
+            writer.finish();
+        } finally {
+            writer.dispose();
+        }
+
+        log.info("END writeOrganizationTimesheets | yearMonth: {} | employees: {} | durationMs: {}",
+                yearMonth, employees, System.currentTimeMillis() - start);
+    }
+
+    // One pass over the month: a single cursor sorted by employee is merge-joined with the employee
+    // directory, so only the current employee's sessions are held in memory at any time
+    private int forEachEmployeeMonth(YearMonth yearMonth, OrganizationWriter writer) throws IOException {
+        LocalDateTime from = yearMonth.atDay(1).atStartOfDay();
+        LocalDateTime to = yearMonth.plusMonths(1).atDay(1).atStartOfDay().minusSeconds(1);
+
+        Query directoryQuery = new Query().with(Sort.by("employeeId"));
+        directoryQuery.fields().include("employeeId", "name", "active");
+        // Same order as the {employeeId: 1, checkInTime: -1} index so the scan needs no in-memory sort;
+        // the sheet writer orders each day's sessions itself
+        Query attendanceQuery = new Query(Criteria.where("checkInTime").gte(from).lte(to))
+                .with(Sort.by(Sort.Order.asc("employeeId"), Sort.Order.desc("checkInTime")))
+                .cursorBatchSize(CURSOR_BATCH_SIZE);
+
+        int written = 0;
+        ReadRouting.enterSecondary();
+        try (Stream<Attendance> cursor = mongoTemplate.stream(attendanceQuery, Attendance.class)) {
+            Iterator<Employee> directory = mongoTemplate.find(directoryQuery, Employee.class).stream()
+                    .filter(e -> e.getEmployeeId() != null)
+                    .iterator();
+            Employee nextEmployee = directory.hasNext() ? directory.next() : null;
+            List<Attendance> group = new ArrayList<>();
+
+            for (Iterator<Attendance> it = cursor.iterator(); it.hasNext() || !group.isEmpty(); ) {
+                Attendance attendance = it.hasNext() ? it.next() : null;
+                if (attendance != null && (group.isEmpty() || group.get(0).getEmployeeId().equals(attendance.getEmployeeId()))) {
+                    group.add(attendance);
+                    continue;
+                }
+                String employeeId = group.get(0).getEmployeeId();
+                // Active employees without a session this month still get a sheet of leave days
+                while (nextEmployee != null && nextEmployee.getEmployeeId().compareTo(employeeId) < 0) {
+                    if (nextEmployee.isActive()) {
+                        writeEmployeeMonth(writer, nextEmployee, yearMonth, new ArrayList<>(), from, to);
+                        written++;
                     }
+                    nextEmployee = directory.hasNext() ? directory.next() : null;
+                }
+                Employee employee;
+                if (nextEmployee != null && nextEmployee.getEmployeeId().equals(employeeId)) {
+                    employee = nextEmployee;
+                    nextEmployee = directory.hasNext() ? directory.next() : null;
                 } else {
-                    // Sort attendances by check-in time for the day
-                    dayAttendances.sort(Comparator.comparing(Attendance::getCheckInTime));
-
-                    // Filter to only completed sessions
-                    List<Attendance> completedAttendances = dayAttendances.stream()
-                            .filter(a -> !a.isActiveSession() && a.getCheckInTime() != null && a.getCheckOutTime() != null)
-                            .toList();
-
-                    if (completedAttendances.isEmpty()) {
-                        // Only active sessions, treat like a leave day
-                        totalLeaveDays++;
-                        Row row = sheet.createRow(rowNum++);
-
-                        // Date
-                        Cell dateCell = row.createCell(0);
-                        dateCell.setCellValue(Date.from(currentDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
-                        dateCell.setCellStyle(dateStyle);
-
-                        // Empty cells for check-in and check-out
-                        row.createCell(1).setCellValue("");
-                        row.getCell(1).setCellStyle(normalStyle);
-                        row.createCell(2).setCellValue("");
-                        row.getCell(2).setCellStyle(normalStyle);
-
-                        // Total time 00:00
-                        row.createCell(3).setCellValue("00:00");
-                        row.getCell(3).setCellStyle(normalStyle);
-
-                        // Total Daily Hours - 00:00
-                        row.createCell(4).setCellValue("00:00");
-                        row.getCell(4).setCellStyle(dailyTotalStyle);
-
-                        // Empty cells for remaining columns
-                        for (int i = 5; i < headers.length; i++) {
-                            Cell cell = row.createCell(i);
-                            cell.setCellValue("");
-                            cell.setCellStyle(normalStyle);
-                        }
-                    } else {
-                        // Has completed attendance sessions
-                        totalDaysCheckedIn++;
-
-                        // Calculate total daily minutes worked
-                        long dailyMinutesWorked = completedAttendances.stream()
-                                .mapToLong(a -> a.getMinutesWorked() != null ?
-                                        a.getMinutesWorked() :
-                                        Duration.between(a.getCheckInTime(), a.getCheckOutTime()).toMinutes())
-                                .sum();
-
-                        totalMinutesWorked += dailyMinutesWorked;
-                        String dailyHoursFormatted = String.format("%02d:%02d", dailyMinutesWorked / 60, dailyMinutesWorked % 60);
-
-                        // Store first row index for this day to use for merging
-                        int firstRowOfDay = rowNum;
-
-                        for (int i = 0; i < completedAttendances.size(); i++) {
-                            Attendance attendance = completedAttendances.get(i);
-                            Row row = sheet.createRow(rowNum++);
-
-                            // Date - only set value in first row for this day
-                            Cell dateCell = row.createCell(0);
-                            if (i == 0) {
-                                // Only set the date value in the first row for this day
-                                dateCell.setCellValue(Date.from(currentDate.atStartOfDay(ZoneId.systemDefault()).toInstant()));
-                            }
-                            dateCell.setCellStyle(dateStyle);
-
-                            // Check-in time
-                            Cell checkInCell = row.createCell(1);
-                            checkInCell.setCellValue(Date.from(attendance.getCheckInTime().atZone(ZoneId.systemDefault()).toInstant()));
-                            checkInCell.setCellStyle(timeStyle);
-
-                            // Check-out time
-                            Cell checkOutCell = row.createCell(2);
-                            checkOutCell.setCellValue(Date.from(attendance.getCheckOutTime().atZone(ZoneId.systemDefault()).toInstant()));
-                            checkOutCell.setCellStyle(timeStyle);
-
-                            // Calculate individual session duration
-                            long minutes = attendance.getMinutesWorked() != null ?
-                                    attendance.getMinutesWorked() :
-                                    Duration.between(attendance.getCheckInTime(), attendance.getCheckOutTime()).toMinutes();
-
-                            // Total time for individual session
-                            String formattedDuration = String.format("%02d:%02d", minutes / 60, minutes % 60);
-                            Cell totalTimeCell = row.createCell(3);
-                            totalTimeCell.setCellValue(formattedDuration);
-                            totalTimeCell.setCellStyle(normalStyle);
-
-                            // Total Daily Hours - will be merged later
-                            Cell dailyTotalCell = row.createCell(4);
-                            if (i == 0) {
-                                // Only set the value in the first row for this day
-                                dailyTotalCell.setCellValue(dailyHoursFormatted);
-                            }
-                            dailyTotalCell.setCellStyle(dailyTotalStyle);
-
-                            // Get agendas
-                            List<AgendaWithStatusDto> agendas = formatAgendas(attendance.getAgendaIds());
-
-                            // All agendas (with line breaks)
-                            Cell agendasCell = row.createCell(5);
-                            agendasCell.setCellValue(formatAgendasForExcel(agendas, false));
-                            agendasCell.setCellStyle(wrapTextStyle);
-
-                            // Completed agendas (with line breaks)
-                            Cell completedAgendasCell = row.createCell(6);
-                            completedAgendasCell.setCellValue(formatAgendasForExcel(agendas, true));
-                            completedAgendasCell.setCellStyle(wrapTextStyle);
-
-                            // Reference link
-                            Cell refLinkCell = row.createCell(7);
-                            refLinkCell.setCellValue(attendance.getReferenceLink() != null ? attendance.getReferenceLink() : "");
-                            refLinkCell.setCellStyle(normalStyle);
-
-                            // Remark
-                            Cell remarkCell = row.createCell(8);
-                            remarkCell.setCellValue(attendance.getRemark() != null ? attendance.getRemark() : "");
-                            remarkCell.setCellStyle(wrapTextStyle);
-
-                            // Validated Hours - empty column
-                            Cell validatedHoursCell = row.createCell(9);
-                            validatedHoursCell.setCellValue("");
-                            validatedHoursCell.setCellStyle(normalStyle);
-                        }
-
-                        // Merge Date column and Daily Total Hours column if there are multiple entries for the day
-                        if (completedAttendances.size() > 1) {
-                            // Merge Date column (column 0)
-                            sheet.addMergedRegion(new CellRangeAddress(
-                                    firstRowOfDay, // first row
-                                    rowNum - 1,    // last row
-                                    0, 0           // date column
-                            ));
-
-                            // Merge Daily Total Hours column (column 4)
-                            sheet.addMergedRegion(new CellRangeAddress(
-                                    firstRowOfDay, // first row
-                                    rowNum - 1,    // last row
-                                    4, 4           // daily total column
-                            ));
-                        }
-                    }
+                    // Sessions of a since-deleted employee are still reported, under their id
+                    employee = Employee.builder().employeeId(employeeId).name(employeeId).build();
+                }
+                writeEmployeeMonth(writer, employee, yearMonth, group, from, to);
+                written++;
+                group = new ArrayList<>();
+                if (attendance != null) {
+                    group.add(attendance);
                 }
             }
-
-            // Add summary
-            rowNum++; // Empty row
-
-            Row summaryRow1 = sheet.createRow(rowNum++);
-            summaryRow1.createCell(0).setCellValue("Total Days Present:");
-            Cell presentCell = summaryRow1.createCell(1);
-            presentCell.setCellValue(totalDaysCheckedIn);
-            summaryRow1.getCell(0).setCellStyle(headerStyle);
-            presentCell.setCellStyle(normalStyle);
-
-            Row summaryRow2 = sheet.createRow(rowNum++);
-            summaryRow2.createCell(0).setCellValue("Total Leave Days:");
-            Cell leaveCell = summaryRow2.createCell(1);
-            leaveCell.setCellValue(totalLeaveDays);
-            summaryRow2.getCell(0).setCellStyle(headerStyle);
-            leaveCell.setCellStyle(normalStyle);
-
-            Row summaryRow3 = sheet.createRow(rowNum++);
-            summaryRow3.createCell(0).setCellValue("Total Hours Worked:");
-            String totalTimeFormatted = String.format("%02d:%02d", totalMinutesWorked / 60, totalMinutesWorked % 60);
-            Cell hoursCell = summaryRow3.createCell(1);
-            hoursCell.setCellValue(totalTimeFormatted);
-            summaryRow3.getCell(0).setCellStyle(headerStyle);
-            hoursCell.setCellStyle(normalStyle);
-
-            // Add medium borders to the entire table
-            addTableBorders(sheet, 0, rowNum - 1, 0, 9); // Updated to include new columns
-
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-                // Set minimum width for agenda columns
-                if (i == 5 || i == 6) {
-                    sheet.setColumnWidth(i, Math.max(sheet.getColumnWidth(i), 6000));
+            for (; nextEmployee != null; nextEmployee = directory.hasNext() ? directory.next() : null) {
+                if (nextEmployee.isActive()) {
+                    writeEmployeeMonth(writer, nextEmployee, yearMonth, new ArrayList<>(), from, to);
+                    written++;
                 }
             }
+        } finally {
+            ReadRouting.exitSecondary();
+        }
+        return written;
+    }
 
-            // Write to byte array
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
+    private void writeEmployeeMonth(OrganizationWriter writer, Employee employee, YearMonth yearMonth,
+                                    List<Attendance> attendances, LocalDateTime from, LocalDateTime to) throws IOException {
+        // Archived months are no longer in the collection the cursor scans, apart from documents kept live
+        Set<String> liveIds = attendances.stream().map(Attendance::getId).collect(Collectors.toSet());
+        attendanceArchiveService.findAttendances(employee.getEmployeeId(), from, to).stream()
+                .filter(a -> !liveIds.contains(a.getId()))
+                .forEach(attendances::add);
+
+        Map<LocalDate, List<Attendance>> attendancesByDate = attendances.stream()
+                .filter(a -> a.getCheckInTime() != null)
+                .collect(Collectors.groupingBy(a -> a.getCheckInTime().toLocalDate()));
+        Map<String, List<Agenda>> agendasByAttendance = agendaService.findAgendasForAttendances(attendances);
+        writer.write(employee, yearMonth, attendancesByDate, agendasByAttendance);
+    }
 
-            log.info("Generated Excel timesheet for employee with {} days present, {} leave days, and {} hours worked",
-                    totalDaysCheckedIn, totalLeaveDays, totalTimeFormatted);
+    private interface OrganizationWriter {
+        void write(Employee employee, YearMonth yearMonth, Map<LocalDate, List<Attendance>> attendancesByDate,
+                   Map<String, List<Agenda>> agendasByAttendance) throws IOException;
 
-            return outputStream.toByteArray();
+        void finish() throws IOException;
+
+        void dispose();
+    }
+
+    // One streaming workbook: an overview sheet followed by one sheet per employee
+    private static final class WorkbookOrganizationWriter implements OrganizationWriter {
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook = newStreamingWorkbook();
+        private final TimesheetPlan.Writer sheetWriter = TimesheetLayouts.MONTHLY.bind(workbook);
+        private final TimesheetOverviewSheet overview;
+        private final Set<String> sheetNames = new HashSet<>(Set.of("overview"));
+
+        WorkbookOrganizationWriter(YearMonth yearMonth, OutputStream out) {
+            this.out = out;
+            this.overview = new TimesheetOverviewSheet(sheetWriter, workbook.createSheet("Overview"), overviewTitle(yearMonth),
+                    OVERVIEW_KEY_HEADERS);
+        }
+
+        @Override
+        public void write(Employee employee, YearMonth yearMonth, Map<LocalDate, List<Attendance>> attendancesByDate,
+                          Map<String, List<Agenda>> agendasByAttendance) throws IOException {
+            String sheetName = uniqueSheetName(employee, sheetNames);
+            Sheet sheet = workbook.createSheet(sheetName);
+            TimesheetModel.Summary summary = sheetWriter.write(sheet,
+                    TimesheetModel.month(employee, yearMonth, attendancesByDate, agendasByAttendance));
+            overview.add(summary, employee.getEmployeeId(), employee.getName(), sheetName);
+            // Rows still in the window would otherwise stay in memory until the workbook is written
+            ((SXSSFSheet) sheet).flushRows();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            workbook.write(out);
+            out.flush();
+        }
+
+        @Override
+        public void dispose() {
+            closeStreamingWorkbook(workbook);
+        }
+    }
+
+    // One workbook per employee, each written straight into its own zip entry, then the overview
+    private static final class ZipOrganizationWriter implements OrganizationWriter {
+        private final YearMonth yearMonth;
+        private final ZipOutputStream zip;
+        private final SXSSFWorkbook overviewWorkbook = newStreamingWorkbook();
+        private final TimesheetOverviewSheet overview;
+        private final Set<String> fileNames = new HashSet<>();
+
+        ZipOrganizationWriter(YearMonth yearMonth, OutputStream out) {
+            this.yearMonth = yearMonth;
+            this.zip = new ZipOutputStream(out);
+            this.overview = new TimesheetOverviewSheet(TimesheetLayouts.MONTHLY.bind(overviewWorkbook),
+                    overviewWorkbook.createSheet("Overview"), overviewTitle(yearMonth), OVERVIEW_KEY_HEADERS);
+        }
+
+        @Override
+        public void write(Employee employee, YearMonth yearMonth, Map<LocalDate, List<Attendance>> attendancesByDate,
+                          Map<String, List<Agenda>> agendasByAttendance) throws IOException {
+            String fileName = uniqueFileName(employee, yearMonth, fileNames);
+            SXSSFWorkbook workbook = newStreamingWorkbook();
+            try {
+                TimesheetModel.Summary summary = TimesheetLayouts.MONTHLY.bind(workbook).write(
+                        workbook.createSheet("Monthly Timesheet"),
+                        TimesheetModel.month(employee, yearMonth, attendancesByDate, agendasByAttendance));
+                overview.add(summary, employee.getEmployeeId(), employee.getName(), fileName);
+                zip.putNextEntry(new ZipEntry(fileName));
+                workbook.write(new NonClosingOutputStream(zip));
+                zip.closeEntry();
+            } finally {
+                closeStreamingWorkbook(workbook);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            zip.putNextEntry(new ZipEntry("overview_" + yearMonth + ".xlsx"));
+            overviewWorkbook.write(new NonClosingOutputStream(zip));
+            zip.closeEntry();
+            zip.finish();
+            zip.flush();
+        }
+
+        @Override
+        public void dispose() {
+            closeStreamingWorkbook(overviewWorkbook);
+        }
+    }
+
+    private static String overviewTitle(YearMonth yearMonth) {
+        return "TIMESHEET OVERVIEW - " + yearMonth.getMonth() + " " + yearMonth.getYear();
+    }
+
+    private static SXSSFWorkbook newStreamingWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_WINDOW_ROWS);
+        // Flushed rows go to temp files; compressed they take a fraction of the disk for text-heavy sheets
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    private static void closeStreamingWorkbook(SXSSFWorkbook workbook) {
+        workbook.dispose();
+        try {
+            workbook.close();
+        } catch (IOException e) {
+            log.warn("Could not close streaming workbook | error: {}", e.getMessage());
+        }
+    }
+
+    private static String uniqueSheetName(Employee employee, Set<String> used) {
+        String base = WorkbookUtil.createSafeSheetName(employee.getName() + " (" + employee.getEmployeeId() + ")");
+        String name = base;
+        // Sheet names are compared case-insensitively and capped at 31 characters
+        for (int n = 2; !used.add(name.toLowerCase()); n++) {
+            String suffix = " " + n;
+            name = base.substring(0, Math.min(base.length(), 31 - suffix.length())) + suffix;
+        }
+        return name;
+    }
+
+    private static String uniqueFileName(Employee employee, YearMonth yearMonth, Set<String> used) {
+        String base = String.format("%s_%s_timesheet_%s_%d",
+                employee.getName().replaceAll("[^a-zA-Z0-9]", "_").toLowerCase(),
+                employee.getEmployeeId().replaceAll("[^a-zA-Z0-9-]", "_"),
+                yearMonth.getMonth().toString().toLowerCase(), yearMonth.getYear());
+        String name = base + ".xlsx";
+        for (int n = 2; !used.add(name); n++) {
+            name = base + "_" + n + ".xlsx";
         }
+        return name;
     }
 
-    private void addTableBorders(Sheet sheet, int startRow, int endRow, int startCol, int endCol) {
+    // Keeps a workbook writer from closing the zip it is writing one entry of
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    void addTableBorders(Sheet sheet, int startRow, int endRow, int startCol, int endCol) {
         // This method adds medium borders around the entire table
         for (int rowNum = startRow; rowNum <= endRow; rowNum++) {
             Row row = sheet.getRow(rowNum);
@@ -397,114 +496,15 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private CellStyle createTitleStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 16);
-        style.setFont(font);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 12);
-        style.setFont(font);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-
-    private CellStyle createNormalStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-
-    private CellStyle createDailyTotalStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        style.setFont(font);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-
-    private CellStyle createDateStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        CreationHelper createHelper = workbook.getCreationHelper();
-        style.setDataFormat(createHelper.createDataFormat().getFormat("dd/mm/yyyy"));
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-
-    private CellStyle createTimeStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        CreationHelper createHelper = workbook.getCreationHelper();
-        style.setDataFormat(createHelper.createDataFormat().getFormat("hh:mm AM/PM"));
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-
-    private CellStyle createWrapTextStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        style.setWrapText(true);
-        style.setVerticalAlignment(VerticalAlignment.TOP);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
-    }
-
-    private List<AgendaWithStatusDto> formatAgendas(List<String> agendaIds) {
-        if (agendaIds == null || agendaIds.isEmpty()) {
+    List<AgendaWithStatusDto> formatAgendas(Map<String, List<Agenda>> agendasByAttendance, Attendance attendance) {
+        List<Agenda> agendaEntities = agendasByAttendance.get(attendance.getId());
+        if (agendaEntities == null || agendaEntities.isEmpty()) {
             return Collections.emptyList();
         }
-
-        List<Agenda> agendaEntities = agendaRepository.findAllById(agendaIds);
-
-        return agendaEntities.stream()
-                .map(agenda -> AgendaWithStatusDto.builder()
-                        .id(agenda.getId())
-                        .title(agenda.getTitle())
-                        .complete(agenda.isComplete())
-                        .build())
-                .collect(Collectors.toList());
+        return agendaService.toDtos(agendaEntities);
     }
 
-    private String formatAgendasForExcel(List<AgendaWithStatusDto> agendas, boolean onlyCompleted) {
+    String formatAgendasForExcel(List<AgendaWithStatusDto> agendas, boolean onlyCompleted) {
         if (agendas.isEmpty()) {
             return "";
         }
@@ -5,12 +5,14 @@ import com.company.amsbackend.application.service.EmployeeService;
 import com.company.amsbackend.application.service.ReportService;
 import com.company.amsbackend.application.service.ScheduledReportService;
 import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.scheduling.SchedulerLockManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.util.List;
@@ -24,17 +26,20 @@ public class ScheduledReportServiceImpl implements ScheduledReportService {
     private final EmailService emailService;
     private final EmployeeService employeeService;
     private final ReportService reportService;
+    private final SchedulerLockManager schedulerLockManager;
 
     @Value("${app.hr.email}")
     private String hrEmail;
 
-    @Scheduled(cron = "0 5 12 1 * ?" , zone = "Asia/Kolkata")
+    @Scheduled(cron = "${app.reports.monthly-email-cron:0 5 12 1 * ?}", zone = "Asia/Kolkata")
     @Override
     public void generateAndSendMonthlyReports() {
         YearMonth previousMonth = YearMonth.now().minusMonths(1);
         log.info("Scheduled: Generating monthly reports | month: {}", previousMonth);
 
-        generateAndSendMonthlyReportsForMonth(previousMonth);
+        // Every node fires this cron; only the lease holder sends the emails
+        schedulerLockManager.executeWithLock("generateAndSendMonthlyReports",
+                Duration.ofHours(2), Duration.ofMinutes(10), () -> generateAndSendMonthlyReportsForMonth(previousMonth));
     }
 
     @Override
@@ -0,0 +1,156 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.EmployeeService;
+import com.company.amsbackend.application.service.ReportService;
+import com.company.amsbackend.application.service.TimesheetWarmupService;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.reports.TimesheetReportCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimesheetWarmupServiceImpl implements TimesheetWarmupService {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+    private static final long LOAD_BACKOFF_MS = 30_000;
+
+    private final EmployeeService employeeService;
+    private final ReportService reportService;
+    private final TimesheetReportCache timesheetReportCache;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+
+    @Value("${app.reports.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.reports.cache.retention-months:3}")
+    private int retentionMonths;
+
+    @Value("${app.reports.warmup.window-start:01:00}")
+    private String windowStart;
+
+    @Value("${app.reports.warmup.window-end:05:00}")
+    private String windowEnd;
+
+    // Share of one CPU the warm-up may keep busy; it sleeps in proportion after every render
+    @Value("${app.reports.warmup.max-cpu-fraction:0.25}")
+    private double maxCpuFraction;
+
+    // Rendering pauses while the machine's load average per CPU is above this
+    @Value("${app.reports.warmup.max-load-per-cpu:0.75}")
+    private double maxLoadPerCpu;
+
+    private volatile YearMonth warmedMonth;
+
+    // The cache is local, so every node warms its own copy: no scheduler lock here
+    @Override
+    @Scheduled(cron = "${app.reports.warmup.cron:0 */15 * * * *}", zone = "Asia/Kolkata")
+    public void warmUpScheduled() {
+        YearMonth previousMonth = YearMonth.now(ZONE).minusMonths(1);
+        if (!enabled || previousMonth.equals(warmedMonth) || !inWindow()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            timesheetReportCache.evictBefore(previousMonth.minusMonths(retentionMonths - 1L));
+            warmUpMonth(previousMonth);
+        } catch (Exception e) {
+            log.error("Error warming up timesheets | month: {} | error: {}", previousMonth, e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public int warmUpMonth(YearMonth yearMonth) {
+        log.info("START warmUpMonth | month: {}", yearMonth);
+        List<Employee> employees = employeeService.getAllEmployees().stream()
+                .filter(Employee::isActive)
+                .toList();
+
+        int warmed = 0;
+        for (Employee employee : employees) {
+            if (!inWindow() || !awaitLoad()) {
+                // Picked up again at the next window; entries already written stay valid
+                log.info("Warm-up window closed | month: {} | warmed: {} | remaining: {}", yearMonth, warmed, employees.size() - warmed);
+                return warmed;
+            }
+            long started = System.nanoTime();
+            try {
+                // Served from the cache when fresh, otherwise rendered and stored
+                reportService.generateEmployeeMonthlyTimesheet(employee.getEmployeeId(), yearMonth);
+                warmed++;
+            } catch (Exception e) {
+                log.error("Error warming up timesheet | employeeId: {} | month: {} | error: {}",
+                        employee.getEmployeeId(), yearMonth, e.getMessage(), e);
+            }
+            if (!throttle(System.nanoTime() - started)) {
+                return warmed;
+            }
+        }
+
+        if (warmed == employees.size()) {
+            warmedMonth = yearMonth;
+        }
+        log.info("END warmUpMonth | month: {} | warmed: {}", yearMonth, warmed);
+        return warmed;
+    }
+
+    private boolean throttle(long busyNanos) {
+        long pauseMs = TimeUnit.NANOSECONDS.toMillis((long) (busyNanos * (1 - maxCpuFraction) / maxCpuFraction));
+        return sleep(pauseMs);
+    }
+
+    private boolean awaitLoad() {
+        double load = os.getSystemLoadAverage();
+        // Not available on every platform (negative); the duty cycle alone applies then
+        while (load >= 0 && load / os.getAvailableProcessors() > maxLoadPerCpu) {
+            log.debug("Warm-up paused for load | loadAverage: {}", load);
+            if (!sleep(LOAD_BACKOFF_MS) || !inWindow()) {
+                return false;
+            }
+            load = os.getSystemLoadAverage();
+        }
+        return true;
+    }
+
+    private boolean inWindow() {
+        LocalTime now = LocalTime.now(ZONE);
+        LocalTime start = LocalTime.parse(windowStart);
+        LocalTime end = LocalTime.parse(windowEnd);
+        // A window such as 22:00-05:00 wraps past midnight
+        return start.isBefore(end)
+                ? !now.isBefore(start) && now.isBefore(end)
+                : !now.isBefore(start) || now.isBefore(end);
+    }
+
+    private static boolean sleep(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.amsbackend.application.projection;
+
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+
+import java.util.List;
+
+/**
+ * A read model built from the attendance event log. The engine hands each projection one employee's events
+ * at a time in sequence order, with different employees on different threads. Projections run in
+ * {@code @Order} order, so a projection may read what an earlier one wrote for the same employee.
+ */
+public interface AttendanceProjection {
+
+    /** Checkpoint id. */
+    String name();
+
+    /** Drops everything the projection has built, ahead of a full rebuild. */
+    void reset();
+
+    /**
+     * Applies events for one employee. Must be idempotent: after a crash the events since the last
+     * checkpoint are applied again.
+     */
+    void apply(String employeeId, List<AttendanceEvent> events);
+}
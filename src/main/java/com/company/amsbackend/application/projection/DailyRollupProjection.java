@@ -0,0 +1,81 @@
+package com.company.amsbackend.application.projection;
+
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceDailyRollup;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Per-employee daily totals. Each day an event touches is recomputed from {@link SessionProjection}
+ * rather than adjusted, which keeps the rollup idempotent and correct when an edit moves a session
+ * to another day.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class DailyRollupProjection implements AttendanceProjection {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public String name() {
+        return "daily-rollups";
+    }
+
+    @Override
+    public void reset() {
+        mongoTemplate.remove(new Query(), AttendanceDailyRollup.class);
+    }
+
+    @Override
+    public void apply(String employeeId, List<AttendanceEvent> events) {
+        Set<LocalDate> days = new TreeSet<>();
+        for (AttendanceEvent event : events) {
+            addDay(days, event.getCheckInTime());
+            addDay(days, event.getPreviousCheckInTime());
+            addDay(days, event.getNextCheckInTime());
+        }
+        for (LocalDate day : days) {
+            recompute(employeeId, day);
+        }
+    }
+
+    private void recompute(String employeeId, LocalDate day) {
+        List<Attendance> sessions = mongoTemplate.find(new Query(Criteria.where("employeeId").is(employeeId)
+                        .and("checkInTime").gte(day.atStartOfDay()).lt(day.plusDays(1).atStartOfDay())),
+                Attendance.class, SessionProjection.COLLECTION);
+        String id = AttendanceDailyRollup.idOf(employeeId, day);
+        if (sessions.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(id)), AttendanceDailyRollup.class);
+            return;
+        }
+        mongoTemplate.save(AttendanceDailyRollup.builder()
+                .id(id)
+                .employeeId(employeeId)
+                .date(day)
+                .sessions(sessions.size())
+                .openSessions((int) sessions.stream().filter(Attendance::isActiveSession).count())
+                .minutesWorked(sessions.stream().map(Attendance::getMinutesWorked).filter(Objects::nonNull).mapToLong(Long::longValue).sum())
+                .firstCheckIn(sessions.stream().map(Attendance::getCheckInTime).min(LocalDateTime::compareTo).orElse(null))
+                .lastCheckOut(sessions.stream().map(Attendance::getCheckOutTime).filter(Objects::nonNull).max(LocalDateTime::compareTo).orElse(null))
+                .build());
+    }
+
+    private static void addDay(Set<LocalDate> days, LocalDateTime time) {
+        if (time != null) {
+            days.add(time.toLocalDate());
+        }
+    }
+}
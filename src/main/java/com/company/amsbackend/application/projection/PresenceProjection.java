@@ -0,0 +1,74 @@
+package com.company.amsbackend.application.projection;
+
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import com.company.amsbackend.domain.entity.AttendancePresence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Current presence per employee: the state after the employee's latest event.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class PresenceProjection implements AttendanceProjection {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public String name() {
+        return "presence";
+    }
+
+    @Override
+    public void reset() {
+        mongoTemplate.remove(new Query(), AttendancePresence.class);
+    }
+
+    @Override
+    public void apply(String employeeId, List<AttendanceEvent> events) {
+        AttendancePresence presence = mongoTemplate.findById(employeeId, AttendancePresence.class);
+        if (presence == null) {
+            presence = AttendancePresence.builder().employeeId(employeeId).build();
+        }
+        long before = presence.getLastSequence();
+        for (AttendanceEvent event : events) {
+            if (event.getSequence() <= presence.getLastSequence()) {
+                continue;
+            }
+            switch (event.getType()) {
+                case CHECKED_IN -> open(presence, event.getAttendanceId(), event);
+                case CHECKED_OUT -> close(presence, event);
+                case AUTO_ROLLED_OVER -> open(presence, event.getNextAttendanceId(), event);
+                case EDIT_APPROVED -> {
+                    // Edits change times of a session, not whether the employee is in
+                    if (event.getAttendanceId().equals(presence.getAttendanceId())) {
+                        presence.setSince(presence.isPresent() ? event.getCheckInTime() : event.getCheckOutTime());
+                    }
+                }
+            }
+            presence.setLastEventType(event.getType());
+            presence.setLastSequence(event.getSequence());
+        }
+        if (presence.getLastSequence() != before) {
+            mongoTemplate.save(presence);
+        }
+    }
+
+    private static void open(AttendancePresence presence, String attendanceId, AttendanceEvent event) {
+        presence.setPresent(true);
+        presence.setAttendanceId(attendanceId);
+        presence.setSince(event.getNextCheckInTime() != null ? event.getNextCheckInTime() : event.getCheckInTime());
+    }
+
+    private static void close(AttendancePresence presence, AttendanceEvent event) {
+        presence.setPresent(false);
+        presence.setAttendanceId(event.getAttendanceId());
+        presence.setSince(event.getCheckOutTime());
+    }
+}
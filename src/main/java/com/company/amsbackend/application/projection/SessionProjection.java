@@ -0,0 +1,146 @@
+package com.company.amsbackend.application.projection;
+
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import com.company.amsbackend.infrastructure.mongo.converter.AttendanceConverters;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Attendance documents rebuilt from events into {@code attendance_projection}, in the same shape as
+ * {@code attendances}, so the two can be compared and derived views read from either. Each document
+ * carries the sequence of the last event folded into it.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class SessionProjection implements AttendanceProjection {
+
+    public static final String COLLECTION = "attendance_projection";
+    private static final String LAST_SEQUENCE = "lastSequence";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public String name() {
+        return "sessions";
+    }
+
+    @Override
+    public void reset() {
+        mongoTemplate.remove(new Query(), COLLECTION);
+    }
+
+    @Override
+    public void apply(String employeeId, List<AttendanceEvent> events) {
+        Map<String, Session> sessions = load(events);
+        Set<String> changed = new LinkedHashSet<>();
+        for (AttendanceEvent event : events) {
+            Session session = sessions.computeIfAbsent(event.getAttendanceId(), id -> Session.empty(id, employeeId));
+            if (event.getSequence() <= session.lastSequence) {
+                continue;
+            }
+            Attendance attendance = session.attendance;
+            switch (event.getType()) {
+                case CHECKED_IN -> {
+                    copyState(event, attendance);
+                    attendance.setActiveSession(true);
+                }
+                case CHECKED_OUT, AUTO_ROLLED_OVER -> {
+                    copyState(event, attendance);
+                    attendance.setActiveSession(false);
+                }
+                case EDIT_APPROVED -> {
+                    copyState(event, attendance);
+                    attendance.setEditRequestId(event.getEditRequestId());
+                }
+            }
+            session.lastSequence = event.getSequence();
+            changed.add(attendance.getId());
+
+            if (event.getNextAttendanceId() != null) {
+                Session next = sessions.computeIfAbsent(event.getNextAttendanceId(), id -> Session.empty(id, employeeId));
+                if (event.getSequence() > next.lastSequence) {
+                    next.attendance.setCheckInTime(event.getNextCheckInTime());
+                    next.attendance.setAgendaIds(event.getNextAgendaIds());
+                    next.attendance.setAgendaItems(event.getNextAgendaItems());
+                    next.attendance.setCheckInLocation(event.getLocation());
+                    next.attendance.setActiveSession(true);
+                    next.lastSequence = event.getSequence();
+                    changed.add(next.attendance.getId());
+                }
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        for (String id : changed) {
+            Session session = sessions.get(id);
+            Document document = AttendanceConverters.Write.INSTANCE.convert(session.attendance);
+            document.put(LAST_SEQUENCE, session.lastSequence);
+            bulk.replaceOne(new Query(Criteria.where("_id").is(document.get("_id"))), document,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+    }
+
+    private Map<String, Session> load(List<AttendanceEvent> events) {
+        Set<Object> ids = new HashSet<>();
+        for (AttendanceEvent event : events) {
+            ids.add(storedId(event.getAttendanceId()));
+            if (event.getNextAttendanceId() != null) {
+                ids.add(storedId(event.getNextAttendanceId()));
+            }
+        }
+        Map<String, Session> sessions = new HashMap<>();
+        for (Document document : mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), Document.class, COLLECTION)) {
+            Attendance attendance = AttendanceConverters.Read.INSTANCE.convert(document);
+            Number lastSequence = document.get(LAST_SEQUENCE, Number.class);
+            sessions.put(attendance.getId(), new Session(attendance, lastSequence == null ? 0 : lastSequence.longValue()));
+        }
+        return sessions;
+    }
+
+    private static void copyState(AttendanceEvent event, Attendance attendance) {
+        attendance.setCheckInTime(event.getCheckInTime());
+        attendance.setCheckOutTime(event.getCheckOutTime());
+        attendance.setAgendaIds(event.getAgendaIds());
+        attendance.setAgendaItems(event.getAgendaItems());
+        attendance.setCheckInLocation(event.getLocation());
+        attendance.setRemark(event.getRemark());
+        attendance.setReferenceLink(event.getReferenceLink());
+        attendance.setMinutesWorked(event.getMinutesWorked());
+    }
+
+    // Same id representation the attendance converters write
+    private static Object storedId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private static final class Session {
+        private final Attendance attendance;
+        private long lastSequence;
+
+        private Session(Attendance attendance, long lastSequence) {
+            this.attendance = attendance;
+            this.lastSequence = lastSequence;
+        }
+
+        static Session empty(String id, String employeeId) {
+            return new Session(Attendance.builder().id(id).employeeId(employeeId).build(), 0);
+        }
+    }
+}
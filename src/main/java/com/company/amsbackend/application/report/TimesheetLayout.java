@@ -0,0 +1,131 @@
+package com.company.amsbackend.application.report;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Declarative description of a timesheet sheet, top to bottom: merged title lines, label/value lines,
+ * the day table (one row per session, one row per leave day) and label/value summary lines, with an empty
+ * row between the blocks and a medium border around the whole sheet.
+ * <p>
+ * A layout is only a definition; {@link #compile()} turns it into a {@link TimesheetPlan}. Layouts are
+ * compiled once, in {@link TimesheetLayouts}.
+ */
+public final class TimesheetLayout {
+
+    /** Cell styles a layout can refer to; each is created once per workbook when a plan is bound. */
+    public enum Style {
+        TITLE, HEADER, NORMAL, DAILY_TOTAL, DATE, TIME, WRAP
+    }
+
+    private final List<Function<TimesheetModel, String>> titles;
+    private final List<Line<TimesheetModel>> infoLines;
+    private final List<Column> columns;
+    private final List<SummaryLine> summaryLines;
+
+    private TimesheetLayout(Builder builder) {
+        this.titles = List.copyOf(builder.titles);
+        this.infoLines = List.copyOf(builder.infoLines);
+        this.columns = List.copyOf(builder.columns);
+        this.summaryLines = List.copyOf(builder.summaryLines);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public TimesheetPlan compile() {
+        if (titles.isEmpty() || columns.size() < 2 || summaryLines.isEmpty()) {
+            throw new IllegalStateException("A timesheet layout needs a title, two columns and a summary line");
+        }
+        return new TimesheetPlan(titles, infoLines, columns, summaryLines);
+    }
+
+    record Line<T>(String label, Function<T, String> value) {
+    }
+
+    record SummaryLine(String label, Function<TimesheetModel.Summary, String> text,
+                       ToLongFunction<TimesheetModel.Summary> number) {
+    }
+
+    /**
+     * One column of the day table. Day-level columns carry one value per day, written in the day's first
+     * row and merged down across its sessions; session columns carry one value per session and a fixed
+     * value on leave days.
+     */
+    public record Column(String header, Kind kind, Style style, Style leaveStyle, boolean dayLevel,
+                         Function<TimesheetModel.Day, ?> dayValue,
+                         Function<TimesheetModel.Session, ?> sessionValue,
+                         String leaveValue, int minWidth) {
+
+        enum Kind {
+            TEXT, DATE, DATE_TIME
+        }
+
+        public static Column date(String header, Function<TimesheetModel.Day, LocalDate> value) {
+            return new Column(header, Kind.DATE, Style.DATE, Style.DATE, true, value, null, null, 0);
+        }
+
+        public static Column dayText(String header, Style style, Function<TimesheetModel.Day, String> value) {
+            return new Column(header, Kind.TEXT, style, style, true, value, null, null, 0);
+        }
+
+        public static Column sessionText(String header, Style style, Function<TimesheetModel.Session, String> value,
+                                         String leaveValue) {
+            return new Column(header, Kind.TEXT, style, Style.NORMAL, false, null, value, leaveValue, 0);
+        }
+
+        public static Column sessionTime(String header, Function<TimesheetModel.Session, LocalDateTime> value) {
+            return new Column(header, Kind.DATE_TIME, Style.TIME, Style.NORMAL, false, null, value, "", 0);
+        }
+
+        /** Width floor in POI units (1/256 of a character), applied after sizing to content. */
+        public Column minWidth(int width) {
+            return new Column(header, kind, style, leaveStyle, dayLevel, dayValue, sessionValue, leaveValue, width);
+        }
+    }
+
+    public static final class Builder {
+        private final List<Function<TimesheetModel, String>> titles = new ArrayList<>();
+        private final List<Line<TimesheetModel>> infoLines = new ArrayList<>();
+        private final List<Column> columns = new ArrayList<>();
+        private final List<SummaryLine> summaryLines = new ArrayList<>();
+
+        public Builder title(String text) {
+            return title(model -> text);
+        }
+
+        public Builder title(Function<TimesheetModel, String> text) {
+            titles.add(text);
+            return this;
+        }
+
+        public Builder info(String label, Function<TimesheetModel, String> value) {
+            infoLines.add(new Line<>(label, value));
+            return this;
+        }
+
+        public Builder column(Column column) {
+            columns.add(column);
+            return this;
+        }
+
+        public Builder summaryText(String label, Function<TimesheetModel.Summary, String> value) {
+            summaryLines.add(new SummaryLine(label, value, null));
+            return this;
+        }
+
+        public Builder summaryNumber(String label, ToLongFunction<TimesheetModel.Summary> value) {
+            summaryLines.add(new SummaryLine(label, null, value));
+            return this;
+        }
+
+        public TimesheetLayout build() {
+            return new TimesheetLayout(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.company.amsbackend.application.report;
+
+import com.company.amsbackend.application.report.TimesheetLayout.Column;
+import com.company.amsbackend.application.report.TimesheetLayout.Style;
+
+/**
+ * The timesheet layouts in use, compiled once when this class is first loaded.
+ */
+public final class TimesheetLayouts {
+
+    /** The monthly timesheet HR downloads and employees receive by email. */
+    public static final TimesheetPlan MONTHLY = TimesheetLayout.builder()
+            .title("METAUPSPACE LLP")
+            .title("MONTHLY TIMESHEET")
+            .info("Employee Name:", model -> model.employee().getName())
+            .info("Month:", TimesheetModel::periodLabel)
+            .column(Column.date("Date", TimesheetModel.Day::date))
+            .column(Column.sessionTime("Check In Time", session -> session.attendance().getCheckInTime()))
+            .column(Column.sessionTime("Check Out Time", session -> session.attendance().getCheckOutTime()))
+            .column(Column.sessionText("Total Time", Style.NORMAL, TimesheetModel.Session::duration, "00:00"))
+            .column(Column.dayText("Total Daily Hours", Style.DAILY_TOTAL, TimesheetModel.Day::dailyTotal))
+            .column(Column.sessionText("Agendas", Style.WRAP, TimesheetModel.Session::agendas, "").minWidth(6000))
+            .column(Column.sessionText("Completed Agendas", Style.WRAP, TimesheetModel.Session::completedAgendas, "").minWidth(6000))
+            .column(Column.sessionText("Reference Link", Style.NORMAL, TimesheetModel.Session::referenceLink, ""))
+            .column(Column.sessionText("Remark", Style.WRAP, TimesheetModel.Session::remark, ""))
+            .column(Column.sessionText("Validated Hours", Style.NORMAL, session -> "", ""))
+            .summaryNumber("Total Days Present:", TimesheetModel.Summary::daysPresent)
+            .summaryNumber("Total Leave Days:", TimesheetModel.Summary::leaveDays)
+            .summaryText("Total Hours Worked:", TimesheetModel.Summary::hoursWorked)
+            .build()
+            .compile();
+
+    private TimesheetLayouts() {
+    }
+}
@@ -0,0 +1,121 @@
+package com.company.amsbackend.application.report;
+
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Everything a timesheet sheet shows for one employee and period, with all values already formatted.
+ * Building it touches no workbook, so models can be prepared off the writing thread; a {@link TimesheetPlan}
+ * then only copies values into cells.
+ */
+public record TimesheetModel(Employee employee, String periodLabel, List<Day> days, Summary summary) {
+
+    private static final String ZERO = "00:00";
+
+    /** One calendar day; a day without completed sessions is a leave day. */
+    public record Day(LocalDate date, String dailyTotal, List<Session> sessions) {
+        public boolean isLeave() {
+            return sessions.isEmpty();
+        }
+    }
+
+    public record Session(Attendance attendance, String duration, String agendas, String completedAgendas,
+                          String referenceLink, String remark) {
+    }
+
+    public record Summary(int daysPresent, int leaveDays, long minutesWorked) {
+        public String hoursWorked() {
+            return hhmm(minutesWorked);
+        }
+    }
+
+    public static TimesheetModel month(Employee employee, YearMonth yearMonth,
+                                       Map<LocalDate, List<Attendance>> attendancesByDate,
+                                       Map<String, List<Agenda>> agendasByAttendance) {
+        List<LocalDate> dates = new ArrayList<>(yearMonth.lengthOfMonth());
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            dates.add(yearMonth.atDay(day));
+        }
+        return of(employee, yearMonth.getMonth() + " " + yearMonth.getYear(), dates, attendancesByDate, agendasByAttendance);
+    }
+
+    public static TimesheetModel of(Employee employee, String periodLabel, List<LocalDate> dates,
+                                    Map<LocalDate, List<Attendance>> attendancesByDate,
+                                    Map<String, List<Agenda>> agendasByAttendance) {
+        List<Day> days = new ArrayList<>(dates.size());
+        long totalMinutesWorked = 0;
+        int daysPresent = 0;
+
+        for (LocalDate date : dates) {
+            // Sessions still open are not reported; a day with only those counts as leave
+            List<Attendance> completed = attendancesByDate.getOrDefault(date, Collections.emptyList()).stream()
+                    .filter(a -> !a.isActiveSession() && a.getCheckInTime() != null && a.getCheckOutTime() != null)
+                    .sorted(Comparator.comparing(Attendance::getCheckInTime))
+                    .toList();
+            if (completed.isEmpty()) {
+                days.add(new Day(date, ZERO, Collections.emptyList()));
+                continue;
+            }
+
+            daysPresent++;
+            long dailyMinutes = 0;
+            List<Session> sessions = new ArrayList<>(completed.size());
+            for (Attendance attendance : completed) {
+                long minutes = minutesWorked(attendance);
+                dailyMinutes += minutes;
+                List<Agenda> agendas = agendasByAttendance.getOrDefault(attendance.getId(), Collections.emptyList());
+                sessions.add(new Session(attendance, hhmm(minutes),
+                        agendaLines(agendas, false), agendaLines(agendas, true),
+                        Objects.requireNonNullElse(attendance.getReferenceLink(), ""),
+                        Objects.requireNonNullElse(attendance.getRemark(), "")));
+            }
+            totalMinutesWorked += dailyMinutes;
+            days.add(new Day(date, hhmm(dailyMinutes), sessions));
+        }
+        return new TimesheetModel(employee, periodLabel, days,
+                new Summary(daysPresent, dates.size() - daysPresent, totalMinutesWorked));
+    }
+
+    /** Numbered agenda titles, one per line. */
+    public static String agendaLines(List<Agenda> agendas, boolean onlyCompleted) {
+        StringBuilder sb = new StringBuilder();
+        int n = 0;
+        for (Agenda agenda : agendas) {
+            if (onlyCompleted && !agenda.isComplete()) {
+                continue;
+            }
+            if (n > 0) {
+                sb.append('\n'); // Real line breaks work perfectly in Excel
+            }
+            sb.append(++n).append(". ").append(agenda.getTitle());
+        }
+        return sb.toString();
+    }
+
+    /** Minutes as zero-padded hh:mm, without going through String.format. */
+    public static String hhmm(long minutes) {
+        long hours = minutes / 60;
+        int rest = (int) (minutes % 60);
+        StringBuilder sb = new StringBuilder(6);
+        if (hours < 10) {
+            sb.append('0');
+        }
+        sb.append(hours).append(':');
+        if (rest < 10) {
+            sb.append('0');
+        }
+        return sb.append(rest).toString();
+    }
+
+    private static long minutesWorked(Attendance attendance) {
+        return attendance.getMinutesWorked() != null
+                ? attendance.getMinutesWorked()
+                : Duration.between(attendance.getCheckInTime(), attendance.getCheckOutTime()).toMinutes();
+    }
+}
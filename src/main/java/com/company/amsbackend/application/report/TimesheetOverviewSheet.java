@@ -0,0 +1,72 @@
+package com.company.amsbackend.application.report;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+/**
+ * A table of timesheet totals, one line per sheet (or file) of an export, appended as the sheets are
+ * written: the caller's key columns (employee, month, ...) followed by days present, leave days and hours.
+ */
+public final class TimesheetOverviewSheet {
+
+    private static final String[] TOTAL_HEADERS = {"Days Present", "Leave Days", "Hours Worked"};
+    private static final int FIRST_LINE = 3;
+
+    private final Sheet sheet;
+    private final int keyColumns;
+    private final CellStyle normalStyle;
+    private final CellStyle headerStyle;
+    private int lines;
+
+    public TimesheetOverviewSheet(TimesheetPlan.Writer writer, Sheet sheet, String title, String... keyHeaders) {
+        this.sheet = sheet;
+        this.keyColumns = keyHeaders.length;
+        this.normalStyle = writer.style(TimesheetLayout.Style.NORMAL);
+        this.headerStyle = writer.style(TimesheetLayout.Style.HEADER);
+        int columns = keyColumns + TOTAL_HEADERS.length;
+
+        Cell titleCell = sheet.createRow(0).createCell(0);
+        titleCell.setCellValue(title);
+        titleCell.setCellStyle(writer.style(TimesheetLayout.Style.TITLE));
+        sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, columns - 1));
+
+        Row header = sheet.createRow(FIRST_LINE - 1);
+        for (int i = 0; i < columns; i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(i < keyColumns ? keyHeaders[i] : TOTAL_HEADERS[i - keyColumns]);
+            cell.setCellStyle(headerStyle);
+            // Rows are streamed, so widths are fixed up front rather than measured
+            sheet.setColumnWidth(i, (i < keyColumns ? 28 : 16) * 256);
+        }
+    }
+
+    public void add(TimesheetModel.Summary summary, String... keys) {
+        write(normalStyle, summary, keys);
+    }
+
+    /** A closing line in header style, e.g. the totals over all lines. */
+    public void addTotal(TimesheetModel.Summary summary, String... keys) {
+        write(headerStyle, summary, keys);
+    }
+
+    private void write(CellStyle style, TimesheetModel.Summary summary, String[] keys) {
+        Row row = sheet.createRow(FIRST_LINE + lines++);
+        for (int i = 0; i < keyColumns; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(i < keys.length ? keys[i] : "");
+            cell.setCellStyle(style);
+        }
+        Cell present = row.createCell(keyColumns);
+        present.setCellValue(summary.daysPresent());
+        present.setCellStyle(style);
+        Cell leave = row.createCell(keyColumns + 1);
+        leave.setCellValue(summary.leaveDays());
+        leave.setCellStyle(style);
+        Cell hours = row.createCell(keyColumns + 2);
+        hours.setCellValue(summary.hoursWorked());
+        hours.setCellStyle(style);
+    }
+}
@@ -0,0 +1,432 @@
+package com.company.amsbackend.application.report;
+
+import com.company.amsbackend.application.report.TimesheetLayout.Column;
+import com.company.amsbackend.application.report.TimesheetLayout.Line;
+import com.company.amsbackend.application.report.TimesheetLayout.Style;
+import com.company.amsbackend.application.report.TimesheetLayout.SummaryLine;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.springframework.core.NativeDetector;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A compiled {@link TimesheetLayout}. Every column is reduced to three cell writers (first row of a day,
+ * further rows of the same day, leave day) chosen once from the column's kind, so writing a row is a
+ * straight loop over writers with no per-cell decisions. {@link #bind(Workbook)} creates the layout's
+ * styles in a workbook and resolves, per column and row position, the style including the sheet's outer
+ * medium border.
+ * <p>
+ * A plan is immutable and shared; a bound {@link Writer} belongs to one workbook and, like POI, is not
+ * thread-safe.
+ */
+public final class TimesheetPlan {
+
+    private static final int TOP = 1, BOTTOM = 2, LEFT = 4, RIGHT = 8;
+    // Formatted widths of the date and time cells, for sizing columns without font metrics
+    private static final String DATE_TEXT = "dd/mm/yyyy";
+    private static final String TIME_TEXT = "hh:mm AM";
+
+    @FunctionalInterface
+    private interface CellWriter {
+        /** @return the text shown, for width estimates; null when the cell is left without a value */
+        String write(Cell cell, TimesheetModel.Day day, TimesheetModel.Session session);
+    }
+
+    @FunctionalInterface
+    private interface SummaryWriter {
+        String write(Cell cell, TimesheetModel.Summary summary);
+    }
+
+    @FunctionalInterface
+    private interface Measure {
+        void record(int[] longest, int column, String text);
+    }
+
+    private final List<Function<TimesheetModel, String>> titles;
+    private final List<Line<TimesheetModel>> infoLines;
+    private final int columnCount;
+    private final int lastColumn;
+    private final String[] headers;
+    private final Style[] sessionStyles;
+    private final Style[] leaveStyles;
+    private final CellWriter[] firstRowWriters;
+    private final CellWriter[] followingRowWriters;
+    private final CellWriter[] leaveWriters;
+    private final int[] mergedColumns;
+    private final int[] minWidths;
+    private final String[] summaryLabels;
+    private final SummaryWriter[] summaryWriters;
+
+    TimesheetPlan(List<Function<TimesheetModel, String>> titles, List<Line<TimesheetModel>> infoLines,
+                  List<Column> columns, List<SummaryLine> summaryLines) {
+        this.titles = titles;
+        this.infoLines = infoLines;
+        this.columnCount = columns.size();
+        this.lastColumn = columnCount - 1;
+        this.headers = new String[columnCount];
+        this.sessionStyles = new Style[columnCount];
+        this.leaveStyles = new Style[columnCount];
+        this.firstRowWriters = new CellWriter[columnCount];
+        this.followingRowWriters = new CellWriter[columnCount];
+        this.leaveWriters = new CellWriter[columnCount];
+        this.minWidths = new int[columnCount];
+
+        List<Integer> merged = new ArrayList<>();
+        for (int c = 0; c < columnCount; c++) {
+            Column column = columns.get(c);
+            headers[c] = column.header();
+            sessionStyles[c] = column.style();
+            leaveStyles[c] = column.leaveStyle();
+            minWidths[c] = column.minWidth();
+            if (column.dayLevel()) {
+                merged.add(c);
+                firstRowWriters[c] = dayWriter(column);
+                followingRowWriters[c] = (cell, day, session) -> null;
+                leaveWriters[c] = firstRowWriters[c];
+            } else {
+                firstRowWriters[c] = sessionWriter(column);
+                followingRowWriters[c] = firstRowWriters[c];
+                String leaveValue = column.leaveValue();
+                leaveWriters[c] = (cell, day, session) -> {
+                    cell.setCellValue(leaveValue);
+                    return leaveValue;
+                };
+            }
+        }
+        this.mergedColumns = merged.stream().mapToInt(Integer::intValue).toArray();
+
+        this.summaryLabels = new String[summaryLines.size()];
+        this.summaryWriters = new SummaryWriter[summaryLines.size()];
+        for (int i = 0; i < summaryLines.size(); i++) {
+            SummaryLine line = summaryLines.get(i);
+            summaryLabels[i] = line.label();
+            if (line.number() != null) {
+                summaryWriters[i] = (cell, summary) -> {
+                    long value = line.number().applyAsLong(summary);
+                    cell.setCellValue(value);
+                    return Long.toString(value);
+                };
+            } else {
+                summaryWriters[i] = (cell, summary) -> {
+                    String value = line.text().apply(summary);
+                    cell.setCellValue(value);
+                    return value;
+                };
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CellWriter dayWriter(Column column) {
+        return switch (column.kind()) {
+            case DATE -> {
+                Function<TimesheetModel.Day, LocalDate> value = (Function<TimesheetModel.Day, LocalDate>) column.dayValue();
+                yield (cell, day, session) -> {
+                    cell.setCellValue(value.apply(day).atStartOfDay());
+                    return DATE_TEXT;
+                };
+            }
+            case DATE_TIME -> {
+                Function<TimesheetModel.Day, LocalDateTime> value = (Function<TimesheetModel.Day, LocalDateTime>) column.dayValue();
+                yield (cell, day, session) -> {
+                    cell.setCellValue(value.apply(day));
+                    return TIME_TEXT;
+                };
+            }
+            case TEXT -> {
+                Function<TimesheetModel.Day, String> value = (Function<TimesheetModel.Day, String>) column.dayValue();
+                yield (cell, day, session) -> {
+                    String text = value.apply(day);
+                    cell.setCellValue(text);
+                    return text;
+                };
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CellWriter sessionWriter(Column column) {
+        return switch (column.kind()) {
+            case DATE -> {
+                Function<TimesheetModel.Session, LocalDate> value = (Function<TimesheetModel.Session, LocalDate>) column.sessionValue();
+                yield (cell, day, session) -> {
+                    cell.setCellValue(value.apply(session).atStartOfDay());
+                    return DATE_TEXT;
+                };
+            }
+            case DATE_TIME -> {
+                Function<TimesheetModel.Session, LocalDateTime> value = (Function<TimesheetModel.Session, LocalDateTime>) column.sessionValue();
+                yield (cell, day, session) -> {
+                    cell.setCellValue(value.apply(session));
+                    return TIME_TEXT;
+                };
+            }
+            case TEXT -> {
+                Function<TimesheetModel.Session, String> value = (Function<TimesheetModel.Session, String>) column.sessionValue();
+                yield (cell, day, session) -> {
+                    String text = value.apply(session);
+                    cell.setCellValue(text);
+                    return text;
+                };
+            }
+        };
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    public Writer bind(Workbook workbook) {
+        return new Writer(workbook);
+    }
+
+    public final class Writer {
+        private final Workbook workbook;
+        private final Map<Style, CellStyle> baseStyles = new EnumMap<>(Style.class);
+        private final Map<Integer, CellStyle> bordered = new HashMap<>();
+        private final Measure measure;
+
+        private final CellStyle firstTitleStyle;
+        private final CellStyle titleStyle;
+        private final CellStyle labelStyle;
+        private final CellStyle valueStyle;
+        private final CellStyle lastLabelStyle;
+        private final CellStyle lastValueStyle;
+        private final CellStyle[] headerStyles = new CellStyle[columnCount];
+        private final CellStyle[] sessionCellStyles = new CellStyle[columnCount];
+        private final CellStyle[] leaveCellStyles = new CellStyle[columnCount];
+
+        private Writer(Workbook workbook) {
+            this.workbook = workbook;
+            // autoSizeColumn needs AWT font metrics, which a native image does not reliably have;
+            // there the width is estimated from the longest line written to each column instead
+            this.measure = NativeDetector.inNativeImage() ? Writer::recordLongestLine : (longest, column, text) -> { };
+
+            this.firstTitleStyle = resolve(Style.TITLE, TOP | edges(0));
+            this.titleStyle = resolve(Style.TITLE, edges(0));
+            this.labelStyle = resolve(Style.HEADER, edges(0));
+            this.valueStyle = resolve(Style.NORMAL, edges(1));
+            this.lastLabelStyle = resolve(Style.HEADER, BOTTOM | edges(0));
+            this.lastValueStyle = resolve(Style.NORMAL, BOTTOM | edges(1));
+            for (int c = 0; c < columnCount; c++) {
+                headerStyles[c] = resolve(Style.HEADER, edges(c));
+                sessionCellStyles[c] = resolve(sessionStyles[c], edges(c));
+                leaveCellStyles[c] = resolve(leaveStyles[c], edges(c));
+            }
+        }
+
+        public Workbook getWorkbook() {
+            return workbook;
+        }
+
+        /** The layout's plain style, without the outer border; for extra sheets written alongside. */
+        public CellStyle style(Style style) {
+            return baseStyles.computeIfAbsent(style, this::createStyle);
+        }
+
+        public TimesheetModel.Summary write(Sheet sheet, TimesheetModel model) {
+            if (sheet instanceof SXSSFSheet streaming && !NativeDetector.inNativeImage()) {
+                // Widths must be measured as rows go by; flushed rows cannot be revisited
+                streaming.trackAllColumnsForAutoSizing();
+            }
+            int[] longest = new int[columnCount];
+            int rowNum = 0;
+
+            for (int i = 0; i < titles.size(); i++) {
+                Cell cell = sheet.createRow(rowNum).createCell(0);
+                cell.setCellValue(titles.get(i).apply(model));
+                cell.setCellStyle(i == 0 ? firstTitleStyle : titleStyle);
+                sheet.addMergedRegion(new CellRangeAddress(rowNum, rowNum, 0, lastColumn));
+                rowNum++;
+            }
+            rowNum++;
+
+            for (Line<TimesheetModel> line : infoLines) {
+                Row row = sheet.createRow(rowNum++);
+                labelled(row, labelStyle, line.label(), valueStyle, line.value().apply(model), longest);
+            }
+            rowNum++;
+
+            Row headerRow = sheet.createRow(rowNum++);
+            for (int c = 0; c < columnCount; c++) {
+                Cell cell = headerRow.createCell(c);
+                cell.setCellValue(headers[c]);
+                cell.setCellStyle(headerStyles[c]);
+                measure.record(longest, c, headers[c]);
+            }
+
+            for (TimesheetModel.Day day : model.days()) {
+                if (day.isLeave()) {
+                    writeRow(sheet.createRow(rowNum++), leaveWriters, leaveCellStyles, day, null, longest);
+                    continue;
+                }
+                int firstRowOfDay = rowNum;
+                List<TimesheetModel.Session> sessions = day.sessions();
+                writeRow(sheet.createRow(rowNum++), firstRowWriters, sessionCellStyles, day, sessions.get(0), longest);
+                for (int i = 1; i < sessions.size(); i++) {
+                    writeRow(sheet.createRow(rowNum++), followingRowWriters, sessionCellStyles, day, sessions.get(i), longest);
+                }
+                if (sessions.size() > 1) {
+                    for (int c : mergedColumns) {
+                        sheet.addMergedRegion(new CellRangeAddress(firstRowOfDay, rowNum - 1, c, c));
+                    }
+                }
+            }
+            rowNum++;
+
+            TimesheetModel.Summary summary = model.summary();
+            int lastLine = summaryLabels.length - 1;
+            for (int i = 0; i < lastLine; i++) {
+                summaryRow(sheet.createRow(rowNum++), i, labelStyle, valueStyle, summary, longest);
+            }
+            // Last row of the sheet: carries the bottom border
+            summaryRow(sheet.createRow(rowNum), lastLine, lastLabelStyle, lastValueStyle, summary, longest);
+
+            sizeColumns(sheet, longest);
+            return summary;
+        }
+
+        private void writeRow(Row row, CellWriter[] writers, CellStyle[] styles,
+                              TimesheetModel.Day day, TimesheetModel.Session session, int[] longest) {
+            for (int c = 0; c < columnCount; c++) {
+                Cell cell = row.createCell(c);
+                cell.setCellStyle(styles[c]);
+                measure.record(longest, c, writers[c].write(cell, day, session));
+            }
+        }
+
+        private void summaryRow(Row row, int line, CellStyle labelCellStyle, CellStyle valueCellStyle,
+                                TimesheetModel.Summary summary, int[] longest) {
+            Cell label = row.createCell(0);
+            label.setCellValue(summaryLabels[line]);
+            label.setCellStyle(labelCellStyle);
+            measure.record(longest, 0, summaryLabels[line]);
+            Cell value = row.createCell(1);
+            value.setCellStyle(valueCellStyle);
+            measure.record(longest, 1, summaryWriters[line].write(value, summary));
+        }
+
+        private void labelled(Row row, CellStyle labelCellStyle, String label, CellStyle valueCellStyle, String value,
+                              int[] longest) {
+            Cell labelCell = row.createCell(0);
+            labelCell.setCellValue(label);
+            labelCell.setCellStyle(labelCellStyle);
+            measure.record(longest, 0, label);
+            Cell valueCell = row.createCell(1);
+            valueCell.setCellValue(value);
+            valueCell.setCellStyle(valueCellStyle);
+            measure.record(longest, 1, value);
+        }
+
+        private void sizeColumns(Sheet sheet, int[] longest) {
+            boolean estimate = NativeDetector.inNativeImage();
+            for (int c = 0; c < columnCount; c++) {
+                if (estimate) {
+                    sheet.setColumnWidth(c, Math.min(255, longest[c] + 2) * 256);
+                } else {
+                    sheet.autoSizeColumn(c);
+                }
+                if (minWidths[c] > 0) {
+                    sheet.setColumnWidth(c, Math.max(sheet.getColumnWidth(c), minWidths[c]));
+                }
+            }
+        }
+
+        private static void recordLongestLine(int[] longest, int column, String text) {
+            if (text == null) {
+                return;
+            }
+            int start = 0;
+            for (int end = text.indexOf('\n'); end >= 0; end = text.indexOf('\n', start)) {
+                longest[column] = Math.max(longest[column], end - start);
+                start = end + 1;
+            }
+            longest[column] = Math.max(longest[column], text.length() - start);
+        }
+
+        private int edges(int column) {
+            return (column == 0 ? LEFT : 0) | (column == lastColumn ? RIGHT : 0);
+        }
+
+        // Base style plus the medium outer-border edges a position sits on; shared by every sheet of the workbook
+        private CellStyle resolve(Style style, int edges) {
+            CellStyle base = style(style);
+            if (edges == 0) {
+                return base;
+            }
+            return bordered.computeIfAbsent(style.ordinal() * 16 + edges, key -> {
+                CellStyle cellStyle = workbook.createCellStyle();
+                cellStyle.cloneStyleFrom(base);
+                if ((edges & TOP) != 0) {
+                    cellStyle.setBorderTop(BorderStyle.MEDIUM);
+                }
+                if ((edges & BOTTOM) != 0) {
+                    cellStyle.setBorderBottom(BorderStyle.MEDIUM);
+                }
+                if ((edges & LEFT) != 0) {
+                    cellStyle.setBorderLeft(BorderStyle.MEDIUM);
+                }
+                if ((edges & RIGHT) != 0) {
+                    cellStyle.setBorderRight(BorderStyle.MEDIUM);
+                }
+                return cellStyle;
+            });
+        }
+
+        private CellStyle createStyle(Style style) {
+            CellStyle cellStyle = workbook.createCellStyle();
+            switch (style) {
+                case TITLE -> {
+                    cellStyle.setFont(boldFont((short) 16));
+                    cellStyle.setAlignment(HorizontalAlignment.CENTER);
+                    cellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+                }
+                case HEADER -> {
+                    cellStyle.setFont(boldFont((short) 12));
+                    cellStyle.setAlignment(HorizontalAlignment.CENTER);
+                    cellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+                }
+                case NORMAL -> cellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+                case DAILY_TOTAL -> {
+                    cellStyle.setFont(boldFont((short) 0));
+                    cellStyle.setAlignment(HorizontalAlignment.CENTER);
+                    cellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+                }
+                case DATE -> {
+                    cellStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+                    cellStyle.setAlignment(HorizontalAlignment.CENTER);
+                    cellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+                }
+                case TIME -> {
+                    cellStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("hh:mm AM/PM"));
+                    cellStyle.setAlignment(HorizontalAlignment.CENTER);
+                    cellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+                }
+                case WRAP -> {
+                    cellStyle.setWrapText(true);
+                    cellStyle.setVerticalAlignment(VerticalAlignment.TOP);
+                }
+            }
+            cellStyle.setBorderTop(BorderStyle.THIN);
+            cellStyle.setBorderBottom(BorderStyle.THIN);
+            cellStyle.setBorderLeft(BorderStyle.THIN);
+            cellStyle.setBorderRight(BorderStyle.THIN);
+            return cellStyle;
+        }
+
+        // A height of 0 keeps the workbook's default font size
+        private Font boldFont(short heightInPoints) {
+            Font font = workbook.createFont();
+            font.setBold(true);
+            if (heightInPoints > 0) {
+                font.setFontHeightInPoints(heightInPoints);
+            }
+            return font;
+        }
+    }
+}
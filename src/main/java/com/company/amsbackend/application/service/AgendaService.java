@@ -0,0 +1,18 @@
+package com.company.amsbackend.application.service;
+
+import com.company.amsbackend.api.dto.AgendaWithStatusDto;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface AgendaService {
+    List<Agenda> internAgendas(String employeeId, List<String> titles);
+    List<Agenda> findAgendas(Attendance attendance);
+    Map<String, List<Agenda>> findAgendasForAttendances(Collection<Attendance> attendances);
+    void updateCompletion(List<Agenda> agendas);
+    void deleteAgendas(Collection<String> agendaIds);
+    List<AgendaWithStatusDto> toDtos(List<Agenda> agendas);
+}
@@ -0,0 +1,12 @@
+package com.company.amsbackend.application.service;
+
+public interface AttendanceAnalyticsExportService {
+    void exportScheduled();
+
+    /**
+     * Exports sessions checked out since the last run into the Parquet store.
+     *
+     * @return number of sessions written
+     */
+    long exportIncremental();
+}
@@ -0,0 +1,20 @@
+package com.company.amsbackend.application.service;
+
+import com.company.amsbackend.domain.entity.Attendance;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+public interface AttendanceArchiveService {
+    void archiveExpiredMonths();
+    void purgeArchivedOriginals();
+    long archiveMonth(YearMonth yearMonth);
+    // Until a month is purged, and for documents edited after its snapshot, the live document exists as well
+    // and wins: callers drop archived records whose id they also read from attendances or buckets
+    List<Attendance> findAttendances(String employeeId, LocalDateTime from, LocalDateTime to);
+    Set<YearMonth> getArchivedMonths();
+    // Every employee's archived sessions of the month, with the same precedence rule as findAttendances
+    List<Attendance> findMonthAttendances(YearMonth yearMonth);
+}
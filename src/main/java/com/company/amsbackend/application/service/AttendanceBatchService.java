@@ -0,0 +1,20 @@
+package com.company.amsbackend.application.service;
+
+import com.company.amsbackend.api.dto.AttendanceBatchEvent;
+import com.company.amsbackend.api.dto.AttendanceBatchResponse;
+
+import java.util.List;
+
+public interface AttendanceBatchService {
+    /**
+     * Applies queued check-in/check-out events. Events already applied under the same
+     * idempotency key are reported as duplicates, so replaying a batch changes nothing.
+     */
+    AttendanceBatchResponse applyBatch(List<AttendanceBatchEvent> events);
+
+    /**
+     * As {@link #applyBatch(List)}, for events submitted by an employee: events for anyone other than
+     * {@code submittedBy} are rejected. A null {@code submittedBy} accepts events for every employee.
+     */
+    AttendanceBatchResponse applyBatch(List<AttendanceBatchEvent> events, String submittedBy);
+}
@@ -0,0 +1,17 @@
+package com.company.amsbackend.application.service;
+
+import com.company.amsbackend.domain.entity.Attendance;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface AttendanceBucketService {
+    void compactPreviousMonth();
+    int compactMonth(YearMonth yearMonth);
+    void compactEmployeeMonth(String employeeId, YearMonth yearMonth);
+    void refreshIfCompacted(String employeeId, LocalDateTime checkInTime);
+    List<Attendance> findAttendances(String employeeId, LocalDateTime from, LocalDateTime to);
+    // Same read with live documents served by a secondary, for reports
+    List<Attendance> findReportingAttendances(String employeeId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,19 @@
+package com.company.amsbackend.application.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface AttendanceExportService {
+
+    enum Format {
+        NDJSON, CSV
+    }
+
+    /**
+     * Writes every session checked in between the two dates (inclusive) to the stream, one row per session.
+     *
+     * @return number of rows written
+     */
+    long exportAttendance(LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException;
+}
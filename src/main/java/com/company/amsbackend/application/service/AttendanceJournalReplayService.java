@@ -0,0 +1,17 @@
+package com.company.amsbackend.application.service;
+
+public interface AttendanceJournalReplayService {
+    void replayScheduled();
+
+    /**
+     * Replays journaled check-ins/check-outs into Mongo in journal order until the journal is empty
+     * or Mongo fails again. Returns the number of entries taken off the journal.
+     */
+    int replayPending();
+
+    /**
+     * Applies check-outs kept while their check-in was still in another node's journal, once that check-in
+     * is stored, and drops those whose check-in never arrived. Returns the number applied.
+     */
+    int resolveOrphanCheckOuts();
+}
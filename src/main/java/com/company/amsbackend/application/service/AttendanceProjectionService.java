@@ -0,0 +1,11 @@
+package com.company.amsbackend.application.service;
+
+public interface AttendanceProjectionService {
+    void catchUpScheduled();
+
+    /** Applies events recorded since each projection's checkpoint. Returns the number of events read. */
+    long catchUp();
+
+    /** Drops every projection and replays the whole event log into them. Returns the number of events replayed. */
+    long rebuild();
+}
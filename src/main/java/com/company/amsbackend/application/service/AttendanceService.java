@@ -2,6 +2,7 @@ package com.company.amsbackend.application.service;
 
 import com.company.amsbackend.api.dto.AbsenceReportDto;
 import com.company.amsbackend.api.dto.AgendaWithStatusDto;
+import com.company.amsbackend.api.dto.AttendanceRecordDto;
 import com.company.amsbackend.api.dto.AttendanceResponseDto;
 import com.company.amsbackend.api.dto.DailyActivityDto;
 import com.company.amsbackend.domain.entity.Attendance;
@@ -11,6 +12,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AttendanceService {
     AttendanceResponseDto checkIn(String employeeId, List<String> agendaTitles, String location);
@@ -18,6 +20,10 @@ public interface AttendanceService {
 
     List<AgendaWithStatusDto> getAgendasForAttendance(String attendanceId);
     List<Attendance> getAttendancesForEmployee(String employeeId, LocalDate from, LocalDate to);
+    // For the records endpoints: the same records with their agendas resolved, whichever store they came from
+    List<AttendanceRecordDto> getAttendanceRecords(String employeeId, LocalDate from, LocalDate to);
+    // For reports: same records, with live documents read from a secondary
+    List<Attendance> getAttendancesForReport(String employeeId, LocalDate from, LocalDate to);
     Map<String, Long> getDailyAttendanceSummary(LocalDate date);
     long getTotalWeeklyHours(String employeeId, LocalDate weekStart, LocalDate weekEnd);
     long getTotalMonthlyHours(String employeeId, int year, int month);
@@ -29,5 +35,9 @@ public interface AttendanceService {
     AbsenceReportDto getMonthlyAbsenceReport(String employeeId, int year, int month);
 
     Optional<Attendance> findById(String attendanceId);
-    Attendance save(Attendance attendance);
+    /**
+     * Applies the change to the current version of the attendance, serialized with the employee's
+     * check-in/check-out and retried if another node saved it first.
+     */
+    Attendance update(String attendanceId, Consumer<Attendance> change);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.company.amsbackend.application.service;
+
+import com.company.amsbackend.api.dto.DailyActivityDto;
+import com.company.amsbackend.api.dto.EmployeeSummaryResponse;
+import com.company.amsbackend.domain.entity.Attendance;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Back-pressured counterparts of the HR dashboard reads. Results are produced window by window
+ * as the client consumes them instead of being collected into a list first.
+ */
+public interface DashboardStreamService {
+    Flux<EmployeeSummaryResponse> streamEmployeeSummaries();
+    Flux<DailyActivityDto> streamDailyActivities(LocalDate date);
+    Flux<Attendance> streamAttendanceRecords(String employeeId, LocalDate from, LocalDate to);
+}
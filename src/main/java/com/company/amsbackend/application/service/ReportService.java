@@ -1,7 +1,27 @@
 package com.company.amsbackend.application.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.YearMonth;
 
 public interface ReportService {
+
+    enum Packaging {
+        WORKBOOK, ZIP
+    }
+
     byte[] generateEmployeeMonthlyTimesheet(String employeeId, YearMonth yearMonth);
-}
\ No newline at end of file
+
+    /**
+     * Writes one workbook with a sheet per month from {@code from} to {@code to} (inclusive) and a summary
+     * sheet with each month's totals, reading the employee's attendance for the whole range once.
+     */
+    void writeEmployeeTimesheetRange(String employeeId, YearMonth from, YearMonth to, OutputStream out) throws IOException;
+
+    /**
+     * Writes every employee's timesheet for the month to the stream in one pass over the month's sessions:
+     * either a single workbook with an overview sheet and one sheet per employee, or a zip of one workbook
+     * per employee plus the overview.
+     */
+    void writeOrganizationTimesheets(YearMonth yearMonth, Packaging packaging, OutputStream out) throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.company.amsbackend.application.service;
+
+import java.time.YearMonth;
+
+public interface TimesheetWarmupService {
+    void warmUpScheduled();
+
+    /**
+     * Renders every active employee's timesheet for the month into the local report cache, stopping early
+     * when the night window closes.
+     *
+     * @return number of timesheets rendered or confirmed fresh
+     */
+    int warmUpMonth(YearMonth yearMonth);
+}
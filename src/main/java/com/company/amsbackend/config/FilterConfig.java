@@ -1,5 +1,6 @@
 package com.company.amsbackend.config;
 
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,4 +15,22 @@ public class FilterConfig {
         registrationBean.addUrlPatterns("/*");
         return registrationBean;
     }
+
+    @Bean
+    public FilterRegistrationBean<MongoQueryCountFilter> mongoQueryCountFilterRegistration(MongoQueryCountFilter filter) {
+        FilterRegistrationBean<MongoQueryCountFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(filter);
+        registrationBean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1); // also counts the JWT user lookup
+        registrationBean.addUrlPatterns("/*");
+        return registrationBean;
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyKeyFilter> idempotencyKeyFilterRegistration(IdempotencyKeyFilter filter) {
+        FilterRegistrationBean<IdempotencyKeyFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(filter);
+        registrationBean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1); // keys are scoped to the authenticated caller
+        registrationBean.addUrlPatterns("/attendance/check-in", "/attendance/check-out", "/attendance/attendance-requests");
+        return registrationBean;
+    }
 }
\ No newline at end of file
@@ -4,16 +4,24 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 @Component
 public class MdcEmployeeIdFilter implements Filter {
 
+    private final double requestLogSampleRate;
+
+    public MdcEmployeeIdFilter(@Value("${app.logging.request-sample-rate:1.0}") double requestLogSampleRate) {
+        this.requestLogSampleRate = requestLogSampleRate;
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
         try {
@@ -29,9 +37,13 @@ public class MdcEmployeeIdFilter implements Filter {
                 }
             }
             MDC.put("employeeId", employeeId);
+            // Decided once, so START and END of one request are kept or dropped together
+            boolean sampled = requestLogSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < requestLogSampleRate;
+            MDC.put(RequestLogSamplingFilter.MDC_KEY, Boolean.toString(sampled));
             chain.doFilter(request, response);
         } finally {
             MDC.remove("employeeId");
+            MDC.remove(RequestLogSamplingFilter.MDC_KEY);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.company.amsbackend.config;
+
+import com.company.amsbackend.infrastructure.mongo.MongoCommandCounter;
+import com.company.amsbackend.infrastructure.mongo.ReadRoutingMongoTemplate;
+import com.company.amsbackend.infrastructure.mongo.ReadRoutingRepositoryProxyPostProcessor;
+import com.company.amsbackend.infrastructure.mongo.converter.AgendaConverters;
+import com.company.amsbackend.infrastructure.mongo.converter.AttendanceConverters;
+import com.company.amsbackend.infrastructure.mongo.converter.EmployeeConverters;
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+    @Bean
+    public MongoClientSettingsBuilderCustomizer commandCounterCustomizer(MongoCommandCounter commandCounter) {
+        return builder -> builder.addCommandListener(commandCounter);
+    }
+
+    // Hand-written mappings for the hot entities; everything else still goes through MappingMongoConverter
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                AttendanceConverters.Read.INSTANCE,
+                AttendanceConverters.Write.INSTANCE,
+                AgendaConverters.Read.INSTANCE,
+                AgendaConverters.Write.INSTANCE,
+                EmployeeConverters.Read.INSTANCE,
+                EmployeeConverters.Write.INSTANCE));
+    }
+
+    /**
+     * Primary template for all repositories. Methods annotated with @ReadFromSecondary
+     * read with secondaryPreferred, bounded by the configured max staleness.
+     */
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory databaseFactory, MongoConverter converter,
+                                       @Value("${app.mongo.reporting.secondary-reads:true}") boolean secondaryReads,
+                                       @Value("${app.mongo.reporting.max-staleness-seconds:90}") long maxStalenessSeconds) {
+        ReadPreference reporting = secondaryReads
+                ? ReadPreference.secondaryPreferred(maxStalenessSeconds, TimeUnit.SECONDS)
+                : ReadPreference.primary();
+        return new ReadRoutingMongoTemplate(databaseFactory, converter, reporting);
+    }
+
+    /**
+     * Backs the streaming /hr/v2 dashboard reads only, so every query it runs is a reporting read
+     * and goes to a secondary under the same staleness bound.
+     */
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory databaseFactory, MongoConverter converter,
+                                                       @Value("${app.mongo.reporting.secondary-reads:true}") boolean secondaryReads,
+                                                       @Value("${app.mongo.reporting.max-staleness-seconds:90}") long maxStalenessSeconds) {
+        ReactiveMongoTemplate template = new ReactiveMongoTemplate(databaseFactory, converter);
+        if (secondaryReads) {
+            template.setReadPreference(ReadPreference.secondaryPreferred(maxStalenessSeconds, TimeUnit.SECONDS));
+        }
+        return template;
+    }
+
+    @Bean
+    public static BeanPostProcessor readRoutingRepositoryPostProcessor() {
+        ReadRoutingRepositoryProxyPostProcessor proxyPostProcessor = new ReadRoutingRepositoryProxyPostProcessor();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(
+                            factory -> factory.addRepositoryProxyPostProcessor(proxyPostProcessor));
+                }
+                return bean;
+            }
+        };
+    }
+}
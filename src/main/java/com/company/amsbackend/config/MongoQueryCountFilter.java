@@ -0,0 +1,108 @@
+package com.company.amsbackend.config;
+
+import com.company.amsbackend.infrastructure.mongo.MongoCommandCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the Mongo commands each HTTP request issues. Requests above the warn threshold are logged;
+ * in dev mode the count is also returned in the {@value #HEADER} response header.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoQueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Mongo-Query-Count";
+
+    private final MongoCommandCounter commandCounter;
+
+    @Value("${app.mongo.query-count.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Value("${app.mongo.query-count.warn-threshold:25}")
+    private int warnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        MongoCommandCounter.Tally tally = commandCounter.begin();
+        CountHeaderResponse countingResponse = headerEnabled ? new CountHeaderResponse(response, tally) : null;
+        try {
+            filterChain.doFilter(request, countingResponse != null ? countingResponse : response);
+        } finally {
+            commandCounter.end();
+            if (countingResponse != null) {
+                countingResponse.writeHeader();
+            }
+            if (tally.getTotal() > warnThreshold) {
+                log.warn("Mongo query budget exceeded | {} {} | commands: {} | byCommand: {}",
+                        request.getMethod(), request.getRequestURI(), tally.getTotal(), tally.getByCommand());
+            } else {
+                log.debug("Mongo commands | {} {} | commands: {}", request.getMethod(), request.getRequestURI(), tally.getTotal());
+            }
+        }
+    }
+
+    /**
+     * Adds the header just before the body is first written, i.e. while the response is still uncommitted.
+     */
+    private static final class CountHeaderResponse extends HttpServletResponseWrapper {
+        private final MongoCommandCounter.Tally tally;
+        private boolean headerWritten;
+
+        CountHeaderResponse(HttpServletResponse response, MongoCommandCounter.Tally tally) {
+            super(response);
+            this.tally = tally;
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(HEADER, Integer.toString(tally.getTotal()));
+                headerWritten = true;
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+    }
+}
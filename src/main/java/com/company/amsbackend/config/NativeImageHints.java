@@ -0,0 +1,144 @@
+package com.company.amsbackend.config;
+
+import com.company.amsbackend.application.impl.AttendanceAnalyticsExportServiceImpl;
+import com.company.amsbackend.application.impl.AttendanceArchiveServiceImpl;
+import com.company.amsbackend.application.impl.AttendanceBucketServiceImpl;
+import com.company.amsbackend.application.impl.AttendanceJournalReplayServiceImpl;
+import com.company.amsbackend.application.impl.AttendanceProjectionServiceImpl;
+import com.company.amsbackend.application.impl.AttendanceServiceImpl;
+import com.company.amsbackend.application.impl.ScheduledReportServiceImpl;
+import com.company.amsbackend.application.impl.TimesheetWarmupServiceImpl;
+import com.company.amsbackend.domain.entity.*;
+import com.company.amsbackend.infrastructure.archive.AttendanceSnapshotStore;
+import com.company.amsbackend.infrastructure.journal.JournalEntry;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image (Maven 'native' profile) that Spring AOT cannot infer.
+ * Entities and controller DTOs are covered by Spring Data and Spring MVC; this adds what is reached
+ * by name at runtime: POI/XMLBeans schema types, jjwt, Jakarta Mail providers and logback components.
+ */
+public class NativeImageHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> XMLBEANS_TYPE_PATTERNS = List.of(
+            "classpath*:org/openxmlformats/schemas/**/*.class",
+            "classpath*:com/microsoft/schemas/**/*.class",
+            "classpath*:org/apache/poi/schemas/**/*.class",
+            "classpath*:org/etsi/uri/**/*.class",
+            "classpath*:org/w3/x2000/x09/xmldsig/**/*.class");
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registerDomain(hints);
+        registerScheduledBeans(hints);
+        registerPoi(hints, classLoader);
+        registerJwt(hints);
+        registerMail(hints);
+        registerLogging(hints);
+    }
+
+    private void registerDomain(RuntimeHints hints) {
+        // Also read and written by Jackson (snapshot files, bucket sessions, journal) outside any controller signature
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                Attendance.class, Attendance.AgendaItem.class, Agenda.class, AgendaCatalogEntry.class, Employee.class,
+                AttendanceEditRequest.class, AttendanceMonthBucket.class, AttendanceMonthBucket.Session.class,
+                AttendanceArchiveMonth.class, AttendanceArchiveMonth.Member.class, JournalEntry.class);
+    }
+
+    private void registerScheduledBeans(RuntimeHints hints) {
+        for (Class<?> type : List.of(AttendanceServiceImpl.class, ScheduledReportServiceImpl.class,
+                AttendanceBucketServiceImpl.class, AttendanceArchiveServiceImpl.class,
+                AttendanceAnalyticsExportServiceImpl.class, AttendanceJournalReplayServiceImpl.class,
+                AttendanceProjectionServiceImpl.class, TimesheetWarmupServiceImpl.class, AttendanceSnapshotStore.class)) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+    }
+
+    private void registerPoi(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources()
+                .registerPattern("org/apache/poi/schemas/ooxml/system/**/*.xsb")
+                .registerPattern("org/apache/poi/**/*.properties")
+                .registerPattern("org/apache/poi/**/*.xml")
+                .registerPattern("schemaorg_apache_xmlbeans/**");
+
+        // XMLBeans resolves every schema interface and *Impl class by name and calls its (SchemaType, boolean) constructor
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        for (String pattern : XMLBEANS_TYPE_PATTERNS) {
+            try {
+                for (Resource resource : resolver.getResources(pattern)) {
+                    String className = toClassName(resource);
+                    if (className != null) {
+                        hints.reflection().registerType(TypeReference.of(className),
+                                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not scan " + pattern, e);
+            }
+        }
+    }
+
+    private void registerJwt(RuntimeHints hints) {
+        for (String type : List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "javax.xml.bind.DatatypeConverterImpl")) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+    }
+
+    private void registerMail(RuntimeHints hints) {
+        // Email bodies are inline HTML strings, so only the provider and content-handler lookups need hints
+        hints.resources()
+                .registerPattern("META-INF/javamail.*")
+                .registerPattern("META-INF/mailcap*")
+                .registerPattern("META-INF/mimetypes.default");
+        for (String type : List.of(
+                "org.eclipse.angus.mail.smtp.SMTPTransport",
+                "org.eclipse.angus.mail.smtp.SMTPSSLTransport",
+                "org.eclipse.angus.mail.handlers.text_html",
+                "org.eclipse.angus.mail.handlers.text_plain",
+                "org.eclipse.angus.mail.handlers.multipart_mixed")) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+    }
+
+    private void registerLogging(RuntimeHints hints) {
+        // Instantiated and configured by name from logback-spring.xml
+        for (String type : List.of(
+                RequestLogSamplingFilter.class.getName(),
+                "ch.qos.logback.classic.encoder.JsonEncoder",
+                "ch.qos.logback.classic.AsyncAppender",
+                "ch.qos.logback.core.rolling.RollingFileAppender",
+                "ch.qos.logback.core.rolling.TimeBasedRollingPolicy")) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+
+    private static String toClassName(Resource resource) throws IOException {
+        String url = resource.getURL().toString();
+        int marker = url.lastIndexOf("!/");
+        String path = marker >= 0 ? url.substring(marker + 2) : null;
+        if (path == null || !path.endsWith(".class") || path.endsWith("package-info.class")) {
+            return null;
+        }
+        return path.substring(0, path.length() - ".class".length()).replace('/', '.');
+    }
+}
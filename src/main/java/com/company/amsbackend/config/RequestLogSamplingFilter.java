@@ -0,0 +1,34 @@
+package com.company.amsbackend.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops the INFO "START ..." / "END ..." lines written by the application services for requests that
+ * {@link MdcEmployeeIdFilter} did not sample. The decision is taken once per request and carried in the MDC,
+ * so a request keeps both or neither of its lines, and as a turbo filter it applies before any appender,
+ * so the console and the JSON file keep the same requests. Threads outside a request (scheduled jobs,
+ * startup) carry no decision and are never sampled. Configured from logback-spring.xml.
+ */
+public class RequestLogSamplingFilter extends TurboFilter {
+
+    /** MDC key holding "false" while a request whose START/END lines are dropped is being served. */
+    public static final String MDC_KEY = "requestLogSampled";
+
+    private static final String LOGGER_PREFIX = "com.company.amsbackend.application";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.INFO || format == null || !"false".equals(MDC.get(MDC_KEY))) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!logger.getName().startsWith(LOGGER_PREFIX)) {
+            return FilterReply.NEUTRAL;
+        }
+        return format.startsWith("START ") || format.startsWith("END ") ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
@@ -1,13 +1,16 @@
 package com.company.amsbackend.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
-import java.util.TimeZone;
 
 @Slf4j
 @Configuration
@@ -21,4 +24,13 @@ public class SchedulingConfig {
         scheduler.setErrorHandler(t -> log.error("Task execution error", t));
         return scheduler;
     }
-}
\ No newline at end of file
+
+    // With spring.main.lazy-initialization=true, beans declaring @Scheduled methods are still created
+    // at startup; otherwise their jobs would only be registered once something else touched them
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
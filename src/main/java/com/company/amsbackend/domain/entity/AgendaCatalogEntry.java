@@ -0,0 +1,40 @@
+package com.company.amsbackend.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * One distinct agenda title of one employee. Sessions reference entries by id through
+ * {@link Attendance.AgendaItem}, so a title reused every day, or carried over by auto-checkout, is stored once.
+ * Entries are never updated or deleted; title keeps the spelling it was first entered with.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "agenda_catalog")
+@CompoundIndex(def = "{'employeeId': 1, 'normalizedTitle': 1}", unique = true)
+public class AgendaCatalogEntry {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Id
+    private String id;
+
+    private String employeeId;
+    private String normalizedTitle;
+    private String title;
+
+    /** Titles differing only in case or spacing are the same agenda. */
+    public static String normalize(String title) {
+        return WHITESPACE.matcher(title.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public Agenda toAgenda(boolean complete) {
+        return Agenda.builder().id(id).title(title).complete(complete).build();
+    }
+}
@@ -1,14 +1,21 @@
 package com.company.amsbackend.domain.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import com.company.amsbackend.domain.enums.RequestStatus;
 
 @Data
@@ -18,7 +25,12 @@ import com.company.amsbackend.domain.enums.RequestStatus;
 @Document(collection = "attendances")
 @CompoundIndex(def = "{'employeeId': 1, 'checkInTime': -1}")
 @CompoundIndex(def = "{'checkInTime': -1}")
-public class Attendance {
+@CompoundIndex(name = Attendance.ACTIVE_SESSION_INDEX, def = "{'employeeId': 1}", unique = true,
+        partialFilter = "{'activeSession': true}")
+public class Attendance implements Persistable<String> {
+    // At most one open session per employee, whichever node or path inserts it
+    public static final String ACTIVE_SESSION_INDEX = "employeeId_active_session";
+
     @Id
     private String id;
 
@@ -30,7 +42,8 @@ public class Attendance {
 
     private LocalDateTime checkOutTime;
 
-    private List<String> agendaIds; // Reference to Agenda IDs
+    private List<String> agendaIds; // Reference to Agenda IDs; sessions opened before the agenda catalog
+    private List<AgendaItem> agendaItems; // Catalog references with this session's completion flags
 
     private String remark; // Optional remark on checkout
     private String referenceLink; // Mandatory on checkout
@@ -42,4 +55,53 @@ public class Attendance {
     
     private RequestStatus editRequestStatus;
     private String editRequestId;
-}
\ No newline at end of file
+
+    // Client idempotency keys of batch-submitted events; a replayed key matches the session it created or closed
+    @Indexed(unique = true, sparse = true)
+    private String checkInKey;
+    @Indexed(unique = true, sparse = true)
+    private String checkOutKey;
+
+    // Incremented on every save; documents written before versioning have none and match a null version
+    @Version
+    private Long version;
+
+    @Transient
+    @JsonIgnore
+    private List<Agenda> embeddedAgendas; // Set when read from a month bucket, never persisted
+
+    /** Ids the session's agendas are known by: catalog ids, or legacy agenda ids for older sessions. */
+    public List<String> agendaReferences() {
+        if (agendaItems != null) {
+            return agendaItems.stream().map(AgendaItem::getCatalogId).collect(Collectors.toList());
+        }
+        return agendaIds != null ? agendaIds : Collections.emptyList();
+    }
+
+    public boolean usesAgendaCatalog() {
+        return agendaItems != null;
+    }
+
+    // New means unsaved; with the default version-based check, unversioned legacy documents would be re-inserted
+    @Override
+    @Transient
+    @JsonIgnore
+    public boolean isNew() {
+        return id == null;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AgendaItem {
+        private String catalogId;
+        private boolean complete;
+
+        /** Items for agendas resolved from the catalog, whose ids are catalog ids. */
+        public static List<AgendaItem> of(List<Agenda> agendas) {
+            return agendas.stream()
+                    .map(agenda -> new AgendaItem(agenda.getId(), agenda.isComplete()))
+                    .collect(Collectors.toList());
+        }
+    }
+}
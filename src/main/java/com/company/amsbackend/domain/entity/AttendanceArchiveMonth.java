@@ -0,0 +1,49 @@
+package com.company.amsbackend.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Manifest of one archived month; the month (yyyy-MM) is the id. The snapshot itself is a GridFS file in the
+ * {@code attendance_archive} bucket holding one gzip member per employee; members locate each employee's slice.
+ * A manifest is only written once the file reads back intact, and the live documents of the month are only
+ * purged once the manifest has been visible to every node.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "attendance_archive_months")
+public class AttendanceArchiveMonth {
+    @Id
+    private String yearMonth;
+
+    private String fileId;
+    private long sessions;
+    private List<Member> members;
+
+    private Status status;
+    private Instant committedAt;
+    private Instant purgedAt;
+    private long keptOriginals; // live documents edited after the snapshot, which stay in attendances
+
+    public enum Status {
+        COMMITTED,
+        PURGED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Member {
+        private String employeeId;
+        private long offset;
+        private long length;
+        private int sessions;
+    }
+}
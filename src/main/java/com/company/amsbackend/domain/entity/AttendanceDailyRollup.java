@@ -0,0 +1,35 @@
+package com.company.amsbackend.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One employee's sessions on one day (by check-in date), projected from the attendance event log.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "attendance_daily_rollups")
+@CompoundIndex(def = "{'date': 1, 'employeeId': 1}")
+public class AttendanceDailyRollup {
+    @Id
+    private String id; // employeeId + ":" + yyyy-MM-dd
+
+    private String employeeId;
+    private LocalDate date;
+    private int sessions;
+    private int openSessions;
+    private long minutesWorked;
+    private LocalDateTime firstCheckIn;
+    private LocalDateTime lastCheckOut;
+
+    public static String idOf(String employeeId, LocalDate date) {
+        return employeeId + ":" + date;
+    }
+}
@@ -0,0 +1,95 @@
+package com.company.amsbackend.domain.entity;
+
+import com.company.amsbackend.domain.enums.AttendanceEventType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One attendance state change, appended next to the in-place save that made it. Never updated.
+ * sequence is unique and time-ordered (see AttendanceEventLog); projections replay events in that order and
+ * checkpoint by it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "attendance_events")
+@CompoundIndex(def = "{'employeeId': 1, 'sequence': 1}")
+public class AttendanceEvent {
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private long sequence;
+    private AttendanceEventType type;
+    private String employeeId;
+    private String attendanceId;
+    private Instant recordedAt;
+
+    // State of the session after the change
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+    private List<String> agendaIds;
+    private List<Attendance.AgendaItem> agendaItems;
+    private String location;
+    private String remark;
+    private String referenceLink;
+    private Long minutesWorked;
+
+    // EDIT_APPROVED
+    private String editRequestId;
+    private LocalDateTime previousCheckInTime;
+
+    // AUTO_ROLLED_OVER, after the closed session's CHECKED_OUT: the session opened to carry incomplete agendas
+    // into the next day
+    private String nextAttendanceId;
+    private LocalDateTime nextCheckInTime;
+    private List<String> nextAgendaIds;
+    private List<Attendance.AgendaItem> nextAgendaItems;
+
+    public static AttendanceEvent checkedIn(Attendance attendance) {
+        return session(AttendanceEventType.CHECKED_IN, attendance).build();
+    }
+
+    public static AttendanceEvent checkedOut(Attendance attendance) {
+        return session(AttendanceEventType.CHECKED_OUT, attendance).build();
+    }
+
+    public static AttendanceEvent autoRolledOver(Attendance closed, Attendance next) {
+        return session(AttendanceEventType.AUTO_ROLLED_OVER, closed)
+                .nextAttendanceId(next.getId())
+                .nextCheckInTime(next.getCheckInTime())
+                .nextAgendaIds(next.getAgendaIds())
+                .nextAgendaItems(next.getAgendaItems())
+                .build();
+    }
+
+    public static AttendanceEvent editApproved(Attendance attendance, LocalDateTime previousCheckInTime, String editRequestId) {
+        return session(AttendanceEventType.EDIT_APPROVED, attendance)
+                .previousCheckInTime(previousCheckInTime)
+                .editRequestId(editRequestId)
+                .build();
+    }
+
+    private static AttendanceEventBuilder session(AttendanceEventType type, Attendance attendance) {
+        return AttendanceEvent.builder()
+                .type(type)
+                .employeeId(attendance.getEmployeeId())
+                .attendanceId(attendance.getId())
+                .checkInTime(attendance.getCheckInTime())
+                .checkOutTime(attendance.getCheckOutTime())
+                .agendaIds(attendance.getAgendaIds())
+                .agendaItems(attendance.getAgendaItems())
+                .location(attendance.getCheckInLocation())
+                .remark(attendance.getRemark())
+                .referenceLink(attendance.getReferenceLink())
+                .minutesWorked(attendance.getMinutesWorked());
+    }
+}
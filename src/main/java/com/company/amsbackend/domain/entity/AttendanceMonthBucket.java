@@ -0,0 +1,95 @@
+package com.company.amsbackend.domain.entity;
+
+import com.company.amsbackend.domain.enums.RequestStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * All sessions of one employee in one closed month, with their agendas embedded.
+ * Written by the monthly compaction job; the live attendances/agendas documents stay the source of truth.
+ * The same session layout is used for the compressed cold-tier snapshots.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "attendance_buckets")
+@CompoundIndex(def = "{'employeeId': 1, 'yearMonth': 1}", unique = true)
+public class AttendanceMonthBucket {
+    @Id
+    private String id; // employeeId + ":" + yyyy-MM
+
+    private String employeeId;
+    private String yearMonth; // yyyy-MM
+
+    private List<Session> sessions;
+
+    private LocalDateTime compactedAt;
+
+    public static String idOf(String employeeId, YearMonth yearMonth) {
+        return employeeId + ":" + yearMonth;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Session {
+        private String attendanceId;
+        private LocalDateTime checkInTime;
+        private LocalDateTime checkOutTime;
+        private Long minutesWorked;
+        private String remark;
+        private String referenceLink;
+        private String checkInLocation;
+        private boolean activeSession;
+        private RequestStatus editRequestStatus;
+        private String editRequestId;
+        private List<Agenda> agendas;
+        private Long version; // of the live document when the session was copied
+
+        public static Session of(Attendance attendance, List<Agenda> agendas) {
+            return Session.builder()
+                    .attendanceId(attendance.getId())
+                    .checkInTime(attendance.getCheckInTime())
+                    .checkOutTime(attendance.getCheckOutTime())
+                    .minutesWorked(attendance.getMinutesWorked())
+                    .remark(attendance.getRemark())
+                    .referenceLink(attendance.getReferenceLink())
+                    .checkInLocation(attendance.getCheckInLocation())
+                    .activeSession(attendance.isActiveSession())
+                    .editRequestStatus(attendance.getEditRequestStatus())
+                    .editRequestId(attendance.getEditRequestId())
+                    .agendas(agendas)
+                    .version(attendance.getVersion())
+                    .build();
+        }
+
+        public Attendance toAttendance(String employeeId) {
+            List<Agenda> embedded = agendas != null ? agendas : Collections.emptyList();
+            return Attendance.builder()
+                    .id(attendanceId)
+                    .employeeId(employeeId)
+                    .checkInTime(checkInTime)
+                    .checkOutTime(checkOutTime)
+                    .minutesWorked(minutesWorked)
+                    .remark(remark)
+                    .referenceLink(referenceLink)
+                    .checkInLocation(checkInLocation)
+                    .activeSession(activeSession)
+                    .editRequestStatus(editRequestStatus)
+                    .editRequestId(editRequestId)
+                    .agendaIds(embedded.stream().map(Agenda::getId).collect(Collectors.toList()))
+                    .embeddedAgendas(embedded)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.company.amsbackend.domain.entity;
+
+import com.company.amsbackend.domain.enums.AttendanceEventType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Whether an employee is checked in right now, projected from the attendance event log.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "attendance_presence")
+public class AttendancePresence {
+    @Id
+    private String employeeId;
+
+    private boolean present;
+    private String attendanceId; // Open session while present, otherwise the last closed one
+    private LocalDateTime since;
+    private AttendanceEventType lastEventType;
+    private long lastSequence;
+}
@@ -0,0 +1,32 @@
+package com.company.amsbackend.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Response recorded for an Idempotency-Key. The id is derived from the caller, the endpoint and the key;
+ * a record without a status is a claim held by the request still running. Mongo removes it at expiresAt.
+ * requestHash is the SHA-256 of the request body that claimed the key; records written before it existed have none.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    private String id;
+
+    private String requestHash;
+    private Integer status;
+    private String contentType;
+    private byte[] body;
+
+    private Instant createdAt;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -0,0 +1,28 @@
+package com.company.amsbackend.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * What a node's local attendance journal still holds, reported while the node reaches Mongo; the journal id
+ * is the id. A node that stopped reporting may be cut off from Mongo and journaling. Mongo removes it at expiresAt.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "journal_nodes")
+public class JournalNodeStatus {
+    @Id
+    private String journalId;
+
+    private Set<String> pendingEmployees;
+    private Instant reportedAt;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -0,0 +1,30 @@
+package com.company.amsbackend.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A check-out that found no active session while another node's journal may still hold the check-in it closes.
+ * Applied once that check-in is replayed; dropped if none arrives in time.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "orphan_check_outs")
+public class OrphanCheckOut {
+    @Id
+    private String id;
+
+    private String employeeId;
+    private LocalDateTime eventTime;
+    private Map<String, Boolean> agendaCompletions;
+    private String remark;
+    private String referenceLink;
+    private Instant createdAt;
+}
@@ -0,0 +1,24 @@
+package com.company.amsbackend.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Last attendance event sequence a projection has applied; the projection name is the id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "projection_checkpoints")
+public class ProjectionCheckpoint {
+    @Id
+    private String name;
+
+    private long sequence;
+    private Instant updatedAt;
+    private Instant rebuiltAt;
+}
@@ -0,0 +1,24 @@
+package com.company.amsbackend.domain.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Lease for a scheduled job; the job name is the id. A lease is free once lockUntil has passed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "scheduler_locks")
+public class SchedulerLock {
+    @Id
+    private String name;
+
+    private Instant lockUntil;
+    private Instant lockedAt;
+    private String lockedBy; // host:pid:token of the current holder
+}
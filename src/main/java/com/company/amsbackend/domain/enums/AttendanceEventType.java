@@ -0,0 +1,5 @@
+package com.company.amsbackend.domain.enums;
+
+public enum AttendanceEventType {
+    CHECKED_IN, CHECKED_OUT, AUTO_ROLLED_OVER, EDIT_APPROVED
+}
@@ -0,0 +1,228 @@
+package com.company.amsbackend.infrastructure.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Types;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.*;
+
+/**
+ * Attendance history as Parquet files for offline analytics.
+ * <p>
+ * Files are partitioned by check-in month as {@code attendance/year=yyyy/month=MM/part-<run>.parquet},
+ * so each export run adds one part per month it touched. Parts are written under a {@code .tmp} name
+ * and renamed on {@link RunWriter#commit()}; the high-water mark is only advanced after that, so a
+ * failed run leaves nothing behind and the next run exports the same sessions again.
+ */
+@Slf4j
+@Component
+public class AttendanceParquetStore {
+
+    public static final MessageType SCHEMA = Types.buildMessage()
+            .required(BINARY).as(LogicalTypeAnnotation.stringType()).named("attendance_id")
+            .required(BINARY).as(LogicalTypeAnnotation.stringType()).named("employee_id")
+            .optional(BINARY).as(LogicalTypeAnnotation.stringType()).named("employee_name")
+            .required(INT64).as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS)).named("check_in")
+            .optional(INT64).as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS)).named("check_out")
+            .optional(INT64).named("minutes_worked")
+            .optional(BINARY).as(LogicalTypeAnnotation.stringType()).named("check_in_location")
+            .required(INT32).named("agenda_count")
+            .required(INT32).named("agendas_completed")
+            .repeatedGroup()
+                .required(BINARY).as(LogicalTypeAnnotation.stringType()).named("title")
+                .required(BOOLEAN).named("complete")
+                .named("agenda")
+            .named("attendance");
+
+    private static final String TABLE = "attendance";
+    private static final String HIGH_WATER_MARK = "_high_water_mark";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    public AttendanceParquetStore(@Value("${app.analytics.dir:analytics}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /** Check-out time (epoch millis) up to which sessions have been exported. */
+    public Optional<Instant> readHighWaterMark() {
+        Path file = directory.resolve(HIGH_WATER_MARK);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Instant.ofEpochMilli(Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim())));
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Unreadable analytics high-water mark " + file, e);
+        }
+    }
+
+    public RunWriter openRun(String runId) throws IOException {
+        Files.createDirectories(directory);
+        deleteLeftovers();
+        return new RunWriter(runId);
+    }
+
+    private void writeHighWaterMark(Instant mark) throws IOException {
+        Path tmp = directory.resolve(HIGH_WATER_MARK + TMP_SUFFIX);
+        Files.writeString(tmp, String.valueOf(mark.toEpochMilli()), StandardCharsets.UTF_8);
+        Files.move(tmp, directory.resolve(HIGH_WATER_MARK), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Parts of a run that died before commit
+    private void deleteLeftovers() throws IOException {
+        Path table = directory.resolve(TABLE);
+        if (!Files.isDirectory(table)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(table)) {
+            for (Path tmp : files.filter(p -> p.getFileName().toString().endsWith(TMP_SUFFIX)).toList()) {
+                log.warn("Removing incomplete analytics part | file: {}", tmp);
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    private Path partFile(YearMonth month, String runId) {
+        return directory.resolve(TABLE)
+                .resolve("year=" + month.getYear())
+                .resolve(String.format("month=%02d", month.getMonthValue()))
+                .resolve("part-" + runId + ".parquet");
+    }
+
+    /**
+     * Writes rows in check-in order, keeping one month's part open at a time.
+     */
+    public class RunWriter implements Closeable {
+        private final String runId;
+        private final SimpleGroupFactory groups = new SimpleGroupFactory(SCHEMA);
+        private final List<Path> written = new ArrayList<>();
+        private YearMonth currentMonth;
+        private ParquetWriter<Group> current;
+        private long rows;
+        private boolean committed;
+
+        private RunWriter(String runId) {
+            this.runId = runId;
+        }
+
+        public void write(YearMonth partition, AnalyticsRow row) throws IOException {
+            if (!partition.equals(currentMonth)) {
+                closeCurrent();
+                Path tmp = Paths.get(partFile(partition, runId) + TMP_SUFFIX);
+                if (written.contains(tmp)) {
+                    throw new IllegalStateException("Rows must arrive in check-in order; " + partition + " was already closed");
+                }
+                Files.createDirectories(tmp.getParent());
+                current = ExampleParquetWriter.builder(new LocalOutputFile(tmp))
+                        .withType(SCHEMA)
+                        .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                        .withCompressionCodec(CompressionCodecName.SNAPPY)
+                        .withWriterVersion(ParquetProperties.WriterVersion.PARQUET_2_0)
+                        // employee_id repeats on every row; attendance_id never does
+                        .withDictionaryEncoding("employee_id", true)
+                        .withDictionaryEncoding("attendance_id", false)
+                        .build();
+                written.add(tmp);
+                currentMonth = partition;
+            }
+            current.write(toGroup(row));
+            rows++;
+        }
+
+        public long getRowCount() {
+            return rows;
+        }
+
+        /** Publishes the parts and advances the high-water mark to {@code upTo}. */
+        public void commit(Instant upTo) throws IOException {
+            closeCurrent();
+            for (Path tmp : written) {
+                String name = tmp.getFileName().toString();
+                Files.move(tmp, tmp.resolveSibling(name.substring(0, name.length() - TMP_SUFFIX.length())),
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            writeHighWaterMark(upTo);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (committed) {
+                return;
+            }
+            try {
+                closeCurrent();
+            } finally {
+                for (Path tmp : written) {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+        }
+
+        private void closeCurrent() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+
+        private Group toGroup(AnalyticsRow row) {
+            Group group = groups.newGroup()
+                    .append("attendance_id", row.attendanceId())
+                    .append("employee_id", row.employeeId());
+            if (row.employeeName() != null) {
+                group.append("employee_name", row.employeeName());
+            }
+            group.append("check_in", row.checkInMillis());
+            if (row.checkOutMillis() != null) {
+                group.append("check_out", row.checkOutMillis());
+            }
+            if (row.minutesWorked() != null) {
+                group.append("minutes_worked", row.minutesWorked());
+            }
+            if (row.checkInLocation() != null) {
+                group.append("check_in_location", row.checkInLocation());
+            }
+            int completed = 0;
+            for (AnalyticsRow.AgendaCell agenda : row.agendas()) {
+                group.addGroup("agenda")
+                        .append("title", agenda.title())
+                        .append("complete", agenda.complete());
+                if (agenda.complete()) {
+                    completed++;
+                }
+            }
+            group.append("agenda_count", row.agendas().size());
+            group.append("agendas_completed", completed);
+            return group;
+        }
+    }
+
+    public record AnalyticsRow(String attendanceId, String employeeId, String employeeName, long checkInMillis,
+                               Long checkOutMillis, Long minutesWorked, String checkInLocation,
+                               List<AgendaCell> agendas) {
+        public record AgendaCell(String title, boolean complete) {
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.company.amsbackend.infrastructure.archive;
+
+import com.company.amsbackend.domain.entity.AttendanceArchiveMonth;
+import com.company.amsbackend.domain.entity.AttendanceMonthBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Monthly attendance snapshots in GridFS, so every node reads the same archive and it survives redeploys.
+ * <p>
+ * Each month is one {@code attendance-yyyy-MM.ndjson.gz} file in the {@code attendance_archive} bucket holding
+ * one gzip member per employee (one session per line, agendas embedded). The month's
+ * {@link AttendanceArchiveMonth} manifest maps employeeId to the offset and length of its member, so a read
+ * fetches and decompresses only that employee's chunks. Files and manifests are written with majority write
+ * concern and the manifest only after the file read back intact; a month without one is not archived.
+ * Each node reloads the manifests every {@code app.archive.refresh-interval-ms}.
+ */
+@Slf4j
+@Component
+public class AttendanceSnapshotStore {
+
+    private static final String BUCKET = "attendance_archive";
+    private static final String PREFIX = "attendance-";
+    private static final String DATA_SUFFIX = ".ndjson.gz";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final GridFSBucket files;
+
+    // Manifests without members, replaced as a whole on refresh; null until the first load
+    private volatile Map<YearMonth, AttendanceArchiveMonth> months;
+    // Members never change once a manifest is written
+    private final Map<YearMonth, Map<String, AttendanceArchiveMonth.Member>> memberCache = new ConcurrentHashMap<>();
+
+    public AttendanceSnapshotStore(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.files = GridFSBuckets.create(mongoTemplate.getDb(), BUCKET)
+                .withWriteConcern(WriteConcern.MAJORITY)
+                .withReadPreference(ReadPreference.primary());
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("Could not refresh archived months | error: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isArchived(YearMonth yearMonth) {
+        return months().containsKey(yearMonth);
+    }
+
+    public Set<YearMonth> getArchivedMonths() {
+        return Collections.unmodifiableSet(new TreeSet<>(months().keySet()));
+    }
+
+    /** The manifest as currently stored, bypassing this node's copy. */
+    public Optional<AttendanceArchiveMonth> findMonth(YearMonth yearMonth) {
+        return Optional.ofNullable(mongoTemplate.findById(yearMonth.toString(), AttendanceArchiveMonth.class));
+    }
+
+    public List<AttendanceArchiveMonth> findUnpurgedMonths() {
+        return mongoTemplate.find(withoutMembers(new Query(Criteria.where("status").is(AttendanceArchiveMonth.Status.COMMITTED))),
+                AttendanceArchiveMonth.class);
+    }
+
+    public List<AttendanceArchiveMonth.Member> getMembers(YearMonth yearMonth) {
+        return new ArrayList<>(members(yearMonth).values());
+    }
+
+    public void markPurged(YearMonth yearMonth, long keptOriginals) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(yearMonth.toString())),
+                new Update()
+                        .set("status", AttendanceArchiveMonth.Status.PURGED)
+                        .set("purgedAt", Instant.now())
+                        .set("keptOriginals", keptOriginals),
+                AttendanceArchiveMonth.class);
+        load();
+    }
+
+    public Writer openWriter(YearMonth yearMonth) {
+        return new Writer(yearMonth);
+    }
+
+    public List<AttendanceMonthBucket.Session> read(String employeeId, YearMonth yearMonth) {
+        AttendanceArchiveMonth month = months().get(yearMonth);
+        if (month == null) {
+            return Collections.emptyList();
+        }
+        AttendanceArchiveMonth.Member member = members(yearMonth).get(employeeId);
+        if (member == null) {
+            return Collections.emptyList();
+        }
+
+        byte[] bytes;
+        try (GridFSDownloadStream in = files.openDownloadStream(new ObjectId(month.getFileId()))) {
+            skipFully(in, member.getOffset());
+            bytes = in.readNBytes((int) member.getLength());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read snapshot " + yearMonth + " for " + employeeId, e);
+        }
+        if (bytes.length != member.getLength()) {
+            throw new IllegalStateException("Truncated snapshot " + yearMonth + " for " + employeeId);
+        }
+        return parse(bytes, member.getSessions(), yearMonth, employeeId);
+    }
+
+    private Map<YearMonth, AttendanceArchiveMonth> months() {
+        Map<YearMonth, AttendanceArchiveMonth> current = months;
+        return current != null ? current : load();
+    }
+
+    private synchronized Map<YearMonth, AttendanceArchiveMonth> load() {
+        Map<YearMonth, AttendanceArchiveMonth> loaded = new HashMap<>();
+        for (AttendanceArchiveMonth month : mongoTemplate.find(withoutMembers(new Query()), AttendanceArchiveMonth.class)) {
+            loaded.put(YearMonth.parse(month.getYearMonth()), month);
+        }
+        memberCache.keySet().retainAll(loaded.keySet());
+        if (months == null || !months.keySet().equals(loaded.keySet())) {
+            log.info("Archived months loaded | months: {}", loaded.size());
+        }
+        months = loaded;
+        return loaded;
+    }
+
+    private Map<String, AttendanceArchiveMonth.Member> members(YearMonth yearMonth) {
+        return memberCache.computeIfAbsent(yearMonth, month -> {
+            AttendanceArchiveMonth manifest = findMonth(month)
+                    .orElseThrow(() -> new IllegalStateException("Archive manifest missing for " + month));
+            Map<String, AttendanceArchiveMonth.Member> byEmployee = new LinkedHashMap<>();
+            manifest.getMembers().forEach(m -> byEmployee.put(m.getEmployeeId(), m));
+            return byEmployee;
+        });
+    }
+
+    private List<AttendanceMonthBucket.Session> parse(byte[] member, int expected, YearMonth yearMonth, String employeeId) {
+        List<AttendanceMonthBucket.Session> sessions = new ArrayList<>(expected);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(member)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    sessions.add(objectMapper.readValue(line, AttendanceMonthBucket.Session.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt snapshot " + yearMonth + " for " + employeeId, e);
+        }
+        return sessions;
+    }
+
+    private static Query withoutMembers(Query query) {
+        query.fields().exclude("members");
+        return query;
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Snapshot ends before offset " + bytes);
+            }
+            remaining -= skipped;
+        }
+    }
+
+    /**
+     * Streams one month into a new GridFS file; {@link #commit()} reads the file back, compares every
+     * employee's sessions with what was written and only then stores the manifest.
+     * Closing without committing deletes the file.
+     */
+    public class Writer implements Closeable {
+        private final YearMonth yearMonth;
+        private final GridFSUploadStream upload;
+        private final List<AttendanceArchiveMonth.Member> members = new ArrayList<>();
+        private final Map<String, List<String>> attendanceIds = new HashMap<>();
+        private long offset;
+        private long sessions;
+        private boolean uploaded;
+        private boolean committed;
+
+        private Writer(YearMonth yearMonth) {
+            this.yearMonth = yearMonth;
+            this.upload = files.openUploadStream(PREFIX + yearMonth + DATA_SUFFIX);
+        }
+
+        public void writeEmployee(String employeeId, List<AttendanceMonthBucket.Session> employeeSessions) throws IOException {
+            if (employeeSessions.isEmpty()) {
+                return;
+            }
+            ByteArrayOutputStream member = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(member)) {
+                for (AttendanceMonthBucket.Session session : employeeSessions) {
+                    gzip.write(objectMapper.writeValueAsBytes(session));
+                    gzip.write('\n');
+                }
+            }
+            upload.write(member.toByteArray());
+            members.add(AttendanceArchiveMonth.Member.builder()
+                    .employeeId(employeeId)
+                    .offset(offset)
+                    .length(member.size())
+                    .sessions(employeeSessions.size())
+                    .build());
+            attendanceIds.put(employeeId, employeeSessions.stream()
+                    .map(AttendanceMonthBucket.Session::getAttendanceId)
+                    .collect(Collectors.toList()));
+            offset += member.size();
+            sessions += employeeSessions.size();
+        }
+
+        public long getSessionCount() {
+            return sessions;
+        }
+
+        public void commit() {
+            upload.close();
+            uploaded = true;
+            verify();
+
+            AttendanceArchiveMonth manifest = AttendanceArchiveMonth.builder()
+                    .yearMonth(yearMonth.toString())
+                    .fileId(upload.getObjectId().toHexString())
+                    .sessions(sessions)
+                    .members(members)
+                    .status(AttendanceArchiveMonth.Status.COMMITTED)
+                    .committedAt(Instant.now())
+                    .build();
+            Document document = new Document();
+            mongoTemplate.getConverter().write(manifest, document);
+            // Insert, not upsert: a second archiver of the same month fails here instead of replacing the first
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(AttendanceArchiveMonth.class))
+                    .withWriteConcern(WriteConcern.MAJORITY)
+                    .insertOne(document);
+            committed = true;
+            load();
+        }
+
+        private void verify() {
+            try (GridFSDownloadStream in = files.openDownloadStream(upload.getObjectId())) {
+                for (AttendanceArchiveMonth.Member member : members) {
+                    byte[] bytes = in.readNBytes((int) member.getLength());
+                    List<String> readBack = parse(bytes, member.getSessions(), yearMonth, member.getEmployeeId()).stream()
+                            .map(AttendanceMonthBucket.Session::getAttendanceId)
+                            .collect(Collectors.toList());
+                    if (!readBack.equals(attendanceIds.get(member.getEmployeeId()))) {
+                        throw new IllegalStateException("Snapshot verification failed for " + member.getEmployeeId()
+                                + " in " + yearMonth + ": expected " + member.getSessions()
+                                + " sessions, found " + readBack.size());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not verify snapshot " + yearMonth, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            if (uploaded) {
+                files.delete(upload.getObjectId());
+            } else {
+                upload.abort();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.amsbackend.infrastructure.cache;
+
+import com.company.amsbackend.domain.entity.AgendaCatalogEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for {@code agenda_catalog} lookups by id. Concurrent misses from different requests are
+ * loaded with one {@code $in} query.
+ * <p>
+ * Catalog entries never change, so only eviction removes them and a copy loaded on any node or read routing is
+ * as good as another. Legacy {@code agendas} change completion at check-out and are not cached: a per-node copy
+ * would go stale on every other node.
+ */
+@Component
+public class AgendaCache {
+
+    private final BatchingLoadingCache<String, AgendaCatalogEntry> catalog;
+
+    public AgendaCache(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                       @Value("${app.agendas.cache.max-entries:20000}") int maxEntries,
+                       @Value("${app.agendas.cache.ttl-seconds:600}") long ttlSeconds,
+                       @Value("${app.agendas.cache.batch-window-ms:2}") long batchWindowMillis) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration batchWindow = Duration.ofMillis(batchWindowMillis);
+        this.catalog = new BatchingLoadingCache<>(
+                ids -> byId(mongoTemplate.find(new Query(Criteria.where("_id").in(ids)), AgendaCatalogEntry.class),
+                        AgendaCatalogEntry::getId),
+                maxEntries, ttl, batchWindow,
+                counter(meterRegistry, "catalog", "hit"), counter(meterRegistry, "catalog", "miss"));
+    }
+
+    public Map<String, AgendaCatalogEntry> getCatalogEntries(Collection<String> ids) {
+        return catalog.getAll(ids);
+    }
+
+    public void putCatalogEntries(Collection<AgendaCatalogEntry> entries) {
+        catalog.putAll(byId(entries, AgendaCatalogEntry::getId));
+    }
+
+    private static <T> Map<String, T> byId(Collection<T> values, Function<T, String> id) {
+        return values.stream().collect(Collectors.toMap(id, Function.identity(), (a, b) -> a));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("agenda.cache.requests").tag("cache", cache).tag("result", result).register(meterRegistry);
+    }
+}
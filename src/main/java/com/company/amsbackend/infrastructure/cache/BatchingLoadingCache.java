@@ -0,0 +1,160 @@
+package com.company.amsbackend.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU with a time-to-live, whose misses are loaded in batches.
+ * <p>
+ * The first caller to miss opens a batch, waits {@code batchWindow} for misses of concurrent callers to join
+ * it, then loads every key of the batch with one call to the loader on its own thread, so the load runs with
+ * that request's read routing and shows up in its command count. Callers missing a key that is already being
+ * loaded wait for that load instead of starting another. Keys the loader does not return are not cached.
+ */
+public final class BatchingLoadingCache<K, V> {
+
+    private final Function<Collection<K>, Map<K, V>> loader;
+    private final long ttlNanos;
+    private final long batchWindowNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Guarded by this
+    private final Map<K, Entry<V>> entries;
+    private final Map<K, CompletableFuture<V>> inFlight = new HashMap<>();
+    private Map<K, CompletableFuture<V>> collecting;
+
+    public BatchingLoadingCache(Function<Collection<K>, Map<K, V>> loader, int maxEntries, Duration ttl,
+                                Duration batchWindow, Counter hits, Counter misses) {
+        this.loader = loader;
+        this.ttlNanos = ttl.toNanos();
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> result = new HashMap<>();
+        Map<K, CompletableFuture<V>> waiting = new HashMap<>();
+        Map<K, CompletableFuture<V>> opened = null;
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            for (K key : keys) {
+                if (result.containsKey(key) || waiting.containsKey(key)) {
+                    continue;
+                }
+                Entry<V> entry = entries.get(key);
+                if (entry != null && !entry.isExpired(now)) {
+                    result.put(key, entry.value());
+                    continue;
+                }
+                CompletableFuture<V> future = inFlight.get(key);
+                if (future == null) {
+                    if (collecting == null) {
+                        collecting = new HashMap<>();
+                        opened = collecting;
+                    }
+                    future = new CompletableFuture<>();
+                    collecting.put(key, future);
+                    inFlight.put(key, future);
+                }
+                waiting.put(key, future);
+            }
+        }
+        hits.increment(result.size());
+        misses.increment(waiting.size());
+
+        if (opened != null) {
+            load(opened);
+        }
+        for (Map.Entry<K, CompletableFuture<V>> wait : waiting.entrySet()) {
+            V value = await(wait.getValue());
+            if (value != null) {
+                result.put(wait.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    /** For values just written, so readers see the write without another load. */
+    public void putAll(Map<K, V> values) {
+        long expiresAt = System.nanoTime() + ttlNanos;
+        synchronized (this) {
+            values.forEach((key, value) -> entries.put(key, new Entry<>(value, expiresAt)));
+        }
+    }
+
+    public void invalidateAll(Collection<K> keys) {
+        synchronized (this) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    private void load(Map<K, CompletableFuture<V>> batch) {
+        if (batchWindowNanos > 0) {
+            LockSupport.parkNanos(batchWindowNanos);
+        }
+        List<K> keys;
+        synchronized (this) {
+            if (collecting == batch) {
+                collecting = null;
+            }
+            keys = new ArrayList<>(batch.keySet());
+        }
+
+        Map<K, V> loaded;
+        try {
+            loaded = loader.apply(keys);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                keys.forEach(inFlight::remove);
+            }
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+
+        long now = System.nanoTime();
+        synchronized (this) {
+            for (K key : keys) {
+                inFlight.remove(key);
+                V value = loaded.get(key);
+                Entry<V> current = entries.get(key);
+                // A putAll during the load holds the newer value
+                if (value != null && (current == null || current.isExpired(now))) {
+                    entries.put(key, new Entry<>(value, now + ttlNanos));
+                }
+            }
+        }
+        batch.forEach((key, future) -> future.complete(loaded.get(key)));
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.company.amsbackend.infrastructure.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes attendance state transitions per employee on this node.
+ * <p>
+ * A fixed array of locks is selected by employeeId hash, so memory stays constant and two employees
+ * only contend when they share a stripe. The lock does not reach other nodes, so the database decides there:
+ * <ul>
+ *   <li>updates of an existing session use the {@code @Version} field on Attendance; a save that lost a race
+ *   fails with {@link OptimisticLockingFailureException} and the whole action is run again, which re-reads
+ *   the current document before re-applying the change;</li>
+ *   <li>inserts of a new open session, from a check-in or a batch replay, are checked by the unique partial
+ *   index {@link com.company.amsbackend.domain.entity.Attendance#ACTIVE_SESSION_INDEX}; the losing insert
+ *   fails with a duplicate key and is reported as "already checked in".</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class EmployeeLockStripes {
+
+    private final ReentrantLock[] stripes;
+    private final int maxAttempts;
+
+    public EmployeeLockStripes(@Value("${app.attendance.lock-stripes:64}") int stripeCount,
+                               @Value("${app.attendance.optimistic-retries:3}") int maxAttempts) {
+        // Rounded up to a power of two so the stripe is a mask of the spread hash
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T callExclusive(String employeeId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(employeeId);
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return action.get();
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        log.warn("Concurrent update not resolved | employeeId: {} | attempts: {}", employeeId, attempt);
+                        throw e;
+                    }
+                    log.info("Concurrent update, retrying | employeeId: {} | attempt: {}", employeeId, attempt);
+                    backOff(attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void runExclusive(String employeeId, Runnable action) {
+        callExclusive(employeeId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    ReentrantLock stripeFor(String employeeId) {
+        int h = employeeId == null ? 0 : employeeId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            // The competing writer is on another node; a short jittered pause lets it finish
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20L * attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying attendance update", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.amsbackend.infrastructure.events;
+
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends to the {@code attendance_events} log. The attendance documents stay the source of truth, so a
+ * failed append is logged and counted rather than failing a check-in that has already been saved.
+ * <p>
+ * Sequences are issued by each node without a shared counter, so an append is a single insert:
+ * {@code (clock << NODE_BITS) | node}, where clock is the issue time in milliseconds shifted left by
+ * {@value #COUNTER_BITS} bits and bumped by one per event (never moving backwards), and node is a random tag
+ * drawn at startup. Sequences increase on each node and are ordered across nodes up to their clock skew.
+ * Two nodes that drew the same tag can issue the same sequence in the same millisecond; the unique index on
+ * sequence rejects the second insert and it is retried with the next one.
+ */
+@Slf4j
+@Component
+public class AttendanceEventLog {
+
+    private static final int COUNTER_BITS = 12;
+    private static final int NODE_BITS = 8;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration maxClockSkew;
+    private final long node;
+    private final AtomicLong clock = new AtomicLong();
+    private final Counter appended;
+    private final Counter failed;
+
+    public AttendanceEventLog(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                              @Value("${app.events.max-clock-skew-ms:10000}") long maxClockSkewMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxClockSkew = Duration.ofMillis(maxClockSkewMillis);
+        this.node = ThreadLocalRandom.current().nextInt(1 << NODE_BITS);
+        this.appended = Counter.builder("attendance.events.appended").register(meterRegistry);
+        this.failed = Counter.builder("attendance.events.append.failed").register(meterRegistry);
+    }
+
+    public void record(AttendanceEvent event) {
+        try {
+            event.setRecordedAt(Instant.now());
+            for (int attempt = 1; ; attempt++) {
+                event.setSequence(nextSequence());
+                try {
+                    mongoTemplate.insert(event);
+                    break;
+                } catch (DuplicateKeyException e) {
+                    if (attempt >= MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                    event.setId(null);
+                }
+            }
+            appended.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Could not append attendance event | type: {} | employeeId: {} | attendanceId: {} | error: {}",
+                    event.getType(), event.getEmployeeId(), event.getAttendanceId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A sequence that every event recorded from now on, on any node, is above, provided node clocks agree
+     * within {@code app.events.max-clock-skew-ms}. Events at or below it may still be in flight for as long.
+     */
+    public long horizon() {
+        return sequenceAt(Instant.now().minus(maxClockSkew));
+    }
+
+    private static long sequenceAt(Instant instant) {
+        return (instant.toEpochMilli() << COUNTER_BITS) << NODE_BITS;
+    }
+
+    private long nextSequence() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long next = clock.updateAndGet(last -> Math.max(last + 1, now));
+        return (next << NODE_BITS) | node;
+    }
+}
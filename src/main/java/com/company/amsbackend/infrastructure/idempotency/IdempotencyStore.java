@@ -0,0 +1,212 @@
+package com.company.amsbackend.infrastructure.idempotency;
+
+import com.company.amsbackend.domain.entity.IdempotencyRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Recorded responses for Idempotency-Key requests.
+ * <p>
+ * Completed responses are kept in a small LRU in front of the TTL-indexed {@code idempotency_keys}
+ * collection. The first request for a key claims it by inserting a record without a response; duplicates
+ * arriving on this node wait on that request's future, duplicates on other nodes poll the record until the
+ * response is stored or {@code app.idempotency.wait-timeout-seconds} passes.
+ * <p>
+ * Every claim and response carries the hash of the request body. A key reused with a different body is a
+ * {@linkplain Claim#isConflict() conflict}, never a replay of the first request's response.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration retention;
+    private final Duration waitTimeout;
+    private final Map<String, StoredResponse> recent;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(MongoTemplate mongoTemplate,
+                            @Value("${app.idempotency.retention-hours:24}") long retentionHours,
+                            @Value("${app.idempotency.wait-timeout-seconds:30}") long waitTimeoutSeconds,
+                            @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.retention = Duration.ofHours(retentionHours);
+        this.waitTimeout = Duration.ofSeconds(waitTimeoutSeconds);
+        this.recent = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Either returns the response already recorded for the key (waiting for it if the key is being
+     * processed) or claims the key for the caller, who must then {@link #complete} or {@link #release} it.
+     */
+    public Claim claim(String key, String requestHash) throws InterruptedException, TimeoutException {
+        StoredResponse cached = cached(key);
+        if (cached != null) {
+            return Claim.replay(cached, requestHash);
+        }
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            log.info("Waiting on in-flight idempotent request | key: {}", key);
+            StoredResponse response = await(running);
+            return response != null ? Claim.replay(response, requestHash) : claim(key, requestHash);
+        }
+
+        try {
+            Claim claim = claimInMongo(key, requestHash);
+            if (claim.response() != null) {
+                finish(key, mine, claim.response());
+            } else if (!claim.isOwner()) {
+                finish(key, mine, null);
+            }
+            return claim;
+        } catch (InterruptedException | TimeoutException | RuntimeException e) {
+            finish(key, mine, null);
+            throw e;
+        }
+    }
+
+    /** Records the owner's response and hands it to everyone waiting on the key. */
+    public void complete(String key, StoredResponse response) {
+        Instant now = Instant.now();
+        try {
+            mongoTemplate.save(IdempotencyRecord.builder()
+                    .id(key)
+                    .requestHash(response.requestHash())
+                    .status(response.status())
+                    .contentType(response.contentType())
+                    .body(response.body())
+                    .createdAt(now)
+                    .expiresAt(now.plus(retention))
+                    .build());
+        } catch (RuntimeException e) {
+            // The response was already produced; a retry after this just runs the request again
+            log.error("Could not record idempotent response | key: {} | error: {}", key, e.getMessage(), e);
+            mongoTemplate.remove(claimQuery(key), IdempotencyRecord.class);
+        }
+        finish(key, inFlight.get(key), response);
+    }
+
+    /** Drops the owner's claim without a response, so the next request with the key runs again. */
+    public void release(String key) {
+        try {
+            mongoTemplate.remove(claimQuery(key), IdempotencyRecord.class);
+        } finally {
+            finish(key, inFlight.get(key), null);
+        }
+    }
+
+    private Claim claimInMongo(String key, String requestHash) throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Instant now = Instant.now();
+            try {
+                mongoTemplate.insert(IdempotencyRecord.builder()
+                        .id(key)
+                        .requestHash(requestHash)
+                        .createdAt(now)
+                        .expiresAt(now.plus(waitTimeout.multipliedBy(2)))
+                        .build());
+                return Claim.owned(key);
+            } catch (DuplicateKeyException e) {
+                IdempotencyRecord existing = mongoTemplate.findById(key, IdempotencyRecord.class);
+                if (existing != null && existing.getStatus() != null) {
+                    return Claim.replay(new StoredResponse(existing.getRequestHash(), existing.getStatus(),
+                            existing.getContentType(), existing.getBody()), requestHash);
+                }
+                if (existing != null && !matches(existing.getRequestHash(), requestHash)) {
+                    // No need to wait for a response that could not be replayed anyway
+                    return Claim.conflict();
+                }
+                // Claimed by a request on another node; a claim left by a crashed node expires after twice the wait
+                if (existing != null && existing.getExpiresAt().isBefore(now)) {
+                    mongoTemplate.remove(claimQuery(key), IdempotencyRecord.class);
+                } else if (System.nanoTime() > deadline) {
+                    throw new TimeoutException("Request with the same Idempotency-Key is still running");
+                } else {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) throws InterruptedException, TimeoutException {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private void finish(String key, CompletableFuture<StoredResponse> future, StoredResponse response) {
+        if (response != null) {
+            synchronized (recent) {
+                recent.put(key, response);
+            }
+        }
+        if (future != null) {
+            inFlight.remove(key, future);
+            future.complete(response);
+        }
+    }
+
+    private StoredResponse cached(String key) {
+        synchronized (recent) {
+            return recent.get(key);
+        }
+    }
+
+    // Records from before request hashes were stored match any request
+    private static boolean matches(String recorded, String requestHash) {
+        return recorded == null || recorded.equals(requestHash);
+    }
+
+    // Only a claim, never a recorded response, is removed
+    private static Query claimQuery(String key) {
+        return new Query(Criteria.where("_id").is(key).and("status").is(null));
+    }
+
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+    }
+
+    public record Claim(String key, StoredResponse response) {
+        static Claim replay(StoredResponse response, String requestHash) {
+            return matches(response.requestHash(), requestHash) ? new Claim(null, response) : conflict();
+        }
+
+        static Claim owned(String key) {
+            return new Claim(key, null);
+        }
+
+        static Claim conflict() {
+            return new Claim(null, null);
+        }
+
+        public boolean isOwner() {
+            return key != null;
+        }
+
+        /** The key was claimed or answered for a request with a different body. */
+        public boolean isConflict() {
+            return key == null && response == null;
+        }
+    }
+}
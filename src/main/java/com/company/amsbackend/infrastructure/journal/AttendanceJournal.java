@@ -0,0 +1,278 @@
+package com.company.amsbackend.infrastructure.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal for check-ins and check-outs taken while Mongo is unreachable.
+ * <p>
+ * One memory-mapped file per node. A 64-byte header holds the offset of the first unreplayed record, the
+ * next sequence number and the journal id; records follow as {@code [length][crc32c][json]} and a zero
+ * length marks the end. A record's length is written after its body, so on startup the scan stops at the
+ * first record that is incomplete or fails its checksum. Once everything is replayed the file is reused
+ * from the start.
+ */
+@Slf4j
+@Component
+public class AttendanceJournal {
+
+    private static final int MAGIC = 0x414d534a; // "AMSJ"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int READ_OFFSET_POS = 8;
+    private static final int NEXT_SEQUENCE_POS = 16;
+    private static final int ID_POS = 24;
+    private static final int RECORD_OVERHEAD = 8;
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Counter appended;
+
+    private final Deque<Pending> pending = new ArrayDeque<>();
+    private final Map<String, Integer> pendingByEmployee = new HashMap<>();
+    private String journalId;
+    private int readOffset;
+    private int writeOffset;
+    private long nextSequence;
+
+    public AttendanceJournal(ObjectMapper objectMapper,
+                             @Value("${app.journal.dir:journal}") String directory,
+                             @Value("${app.journal.capacity-mb:64}") int capacityMb,
+                             MeterRegistry meterRegistry) throws IOException {
+        this.objectMapper = objectMapper;
+        this.file = Paths.get(directory).resolve("attendance.journal");
+        Files.createDirectories(file.getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), (long) capacityMb * 1024 * 1024);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        recover();
+
+        this.appended = Counter.builder("attendance.journal.appended").register(meterRegistry);
+        Gauge.builder("attendance.journal.depth", this, AttendanceJournal::depth)
+                .description("Journaled check-ins/check-outs not yet replayed into Mongo")
+                .register(meterRegistry);
+        Gauge.builder("attendance.journal.used.bytes", this, j -> j.usedBytes()).register(meterRegistry);
+        TimeGauge.builder("attendance.journal.replay.lag", this, TimeUnit.MILLISECONDS, j -> j.lag().toMillis())
+                .description("Age of the oldest journaled event not yet replayed")
+                .register(meterRegistry);
+    }
+
+    /** Appends the entry durably and returns it with its sequence number. */
+    public synchronized JournalEntry append(JournalEntry entry) {
+        JournalEntry sequenced = entry.sequenced(nextSequence, Instant.now());
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(sequenced);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize journal entry", e);
+        }
+        int recordSize = RECORD_OVERHEAD + payload.length;
+        ensureSpace(recordSize + 4);
+
+        int position = writeOffset;
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.put(position + RECORD_OVERHEAD, payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position + recordSize, 0);
+        buffer.putInt(position, payload.length);
+        buffer.putLong(NEXT_SEQUENCE_POS, ++nextSequence);
+        buffer.force(position, recordSize + 4);
+        buffer.force(0, HEADER_SIZE);
+
+        writeOffset = position + recordSize;
+        track(new Pending(position, writeOffset, sequenced.employeeId(), sequenced.journaledAt()));
+        appended.increment();
+        log.warn("Attendance event journaled | employeeId: {} | type: {} | sequence: {} | depth: {}",
+                sequenced.employeeId(), sequenced.type(), sequenced.sequence(), pending.size());
+        return sequenced;
+    }
+
+    /** The oldest unreplayed entries, in journal order. */
+    public synchronized List<Journaled> peek(int max) {
+        List<Journaled> entries = new ArrayList<>(Math.min(max, pending.size()));
+        for (Pending p : pending) {
+            if (entries.size() == max) {
+                break;
+            }
+            entries.add(new Journaled(decode(p.offset(), p.end() - p.offset() - RECORD_OVERHEAD), p.end()));
+        }
+        return entries;
+    }
+
+    /** Marks everything up to {@code end} (a {@link Journaled#end()}) as replayed. */
+    public synchronized void acknowledge(int end) {
+        while (!pending.isEmpty() && pending.peekFirst().end() <= end) {
+            Pending done = pending.pollFirst();
+            pendingByEmployee.computeIfPresent(done.employeeId(), (id, count) -> count > 1 ? count - 1 : null);
+        }
+        if (pending.isEmpty()) {
+            writeOffset = HEADER_SIZE;
+            buffer.putInt(HEADER_SIZE, 0);
+            readOffset = HEADER_SIZE;
+        } else {
+            readOffset = pending.peekFirst().offset();
+        }
+        buffer.putLong(READ_OFFSET_POS, readOffset);
+        buffer.force(0, HEADER_SIZE + 4);
+    }
+
+    /**
+     * Later events for an employee with journaled events on this node must be journaled too, or replay would
+     * reorder them. This only covers this node; other nodes' journals are seen through {@link JournalPeers}.
+     */
+    public synchronized boolean hasPending(String employeeId) {
+        return pendingByEmployee.containsKey(employeeId);
+    }
+
+    public synchronized Set<String> pendingEmployees() {
+        return new HashSet<>(pendingByEmployee.keySet());
+    }
+
+    public synchronized int depth() {
+        return pending.size();
+    }
+
+    public synchronized Duration lag() {
+        Pending oldest = pending.peekFirst();
+        return oldest == null ? Duration.ZERO : Duration.between(oldest.journaledAt(), Instant.now());
+    }
+
+    public synchronized long usedBytes() {
+        return writeOffset - readOffset;
+    }
+
+    /** Distinguishes this file's sequence numbers from those of other nodes and earlier files. */
+    public String getJournalId() {
+        return journalId;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void recover() {
+        if (buffer.getInt(0) != MAGIC) {
+            UUID id = UUID.randomUUID();
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putLong(READ_OFFSET_POS, HEADER_SIZE);
+            buffer.putLong(NEXT_SEQUENCE_POS, 1);
+            buffer.putLong(ID_POS, id.getMostSignificantBits());
+            buffer.putLong(ID_POS + 8, id.getLeastSignificantBits());
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.force();
+            log.info("Attendance journal created | file: {}", file.toAbsolutePath());
+        }
+        journalId = new UUID(buffer.getLong(ID_POS), buffer.getLong(ID_POS + 8)).toString();
+        readOffset = (int) buffer.getLong(READ_OFFSET_POS);
+        nextSequence = buffer.getLong(NEXT_SEQUENCE_POS);
+
+        int position = readOffset;
+        while (position + RECORD_OVERHEAD <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_OVERHEAD + length > buffer.limit()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_OVERHEAD, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                log.warn("Attendance journal truncated at torn record | offset: {}", position);
+                break;
+            }
+            JournalEntry entry;
+            try {
+                entry = decode(position, length);
+            } catch (UncheckedIOException e) {
+                log.error("Attendance journal truncated at unreadable record | offset: {}", position, e);
+                break;
+            }
+            nextSequence = Math.max(nextSequence, entry.sequence() + 1);
+            int end = position + RECORD_OVERHEAD + length;
+            track(new Pending(position, end, entry.employeeId(), entry.journaledAt()));
+            position = end;
+        }
+        writeOffset = position;
+        if (writeOffset + 4 <= buffer.limit()) {
+            buffer.putInt(writeOffset, 0);
+        }
+        log.info("Attendance journal opened | file: {} | pending: {} | bytes: {}", file.toAbsolutePath(),
+                pending.size(), usedBytes());
+    }
+
+    // Moves unreplayed records to the front, but only into space they do not overlap, so a crash mid-copy
+    // leaves the header pointing at intact originals
+    private void ensureSpace(int needed) {
+        if (writeOffset + needed <= buffer.limit()) {
+            return;
+        }
+        int used = writeOffset - readOffset;
+        if (HEADER_SIZE + used + 4 > readOffset || HEADER_SIZE + used + needed > buffer.limit()) {
+            throw new IllegalStateException("Attendance journal is full: " + file.toAbsolutePath());
+        }
+        byte[] records = new byte[used];
+        buffer.get(readOffset, records);
+        buffer.put(HEADER_SIZE, records);
+        buffer.putInt(HEADER_SIZE + used, 0);
+        buffer.force(HEADER_SIZE, used + 4);
+        buffer.putLong(READ_OFFSET_POS, HEADER_SIZE);
+        buffer.force(0, HEADER_SIZE);
+
+        int shift = readOffset - HEADER_SIZE;
+        List<Pending> moved = new ArrayList<>(pending);
+        pending.clear();
+        moved.forEach(p -> pending.addLast(new Pending(p.offset() - shift, p.end() - shift, p.employeeId(), p.journaledAt())));
+        readOffset = HEADER_SIZE;
+        writeOffset = HEADER_SIZE + used;
+        log.info("Attendance journal compacted | pending: {} | bytes: {}", pending.size(), used);
+    }
+
+    private void track(Pending p) {
+        pending.addLast(p);
+        pendingByEmployee.merge(p.employeeId(), 1, Integer::sum);
+    }
+
+    private JournalEntry decode(int offset, int length) {
+        byte[] payload = new byte[length];
+        buffer.get(offset + RECORD_OVERHEAD, payload);
+        try {
+            return objectMapper.readValue(payload, JournalEntry.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt journal entry at offset " + offset, e);
+        }
+    }
+
+    private record Pending(int offset, int end, String employeeId, Instant journaledAt) {
+    }
+
+    /** A journal entry and the offset just past it, for {@link #acknowledge(int)}. */
+    public record Journaled(JournalEntry entry, int end) {
+    }
+}
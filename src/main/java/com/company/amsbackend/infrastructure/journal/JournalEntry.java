@@ -0,0 +1,40 @@
+package com.company.amsbackend.infrastructure.journal;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A check-in or check-out accepted while Mongo was unreachable. eventTime becomes the check-in/out time on replay.
+ */
+public record JournalEntry(
+        long sequence,
+        Type type,
+        String employeeId,
+        LocalDateTime eventTime,
+        Instant journaledAt,
+        List<String> agendas,
+        String location,
+        Map<String, Boolean> agendaCompletions,
+        String remark,
+        String referenceLink
+) {
+    public enum Type {
+        CHECK_IN, CHECK_OUT
+    }
+
+    public static JournalEntry checkIn(String employeeId, LocalDateTime eventTime, List<String> agendas, String location) {
+        return new JournalEntry(0, Type.CHECK_IN, employeeId, eventTime, null, agendas, location, null, null, null);
+    }
+
+    public static JournalEntry checkOut(String employeeId, LocalDateTime eventTime, Map<String, Boolean> agendaCompletions,
+                                        String remark, String referenceLink) {
+        return new JournalEntry(0, Type.CHECK_OUT, employeeId, eventTime, null, null, null, agendaCompletions, remark, referenceLink);
+    }
+
+    JournalEntry sequenced(long sequence, Instant journaledAt) {
+        return new JournalEntry(sequence, type, employeeId, eventTime, journaledAt, agendas, location,
+                agendaCompletions, remark, referenceLink);
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.amsbackend.infrastructure.journal;
+
+import com.company.amsbackend.domain.entity.JournalNodeStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Makes each node's journal visible to the others through {@code journal_nodes}, since
+ * {@link AttendanceJournal#hasPending} only knows this node's entries.
+ * <p>
+ * A node reports the employees its journal holds every replay interval while it reaches Mongo. An employee
+ * may have journaled events elsewhere if another node reports them, or if another node has stopped reporting
+ * for {@code app.journal.peer-stale-after-ms}: it may be cut off from Mongo and journaling.
+ */
+@Component
+public class JournalPeers {
+
+    // Long enough to outlive restarts; a node gone for good stops counting as stale once its record expires
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration staleAfter;
+
+    public JournalPeers(MongoTemplate mongoTemplate,
+                        @Value("${app.journal.peer-stale-after-ms:15000}") long staleAfterMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.staleAfter = Duration.ofMillis(staleAfterMillis);
+    }
+
+    public void report(String journalId, Set<String> pendingEmployees) {
+        Instant now = Instant.now();
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(journalId)),
+                new Update()
+                        .set("pendingEmployees", pendingEmployees)
+                        .set("reportedAt", now)
+                        .set("expiresAt", now.plus(RETENTION)),
+                JournalNodeStatus.class);
+    }
+
+    /** Called on a clean shutdown with an empty journal, so the node is not taken for one cut off from Mongo. */
+    public void remove(String journalId) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(journalId)), JournalNodeStatus.class);
+    }
+
+    public boolean mayHavePending(String employeeId, String ownJournalId) {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").ne(ownJournalId).orOperator(
+                Criteria.where("pendingEmployees").is(employeeId),
+                Criteria.where("reportedAt").lt(Instant.now().minus(staleAfter)))), JournalNodeStatus.class);
+    }
+}
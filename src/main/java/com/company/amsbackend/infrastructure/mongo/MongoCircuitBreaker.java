@@ -0,0 +1,135 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for repository work that has a degraded fallback (the attendance journal).
+ * <p>
+ * Only connectivity failures count: after {@code app.mongo.circuit.failure-threshold} in a row the
+ * breaker opens and calls fail fast with {@link MongoUnavailableException} instead of each waiting out
+ * the server selection timeout. After {@code app.mongo.circuit.open-seconds} one call is let through;
+ * its success closes the breaker again. Domain errors pass through and do not count.
+ */
+@Slf4j
+@Component
+public class MongoCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+    private int consecutiveFailures;
+
+    public MongoCircuitBreaker(@Value("${app.mongo.circuit.failure-threshold:3}") int failureThreshold,
+                               @Value("${app.mongo.circuit.open-seconds:15}") long openSeconds,
+                               MeterRegistry meterRegistry) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = Duration.ofSeconds(openSeconds).toNanos();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("mongo.circuit.open", this, b -> b.state == State.CLOSED ? 0 : 1)
+                .description("1 while Mongo calls are failing fast")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        boolean probe = false;
+        if (state != State.CLOSED) {
+            if (System.nanoTime() - openedAt < openNanos || !probing.compareAndSet(false, true)) {
+                throw new MongoUnavailableException("Mongo circuit is open", null);
+            }
+            probe = true;
+            halfOpen();
+        }
+        try {
+            T result = action.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (!isUnavailable(e)) {
+                onSuccess(); // Mongo answered; the request itself was wrong
+                throw e;
+            }
+            onFailure(e);
+            throw e instanceof MongoUnavailableException ? e : new MongoUnavailableException("Mongo is unavailable", e);
+        } finally {
+            if (probe) {
+                probing.set(false);
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /** Whether the failure means the database could not be reached, as opposed to rejecting the operation. */
+    public static boolean isUnavailable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof MongoUnavailableException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof MongoSocketException
+                    || t instanceof MongoTimeoutException
+                    || t instanceof MongoNotPrimaryException
+                    || t instanceof MongoNodeIsRecoveringException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            log.info("Mongo reachable again, closing circuit");
+            transition(State.CLOSED);
+        }
+    }
+
+    private synchronized void halfOpen() {
+        transition(State.HALF_OPEN);
+    }
+
+    private synchronized void onFailure(RuntimeException e) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            log.warn("Opening Mongo circuit | consecutiveFailures: {} | error: {}", consecutiveFailures, e.getMessage());
+            openedAt = System.nanoTime();
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            state = next;
+            Counter.builder("mongo.circuit.transitions").tag("state", next.name()).register(meterRegistry).increment();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts Mongo commands issued by the current thread between {@link #begin()} and {@link #end()}.
+ * The synchronous driver runs commands on the calling thread, so a request thread sees its own commands.
+ */
+@Component
+public class MongoCommandCounter implements CommandListener {
+
+    private final ThreadLocal<Tally> current = new ThreadLocal<>();
+
+    public Tally begin() {
+        Tally tally = new Tally();
+        current.set(tally);
+        return tally;
+    }
+
+    public void end() {
+        current.remove();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Tally tally = current.get();
+        if (tally != null) {
+            tally.record(event.getCommandName());
+        }
+    }
+
+    public static final class Tally {
+        private int total;
+        private final Map<String, Integer> byCommand = new TreeMap<>();
+
+        private void record(String commandName) {
+            total++;
+            byCommand.merge(commandName, 1, Integer::sum);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public Map<String, Integer> getByCommand() {
+            return byCommand;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import com.company.amsbackend.domain.entity.Attendance;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every index the application relies on. With auto-index-creation off (prod profile) this list,
+ * not the entity annotations, is what {@link MongoIndexVerifier} checks: unique indexes before the
+ * application is ready, the others after.
+ * Keep it in step with the @CompoundIndex and @Indexed declarations on the entities.
+ */
+public final class MongoIndexManifest {
+
+    public static final List<IndexSpec> INDEXES = List.of(
+            new IndexSpec("attendances", new Document("employeeId", 1).append("checkInTime", -1), false),
+            new IndexSpec("attendances", new Document("checkInTime", -1), false),
+            new IndexSpec("employees", new Document("email", 1), true),
+            new IndexSpec("employees", new Document("employeeId", 1), true),
+            new IndexSpec("attendances", new Document("checkInKey", 1), new IndexOptions().unique(true).sparse(true)),
+            new IndexSpec("attendances", new Document("checkOutKey", 1), new IndexOptions().unique(true).sparse(true)),
+            new IndexSpec("attendances", new Document("employeeId", 1), new IndexOptions().unique(true)
+                    .name(Attendance.ACTIVE_SESSION_INDEX).partialFilterExpression(new Document("activeSession", true))),
+            new IndexSpec("attendance_buckets", new Document("employeeId", 1).append("yearMonth", 1), true),
+            new IndexSpec("attendance_events", new Document("sequence", 1), true),
+            new IndexSpec("attendance_events", new Document("employeeId", 1).append("sequence", 1), false),
+            new IndexSpec("attendance_projection", new Document("employeeId", 1).append("checkInTime", 1), false),
+            new IndexSpec("agenda_catalog", new Document("employeeId", 1).append("normalizedTitle", 1), true),
+            new IndexSpec("attendance_daily_rollups", new Document("date", 1).append("employeeId", 1), false),
+            new IndexSpec("idempotency_keys", new Document("expiresAt", 1), new IndexOptions().expireAfter(0L, TimeUnit.SECONDS)),
+            new IndexSpec("journal_nodes", new Document("expiresAt", 1), new IndexOptions().expireAfter(0L, TimeUnit.SECONDS))
+    );
+
+    private MongoIndexManifest() {
+    }
+
+    public record IndexSpec(String collection, Document keys, IndexOptions options) {
+        public IndexSpec(String collection, Document keys, boolean unique) {
+            this(collection, keys, new IndexOptions().unique(unique));
+        }
+
+        public boolean unique() {
+            return options.isUnique();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import com.mongodb.client.MongoCollection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Checks the {@link MongoIndexManifest} against the database and creates whatever is missing.
+ * <p>
+ * Unique indexes enforce invariants the code relies on (idempotency keys, one catalog entry per title,
+ * one active session per employee), so they are ensured synchronously once the beans are created, before
+ * the web server starts and the application reports ready; startup fails if one cannot be built.
+ * Non-unique indexes only affect speed and are verified after the application is ready, on a scheduler
+ * thread, so startup never waits on those builds.
+ */
+@Slf4j
+@Component
+// Created eagerly under spring.main.lazy-initialization too, or the unique indexes would not be checked before ready
+@Lazy(false)
+@RequiredArgsConstructor
+public class MongoIndexVerifier implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${app.mongo.index-verification.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            verifyUnique();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            taskScheduler.schedule(this::verify, Instant.now());
+        }
+    }
+
+    public void verifyUnique() {
+        log.info("START verifyUniqueIndexes");
+        int created = 0;
+        for (MongoIndexManifest.IndexSpec spec : specs(MongoIndexManifest.IndexSpec::unique)) {
+            try {
+                if (ensure(spec)) {
+                    created++;
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Unique index could not be ensured on " + spec.collection()
+                        + " " + spec.keys().toJson(), e);
+            }
+        }
+        log.info("END verifyUniqueIndexes | created: {}", created);
+    }
+
+    public void verify() {
+        List<MongoIndexManifest.IndexSpec> deferred = specs(spec -> !spec.unique());
+        log.info("START verifyIndexes | expected: {}", deferred.size());
+        int created = 0;
+        for (MongoIndexManifest.IndexSpec spec : deferred) {
+            try {
+                if (ensure(spec)) {
+                    created++;
+                }
+            } catch (Exception e) {
+                log.error("Index verification failed | collection: {} | keys: {} | error: {}",
+                        spec.collection(), spec.keys().toJson(), e.getMessage(), e);
+            }
+        }
+        log.info("END verifyIndexes | created: {}", created);
+    }
+
+    private boolean ensure(MongoIndexManifest.IndexSpec spec) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(spec.collection());
+        List<Document> existing = collection.listIndexes().into(new ArrayList<>());
+        // A non-unique index on the same keys does not enforce anything, so it does not count
+        boolean present = existing.stream().anyMatch(index -> spec.keys().equals(index.get("key", Document.class))
+                && spec.unique() == index.getBoolean("unique", false));
+        if (present) {
+            return false;
+        }
+        log.warn("Index missing, creating | collection: {} | keys: {} | unique: {}",
+                spec.collection(), spec.keys().toJson(), spec.unique());
+        collection.createIndex(spec.keys(), spec.options());
+        return true;
+    }
+
+    private static List<MongoIndexManifest.IndexSpec> specs(Predicate<MongoIndexManifest.IndexSpec> filter) {
+        return MongoIndexManifest.INDEXES.stream().filter(filter).toList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+/**
+ * Mongo could not be reached, or the circuit breaker is open and the call was not attempted.
+ */
+public class MongoUnavailableException extends RuntimeException {
+    public MongoUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a repository method as a reporting/analytics read that may be served by a secondary.
+ * Calls run with the reporting read preference configured in MongoConfig; everything else stays on the primary.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromSecondary {
+}
@@ -0,0 +1,28 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+/**
+ * Per-thread routing flag set while a {@link ReadFromSecondary} repository method runs.
+ * A depth counter keeps nested calls from clearing the flag early.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<int[]> SECONDARY_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private ReadRouting() {
+    }
+
+    public static void enterSecondary() {
+        SECONDARY_DEPTH.get()[0]++;
+    }
+
+    public static void exitSecondary() {
+        int[] depth = SECONDARY_DEPTH.get();
+        if (--depth[0] <= 0) {
+            SECONDARY_DEPTH.remove();
+        }
+    }
+
+    public static boolean isSecondary() {
+        return SECONDARY_DEPTH.get()[0] > 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * MongoTemplate that applies the reporting read preference to collections used while
+ * {@link ReadRouting#isSecondary()} is set, and the template's own (primary) preference otherwise.
+ */
+public class ReadRoutingMongoTemplate extends MongoTemplate {
+
+    private final ReadPreference reportingReadPreference;
+
+    public ReadRoutingMongoTemplate(MongoDatabaseFactory databaseFactory, MongoConverter converter,
+                                    ReadPreference reportingReadPreference) {
+        super(databaseFactory, converter);
+        this.reportingReadPreference = reportingReadPreference;
+    }
+
+    public ReadPreference getReportingReadPreference() {
+        return reportingReadPreference;
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        if (ReadRouting.isSecondary()) {
+            return collection.withReadPreference(reportingReadPreference);
+        }
+        return super.prepareCollection(collection);
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adds an interceptor to every repository proxy that turns on secondary routing
+ * for the duration of {@link ReadFromSecondary} method calls.
+ */
+public class ReadRoutingRepositoryProxyPostProcessor implements RepositoryProxyPostProcessor {
+
+    private final Map<Method, Boolean> routedMethods = new ConcurrentHashMap<>();
+
+    @Override
+    public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            if (!routedMethods.computeIfAbsent(invocation.getMethod(),
+                    method -> AnnotatedElementUtils.hasAnnotation(method, ReadFromSecondary.class))) {
+                return invocation.proceed();
+            }
+            ReadRouting.enterSecondary();
+            try {
+                return invocation.proceed();
+            } finally {
+                ReadRouting.exitSecondary();
+            }
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.company.amsbackend.infrastructure.mongo.converter;
+
+import com.company.amsbackend.domain.entity.Agenda;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import static com.company.amsbackend.infrastructure.mongo.converter.MongoValues.*;
+
+public final class AgendaConverters {
+
+    private AgendaConverters() {
+    }
+
+    @ReadingConverter
+    public enum Read implements Converter<Document, Agenda> {
+        INSTANCE;
+
+        @Override
+        public Agenda convert(Document source) {
+            Agenda agenda = new Agenda();
+            for (var entry : source.entrySet()) {
+                Object value = entry.getValue();
+                switch (entry.getKey()) {
+                    case "_id" -> agenda.setId(readId(value));
+                    case "title" -> agenda.setTitle(readString(value));
+                    case "complete" -> agenda.setComplete(readBoolean(value));
+                    default -> {
+                    }
+                }
+            }
+            return agenda;
+        }
+    }
+
+    @WritingConverter
+    public enum Write implements Converter<Agenda, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Agenda source) {
+            Document document = new Document();
+            if (source.getId() != null) {
+                document.put("_id", writeId(source.getId()));
+            }
+            putIfNotNull(document, "title", source.getTitle());
+            document.put("complete", source.isComplete());
+            return document;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.amsbackend.infrastructure.mongo.converter;
+
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.enums.RequestStatus;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.company.amsbackend.infrastructure.mongo.converter.MongoValues.*;
+
+public final class AttendanceConverters {
+
+    private AttendanceConverters() {
+    }
+
+    /**
+     * Only the keys present in the document are decoded, so projection queries
+     * such as findAttendanceSummaryBetween pay for the fields they asked for and nothing else.
+     */
+    @ReadingConverter
+    public enum Read implements Converter<Document, Attendance> {
+        INSTANCE;
+
+        @Override
+        public Attendance convert(Document source) {
+            Attendance attendance = new Attendance();
+            for (var entry : source.entrySet()) {
+                Object value = entry.getValue();
+                switch (entry.getKey()) {
+                    case "_id" -> attendance.setId(readId(value));
+                    case "employeeId" -> attendance.setEmployeeId(readString(value));
+                    case "checkInTime" -> attendance.setCheckInTime(readDateTime(value));
+                    case "checkOutTime" -> attendance.setCheckOutTime(readDateTime(value));
+                    case "agendaIds" -> attendance.setAgendaIds(readStringList(value));
+                    case "agendaItems" -> attendance.setAgendaItems(readAgendaItems(value));
+                    case "remark" -> attendance.setRemark(readString(value));
+                    case "referenceLink" -> attendance.setReferenceLink(readString(value));
+                    case "checkInLocation" -> attendance.setCheckInLocation(readString(value));
+                    case "activeSession" -> attendance.setActiveSession(readBoolean(value));
+                    case "minutesWorked" -> attendance.setMinutesWorked(readLong(value));
+                    case "editRequestStatus" -> attendance.setEditRequestStatus(readEnum(RequestStatus.class, value));
+                    case "editRequestId" -> attendance.setEditRequestId(readString(value));
+                    case "checkInKey" -> attendance.setCheckInKey(readString(value));
+                    case "checkOutKey" -> attendance.setCheckOutKey(readString(value));
+                    case "version" -> attendance.setVersion(readLong(value));
+                    default -> {
+                    }
+                }
+            }
+            return attendance;
+        }
+    }
+
+    @WritingConverter
+    public enum Write implements Converter<Attendance, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Attendance source) {
+            Document document = new Document();
+            if (source.getId() != null) {
+                document.put("_id", writeId(source.getId()));
+            }
+            putIfNotNull(document, "employeeId", source.getEmployeeId());
+            putIfNotNull(document, "checkInTime", writeDateTime(source.getCheckInTime()));
+            putIfNotNull(document, "checkOutTime", writeDateTime(source.getCheckOutTime()));
+            putIfNotNull(document, "agendaIds", source.getAgendaIds());
+            putIfNotNull(document, "agendaItems", writeAgendaItems(source.getAgendaItems()));
+            putIfNotNull(document, "remark", source.getRemark());
+            putIfNotNull(document, "referenceLink", source.getReferenceLink());
+            putIfNotNull(document, "checkInLocation", source.getCheckInLocation());
+            document.put("activeSession", source.isActiveSession());
+            putIfNotNull(document, "minutesWorked", source.getMinutesWorked());
+            putIfNotNull(document, "editRequestStatus",
+                    source.getEditRequestStatus() == null ? null : source.getEditRequestStatus().name());
+            putIfNotNull(document, "editRequestId", source.getEditRequestId());
+            putIfNotNull(document, "checkInKey", source.getCheckInKey());
+            putIfNotNull(document, "checkOutKey", source.getCheckOutKey());
+            putIfNotNull(document, "version", source.getVersion());
+            return document;
+        }
+    }
+
+    private static List<Attendance.AgendaItem> readAgendaItems(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return null;
+        }
+        List<Attendance.AgendaItem> items = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element instanceof Document item) {
+                items.add(new Attendance.AgendaItem(readId(item.get("catalogId")), readBoolean(item.get("complete"))));
+            }
+        }
+        return items;
+    }
+
+    private static List<Document> writeAgendaItems(List<Attendance.AgendaItem> items) {
+        if (items == null) {
+            return null;
+        }
+        List<Document> documents = new ArrayList<>(items.size());
+        for (Attendance.AgendaItem item : items) {
+            documents.add(new Document("catalogId", writeId(item.getCatalogId())).append("complete", item.isComplete()));
+        }
+        return documents;
+    }
+}
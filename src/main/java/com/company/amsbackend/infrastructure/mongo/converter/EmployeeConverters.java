@@ -0,0 +1,67 @@
+package com.company.amsbackend.infrastructure.mongo.converter;
+
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import static com.company.amsbackend.infrastructure.mongo.converter.MongoValues.*;
+
+public final class EmployeeConverters {
+
+    private EmployeeConverters() {
+    }
+
+    @ReadingConverter
+    public enum Read implements Converter<Document, Employee> {
+        INSTANCE;
+
+        @Override
+        public Employee convert(Document source) {
+            Employee employee = new Employee();
+            for (var entry : source.entrySet()) {
+                Object value = entry.getValue();
+                switch (entry.getKey()) {
+                    case "_id" -> employee.setId(readId(value));
+                    case "employeeId" -> employee.setEmployeeId(readString(value));
+                    case "name" -> employee.setName(readString(value));
+                    case "email" -> employee.setEmail(readString(value));
+                    case "contact" -> employee.setContact(readString(value));
+                    case "role" -> employee.setRole(readEnum(EmployeeRole.class, value));
+                    case "position" -> employee.setPosition(readString(value));
+                    case "address" -> employee.setAddress(readString(value));
+                    case "passwordHash" -> employee.setPasswordHash(readString(value));
+                    case "active" -> employee.setActive(readBoolean(value));
+                    default -> {
+                    }
+                }
+            }
+            return employee;
+        }
+    }
+
+    @WritingConverter
+    public enum Write implements Converter<Employee, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Employee source) {
+            Document document = new Document();
+            if (source.getId() != null) {
+                document.put("_id", writeId(source.getId()));
+            }
+            putIfNotNull(document, "employeeId", source.getEmployeeId());
+            putIfNotNull(document, "name", source.getName());
+            putIfNotNull(document, "email", source.getEmail());
+            putIfNotNull(document, "contact", source.getContact());
+            putIfNotNull(document, "role", source.getRole() == null ? null : source.getRole().name());
+            putIfNotNull(document, "position", source.getPosition());
+            putIfNotNull(document, "address", source.getAddress());
+            putIfNotNull(document, "passwordHash", source.getPasswordHash());
+            document.put("active", source.isActive());
+            return document;
+        }
+    }
+}
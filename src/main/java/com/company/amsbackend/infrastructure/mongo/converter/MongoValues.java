@@ -0,0 +1,73 @@
+package com.company.amsbackend.infrastructure.mongo.converter;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Value mappings shared by the entity converters. They match what MappingMongoConverter
+ * stores, so documents written before and after the converters were registered read the same.
+ */
+final class MongoValues {
+
+    private MongoValues() {
+    }
+
+    static Object writeId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    static String readId(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof ObjectId objectId ? objectId.toHexString() : value.toString();
+    }
+
+    static Date writeDateTime(LocalDateTime value) {
+        return value == null ? null : Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    static LocalDateTime readDateTime(Object value) {
+        return value instanceof Date date ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+
+    static Long readLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    static boolean readBoolean(Object value) {
+        return value instanceof Boolean bool && bool;
+    }
+
+    static String readString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    // MappingMongoConverter leaves null properties out of the document; so do we
+    static void putIfNotNull(Document document, String key, Object value) {
+        if (value != null) {
+            document.put(key, value);
+        }
+    }
+
+    static <E extends Enum<E>> E readEnum(Class<E> type, Object value) {
+        return value == null ? null : Enum.valueOf(type, value.toString());
+    }
+
+    static List<String> readStringList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return null;
+        }
+        List<String> result = new ArrayList<>(list.size());
+        for (Object element : list) {
+            result.add(element == null ? null : element.toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,211 @@
+package com.company.amsbackend.infrastructure.reports;
+
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Rendered timesheets of closed months on local disk, as {@code <yyyy-MM>/<employeeId>.xlsx} plus a
+ * {@code .properties} sidecar that is written last; a file without its sidecar is ignored.
+ * <p>
+ * The sidecar records the {@code attendance_events} horizon taken before rendering, a {@link #fingerprint}
+ * of the month's stored sessions and the employee name used. An entry is served only while no event for
+ * that employee touching the month has been recorded since, the fingerprint still matches and the name is
+ * unchanged, so edits approved or replayed on any node invalidate it. The fingerprint catches changes whose
+ * event was never recorded, which the event log does not guarantee.
+ */
+@Slf4j
+@Component
+public class TimesheetReportCache {
+
+    private static final String DATA_SUFFIX = ".xlsx";
+    private static final String META_SUFFIX = ".properties";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final MongoTemplate mongoTemplate;
+    private final Path directory;
+    private final boolean enabled;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+
+    public TimesheetReportCache(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                                @Value("${app.reports.cache.dir:report-cache}") String directory,
+                                @Value("${app.reports.cache.enabled:false}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.directory = Paths.get(directory);
+        this.enabled = enabled;
+        this.hits = Counter.builder("report.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("report.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.stale = Counter.builder("report.cache.requests").tag("result", "stale").register(meterRegistry);
+    }
+
+    /** Only closed months are cached; the current month changes with every check-in. */
+    public boolean isCacheable(YearMonth yearMonth) {
+        return enabled && yearMonth.isBefore(YearMonth.now());
+    }
+
+    public Optional<byte[]> get(String employeeId, String employeeName, YearMonth yearMonth) {
+        if (!isCacheable(yearMonth)) {
+            return Optional.empty();
+        }
+        Path meta = file(employeeId, yearMonth, META_SUFFIX);
+        if (!Files.exists(meta)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        try {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            long sequence = Long.parseLong(properties.getProperty("sequence"));
+            if (!String.valueOf(employeeName).equals(properties.getProperty("employeeName"))
+                    || changedSince(employeeId, yearMonth, sequence)
+                    || !fingerprint(employeeId, yearMonth).equals(properties.getProperty("fingerprint"))) {
+                stale.increment();
+                log.debug("Cached timesheet is stale | employeeId: {} | month: {}", employeeId, yearMonth);
+                return Optional.empty();
+            }
+            byte[] data = Files.readAllBytes(file(employeeId, yearMonth, DATA_SUFFIX));
+            hits.increment();
+            return Optional.of(data);
+        } catch (IOException | RuntimeException e) {
+            // A damaged entry is rendered again and overwritten
+            log.warn("Could not read cached timesheet | employeeId: {} | month: {} | error: {}", employeeId, yearMonth, e.getMessage());
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param sequence    {@code attendance_events} horizon taken before the data was loaded for rendering
+     * @param fingerprint {@link #fingerprint} taken before the data was loaded for rendering
+     */
+    public void put(String employeeId, String employeeName, YearMonth yearMonth, long sequence, String fingerprint,
+                    byte[] data) {
+        if (!isCacheable(yearMonth)) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory.resolve(yearMonth.toString()));
+            writeAtomically(file(employeeId, yearMonth, DATA_SUFFIX), out -> Files.write(out, data));
+
+            Properties properties = new Properties();
+            properties.setProperty("sequence", Long.toString(sequence));
+            properties.setProperty("fingerprint", fingerprint);
+            properties.setProperty("employeeName", String.valueOf(employeeName));
+            properties.setProperty("renderedAt", LocalDateTime.now().toString());
+            writeAtomically(file(employeeId, yearMonth, META_SUFFIX), out -> {
+                try (Writer writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+                    properties.store(writer, null);
+                }
+            });
+        } catch (IOException e) {
+            // The caller already has the rendered bytes; caching is best effort
+            log.warn("Could not cache timesheet | employeeId: {} | month: {} | error: {}", employeeId, yearMonth, e.getMessage());
+        }
+    }
+
+    /** Deletes the entries of every month before {@code oldest}. */
+    public int evictBefore(YearMonth oldest) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int evicted = 0;
+        try (Stream<Path> months = Files.list(directory)) {
+            for (Path month : (Iterable<Path>) months::iterator) {
+                YearMonth yearMonth;
+                try {
+                    yearMonth = YearMonth.parse(month.getFileName().toString());
+                } catch (RuntimeException notAMonth) {
+                    continue;
+                }
+                if (yearMonth.isBefore(oldest)) {
+                    deleteRecursively(month);
+                    evicted++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not evict cached timesheets under " + directory, e);
+        }
+        return evicted;
+    }
+
+    /**
+     * Count and version sum of the employee's stored sessions checked in during the month. Every save of a
+     * session raises its version by one, and a session saved before versioning counts as -1 until its first
+     * versioned save, so any save, insert or delete changes the result.
+     */
+    public String fingerprint(String employeeId, YearMonth yearMonth) {
+        Query query = new Query(Criteria.where("employeeId").is(employeeId)
+                .and("checkInTime").gte(yearMonth.atDay(1).atStartOfDay()).lt(yearMonth.plusMonths(1).atDay(1).atStartOfDay()));
+        query.fields().include("version");
+        List<Document> sessions = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Attendance.class));
+        long versions = 0;
+        for (Document session : sessions) {
+            Number version = session.get("version", Number.class);
+            versions += version != null ? version.longValue() : -1;
+        }
+        return sessions.size() + ":" + versions;
+    }
+
+    private boolean changedSince(String employeeId, YearMonth yearMonth, long sequence) {
+        LocalDateTime from = yearMonth.atDay(1).atStartOfDay();
+        LocalDateTime to = yearMonth.plusMonths(1).atDay(1).atStartOfDay();
+        // Walks the {employeeId, sequence} index from the cached sequence on, which is a handful of events
+        return mongoTemplate.exists(new Query(Criteria.where("employeeId").is(employeeId)
+                .and("sequence").gt(sequence)
+                .orOperator(
+                        Criteria.where("checkInTime").gte(from).lt(to),
+                        Criteria.where("previousCheckInTime").gte(from).lt(to),
+                        Criteria.where("nextCheckInTime").gte(from).lt(to))), AttendanceEvent.class);
+    }
+
+    private Path file(String employeeId, YearMonth yearMonth, String suffix) {
+        return directory.resolve(yearMonth.toString())
+                .resolve(URLEncoder.encode(employeeId, StandardCharsets.UTF_8) + suffix);
+    }
+
+    private static void writeAtomically(Path target, FileWriter writer) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + TMP_SUFFIX);
+        writer.write(tmp);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileWriter {
+        void write(Path file) throws IOException;
+    }
+}
@@ -0,0 +1,20 @@
+package com.company.amsbackend.infrastructure.repository;
+
+import com.company.amsbackend.domain.entity.AttendanceMonthBucket;
+import com.company.amsbackend.infrastructure.mongo.ReadFromSecondary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+
+public interface AttendanceBucketRepository extends MongoRepository<AttendanceMonthBucket, String> {
+    // Backs employee-facing reads, which must see a bucket rewritten after an approved edit straight away
+    @Query("{ 'employeeId': ?0, 'yearMonth': { $gte: ?1, $lte: ?2 } }")
+    List<AttendanceMonthBucket> findByEmployeeIdAndYearMonthRange(String employeeId, String fromYearMonth, String toYearMonth);
+    // Same range read for reports, which tolerate replication lag
+    @ReadFromSecondary
+    @Query("{ 'employeeId': ?0, 'yearMonth': { $gte: ?1, $lte: ?2 } }")
+    List<AttendanceMonthBucket> findReportingByEmployeeIdAndYearMonthRange(String employeeId, String fromYearMonth, String toYearMonth);
+
+    void deleteByYearMonth(String yearMonth);
+}
@@ -1,24 +1,44 @@
 package com.company.amsbackend.infrastructure.repository;
 
 import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.infrastructure.mongo.ReadFromSecondary;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AttendanceRepository extends MongoRepository<Attendance, String> {
     List<Attendance> findByEmployeeIdAndCheckInTimeBetween(String employeeId, LocalDateTime from, LocalDateTime to);
+    // Same range read for reports, which tolerate replication lag; the one above backs what employees just wrote
+    @ReadFromSecondary
+    List<Attendance> findReportingByEmployeeIdAndCheckInTimeBetween(String employeeId, LocalDateTime from, LocalDateTime to);
+    // Same range read pinned to the primary, for jobs that rewrite what they read
+    List<Attendance> findPrimaryByEmployeeIdAndCheckInTimeBetween(String employeeId, LocalDateTime from, LocalDateTime to);
     List<Attendance> findByEmployeeIdAndActiveSessionTrue(String employeeId);
+    Optional<Attendance> findFirstByEmployeeIdOrderByCheckInTimeDesc(String employeeId);
     long countByEmployeeIdAndCheckInTimeBetween(String employeeId, LocalDateTime from, LocalDateTime to);
+    @ReadFromSecondary
     List<Attendance> findByCheckInTimeBetween(LocalDateTime from, LocalDateTime to);
+    List<Attendance> findByCheckInTimeBetweenAndActiveSessionTrue(LocalDateTime from, LocalDateTime to);
     List<Attendance> findByEmployeeId(String employeeId);
+    @ReadFromSecondary
+    List<Attendance> findReportingByEmployeeId(String employeeId);
 
     // Optimized query to only fetch completed sessions for summary calculations
+    @ReadFromSecondary
     @Query("{ 'checkInTime': { $gte: ?0, $lte: ?1 }, 'checkOutTime': { $ne: null }, 'activeSession': false }")
     List<Attendance> findCompletedSessionsBetween(LocalDateTime from, LocalDateTime to);
 
     // Query for bulk attendance summary data - only fetch required fields
+    @ReadFromSecondary
     @Query(value = "{ 'checkInTime': { $gte: ?0, $lte: ?1 } }",
             fields = "{ 'employeeId': 1, 'checkInTime': 1, 'checkOutTime': 1, 'minutesWorked': 1, 'activeSession': 1 }")
     List<Attendance> findAttendanceSummaryBetween(LocalDateTime from, LocalDateTime to);
+
+    // Sessions already created or closed by one of these batch idempotency keys (primary: replays must see the latest writes)
+    @Query(value = "{ $or: [ { 'checkInKey': { $in: ?0 } }, { 'checkOutKey': { $in: ?0 } } ] }",
+            fields = "{ 'employeeId': 1, 'checkInKey': 1, 'checkOutKey': 1 }")
+    List<Attendance> findByIdempotencyKeys(Collection<String> keys);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.company.amsbackend.infrastructure.repository;
+
+import com.company.amsbackend.domain.entity.OrphanCheckOut;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface OrphanCheckOutRepository extends MongoRepository<OrphanCheckOut, String> {
+    List<OrphanCheckOut> findAllByOrderByEventTimeAsc();
+}
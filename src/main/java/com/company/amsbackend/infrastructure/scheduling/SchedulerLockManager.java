@@ -0,0 +1,137 @@
+package com.company.amsbackend.infrastructure.scheduling;
+
+import com.company.amsbackend.domain.entity.SchedulerLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Mongo-backed lease lock so a scheduled job runs on one node at a time.
+ * <p>
+ * Acquire is a single findAndModify upsert on {@code {_id: name, lockUntil <= now}}: when another node
+ * holds the lease the filter does not match and the upsert fails on the duplicate _id. While the job runs
+ * the lease is extended every third of {@code lockAtMostFor}; a crashed holder's lease simply expires.
+ * On release the lease is kept until {@code lockAtLeastFor} has passed, so nodes whose cron fires a
+ * little later (clock skew) do not run the job again.
+ */
+@Slf4j
+@Component
+public class SchedulerLockManager {
+
+    private static final String METRIC_PREFIX = "scheduler.lock.";
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+
+    public SchedulerLockManager(MongoTemplate mongoTemplate, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = hostName() + ":" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * Runs the task if the lease could be taken.
+     *
+     * @return true if the task ran on this node
+     */
+    public boolean executeWithLock(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        String holder = nodeId + ":" + UUID.randomUUID();
+        Instant acquiredAt = Instant.now();
+        if (!tryAcquire(name, holder, acquiredAt, lockAtMostFor)) {
+            counter("contended", name).increment();
+            log.info("Lock held elsewhere, skipping | lock: {} | node: {}", name, nodeId);
+            return false;
+        }
+        counter("acquired", name).increment();
+        log.info("Lock acquired | lock: {} | holder: {}", name, holder);
+
+        Duration heartbeatInterval = lockAtMostFor.dividedBy(3);
+        ScheduledFuture<?> heartbeat = taskScheduler.scheduleAtFixedRate(
+                () -> extend(name, holder, lockAtMostFor), Instant.now().plus(heartbeatInterval), heartbeatInterval);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            task.run();
+            return true;
+        } finally {
+            heartbeat.cancel(false);
+            sample.stop(Timer.builder(METRIC_PREFIX + "held").tag("lock", name).register(meterRegistry));
+            release(name, holder, acquiredAt, lockAtLeastFor);
+        }
+    }
+
+    private boolean tryAcquire(String name, String holder, Instant now, Duration lockAtMostFor) {
+        Query free = Query.query(Criteria.where("_id").is(name).and("lockUntil").lte(now));
+        Update take = new Update()
+                .set("lockUntil", now.plus(lockAtMostFor))
+                .set("lockedAt", now)
+                .set("lockedBy", holder);
+        try {
+            SchedulerLock lock = mongoTemplate.findAndModify(free, take,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLock.class);
+            return lock != null && holder.equals(lock.getLockedBy());
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void extend(String name, String holder, Duration lockAtMostFor) {
+        try {
+            boolean extended = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(name).and("lockedBy").is(holder)),
+                    Update.update("lockUntil", Instant.now().plus(lockAtMostFor)),
+                    SchedulerLock.class).getModifiedCount() > 0;
+            if (!extended) {
+                counter("lost", name).increment();
+                log.warn("Lock lease lost while job still running | lock: {} | holder: {}", name, holder);
+            }
+        } catch (Exception e) {
+            log.error("Lock heartbeat failed | lock: {} | error: {}", name, e.getMessage(), e);
+        }
+    }
+
+    private void release(String name, String holder, Instant acquiredAt, Duration lockAtLeastFor) {
+        Instant now = Instant.now();
+        Instant earliestRelease = acquiredAt.plus(lockAtLeastFor);
+        try {
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(name).and("lockedBy").is(holder)),
+                    Update.update("lockUntil", earliestRelease.isAfter(now) ? earliestRelease : now),
+                    SchedulerLock.class);
+            log.info("Lock released | lock: {} | heldMs: {}", name, Duration.between(acquiredAt, now).toMillis());
+        } catch (Exception e) {
+            // The lease still expires on its own after lockAtMostFor
+            log.error("Lock release failed | lock: {} | error: {}", name, e.getMessage(), e);
+        }
+    }
+
+    private Counter counter(String outcome, String name) {
+        return Counter.builder(METRIC_PREFIX + outcome).tag("lock", name).register(meterRegistry);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
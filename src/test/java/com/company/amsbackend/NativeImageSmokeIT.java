@@ -0,0 +1,191 @@
+package com.company.amsbackend;
+
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Smoke test for the native build (run by failsafe in the 'native' profile). The native binary and the
+ * JVM jar are each started against the embedded mongod, must serve login, check-in and the timesheet
+ * download, and report time-to-first-response and resident memory for comparison.
+ */
+class NativeImageSmokeIT {
+
+    private static final String DATABASE = "ams-native-smoke";
+    private static final String EMPLOYEE_ID = "EMP-SMOKE";
+    private static final String EMPLOYEE_EMAIL = "smoke.employee@example.com";
+    private static final String HR_EMAIL = "smoke.hr@example.com";
+    private static final String PASSWORD = "smoke-pass";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private static final List<String> REPORT = new ArrayList<>();
+
+    private static String mongoUri;
+
+    @BeforeAll
+    static void seed() {
+        mongoUri = EmbeddedMongoSupport.connectionString();
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            MongoDatabase database = client.getDatabase(DATABASE);
+            database.drop();
+            database.getCollection("employees").insertMany(List.of(
+                    employee(EMPLOYEE_ID, EMPLOYEE_EMAIL, "EMPLOYEE", hash),
+                    employee("HR-SMOKE", HR_EMAIL, "HR", hash)));
+        }
+    }
+
+    @AfterAll
+    static void printComparison() {
+        REPORT.forEach(System.out::println);
+    }
+
+    @Test
+    void nativeBinaryServesCheckInAndTimesheet() throws Exception {
+        Path binary = Paths.get(System.getProperty("native.binary", "target/AMS-Backend"));
+        assumeTrue(Files.isExecutable(binary), "native binary not built: " + binary);
+        exercise("native", List.of(binary.toAbsolutePath().toString()));
+    }
+
+    @Test
+    void jvmJarServesCheckInAndTimesheet() throws Exception {
+        String jar = System.getProperty("jvm.jar");
+        assumeTrue(jar != null && Files.exists(Paths.get(jar)), "jvm jar not built: " + jar);
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        exercise("jvm", List.of(java.toString(), "-jar", jar));
+    }
+
+    private void exercise(String label, List<String> launch) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(launch);
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.profiles.active=prod",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--spring.data.mongodb.database=" + DATABASE,
+                "--spring.mail.host=localhost"));
+
+        Path log = Paths.get("target", "smoke-" + label + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            String base = "http://localhost:" + port;
+            String employeeToken = awaitLogin(base, EMPLOYEE_EMAIL, process);
+            long firstResponseMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            HttpResponse<String> checkIn = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/attendance/check-in"))
+                            .header("Authorization", "Bearer " + employeeToken)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"employeeId\":\"" + EMPLOYEE_ID + "\",\"agendas\":[\"Smoke test\"],\"location\":\"HQ\"}"))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(checkIn.statusCode()).as(label + " check-in: " + checkIn.body()).isEqualTo(200);
+
+            String hrToken = login(base, HR_EMAIL);
+            YearMonth month = YearMonth.now();
+            HttpResponse<byte[]> timesheet = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/hr/reports/employee/"
+                                    + EMPLOYEE_ID + "/timesheet?year=" + month.getYear() + "&month=" + month.getMonthValue()))
+                            .header("Authorization", "Bearer " + hrToken)
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(timesheet.statusCode()).as(label + " timesheet").isEqualTo(200);
+            // xlsx is a zip archive
+            assertThat(timesheet.body()).startsWith((byte) 'P', (byte) 'K');
+
+            REPORT.add(String.format("%-6s | first response: %6d ms | RSS after timesheet: %6d MB",
+                    label, firstResponseMs, residentSetMb(process)));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static String awaitLogin(String base, String email, Process process) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            assertThat(process.isAlive()).as("process exited early, see target/smoke-*.log").isTrue();
+            try {
+                return login(base, email);
+            } catch (IOException notYetListening) {
+                Thread.sleep(20);
+            }
+        }
+        throw new AssertionError("no response from " + base + " within 120s");
+    }
+
+    private static String login(String base, String email) throws IOException, InterruptedException {
+        HttpResponse<String> response = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        assertThat(matcher.find()).as("login " + email + ": " + response.statusCode()).isTrue();
+        return matcher.group(1);
+    }
+
+    private static long residentSetMb(Process process) throws IOException {
+        Path status = Paths.get("/proc", String.valueOf(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+            }
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Document employee(String employeeId, String email, String role, String passwordHash) {
+        return new Document("employeeId", employeeId)
+                .append("name", employeeId)
+                .append("email", email)
+                .append("contact", "0000000000")
+                .append("role", role)
+                .append("address", "Smoke Street")
+                .append("passwordHash", passwordHash)
+                .append("active", true);
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.amsbackend;
+
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the real application with and without the prod profile against the embedded mongod. Only the
+ * prod profile is held to a budget; the failure message carries both startup times
+ * (override with -Dstartup.budget-ms=...).
+ */
+class StartupTimeTest {
+
+    private static final long BUDGET_MS = Long.getLong("startup.budget-ms", 15_000);
+
+    @Test
+    void prodProfileStartsWithinBudget() {
+        String mongoUri = EmbeddedMongoSupport.connectionString();
+
+        long defaultMs = startAndStop(mongoUri);
+        long prodMs = startAndStop(mongoUri, "prod");
+
+        assertThat(prodMs)
+                .as("prod startup in ms (default profile: %d ms)", defaultMs)
+                .isLessThan(BUDGET_MS);
+    }
+
+    private static long startAndStop(String mongoUri, String... profiles) {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AMSBackEndApplication.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "spring.data.mongodb.uri=" + mongoUri,
+                        "spring.data.mongodb.database=ams-startup-test",
+                        "spring.mail.host=localhost")
+                .run()) {
+            assertThat(context.isActive()).isTrue();
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.company.amsbackend.api.controller;
+
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.infrastructure.security.JwtUtils;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceBatchControllerTest extends EmbeddedMongoSupport {
+
+    private static final String EMPLOYEE_ID = "EMP-BATCH-API";
+    private static final String COLLEAGUE_ID = "EMP-BATCH-COLLEAGUE";
+    private static final String EMPLOYEE_EMAIL = "batch.api@example.com";
+    private static final String HR_EMAIL = "batch.hr@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @BeforeEach
+    void resetData() {
+        attendanceRepository.deleteAll();
+        if (employeeRepository.findByEmployeeId(EMPLOYEE_ID).isEmpty()) {
+            employeeRepository.save(employee(EMPLOYEE_ID, EMPLOYEE_EMAIL, EmployeeRole.EMPLOYEE));
+            employeeRepository.save(employee(COLLEAGUE_ID, "batch.colleague@example.com", EmployeeRole.EMPLOYEE));
+            employeeRepository.save(employee("HR-BATCH-API", HR_EMAIL, EmployeeRole.HR));
+        }
+    }
+
+    @Test
+    void anEmployeeCannotSubmitEventsForAColleague() throws Exception {
+        mockMvc.perform(checkIn(COLLEAGUE_ID, EMPLOYEE_EMAIL, "EMPLOYEE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("REJECTED"));
+
+        assertThat(attendanceRepository.findByEmployeeId(COLLEAGUE_ID)).isEmpty();
+    }
+
+    @Test
+    void anEmployeeCanSubmitTheirOwnEvents() throws Exception {
+        mockMvc.perform(checkIn(EMPLOYEE_ID, EMPLOYEE_EMAIL, "EMPLOYEE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1));
+
+        assertThat(attendanceRepository.findByEmployeeId(EMPLOYEE_ID)).hasSize(1);
+    }
+
+    @Test
+    void hrCanSubmitEventsForAnyEmployee() throws Exception {
+        mockMvc.perform(checkIn(COLLEAGUE_ID, HR_EMAIL, "HR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1));
+
+        assertThat(attendanceRepository.findByEmployeeId(COLLEAGUE_ID)).hasSize(1);
+    }
+
+    private MockHttpServletRequestBuilder checkIn(String employeeId, String email, String role) {
+        String body = "{\"events\":[{\"type\":\"CHECK_IN\",\"employeeId\":\"" + employeeId
+                + "\",\"clientTimestamp\":\"" + LocalDateTime.now().minusHours(1).withNano(0)
+                + "\",\"idempotencyKey\":\"" + UUID.randomUUID()
+                + "\",\"agendas\":[\"Standup\"],\"location\":\"Office\"}]}";
+        return post("/attendance/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .header("Authorization", "Bearer " + jwtUtils.generateJwtToken(email, role));
+    }
+
+    private Employee employee(String employeeId, String email, EmployeeRole role) {
+        return Employee.builder()
+                .employeeId(employeeId)
+                .name("Batch " + role)
+                .email(email)
+                .contact("9000000000")
+                .role(role)
+                .address("Test")
+                .passwordHash(passwordEncoder.encode("secret"))
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.amsbackend.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 100k rows of ~1 KB (about 100 MB if materialized) must pass through with only a bounded
+ * number of rows between the source and the response at any time.
+ */
+class FluxResponseWriterTest {
+
+    private static final int ROWS = 100_000;
+    private static final String PAYLOAD = "x".repeat(1_000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void ndjsonKeepsRowsInFlightBounded() throws Exception {
+        AtomicLong emitted = new AtomicLong();
+        AtomicLong maxRequest = new AtomicLong();
+        LineCountingStream response = new LineCountingStream();
+
+        Flux<Row> rows = Flux.range(0, ROWS)
+                .doOnRequest(n -> maxRequest.accumulateAndGet(n, Math::max))
+                .map(i -> new Row(i, PAYLOAD))
+                .doOnNext(row -> {
+                    long inFlight = emitted.incrementAndGet() - response.lines;
+                    response.maxInFlight = Math.max(response.maxInFlight, inFlight);
+                });
+
+        FluxResponseWriter.body(rows, objectMapper, false).writeTo(response);
+
+        assertThat(response.lines).isEqualTo(ROWS);
+        assertThat(maxRequest.get()).isLessThanOrEqualTo(FluxResponseWriter.PREFETCH);
+        // Prefetched rows plus what the JSON generator buffers between flushes
+        assertThat(response.maxInFlight).isLessThanOrEqualTo(2L * FluxResponseWriter.PREFETCH);
+    }
+
+    @Test
+    void jsonArrayWrapsEveryRow() throws Exception {
+        LineCountingStream response = new LineCountingStream();
+
+        FluxResponseWriter.body(Flux.range(0, ROWS).map(i -> new Row(i, "r")), objectMapper, true).writeTo(response);
+
+        assertThat(response.first).isEqualTo('[');
+        assertThat(response.last).isEqualTo(']');
+        assertThat(response.objects).isEqualTo(ROWS);
+    }
+
+    @Test
+    void acceptHeaderSelectsFormat() {
+        assertThat(FluxResponseWriter.wantsJsonArray(null)).isFalse();
+        assertThat(FluxResponseWriter.wantsJsonArray("application/x-ndjson")).isFalse();
+        assertThat(FluxResponseWriter.wantsJsonArray("application/json")).isTrue();
+        assertThat(FluxResponseWriter.wantsJsonArray("application/x-ndjson, application/json")).isFalse();
+    }
+
+    record Row(int id, String payload) {
+    }
+
+    /** Discards the bytes, keeping only line and object counts. */
+    private static final class LineCountingStream extends OutputStream {
+        long lines;
+        long objects;
+        long maxInFlight;
+        int first = -1;
+        int last = -1;
+
+        @Override
+        public void write(int b) {
+            if (first < 0) {
+                first = b;
+            }
+            last = b;
+            if (b == '\n') {
+                lines++;
+            } else if (b == '{') {
+                objects++;
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.company.amsbackend.api.controller;
+
+import com.company.amsbackend.application.service.AttendanceService;
+import com.company.amsbackend.config.MongoQueryCountFilter;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.infrastructure.repository.AgendaRepository;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.infrastructure.security.JwtUtils;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of Mongo commands each endpoint issues. Every request includes one lookup
+ * for the JWT principal. A new N+1 pattern makes these budgets fail.
+ * <p>
+ * Check-in and check-out each include one insert into {@code attendance_events}; sequences are issued
+ * on the node, so appending an event costs no counter round trip.
+ */
+@SpringBootTest(properties = "app.mongo.query-count.header-enabled=true")
+@AutoConfigureMockMvc
+class QueryBudgetTest extends EmbeddedMongoSupport {
+
+    private static final String EMPLOYEE_ID = "EMP-BUDGET";
+    private static final String EMPLOYEE_EMAIL = "budget.employee@example.com";
+    private static final String HR_EMAIL = "budget.hr@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private AgendaRepository agendaRepository;
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @BeforeEach
+    void resetData() {
+        attendanceRepository.deleteAll();
+        agendaRepository.deleteAll();
+        if (employeeRepository.findByEmployeeId(EMPLOYEE_ID).isEmpty()) {
+            employeeRepository.save(employee(EMPLOYEE_ID, EMPLOYEE_EMAIL, EmployeeRole.EMPLOYEE));
+            employeeRepository.save(employee("HR-BUDGET", HR_EMAIL, EmployeeRole.HR));
+        }
+    }
+
+    @Test
+    void checkIn() throws Exception {
+        int commands = commandCount(post("/attendance/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeId\":\"" + EMPLOYEE_ID + "\",\"agendas\":[\"a\",\"b\",\"c\"],\"location\":\"Office\"}"),
+                EMPLOYEE_EMAIL, "EMPLOYEE");
+        assertThat(commands).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void activeSession() throws Exception {
+        attendanceService.checkIn(EMPLOYEE_ID, List.of("a", "b", "c"), "Office");
+        int commands = commandCount(get("/attendance/" + EMPLOYEE_ID + "/active"), EMPLOYEE_EMAIL, "EMPLOYEE");
+        assertThat(commands).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void checkOutDoesNotScaleWithAgendaCount() throws Exception {
+        var session = attendanceService.checkIn(EMPLOYEE_ID, List.of("a", "b", "c", "d", "e", "f"), "Office");
+        StringBuilder completions = new StringBuilder();
+        session.getAgendas().forEach(agenda -> completions
+                .append(completions.isEmpty() ? "" : ",")
+                .append("{\"agendaId\":\"").append(agenda.getId()).append("\",\"complete\":true}"));
+
+        int commands = commandCount(post("/attendance/check-out")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employeeId\":\"" + EMPLOYEE_ID + "\",\"agendaCompletions\":[" + completions
+                        + "],\"remark\":\"done\",\"referenceLink\":\"https://example.com\"}"),
+                EMPLOYEE_EMAIL, "EMPLOYEE");
+        assertThat(commands).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void attendanceRecords() throws Exception {
+        seedCompletedSessions(5);
+        int commands = commandCount(get("/attendance/" + EMPLOYEE_ID + "/records"), EMPLOYEE_EMAIL, "EMPLOYEE");
+        // Includes one $in for all sessions' legacy agendas, which are read on every request
+        assertThat(commands).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void timesheetDoesNotScaleWithSessionCount() throws Exception {
+        seedCompletedSessions(10);
+        YearMonth month = YearMonth.now();
+        int commands = commandCount(get("/hr/reports/employee/" + EMPLOYEE_ID + "/timesheet")
+                        .param("year", Integer.toString(month.getYear()))
+                        .param("month", Integer.toString(month.getMonthValue())),
+                HR_EMAIL, "HR");
+        assertThat(commands).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void dailyActivity() throws Exception {
+        seedCompletedSessions(5);
+        int commands = commandCount(get("/hr/activity/daily").param("date", LocalDate.now().toString()),
+                HR_EMAIL, "HR");
+        assertThat(commands).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void employeeSummaries() throws Exception {
+        seedCompletedSessions(5);
+        int commands = commandCount(get("/hr/employees"), HR_EMAIL, "HR");
+        assertThat(commands).isLessThanOrEqualTo(3);
+    }
+
+    private int commandCount(MockHttpServletRequestBuilder request, String email, String role) throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization",
+                        "Bearer " + jwtUtils.generateJwtToken(email, role)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        String header = result.getResponse().getHeader(MongoQueryCountFilter.HEADER);
+        assertThat(header).as("query count header").isNotNull();
+        return Integer.parseInt(header);
+    }
+
+    private void seedCompletedSessions(int count) {
+        LocalDateTime start = LocalDate.now().atTime(0, 5);
+        for (int i = 0; i < count; i++) {
+            List<Agenda> agendas = agendaRepository.saveAll(List.of(
+                    Agenda.builder().title("Task " + i).complete(true).build(),
+                    Agenda.builder().title("Follow-up " + i).complete(false).build()));
+            LocalDateTime checkIn = start.plusMinutes(i * 30L);
+            attendanceRepository.save(Attendance.builder()
+                    .employeeId(EMPLOYEE_ID)
+                    .checkInTime(checkIn)
+                    .checkOutTime(checkIn.plusMinutes(20))
+                    .minutesWorked(20L)
+                    .agendaIds(agendas.stream().map(Agenda::getId).toList())
+                    .referenceLink("https://example.com")
+                    .activeSession(false)
+                    .build());
+        }
+    }
+
+    private Employee employee(String employeeId, String email, EmployeeRole role) {
+        return Employee.builder()
+                .employeeId(employeeId)
+                .name("Budget " + role)
+                .email(email)
+                .contact("9000000000")
+                .role(role)
+                .address("Test")
+                .passwordHash(passwordEncoder.encode("secret"))
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.AttendanceArchiveService;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceArchiveMonth;
+import com.company.amsbackend.domain.entity.AttendanceMonthBucket;
+import com.company.amsbackend.domain.exception.DomainException;
+import com.company.amsbackend.infrastructure.archive.AttendanceSnapshotStore;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import com.mongodb.MongoWriteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Archiving and purging are driven by the tests; the purge job's own schedule never fires during a run
+@SpringBootTest(properties = {"app.archive.enabled=true", "app.archive.horizon-months=1",
+        "app.archive.publish-delay-minutes=0", "app.archive.purge-interval-ms=86400000",
+        "app.export.employee-directory-ttl-seconds=0"})
+class AttendanceArchiveServiceImplTest extends EmbeddedMongoSupport {
+
+    private static final String EMPLOYEE_ID = "EMP-ARCHIVE";
+    private static final String OTHER_EMPLOYEE_ID = "EMP-ARCHIVE-2";
+
+    @Autowired
+    private AttendanceArchiveService attendanceArchiveService;
+    @Autowired
+    private AttendanceSnapshotStore snapshotStore;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final YearMonth month = YearMonth.now().minusMonths(4);
+
+    @BeforeEach
+    void resetData() {
+        attendanceRepository.deleteAll();
+        mongoTemplate.remove(new Query(), AttendanceArchiveMonth.class);
+        mongoTemplate.dropCollection("attendance_archive.files");
+        mongoTemplate.dropCollection("attendance_archive.chunks");
+        snapshotStore.refresh();
+    }
+
+    @Test
+    void archivingWritesAVerifiedSnapshotAndCommitsItsManifest() {
+        Attendance first = save(EMPLOYEE_ID, month.atDay(3).atTime(9, 0), "first");
+        Attendance second = save(EMPLOYEE_ID, month.atDay(4).atTime(9, 0), "second");
+        Attendance other = save(OTHER_EMPLOYEE_ID, month.atDay(3).atTime(10, 0), "other");
+
+        assertThat(attendanceArchiveService.archiveMonth(month)).isEqualTo(3);
+
+        AttendanceArchiveMonth manifest = snapshotStore.findMonth(month).orElseThrow();
+        assertThat(manifest.getStatus()).isEqualTo(AttendanceArchiveMonth.Status.COMMITTED);
+        assertThat(manifest.getSessions()).isEqualTo(3);
+        assertThat(manifest.getMembers()).extracting(AttendanceArchiveMonth.Member::getEmployeeId)
+                .containsExactlyInAnyOrder(EMPLOYEE_ID, OTHER_EMPLOYEE_ID);
+        assertThat(snapshotStore.isArchived(month)).isTrue();
+        assertThat(snapshotStore.read(EMPLOYEE_ID, month)).extracting(AttendanceMonthBucket.Session::getAttendanceId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(snapshotStore.read(OTHER_EMPLOYEE_ID, month)).extracting(AttendanceMonthBucket.Session::getAttendanceId)
+                .containsExactly(other.getId());
+        // Originals stay until the purge
+        assertThat(attendanceRepository.count()).isEqualTo(3);
+
+        assertThatThrownBy(() -> attendanceArchiveService.archiveMonth(month)).isInstanceOf(DomainException.class);
+    }
+
+    @Test
+    void purgeDeletesOnlyOriginalsUnchangedSinceTheSnapshot() {
+        Attendance unchanged = save(EMPLOYEE_ID, month.atDay(3).atTime(9, 0), "unchanged");
+        Attendance edited = save(EMPLOYEE_ID, month.atDay(4).atTime(9, 0), "before edit");
+        attendanceArchiveService.archiveMonth(month);
+
+        edited.setRemark("after edit");
+        attendanceRepository.save(edited);
+        attendanceArchiveService.purgeArchivedOriginals();
+
+        assertThat(attendanceRepository.findById(unchanged.getId())).isEmpty();
+        assertThat(attendanceRepository.findById(edited.getId())).get()
+                .extracting(Attendance::getRemark).isEqualTo("after edit");
+        AttendanceArchiveMonth manifest = snapshotStore.findMonth(month).orElseThrow();
+        assertThat(manifest.getStatus()).isEqualTo(AttendanceArchiveMonth.Status.PURGED);
+        assertThat(manifest.getKeptOriginals()).isEqualTo(1);
+    }
+
+    @Test
+    void purgedSessionsAreReadBackFromTheSnapshot() {
+        Attendance unchanged = save(EMPLOYEE_ID, month.atDay(3).atTime(9, 0), "unchanged");
+        Attendance edited = save(EMPLOYEE_ID, month.atDay(4).atTime(9, 0), "before edit");
+        attendanceArchiveService.archiveMonth(month);
+        edited.setRemark("after edit");
+        attendanceRepository.save(edited);
+        attendanceArchiveService.purgeArchivedOriginals();
+
+        assertThat(snapshotStore.read(EMPLOYEE_ID, month)).extracting(AttendanceMonthBucket.Session::getRemark)
+                .containsExactly("unchanged", "before edit");
+        // The archive returns its copies; callers let the kept live document win
+        List<Attendance> archived = attendanceArchiveService.findAttendances(EMPLOYEE_ID,
+                month.atDay(1).atStartOfDay(), month.atEndOfMonth().atTime(23, 59, 59));
+        assertThat(archived).extracting(Attendance::getId).containsExactly(unchanged.getId(), edited.getId());
+        assertThat(archived.get(0).getMinutesWorked()).isEqualTo(60L);
+    }
+
+    @Test
+    void aSecondArchiverOfTheSameMonthFailsOnInsertAndRemovesItsFile() throws Exception {
+        save(EMPLOYEE_ID, month.atDay(3).atTime(9, 0), "first");
+        List<AttendanceMonthBucket.Session> sessions = List.of(AttendanceMonthBucket.Session.of(
+                attendanceRepository.findAll().get(0), List.of()));
+
+        try (AttendanceSnapshotStore.Writer winner = snapshotStore.openWriter(month);
+             AttendanceSnapshotStore.Writer loser = snapshotStore.openWriter(month)) {
+            winner.writeEmployee(EMPLOYEE_ID, sessions);
+            loser.writeEmployee(EMPLOYEE_ID, sessions);
+            winner.commit();
+
+            assertThatThrownBy(loser::commit).isInstanceOf(MongoWriteException.class);
+        }
+
+        AttendanceArchiveMonth manifest = snapshotStore.findMonth(month).orElseThrow();
+        assertThat(mongoTemplate.getCollection("attendance_archive.files").countDocuments()).isEqualTo(1);
+        assertThat(mongoTemplate.getCollection("attendance_archive.files").find().first().getObjectId("_id").toHexString())
+                .isEqualTo(manifest.getFileId());
+        assertThat(snapshotStore.read(EMPLOYEE_ID, month)).hasSize(1);
+    }
+
+    private Attendance save(String employeeId, LocalDateTime checkIn, String remark) {
+        return attendanceRepository.save(Attendance.builder()
+                .employeeId(employeeId)
+                .checkInTime(checkIn)
+                .checkOutTime(checkIn.plusHours(1))
+                .minutesWorked(60L)
+                .remark(remark)
+                .referenceLink("https://example.com")
+                .activeSession(false)
+                .build());
+    }
+}
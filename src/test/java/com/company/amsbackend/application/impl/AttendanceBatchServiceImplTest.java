@@ -0,0 +1,133 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.AttendanceBatchEvent;
+import com.company.amsbackend.api.dto.AttendanceBatchResponse;
+import com.company.amsbackend.api.dto.AttendanceBatchResult;
+import com.company.amsbackend.application.service.AttendanceBatchService;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AttendanceBatchServiceImplTest extends EmbeddedMongoSupport {
+
+    private static final String EMPLOYEE_ID = "EMP-BATCH";
+
+    @Autowired
+    private AttendanceBatchService attendanceBatchService;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void resetData() {
+        attendanceRepository.deleteAll();
+        if (employeeRepository.findByEmployeeId(EMPLOYEE_ID).isEmpty()) {
+            employeeRepository.save(Employee.builder()
+                    .employeeId(EMPLOYEE_ID)
+                    .name("Batch Employee")
+                    .email("batch.employee@example.com")
+                    .contact("9000000000")
+                    .role(EmployeeRole.EMPLOYEE)
+                    .address("Test")
+                    .passwordHash("secret")
+                    .active(true)
+                    .build());
+        }
+    }
+
+    @Test
+    void replayingTheSameBatchIsANoOp() {
+        List<AttendanceBatchEvent> batch = List.of(
+                checkIn(now.minusHours(3)),
+                checkOut(now.minusHours(2)),
+                checkIn(now.minusHours(1)));
+
+        AttendanceBatchResponse first = attendanceBatchService.applyBatch(batch);
+        assertThat(first.getApplied()).isEqualTo(3);
+        List<Attendance> stored = sessions();
+        long events = eventCount();
+
+        AttendanceBatchResponse replay = attendanceBatchService.applyBatch(batch);
+
+        assertThat(replay.getApplied()).isZero();
+        assertThat(replay.getDuplicates()).isEqualTo(3);
+        assertThat(replay.getResults()).extracting(AttendanceBatchResult::getAttendanceId)
+                .containsExactlyElementsOf(first.getResults().stream().map(AttendanceBatchResult::getAttendanceId).toList());
+        assertThat(sessions()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(stored);
+        assertThat(eventCount()).isEqualTo(events);
+    }
+
+    @Test
+    void backdatedCheckInBeforeAStoredCheckOutIsRejected() {
+        attendanceRepository.save(Attendance.builder()
+                .employeeId(EMPLOYEE_ID)
+                .checkInTime(now.minusHours(3))
+                .checkOutTime(now.minusHours(1))
+                .minutesWorked(120L)
+                .activeSession(false)
+                .build());
+
+        AttendanceBatchResponse response = attendanceBatchService.applyBatch(List.of(
+                checkIn(now.minusHours(2)),
+                checkIn(now.minusMinutes(30))));
+
+        assertThat(response.getResults()).extracting(AttendanceBatchResult::getStatus)
+                .containsExactly(AttendanceBatchResult.Status.REJECTED, AttendanceBatchResult.Status.APPLIED);
+        assertThat(response.getResults().get(0).getMessage()).isEqualTo("Check-in is earlier than the previous check-out");
+        assertThat(sessions()).hasSize(2);
+    }
+
+    private List<Attendance> sessions() {
+        return mongoTemplate.find(new Query(Criteria.where("employeeId").is(EMPLOYEE_ID)), Attendance.class);
+    }
+
+    private long eventCount() {
+        return mongoTemplate.count(new Query(Criteria.where("employeeId").is(EMPLOYEE_ID)), AttendanceEvent.class);
+    }
+
+    private static AttendanceBatchEvent checkIn(LocalDateTime at) {
+        return AttendanceBatchEvent.builder()
+                .type(AttendanceBatchEvent.Type.CHECK_IN)
+                .employeeId(EMPLOYEE_ID)
+                .clientTimestamp(at)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .agendas(List.of("Standup"))
+                .location("HQ")
+                .build();
+    }
+
+    private static AttendanceBatchEvent checkOut(LocalDateTime at) {
+        return AttendanceBatchEvent.builder()
+                .type(AttendanceBatchEvent.Type.CHECK_OUT)
+                .employeeId(EMPLOYEE_ID)
+                .clientTimestamp(at)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .remark("done")
+                .referenceLink("https://example.com")
+                .build();
+    }
+}
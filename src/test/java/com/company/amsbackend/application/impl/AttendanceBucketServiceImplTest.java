@@ -0,0 +1,164 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.AgendaWithStatusDto;
+import com.company.amsbackend.api.dto.AttendanceRecordDto;
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceBucketService;
+import com.company.amsbackend.application.service.AttendanceService;
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.infrastructure.repository.AgendaRepository;
+import com.company.amsbackend.infrastructure.repository.AttendanceBucketRepository;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "app.attendance.buckets.enabled=true")
+class AttendanceBucketServiceImplTest extends EmbeddedMongoSupport {
+
+    private static final String EMPLOYEE_ID = "EMP-BUCKET";
+
+    @Autowired
+    private AttendanceBucketService attendanceBucketService;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private AttendanceBucketRepository attendanceBucketRepository;
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private AgendaService agendaService;
+    @Autowired
+    private AgendaRepository agendaRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final YearMonth twoMonthsAgo = YearMonth.now().minusMonths(2);
+    private final YearMonth lastMonth = YearMonth.now().minusMonths(1);
+
+    @BeforeEach
+    void resetData() {
+        attendanceRepository.deleteAll();
+        attendanceBucketRepository.deleteAll();
+    }
+
+    @Test
+    void compactedMonthsAreReadFromTheBucketAndMergedWithLiveMonths() {
+        Attendance compacted = save(twoMonthsAgo.atDay(3).atTime(9, 0), "before compaction");
+        Attendance live = save(lastMonth.atDay(3).atTime(9, 0), "live");
+        Attendance current = save(LocalDateTime.now().minusMinutes(90), "current");
+        attendanceBucketService.compactEmployeeMonth(EMPLOYEE_ID, twoMonthsAgo);
+
+        // Written behind the bucket's back: only a read served from the bucket still sees the old remark
+        compacted.setRemark("after compaction");
+        attendanceRepository.save(compacted);
+
+        List<Attendance> records = attendanceBucketService.findAttendances(EMPLOYEE_ID,
+                twoMonthsAgo.atDay(1).atStartOfDay(), LocalDateTime.now());
+
+        assertThat(records).extracting(Attendance::getId)
+                .containsExactly(compacted.getId(), live.getId(), current.getId());
+        assertThat(records).extracting(Attendance::getRemark)
+                .containsExactly("before compaction", "live", "current");
+    }
+
+    @Test
+    void anEditToACompactedMonthRewritesItsBucket() {
+        Attendance compacted = save(twoMonthsAgo.atDay(3).atTime(9, 0), "before edit");
+        attendanceBucketService.compactEmployeeMonth(EMPLOYEE_ID, twoMonthsAgo);
+
+        compacted.setRemark("after edit");
+        attendanceRepository.save(compacted);
+        attendanceBucketService.refreshIfCompacted(EMPLOYEE_ID, compacted.getCheckInTime());
+
+        assertThat(attendanceBucketService.findAttendances(EMPLOYEE_ID,
+                twoMonthsAgo.atDay(1).atStartOfDay(), twoMonthsAgo.atEndOfMonth().atTime(23, 59, 59)))
+                .extracting(Attendance::getRemark)
+                .containsExactly("after edit");
+    }
+
+    @Test
+    void anEmptyBucketHidesNothingAndReturnsNothing() {
+        attendanceBucketService.compactEmployeeMonth(EMPLOYEE_ID, twoMonthsAgo);
+        Attendance live = save(lastMonth.atDay(10).atTime(9, 0), "live");
+
+        assertThat(attendanceBucketService.findAttendances(EMPLOYEE_ID,
+                twoMonthsAgo.atDay(1).atStartOfDay(), LocalDateTime.now()))
+                .extracting(Attendance::getId)
+                .containsExactly(live.getId());
+    }
+
+    @Test
+    void recordsHaveTheSameShapeAndAgendasWhereverTheyAreStored() throws Exception {
+        if (employeeRepository.findByEmployeeId(EMPLOYEE_ID).isEmpty()) {
+            employeeRepository.save(Employee.builder()
+                    .employeeId(EMPLOYEE_ID)
+                    .name("Bucket Employee")
+                    .email("bucket.employee@example.com")
+                    .contact("9000000000")
+                    .role(EmployeeRole.EMPLOYEE)
+                    .address("Test")
+                    .passwordHash("secret")
+                    .active(true)
+                    .build());
+        }
+        List<Agenda> legacy = agendaRepository.saveAll(List.of(Agenda.builder().title("Legacy").complete(true).build()));
+        Attendance compacted = save(twoMonthsAgo.atDay(3).atTime(9, 0), "compacted");
+        compacted.setAgendaIds(List.of(legacy.get(0).getId()));
+        attendanceRepository.save(compacted);
+        Attendance live = save(lastMonth.atDay(3).atTime(9, 0), "live");
+        live.setAgendaIds(List.of(legacy.get(0).getId()));
+        attendanceRepository.save(live);
+        Attendance catalog = save(LocalDateTime.now().minusMinutes(90), "catalog");
+        catalog.setAgendaItems(List.of(new Attendance.AgendaItem(
+                agendaService.internAgendas(EMPLOYEE_ID, List.of("Catalog")).get(0).getId(), true)));
+        attendanceRepository.save(catalog);
+        attendanceBucketService.compactEmployeeMonth(EMPLOYEE_ID, twoMonthsAgo);
+
+        List<AttendanceRecordDto> records = attendanceService.getAttendanceRecords(
+                EMPLOYEE_ID, twoMonthsAgo.atDay(1), LocalDateTime.now().toLocalDate());
+
+        assertThat(records).extracting(AttendanceRecordDto::getId)
+                .containsExactly(compacted.getId(), live.getId(), catalog.getId());
+        assertThat(records).extracting(record -> record.getAgendas().get(0))
+                .extracting(AgendaWithStatusDto::getTitle, AgendaWithStatusDto::isComplete)
+                .containsExactly(tuple("Legacy", true), tuple("Legacy", true), tuple("Catalog", true));
+        List<List<String>> fields = new ArrayList<>();
+        for (AttendanceRecordDto record : records) {
+            List<String> names = new ArrayList<>();
+            objectMapper.valueToTree(record).fieldNames().forEachRemaining(names::add);
+            fields.add(names);
+        }
+        assertThat(fields).allSatisfy(names -> assertThat(names).isEqualTo(fields.get(0))
+                .doesNotContain("agendaItems", "version", "checkInKey", "checkOutKey"));
+    }
+
+    private Attendance save(LocalDateTime checkIn, String remark) {
+        return attendanceRepository.save(Attendance.builder()
+                .employeeId(EMPLOYEE_ID)
+                .checkInTime(checkIn)
+                .checkOutTime(checkIn.plusHours(1))
+                .minutesWorked(60L)
+                .remark(remark)
+                .referenceLink("https://example.com")
+                .activeSession(false)
+                .build());
+    }
+}
@@ -0,0 +1,195 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.AgendaService;
+import com.company.amsbackend.application.service.AttendanceArchiveService;
+import com.company.amsbackend.application.service.AttendanceExportService;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceArchiveMonth;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.infrastructure.archive.AttendanceSnapshotStore;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.infrastructure.security.JwtUtils;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Archiving and purging are driven by the tests; the purge job's own schedule never fires during a run
+@SpringBootTest(properties = {"app.archive.enabled=true", "app.archive.horizon-months=1",
+        "app.archive.publish-delay-minutes=0", "app.archive.purge-interval-ms=86400000",
+        "app.export.employee-directory-ttl-seconds=0"})
+@AutoConfigureMockMvc
+class AttendanceExportServiceImplTest extends EmbeddedMongoSupport {
+
+    private static final String EMPLOYEE_ID = "EMP-EXPORT";
+    private static final String EMPLOYEE_NAME = "Doe, \"Jane\"";
+    private static final String HR_EMAIL = "export.hr@example.com";
+
+    @Autowired
+    private AttendanceExportService attendanceExportService;
+    @Autowired
+    private AttendanceArchiveService attendanceArchiveService;
+    @Autowired
+    private AttendanceSnapshotStore snapshotStore;
+    @Autowired
+    private AgendaService agendaService;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final LocalDate today = LocalDate.now();
+    private final YearMonth archivedMonth = YearMonth.now().minusMonths(3);
+
+    @BeforeEach
+    void resetData() {
+        attendanceRepository.deleteAll();
+        mongoTemplate.remove(new Query(), AttendanceArchiveMonth.class);
+        mongoTemplate.dropCollection("attendance_archive.files");
+        mongoTemplate.dropCollection("attendance_archive.chunks");
+        snapshotStore.refresh();
+        if (employeeRepository.findByEmployeeId(EMPLOYEE_ID).isEmpty()) {
+            employeeRepository.save(employee(EMPLOYEE_ID, EMPLOYEE_NAME, "export.employee@example.com", EmployeeRole.EMPLOYEE));
+            employeeRepository.save(employee("HR-EXPORT", "Export HR", HR_EMAIL, EmployeeRole.HR));
+        }
+    }
+
+    @Test
+    void csvCellsWithCommasQuotesAndNewlinesAreQuoted() throws IOException {
+        save(today.atTime(9, 0), "Floor 2,\nDesk \"7\"", List.of("Review, final", "Plan"));
+
+        String csv = export(today, today, AttendanceExportService.Format.CSV);
+
+        assertThat(csv).startsWith("attendanceId,employeeId,employeeName,email,date,");
+        assertThat(csv).contains(",\"Doe, \"\"Jane\"\"\",export.employee@example.com,");
+        assertThat(csv).contains(",\"Floor 2,\nDesk \"\"7\"\"\",2,0,\"Review, final; Plan\"\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerSession() throws IOException {
+        Attendance first = save(today.atTime(9, 0), "HQ", List.of("Standup"));
+        Attendance second = save(today.atTime(14, 0), "Line one\nline two", List.of("Review"));
+
+        String ndjson = export(today, today, AttendanceExportService.Format.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode row = objectMapper.readTree(lines[1]);
+        assertThat(objectMapper.readTree(lines[0]).get("attendanceId").asText()).isEqualTo(first.getId());
+        assertThat(row.get("attendanceId").asText()).isEqualTo(second.getId());
+        assertThat(row.get("employeeName").asText()).isEqualTo(EMPLOYEE_NAME);
+        assertThat(row.get("checkInLocation").asText()).isEqualTo("Line one\nline two");
+        assertThat(row.get("agendas").get(0).get("title").asText()).isEqualTo("Review");
+    }
+
+    @Test
+    void monthsPurgedAfterArchivingAreExportedFromTheSnapshot() throws IOException {
+        Attendance archived = save(archivedMonth.atDay(10).atTime(9, 0), "Archived", List.of("Old task"));
+        Attendance live = save(today.atTime(9, 0), "Live", List.of("New task"));
+        attendanceArchiveService.archiveMonth(archivedMonth);
+        attendanceArchiveService.purgeArchivedOriginals();
+        assertThat(attendanceRepository.findById(archived.getId())).isEmpty();
+
+        String ndjson = export(archivedMonth.atDay(1), today, AttendanceExportService.Format.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("attendanceId").asText()).isEqualTo(archived.getId());
+        assertThat(objectMapper.readTree(lines[0]).get("agendas").get(0).get("title").asText()).isEqualTo("Old task");
+        assertThat(objectMapper.readTree(lines[1]).get("attendanceId").asText()).isEqualTo(live.getId());
+    }
+
+    @Test
+    void theEndpointStreamsOneCompleteGzipMember() throws Exception {
+        save(today.atTime(9, 0), "HQ", List.of("Standup"));
+
+        MvcResult started = mockMvc.perform(get("/hr/export/attendance")
+                        .param("from", today.toString())
+                        .param("to", today.toString())
+                        .param("format", "csv")
+                        .header("Authorization", "Bearer " + jwtUtils.generateJwtToken(HR_EMAIL, "HR")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(csv.split("\n")).hasSize(2);
+        assertThat(csv).endsWith(",1,0,Standup\n");
+    }
+
+    private String export(LocalDate from, LocalDate to, AttendanceExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        attendanceExportService.exportAttendance(from, to, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Attendance save(LocalDateTime checkIn, String location, List<String> agendas) {
+        return attendanceRepository.save(Attendance.builder()
+                .employeeId(EMPLOYEE_ID)
+                .checkInTime(checkIn)
+                .checkOutTime(checkIn.plusHours(1))
+                .minutesWorked(60L)
+                .checkInLocation(location)
+                .agendaItems(Attendance.AgendaItem.of(agendaService.internAgendas(EMPLOYEE_ID, agendas)))
+                .referenceLink("https://example.com")
+                .activeSession(false)
+                .build());
+    }
+
+    private Employee employee(String employeeId, String name, String email, EmployeeRole role) {
+        return Employee.builder()
+                .employeeId(employeeId)
+                .name(name)
+                .email(email)
+                .contact("9000000000")
+                .role(role)
+                .address("Test")
+                .passwordHash(passwordEncoder.encode("secret"))
+                .active(true)
+                .build();
+    }
+}
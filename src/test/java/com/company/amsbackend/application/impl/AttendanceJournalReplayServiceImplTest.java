@@ -0,0 +1,103 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.AttendanceJournalReplayService;
+import com.company.amsbackend.application.service.AttendanceService;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.entity.JournalNodeStatus;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.domain.exception.DomainException;
+import com.company.amsbackend.infrastructure.journal.JournalPeers;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.infrastructure.repository.OrphanCheckOutRepository;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A check-in journaled on another node, followed by a check-out on this one.
+ */
+@SpringBootTest
+class AttendanceJournalReplayServiceImplTest extends EmbeddedMongoSupport {
+
+    private static final String EMPLOYEE_ID = "EMP-ORPHAN";
+    private static final String OTHER_NODE = "other-node-journal";
+
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private AttendanceJournalReplayService attendanceJournalReplayService;
+    @Autowired
+    private JournalPeers journalPeers;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private OrphanCheckOutRepository orphanCheckOutRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void resetData() {
+        attendanceRepository.deleteAll();
+        orphanCheckOutRepository.deleteAll();
+        mongoTemplate.remove(new Query(), JournalNodeStatus.class);
+        if (employeeRepository.findByEmployeeId(EMPLOYEE_ID).isEmpty()) {
+            employeeRepository.save(Employee.builder()
+                    .employeeId(EMPLOYEE_ID)
+                    .name("Orphan Employee")
+                    .email("orphan.employee@example.com")
+                    .contact("9000000000")
+                    .role(EmployeeRole.EMPLOYEE)
+                    .address("Test")
+                    .passwordHash("secret")
+                    .active(true)
+                    .build());
+        }
+    }
+
+    @Test
+    void aCheckOutAheadOfAJournaledCheckInIsAppliedOnceTheCheckInIsReplayed() {
+        journalPeers.report(OTHER_NODE, Set.of(EMPLOYEE_ID));
+
+        assertThat(attendanceService.checkOut(EMPLOYEE_ID, Map.of(), "done", "https://example.com").isJournaled()).isTrue();
+        assertThat(orphanCheckOutRepository.count()).isEqualTo(1);
+        assertThat(attendanceJournalReplayService.resolveOrphanCheckOuts()).isZero();
+
+        // What the other node's replay stores
+        Attendance replayed = attendanceRepository.save(Attendance.builder()
+                .employeeId(EMPLOYEE_ID)
+                .checkInTime(LocalDateTime.now().minusHours(1))
+                .activeSession(true)
+                .build());
+
+        assertThat(attendanceJournalReplayService.resolveOrphanCheckOuts()).isEqualTo(1);
+        Attendance closed = attendanceRepository.findById(replayed.getId()).orElseThrow();
+        assertThat(closed.isActiveSession()).isFalse();
+        assertThat(closed.getCheckOutTime()).isNotNull();
+        assertThat(closed.getReferenceLink()).isEqualTo("https://example.com");
+        assertThat(orphanCheckOutRepository.count()).isZero();
+    }
+
+    @Test
+    void aCheckOutWithoutActiveSessionIsRejectedWhenNoOtherNodeMayHoldACheckIn() {
+        journalPeers.report(OTHER_NODE, Set.of());
+
+        assertThrows(DomainException.class,
+                () -> attendanceService.checkOut(EMPLOYEE_ID, Map.of(), "done", "https://example.com"));
+        assertThat(orphanCheckOutRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,173 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.api.dto.AttendanceResponseDto;
+import com.company.amsbackend.application.projection.SessionProjection;
+import com.company.amsbackend.application.service.AttendanceProjectionService;
+import com.company.amsbackend.application.service.AttendanceService;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import com.company.amsbackend.domain.entity.AttendancePresence;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.entity.ProjectionCheckpoint;
+import com.company.amsbackend.domain.enums.AttendanceEventType;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.company.amsbackend.infrastructure.repository.EmployeeRepository;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// No settle window or clock skew allowance, so events are replayable as soon as they are recorded
+@SpringBootTest(properties = {"app.projections.settle-seconds=0", "app.events.max-clock-skew-ms=0"})
+class AttendanceProjectionServiceImplTest extends EmbeddedMongoSupport {
+
+    private static final String EMPLOYEE_ID = "EMP-PROJECTION";
+    // Set to make the next insert of an open session lose to a check-in from another node
+    private static final AtomicBoolean competingCheckIn = new AtomicBoolean();
+
+    @Autowired
+    private AttendanceProjectionService attendanceProjectionService;
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void resetData() {
+        attendanceRepository.deleteAll();
+        mongoTemplate.remove(new Query(), AttendanceEvent.class);
+        mongoTemplate.remove(new Query(), ProjectionCheckpoint.class);
+        mongoTemplate.remove(new Query(), SessionProjection.COLLECTION);
+        mongoTemplate.remove(new Query(), AttendancePresence.class);
+        competingCheckIn.set(false);
+        if (employeeRepository.findByEmployeeId(EMPLOYEE_ID).isEmpty()) {
+            employeeRepository.save(Employee.builder()
+                    .employeeId(EMPLOYEE_ID)
+                    .name("Projection Employee")
+                    .email("projection.employee@example.com")
+                    .contact("9000000000")
+                    .role(EmployeeRole.EMPLOYEE)
+                    .address("Test")
+                    .passwordHash("secret")
+                    .active(true)
+                    .build());
+        }
+    }
+
+    @Test
+    void rebuildReproducesTheLiveSessionsAndIsRepeatable() {
+        AttendanceResponseDto session = attendanceService.checkIn(EMPLOYEE_ID, List.of("Standup", "Review"), "HQ");
+        attendanceService.checkOut(EMPLOYEE_ID, Map.of(session.getAgendas().get(0).getId(), true), "done", "https://example.com");
+
+        assertThat(attendanceProjectionService.rebuild()).isEqualTo(2);
+        Attendance live = attendanceRepository.findById(session.getAttendance().getId()).orElseThrow();
+        assertProjected(live);
+
+        mongoTemplate.remove(new Query(), SessionProjection.COLLECTION);
+        assertThat(attendanceProjectionService.rebuild()).isEqualTo(2);
+        assertProjected(live);
+    }
+
+    @Test
+    void catchUpAfterARebuildAppliesOnlyNewEvents() {
+        attendanceService.checkIn(EMPLOYEE_ID, List.of("Standup"), "HQ");
+        attendanceProjectionService.rebuild();
+
+        AttendanceResponseDto closed = attendanceService.checkOut(EMPLOYEE_ID, Map.of(), "done", "https://example.com");
+
+        assertThat(attendanceProjectionService.catchUp()).isEqualTo(1);
+        assertProjected(attendanceRepository.findById(closed.getAttendance().getId()).orElseThrow());
+        assertThat(attendanceProjectionService.catchUp()).isZero();
+    }
+
+    @Test
+    void eventSequencesFollowTheOrderTheyWereRecordedIn() {
+        for (int i = 0; i < 3; i++) {
+            attendanceService.checkIn(EMPLOYEE_ID, List.of("Task " + i), "HQ");
+            attendanceService.checkOut(EMPLOYEE_ID, Map.of(), "done", "https://example.com");
+        }
+
+        List<AttendanceEvent> events = mongoTemplate.find(new Query(Criteria.where("employeeId").is(EMPLOYEE_ID))
+                .with(Sort.by("sequence")), AttendanceEvent.class);
+
+        assertThat(events).hasSize(6);
+        assertThat(events).extracting(AttendanceEvent::getRecordedAt).isSorted();
+    }
+
+    @Test
+    void anAutoCheckoutWhoseRolloverLosesToACheckInStillClosesTheSession() {
+        AttendanceResponseDto session = attendanceService.checkIn(EMPLOYEE_ID, List.of("Standup"), "HQ");
+        attendanceProjectionService.catchUp();
+
+        competingCheckIn.set(true);
+        attendanceService.autoCheckoutForAll();
+        assertThat(competingCheckIn).as("rollover insert was attempted").isFalse();
+
+        Attendance closed = attendanceRepository.findById(session.getAttendance().getId()).orElseThrow();
+        assertThat(closed.isActiveSession()).isFalse();
+        List<AttendanceEvent> events = mongoTemplate.find(new Query(Criteria.where("employeeId").is(EMPLOYEE_ID))
+                .with(Sort.by("sequence")), AttendanceEvent.class);
+        assertThat(events).extracting(AttendanceEvent::getType)
+                .containsExactly(AttendanceEventType.CHECKED_IN, AttendanceEventType.CHECKED_OUT);
+
+        assertThat(attendanceProjectionService.catchUp()).isEqualTo(1);
+        assertProjected(closed);
+        AttendancePresence presence = mongoTemplate.findById(EMPLOYEE_ID, AttendancePresence.class);
+        assertThat(presence).isNotNull();
+        assertThat(presence.isPresent()).isFalse();
+        assertThat(presence.getAttendanceId()).isEqualTo(closed.getId());
+    }
+
+    private void assertProjected(Attendance live) {
+        Attendance projected = mongoTemplate.findById(live.getId(), Attendance.class, SessionProjection.COLLECTION);
+        assertThat(projected).isNotNull();
+        assertThat(projected.getCheckInTime()).isEqualTo(live.getCheckInTime());
+        assertThat(projected.getCheckOutTime()).isEqualTo(live.getCheckOutTime());
+        assertThat(projected.isActiveSession()).isEqualTo(live.isActiveSession());
+        assertThat(projected.getMinutesWorked()).isEqualTo(live.getMinutesWorked());
+        assertThat(projected.getAgendaItems()).isEqualTo(live.getAgendaItems());
+    }
+
+    @TestConfiguration
+    static class CompetingCheckInConfig {
+        @Bean
+        AbstractMongoEventListener<Attendance> competingCheckInListener(ObjectProvider<MongoTemplate> mongoTemplate) {
+            return new AbstractMongoEventListener<>() {
+                @Override
+                public void onBeforeConvert(BeforeConvertEvent<Attendance> event) {
+                    Attendance attendance = event.getSource();
+                    if (attendance.getId() == null && attendance.isActiveSession() && competingCheckIn.compareAndSet(true, false)) {
+                        mongoTemplate.getObject().insert(Attendance.builder()
+                                .employeeId(attendance.getEmployeeId())
+                                .checkInTime(LocalDateTime.now())
+                                .checkInLocation("Other node")
+                                .activeSession(true)
+                                .build());
+                    }
+                }
+            };
+        }
+    }
+}
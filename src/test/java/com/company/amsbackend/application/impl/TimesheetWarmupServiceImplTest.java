@@ -0,0 +1,84 @@
+package com.company.amsbackend.application.impl;
+
+import com.company.amsbackend.application.service.EmployeeService;
+import com.company.amsbackend.application.service.ReportService;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.infrastructure.reports.TimesheetReportCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TimesheetWarmupServiceImplTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final ReportService reportService = mock(ReportService.class);
+    private final TimesheetReportCache timesheetReportCache = mock(TimesheetReportCache.class);
+    private final YearMonth lastMonth = YearMonth.now(ZONE).minusMonths(1);
+
+    @Test
+    void rendersEveryActiveEmployeeInsideTheWindow() {
+        TimesheetWarmupServiceImpl service = service(LocalTime.now(ZONE).minusHours(1), LocalTime.now(ZONE).plusHours(1));
+
+        assertThat(service.warmUpMonth(lastMonth)).isEqualTo(2);
+        verify(reportService).generateEmployeeMonthlyTimesheet("EMP-1", lastMonth);
+        verify(reportService).generateEmployeeMonthlyTimesheet("EMP-2", lastMonth);
+        verify(reportService, never()).generateEmployeeMonthlyTimesheet(eq("EMP-INACTIVE"), any());
+    }
+
+    @Test
+    void rendersNothingOutsideTheWindow() {
+        TimesheetWarmupServiceImpl service = service(LocalTime.now(ZONE).plusHours(1), LocalTime.now(ZONE).plusHours(2));
+
+        assertThat(service.warmUpMonth(lastMonth)).isZero();
+        service.warmUpScheduled();
+
+        verify(reportService, never()).generateEmployeeMonthlyTimesheet(anyString(), any());
+        verify(timesheetReportCache, never()).evictBefore(any());
+    }
+
+    @Test
+    void aWindowEndingBeforeItStartsWrapsPastMidnight() {
+        // Ends on the clock before it starts, so it covers everything but the half hour from 30 minutes from now
+        TimesheetWarmupServiceImpl service = service(LocalTime.now(ZONE).plusHours(1), LocalTime.now(ZONE).plusMinutes(30));
+
+        service.warmUpScheduled();
+
+        verify(timesheetReportCache).evictBefore(lastMonth.minusMonths(2));
+        verify(reportService).generateEmployeeMonthlyTimesheet("EMP-1", lastMonth);
+        verify(reportService).generateEmployeeMonthlyTimesheet("EMP-2", lastMonth);
+
+        // The month is complete, so the next run inside the window renders nothing again
+        service.warmUpScheduled();
+        verify(reportService, times(2)).generateEmployeeMonthlyTimesheet(anyString(), any());
+    }
+
+    private TimesheetWarmupServiceImpl service(LocalTime windowStart, LocalTime windowEnd) {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(
+                employee("EMP-1", true), employee("EMP-2", true), employee("EMP-INACTIVE", false)));
+        TimesheetWarmupServiceImpl service = new TimesheetWarmupServiceImpl(employeeService, reportService, timesheetReportCache);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "retentionMonths", 3);
+        ReflectionTestUtils.setField(service, "windowStart", windowStart.withSecond(0).withNano(0).toString());
+        ReflectionTestUtils.setField(service, "windowEnd", windowEnd.withSecond(0).withNano(0).toString());
+        // No pause between renders and no load back-off
+        ReflectionTestUtils.setField(service, "maxCpuFraction", 1.0);
+        ReflectionTestUtils.setField(service, "maxLoadPerCpu", Double.MAX_VALUE);
+        return service;
+    }
+
+    private static Employee employee(String employeeId, boolean active) {
+        return Employee.builder().employeeId(employeeId).active(active).build();
+    }
+}
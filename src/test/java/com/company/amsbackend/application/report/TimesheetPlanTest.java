@@ -0,0 +1,89 @@
+package com.company.amsbackend.application.report;
+
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimesheetPlanTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 2);
+    // Titles, blank, two info lines, blank, header
+    private static final int FIRST_DAY_ROW = 7;
+
+    private final Employee employee = Employee.builder().employeeId("EMP-1").name("Asha").build();
+
+    @Test
+    void writesOneRowPerSessionAndMergesDayColumns() throws Exception {
+        Attendance morning = session("a1", MONTH.atDay(3).atTime(9, 0), MONTH.atDay(3).atTime(12, 30));
+        Attendance afternoon = session("a2", MONTH.atDay(3).atTime(13, 30), MONTH.atDay(3).atTime(18, 0));
+        TimesheetModel model = TimesheetModel.month(employee, MONTH,
+                Map.of(LocalDate.of(2025, 2, 3), List.of(afternoon, morning)),
+                Map.of("a1", List.of(agenda("Plan", true), agenda("Review", false))));
+
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Monthly Timesheet");
+            TimesheetModel.Summary summary = TimesheetLayouts.MONTHLY.bind(workbook).write(sheet, model);
+
+            assertThat(summary.daysPresent()).isEqualTo(1);
+            assertThat(summary.leaveDays()).isEqualTo(27);
+            assertThat(summary.hoursWorked()).isEqualTo("08:00");
+
+            // 2nd and 3rd are leave days, the 3rd has two sessions in check-in order
+            Row leave = sheet.getRow(FIRST_DAY_ROW + 1);
+            assertThat(leave.getCell(3).getStringCellValue()).isEqualTo("00:00");
+            assertThat(leave.getCell(4).getStringCellValue()).isEqualTo("00:00");
+            Row first = sheet.getRow(FIRST_DAY_ROW + 2);
+            Row second = sheet.getRow(FIRST_DAY_ROW + 3);
+            assertThat(first.getCell(3).getStringCellValue()).isEqualTo("03:30");
+            assertThat(first.getCell(4).getStringCellValue()).isEqualTo("08:00");
+            assertThat(first.getCell(5).getStringCellValue()).isEqualTo("1. Plan\n2. Review");
+            assertThat(first.getCell(6).getStringCellValue()).isEqualTo("1. Plan");
+            assertThat(second.getCell(3).getStringCellValue()).isEqualTo("04:30");
+            assertThat(sheet.getMergedRegions()).contains(
+                    new CellRangeAddress(FIRST_DAY_ROW + 2, FIRST_DAY_ROW + 3, 0, 0),
+                    new CellRangeAddress(FIRST_DAY_ROW + 2, FIRST_DAY_ROW + 3, 4, 4));
+
+            Row last = sheet.getRow(sheet.getLastRowNum());
+            assertThat(last.getCell(0).getStringCellValue()).isEqualTo("Total Hours Worked:");
+            assertThat(last.getCell(0).getCellStyle().getBorderBottom()).isEqualTo(BorderStyle.MEDIUM);
+            assertThat(first.getCell(9).getCellStyle().getBorderRight()).isEqualTo(BorderStyle.MEDIUM);
+        }
+    }
+
+    @Test
+    void sheetsOfOneWorkbookShareTheirStyles() throws Exception {
+        TimesheetModel model = TimesheetModel.month(employee, MONTH, Map.of(), Map.of());
+        try (Workbook workbook = new XSSFWorkbook()) {
+            TimesheetPlan.Writer writer = TimesheetLayouts.MONTHLY.bind(workbook);
+            writer.write(workbook.createSheet("One"), model);
+            int styles = workbook.getNumCellStyles();
+
+            writer.write(workbook.createSheet("Two"), model);
+
+            assertThat(workbook.getNumCellStyles()).isEqualTo(styles);
+        }
+    }
+
+    private static Attendance session(String id, LocalDateTime checkIn, LocalDateTime checkOut) {
+        return Attendance.builder().id(id).employeeId("EMP-1").checkInTime(checkIn).checkOutTime(checkOut).build();
+    }
+
+    private static Agenda agenda(String title, boolean complete) {
+        return Agenda.builder().title(title).complete(complete).build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.company.amsbackend.config;
+
+import com.company.amsbackend.domain.entity.IdempotencyRecord;
+import com.company.amsbackend.infrastructure.idempotency.IdempotencyStore;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyKeyFilterTest {
+
+    private static final String BODY = "{\"employeeId\":\"EMP-1\",\"agendas\":[\"Standup\"]}";
+
+    private final SimpleMongoClientDatabaseFactory databaseFactory =
+            new SimpleMongoClientDatabaseFactory(EmbeddedMongoSupport.connectionString());
+    private final MongoTemplate mongoTemplate = new MongoTemplate(databaseFactory);
+    private final IdempotencyKeyFilter filter = new IdempotencyKeyFilter(new IdempotencyStore(mongoTemplate, 24, 1, 100));
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(IdempotencyRecord.class);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        databaseFactory.destroy();
+    }
+
+    @Test
+    void aRepeatedRequestIsReplayedWithoutRunningAgain() throws Exception {
+        MockHttpServletResponse first = post(BODY, respondWith(201));
+        MockHttpServletResponse second = post(BODY, respondWith(201));
+
+        assertThat(executions).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader("Idempotent-Replayed")).isEqualTo("true");
+    }
+
+    @Test
+    void theHandlerSeesTheBufferedBody() throws Exception {
+        StringBuilder seen = new StringBuilder();
+
+        post(BODY, (request, response) -> seen.append(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        assertThat(seen.toString()).isEqualTo(BODY);
+    }
+
+    @Test
+    void aKeyReusedWithADifferentBodyIsRejected() throws Exception {
+        post(BODY, respondWith(201));
+
+        MockHttpServletResponse reused = post(BODY.replace("Standup", "Review"), respondWith(201));
+
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void serverErrorsAreNotRecorded() throws Exception {
+        MockHttpServletResponse failed = post(BODY, respondWith(500));
+        MockHttpServletResponse retried = post(BODY, respondWith(201));
+        MockHttpServletResponse replayed = post(BODY, respondWith(201));
+
+        assertThat(failed.getStatus()).isEqualTo(500);
+        assertThat(retried.getStatus()).isEqualTo(201);
+        assertThat(retried.getHeader("Idempotent-Replayed")).isNull();
+        assertThat(replayed.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(executions).hasValue(2);
+    }
+
+    private MockHttpServletResponse post(String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/attendance/check-in");
+        request.addHeader(IdempotencyKeyFilter.HEADER, "device-key-1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain respondWith(int status) {
+        return (request, response) -> {
+            int execution = executions.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(status);
+            http.setContentType("application/json");
+            http.getWriter().write("{\"execution\":" + execution + "}");
+        };
+    }
+}
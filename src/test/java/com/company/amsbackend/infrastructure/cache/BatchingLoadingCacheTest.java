@@ -0,0 +1,93 @@
+package com.company.amsbackend.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingLoadingCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Set<String>> loads = new CopyOnWriteArrayList<>();
+
+    @Test
+    void missesFromConcurrentCallersShareOneLoad() throws Exception {
+        BatchingLoadingCache<String, String> cache = cache(ids -> upperCase(ids), Duration.ofMinutes(1), Duration.ofMillis(300));
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<String, String>> first = pool.submit(() -> cache.getAll(List.of("a", "b")));
+            Thread.sleep(100); // inside the first caller's window
+            Future<Map<String, String>> second = pool.submit(() -> cache.getAll(List.of("b", "c")));
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).containsOnly(Map.entry("a", "A"), Map.entry("b", "B"));
+            assertThat(second.get(5, TimeUnit.SECONDS)).containsOnly(Map.entry("b", "B"), Map.entry("c", "C"));
+            assertThat(loads).containsExactly(Set.of("a", "b", "c"));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(cache.getAll(List.of("a", "c"))).containsOnlyKeys("a", "c");
+        assertThat(loads).hasSize(1);
+    }
+
+    @Test
+    void aWriteDuringALoadIsNotOverwrittenByIt() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BatchingLoadingCache<String, String> cache = cache(ids -> {
+            loading.countDown();
+            await(release);
+            return Map.of("a", "stale");
+        }, Duration.ofMinutes(1), Duration.ZERO);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Map<String, String>> reader = pool.submit(() -> cache.getAll(List.of("a")));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            cache.putAll(Map.of("a", "written"));
+            release.countDown();
+            reader.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(cache.getAll(List.of("a"))).containsEntry("a", "written");
+    }
+
+    @Test
+    void expiredEntriesAreLoadedAgain() {
+        BatchingLoadingCache<String, String> cache = cache(ids -> upperCase(ids), Duration.ZERO, Duration.ZERO);
+
+        cache.getAll(List.of("a"));
+        cache.getAll(List.of("a"));
+
+        assertThat(loads).hasSize(2);
+    }
+
+    private BatchingLoadingCache<String, String> cache(Function<Collection<String>, Map<String, String>> loader,
+                                                      Duration ttl, Duration window) {
+        return new BatchingLoadingCache<>(ids -> {
+            loads.add(new HashSet<>(ids));
+            return loader.apply(ids);
+        }, 100, ttl, window, Counter.builder("hits").register(registry), Counter.builder("misses").register(registry));
+    }
+
+    private static Map<String, String> upperCase(Collection<String> ids) {
+        Map<String, String> values = new HashMap<>();
+        ids.forEach(id -> values.put(id, id.toUpperCase()));
+        return values;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
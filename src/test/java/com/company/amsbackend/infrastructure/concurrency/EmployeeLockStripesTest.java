@@ -0,0 +1,84 @@
+package com.company.amsbackend.infrastructure.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmployeeLockStripesTest {
+
+    private final EmployeeLockStripes stripes = new EmployeeLockStripes(16, 3);
+
+    @Test
+    void retriesAConflictingSaveUntilItWins() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = stripes.callExclusive("EMP-1", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale version");
+            }
+            return "saved";
+        });
+
+        assertThat(result).isEqualTo("saved");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void givesUpAfterTheConfiguredAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> stripes.runExclusive("EMP-1", () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale version");
+        }));
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void serializesTransitionsForTheSameEmployee() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch firstInside = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        try {
+            Future<?> first = pool.submit(() -> stripes.runExclusive("EMP-1", () -> {
+                maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                firstInside.countDown();
+                await(releaseFirst);
+                inside.decrementAndGet();
+            }));
+            assertThat(firstInside.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = pool.submit(() -> stripes.runExclusive("EMP-1", () -> {
+                maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                inside.decrementAndGet();
+            }));
+            Thread.sleep(50);
+            assertThat(second.isDone()).isFalse();
+
+            releaseFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+            assertThat(maxInside).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
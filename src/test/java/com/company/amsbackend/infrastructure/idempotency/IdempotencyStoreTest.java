@@ -0,0 +1,124 @@
+package com.company.amsbackend.infrastructure.idempotency;
+
+import com.company.amsbackend.domain.entity.IdempotencyRecord;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Separate store instances on one database stand in for separate nodes.
+ */
+class IdempotencyStoreTest {
+
+    private static final String KEY = "key";
+    private static final String HASH = "hash-a";
+
+    private final SimpleMongoClientDatabaseFactory databaseFactory =
+            new SimpleMongoClientDatabaseFactory(EmbeddedMongoSupport.connectionString());
+    private final MongoTemplate mongoTemplate = new MongoTemplate(databaseFactory);
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(IdempotencyRecord.class);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        databaseFactory.destroy();
+    }
+
+    @Test
+    void aCompletedKeyIsReplayedOnAnyNode() throws Exception {
+        IdempotencyStore node = store(30);
+        IdempotencyStore.Claim claim = node.claim(KEY, HASH);
+        assertThat(claim.isOwner()).isTrue();
+        node.complete(KEY, response(HASH, 201, "created"));
+
+        IdempotencyStore.Claim replay = store(30).claim(KEY, HASH);
+
+        assertThat(replay.isOwner()).isFalse();
+        assertThat(replay.response().status()).isEqualTo(201);
+        assertThat(new String(replay.response().body(), StandardCharsets.UTF_8)).isEqualTo("created");
+    }
+
+    @Test
+    void aKeyReusedWithADifferentBodyIsAConflict() throws Exception {
+        IdempotencyStore node = store(30);
+        node.claim(KEY, HASH);
+
+        // Still running on the first node
+        assertThat(store(1).claim(KEY, "hash-b").isConflict()).isTrue();
+
+        node.complete(KEY, response(HASH, 201, "created"));
+        assertThat(node.claim(KEY, "hash-b").isConflict()).isTrue();
+        assertThat(store(30).claim(KEY, "hash-b").isConflict()).isTrue();
+    }
+
+    @Test
+    void aDuplicateOnTheSameNodeWaitsForTheOwnersResponse() throws Exception {
+        IdempotencyStore node = store(30);
+        assertThat(node.claim(KEY, HASH).isOwner()).isTrue();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<IdempotencyStore.Claim> duplicate = pool.submit(() -> node.claim(KEY, HASH));
+            assertThrows(TimeoutException.class, () -> duplicate.get(300, TimeUnit.MILLISECONDS));
+
+            node.complete(KEY, response(HASH, 201, "created"));
+
+            IdempotencyStore.Claim replay = duplicate.get(5, TimeUnit.SECONDS);
+            assertThat(replay.isOwner()).isFalse();
+            assertThat(replay.response().status()).isEqualTo(201);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void aClaimHeldOnAnotherNodeTimesOut() throws Exception {
+        assertThat(store(30).claim(KEY, HASH).isOwner()).isTrue();
+
+        assertThrows(TimeoutException.class, () -> store(1).claim(KEY, HASH));
+    }
+
+    @Test
+    void aClaimLeftByACrashedNodeExpires() throws Exception {
+        Instant crashedAt = Instant.now().minusSeconds(120);
+        mongoTemplate.insert(IdempotencyRecord.builder()
+                .id(KEY)
+                .requestHash(HASH)
+                .createdAt(crashedAt)
+                .expiresAt(crashedAt.plusSeconds(60))
+                .build());
+
+        assertThat(store(1).claim(KEY, HASH).isOwner()).isTrue();
+    }
+
+    @Test
+    void aReleasedClaimRunsAgain() throws Exception {
+        IdempotencyStore node = store(30);
+        node.claim(KEY, HASH);
+        node.release(KEY);
+
+        assertThat(node.claim(KEY, HASH).isOwner()).isTrue();
+        assertThat(mongoTemplate.findById(KEY, IdempotencyRecord.class).getStatus()).isNull();
+    }
+
+    private IdempotencyStore store(long waitTimeoutSeconds) {
+        return new IdempotencyStore(mongoTemplate, 24, waitTimeoutSeconds, 100);
+    }
+
+    private static IdempotencyStore.StoredResponse response(String hash, int status, String body) {
+        return new IdempotencyStore.StoredResponse(hash, status, "text/plain", body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.company.amsbackend.infrastructure.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceJournalTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 3, 4, 9, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pendingEntriesSurviveAReopenInOrder() throws IOException {
+        AttendanceJournal journal = open();
+        journal.append(JournalEntry.checkIn("EMP-1", NINE, List.of("Standup"), "HQ"));
+        journal.append(JournalEntry.checkOut("EMP-1", NINE.plusHours(8), Map.of("a1", true), "done", "https://x"));
+        String journalId = journal.getJournalId();
+        journal.close();
+
+        AttendanceJournal reopened = open();
+
+        assertThat(reopened.getJournalId()).isEqualTo(journalId);
+        assertThat(reopened.hasPending("EMP-1")).isTrue();
+        List<AttendanceJournal.Journaled> entries = reopened.peek(10);
+        assertThat(entries).extracting(j -> j.entry().type())
+                .containsExactly(JournalEntry.Type.CHECK_IN, JournalEntry.Type.CHECK_OUT);
+        assertThat(entries.get(0).entry().eventTime()).isEqualTo(NINE);
+        assertThat(entries.get(1).entry().sequence()).isGreaterThan(entries.get(0).entry().sequence());
+    }
+
+    @Test
+    void recoveryStopsAtATornRecord() throws IOException {
+        AttendanceJournal journal = open();
+        journal.append(JournalEntry.checkIn("EMP-1", NINE, List.of("Standup"), "HQ"));
+        AttendanceJournal.Journaled second = toJournaled(journal.append(JournalEntry.checkIn("EMP-2", NINE, List.of("Review"), "HQ")), journal);
+        journal.close();
+
+        // Flip a byte inside the second record's body so its checksum no longer matches
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve("attendance.journal").toFile(), "rw")) {
+            file.seek(second.end() - 2);
+            file.write(file.read() ^ 0xff);
+        }
+
+        AttendanceJournal reopened = open();
+
+        assertThat(reopened.depth()).isEqualTo(1);
+        assertThat(reopened.hasPending("EMP-2")).isFalse();
+    }
+
+    @Test
+    void acknowledgingEverythingEmptiesTheJournal() throws IOException {
+        AttendanceJournal journal = open();
+        journal.append(JournalEntry.checkIn("EMP-1", NINE, List.of("Standup"), "HQ"));
+        journal.append(JournalEntry.checkIn("EMP-2", NINE, List.of("Review"), "HQ"));
+
+        List<AttendanceJournal.Journaled> entries = journal.peek(10);
+        journal.acknowledge(entries.get(0).end());
+        assertThat(journal.hasPending("EMP-1")).isFalse();
+        assertThat(journal.depth()).isEqualTo(1);
+
+        journal.acknowledge(entries.get(1).end());
+        assertThat(journal.depth()).isZero();
+        assertThat(journal.usedBytes()).isZero();
+        journal.close();
+
+        assertThat(open().depth()).isZero();
+    }
+
+    private AttendanceJournal.Journaled toJournaled(JournalEntry entry, AttendanceJournal journal) {
+        return journal.peek(10).stream()
+                .filter(j -> j.entry().sequence() == entry.sequence())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private AttendanceJournal open() throws IOException {
+        return new AttendanceJournal(objectMapper, dir.toString(), 1, new SimpleMeterRegistry());
+    }
+}
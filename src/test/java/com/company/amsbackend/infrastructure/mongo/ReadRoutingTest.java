@@ -0,0 +1,144 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import com.company.amsbackend.config.MongoConfig;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs real repository proxies against a two-node stand-in: a "primary" collection and the
+ * collection handed out by withReadPreference, which plays the secondary. Whichever node the
+ * query reaches first is recorded, then the call is aborted.
+ */
+class ReadRoutingTest {
+
+    private static final ReadPreference REPORTING = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+
+    private final List<String> servedBy = new ArrayList<>();
+    private final List<ReadPreference> appliedPreferences = new ArrayList<>();
+
+    private AttendanceRepository attendanceRepository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoCollection<Document> primary = standInNode("primary");
+        MongoCollection<Document> secondary = standInNode("secondary");
+        doAnswer(invocation -> {
+            appliedPreferences.add(invocation.getArgument(0));
+            return secondary;
+        }).when(primary).withReadPreference(any());
+
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.getName()).thenReturn("ams-test");
+        when(database.getCodecRegistry()).thenReturn(MongoClientSettings.getDefaultCodecRegistry());
+        when(database.getCollection(anyString(), eq(Document.class))).thenReturn(primary);
+
+        MongoDatabaseFactory databaseFactory = mock(MongoDatabaseFactory.class);
+        when(databaseFactory.getMongoDatabase()).thenReturn(database);
+        when(databaseFactory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(new MongoConfig().mongoCustomConversions());
+        converter.afterPropertiesSet();
+
+        MongoRepositoryFactory repositoryFactory = new MongoRepositoryFactory(
+                new ReadRoutingMongoTemplate(databaseFactory, converter, REPORTING));
+        repositoryFactory.addRepositoryProxyPostProcessor(new ReadRoutingRepositoryProxyPostProcessor());
+        attendanceRepository = repositoryFactory.getRepository(AttendanceRepository.class);
+    }
+
+    @Test
+    void reportingDerivedQueryReadsFromSecondary() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(RuntimeException.class, () -> attendanceRepository.findByCheckInTimeBetween(now.minusDays(1), now));
+
+        assertThat(servedBy).containsExactly("secondary");
+        assertThat(appliedPreferences).containsExactly(REPORTING);
+    }
+
+    @Test
+    void reportingProjectionQueryReadsFromSecondary() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(RuntimeException.class, () -> attendanceRepository.findAttendanceSummaryBetween(now.minusDays(30), now));
+
+        assertThat(servedBy).containsExactly("secondary");
+        assertThat(appliedPreferences).containsExactly(REPORTING);
+    }
+
+    @Test
+    void activeSessionReadStaysOnPrimary() {
+        assertThrows(RuntimeException.class, () -> attendanceRepository.findByEmployeeIdAndActiveSessionTrue("EMP-1"));
+
+        assertThat(servedBy).containsExactly("primary");
+        assertThat(appliedPreferences).isEmpty();
+    }
+
+    @Test
+    void employeeRangeReadStaysOnPrimary() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(RuntimeException.class,
+                () -> attendanceRepository.findByEmployeeIdAndCheckInTimeBetween("EMP-1", now.minusDays(7), now));
+        assertThrows(RuntimeException.class, () -> attendanceRepository.findByEmployeeId("EMP-1"));
+
+        assertThat(servedBy).containsExactly("primary", "primary");
+        assertThat(appliedPreferences).isEmpty();
+    }
+
+    @Test
+    void reportingEmployeeReadsFromSecondary() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(RuntimeException.class,
+                () -> attendanceRepository.findReportingByEmployeeIdAndCheckInTimeBetween("EMP-1", now.minusDays(30), now));
+        assertThrows(RuntimeException.class, () -> attendanceRepository.findReportingByEmployeeId("EMP-1"));
+
+        assertThat(servedBy).containsExactly("secondary", "secondary");
+        assertThat(appliedPreferences).containsExactly(REPORTING, REPORTING);
+    }
+
+    @Test
+    void routingIsClearedAfterReportingCall() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(RuntimeException.class, () -> attendanceRepository.findByCheckInTimeBetween(now.minusDays(1), now));
+        assertThat(ReadRouting.isSecondary()).isFalse();
+
+        assertThrows(RuntimeException.class,
+                () -> attendanceRepository.findByCheckInTimeBetweenAndActiveSessionTrue(now.minusDays(7), now));
+        assertThat(servedBy).containsExactly("secondary", "primary");
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> standInNode(String node) {
+        MongoCollection<Document> collection = mock(MongoCollection.class, invocation -> {
+            servedBy.add(node);
+            throw new IllegalStateException("stand-in " + node + " reached by " + invocation.getMethod().getName());
+        });
+        doReturn(ReadPreference.primary()).when(collection).getReadPreference();
+        return collection;
+    }
+}
@@ -0,0 +1,165 @@
+package com.company.amsbackend.infrastructure.mongo;
+
+import com.company.amsbackend.config.MongoConfig;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceMonthBucket;
+import com.company.amsbackend.infrastructure.repository.AttendanceBucketRepository;
+import com.company.amsbackend.infrastructure.repository.AttendanceRepository;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import de.flapdoodle.embed.mongo.commands.MongodArguments;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.config.Storage;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import de.flapdoodle.reverse.transitions.Start;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repositories against a one-member replica set, so the driver attaches the read preference to
+ * each command exactly as it does against the production cluster. A single member still answers
+ * secondaryPreferred reads from its primary, so the test sees both the preference sent and the data returned.
+ */
+class ReplicaSetReadRoutingTest {
+
+    private static final String REPLICA_SET = "rs0";
+    private static final String EMPLOYEE_ID = "EMP-RS";
+    private static final ReadPreference REPORTING = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+
+    private static final List<BsonDocument> finds = new CopyOnWriteArrayList<>();
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private static MongoClient client;
+
+    private AttendanceRepository attendanceRepository;
+    private AttendanceBucketRepository attendanceBucketRepository;
+    private final String lastMonth = YearMonth.now().minusMonths(1).toString();
+
+    @BeforeAll
+    static void startReplicaSet() throws InterruptedException {
+        mongod = Mongod.instance()
+                .withMongodArguments(Start.to(MongodArguments.class)
+                        .initializedWith(MongodArguments.defaults().withReplication(Storage.of(REPLICA_SET, 16))))
+                .start(Version.Main.V7_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        String member = address.getHost() + ":" + address.getPort();
+
+        try (MongoClient direct = MongoClients.create("mongodb://" + member + "/?directConnection=true")) {
+            direct.getDatabase("admin").runCommand(new Document("replSetInitiate", new Document("_id", REPLICA_SET)
+                    .append("members", List.of(new Document("_id", 0).append("host", member)))));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (!direct.getDatabase("admin").runCommand(new Document("hello", 1)).getBoolean("isWritablePrimary", false)) {
+                assertThat(System.nanoTime()).as("replica set elected a primary").isLessThan(deadline);
+                Thread.sleep(100);
+            }
+        }
+
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://" + member + "/?replicaSet=" + REPLICA_SET))
+                .addCommandListener(new CommandListener() {
+                    @Override
+                    public void commandStarted(CommandStartedEvent event) {
+                        if ("find".equals(event.getCommandName())) {
+                            finds.add(event.getCommand().clone());
+                        }
+                    }
+                })
+                .build());
+    }
+
+    @AfterAll
+    static void stopReplicaSet() {
+        if (client != null) {
+            client.close();
+        }
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(new MongoConfig().mongoCustomConversions());
+        converter.afterPropertiesSet();
+
+        MongoRepositoryFactory repositoryFactory = new MongoRepositoryFactory(new ReadRoutingMongoTemplate(
+                new SimpleMongoClientDatabaseFactory(client, "ams-rs-test"), converter, REPORTING));
+        repositoryFactory.addRepositoryProxyPostProcessor(new ReadRoutingRepositoryProxyPostProcessor());
+        attendanceRepository = repositoryFactory.getRepository(AttendanceRepository.class);
+        attendanceBucketRepository = repositoryFactory.getRepository(AttendanceBucketRepository.class);
+
+        attendanceRepository.deleteAll();
+        LocalDateTime checkIn = LocalDateTime.now().minusHours(2);
+        attendanceRepository.save(Attendance.builder()
+                .employeeId(EMPLOYEE_ID)
+                .checkInTime(checkIn)
+                .checkOutTime(checkIn.plusHours(1))
+                .minutesWorked(60L)
+                .build());
+        attendanceBucketRepository.deleteAll();
+        attendanceBucketRepository.save(AttendanceMonthBucket.builder()
+                .id(AttendanceMonthBucket.idOf(EMPLOYEE_ID, YearMonth.parse(lastMonth)))
+                .employeeId(EMPLOYEE_ID)
+                .yearMonth(lastMonth)
+                .sessions(List.of())
+                .build());
+        finds.clear();
+    }
+
+    @Test
+    void reportingReadsAreSentWithTheReportingPreference() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(attendanceRepository.findReportingByEmployeeIdAndCheckInTimeBetween(EMPLOYEE_ID, now.minusDays(1), now))
+                .hasSize(1);
+        assertThat(attendanceRepository.findReportingByEmployeeId(EMPLOYEE_ID)).hasSize(1);
+        assertThat(attendanceBucketRepository.findReportingByEmployeeIdAndYearMonthRange(EMPLOYEE_ID, lastMonth, lastMonth))
+                .hasSize(1);
+
+        assertThat(finds).hasSize(3).allSatisfy(command -> {
+            BsonDocument readPreference = command.getDocument("$readPreference");
+            assertThat(readPreference.getString("mode").getValue()).isEqualTo("secondaryPreferred");
+            assertThat(readPreference.getNumber("maxStalenessSeconds").longValue()).isEqualTo(90);
+        });
+    }
+
+    @Test
+    void employeeReadsAreSentToThePrimary() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(attendanceRepository.findByEmployeeIdAndCheckInTimeBetween(EMPLOYEE_ID, now.minusDays(1), now)).hasSize(1);
+        assertThat(attendanceRepository.findByEmployeeId(EMPLOYEE_ID)).hasSize(1);
+        assertThat(attendanceBucketRepository.findByEmployeeIdAndYearMonthRange(EMPLOYEE_ID, lastMonth, lastMonth)).hasSize(1);
+
+        // Primary is the default and is not written on the wire; anything else would be
+        assertThat(finds).hasSize(3).allSatisfy(command -> assertThat(!command.containsKey("$readPreference")
+                || command.getDocument("$readPreference").getString("mode").getValue().equals("primary")).isTrue());
+    }
+}
@@ -0,0 +1,178 @@
+package com.company.amsbackend.infrastructure.mongo.converter;
+
+import com.company.amsbackend.domain.entity.Agenda;
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.Employee;
+import com.company.amsbackend.domain.enums.EmployeeRole;
+import com.company.amsbackend.domain.enums.RequestStatus;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes each entity through the application's MappingMongoConverter, encodes it as BSON and reads it back,
+ * so a field the hand-written converters drop or mistype fails here rather than in production data.
+ */
+@SpringBootTest
+class EntityConvertersTest extends EmbeddedMongoSupport {
+
+    private static final LocalDateTime CHECK_IN = LocalDateTime.of(2024, 3, 5, 9, 15, 30);
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    @Autowired
+    private MappingMongoConverter converter;
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Test
+    void aFullyPopulatedAttendanceRoundTrips() {
+        Attendance attendance = Attendance.builder()
+                .id(new ObjectId().toHexString())
+                .employeeId("EMP-CONVERTER")
+                .checkInTime(CHECK_IN)
+                .checkOutTime(CHECK_IN.plusHours(8))
+                .agendaIds(List.of("legacy-1", "legacy-2"))
+                .agendaItems(List.of(new Attendance.AgendaItem(new ObjectId().toHexString(), true),
+                        new Attendance.AgendaItem(new ObjectId().toHexString(), false)))
+                .remark("Done")
+                .referenceLink("https://example.com")
+                .checkInLocation("HQ")
+                .activeSession(true)
+                .minutesWorked(480L)
+                .editRequestStatus(RequestStatus.PENDING)
+                .editRequestId("edit-1")
+                .checkInKey("in-key")
+                .checkOutKey("out-key")
+                .version(7L)
+                .build();
+
+        Document stored = write(attendance);
+        assertThat(stored.get("_id")).isInstanceOf(ObjectId.class);
+        assertThat(stored).doesNotContainKey("_class");
+
+        assertThat(converter.read(Attendance.class, stored)).usingRecursiveComparison().isEqualTo(attendance);
+    }
+
+    @Test
+    void nullAttendanceFieldsStayAbsentAndReadBackAsNull() {
+        Attendance attendance = Attendance.builder()
+                .employeeId("EMP-CONVERTER")
+                .checkInTime(CHECK_IN)
+                .activeSession(false)
+                .build();
+
+        Document stored = write(attendance);
+        assertThat(stored).containsOnlyKeys("employeeId", "checkInTime", "activeSession");
+
+        Attendance read = converter.read(Attendance.class, stored);
+        assertThat(read).usingRecursiveComparison().isEqualTo(attendance);
+        assertThat(read.getVersion()).isNull();
+        assertThat(read.getAgendaItems()).isNull();
+        assertThat(read.getCheckInKey()).isNull();
+        assertThat(read.getCheckOutKey()).isNull();
+        assertThat(read.usesAgendaCatalog()).isFalse();
+    }
+
+    @Test
+    void anEmptyAgendaListIsKeptDistinctFromAnAbsentOne() {
+        Attendance attendance = Attendance.builder()
+                .employeeId("EMP-CONVERTER")
+                .checkInTime(CHECK_IN)
+                .agendaItems(List.of())
+                .version(0L)
+                .build();
+
+        Attendance read = converter.read(Attendance.class, write(attendance));
+
+        assertThat(read).usingRecursiveComparison().isEqualTo(attendance);
+        assertThat(read.getAgendaItems()).isEmpty();
+        assertThat(read.usesAgendaCatalog()).isTrue();
+        assertThat(read.getVersion()).isZero();
+    }
+
+    @Test
+    void attendancesWrittenByTheDefaultMappingReadTheSame() {
+        Attendance attendance = Attendance.builder()
+                .id(new ObjectId().toHexString())
+                .employeeId("EMP-CONVERTER")
+                .checkInTime(CHECK_IN)
+                .checkOutTime(CHECK_IN.plusHours(1))
+                .agendaItems(List.of(new Attendance.AgendaItem(new ObjectId().toHexString(), true)))
+                .minutesWorked(60L)
+                .editRequestStatus(RequestStatus.APPROVED)
+                .checkOutKey("out-key")
+                .version(3L)
+                .build();
+
+        assertThat(converter.read(Attendance.class, writeWithDefaultMapping(attendance)))
+                .usingRecursiveComparison().isEqualTo(attendance);
+    }
+
+    @Test
+    void agendasRoundTrip() {
+        Agenda agenda = new Agenda(new ObjectId().toHexString(), "Standup", true);
+        Agenda untitled = new Agenda(null, null, false);
+
+        assertThat(converter.read(Agenda.class, write(agenda))).usingRecursiveComparison().isEqualTo(agenda);
+        assertThat(write(untitled)).containsOnlyKeys("complete");
+        assertThat(converter.read(Agenda.class, write(untitled))).usingRecursiveComparison().isEqualTo(untitled);
+        assertThat(converter.read(Agenda.class, writeWithDefaultMapping(agenda))).usingRecursiveComparison().isEqualTo(agenda);
+    }
+
+    @Test
+    void employeesRoundTrip() {
+        Employee employee = Employee.builder()
+                .id(new ObjectId().toHexString())
+                .employeeId("EMP-CONVERTER")
+                .name("Converter Employee")
+                .email("converter@example.com")
+                .contact("9000000000")
+                .role(EmployeeRole.HR)
+                .position("Lead")
+                .address("Test")
+                .passwordHash("hash")
+                .active(true)
+                .build();
+        Employee withoutPosition = Employee.builder()
+                .employeeId("EMP-CONVERTER-2")
+                .name("No Position")
+                .email("no.position@example.com")
+                .build();
+
+        assertThat(converter.read(Employee.class, write(employee))).usingRecursiveComparison().isEqualTo(employee);
+        assertThat(write(withoutPosition)).containsOnlyKeys("employeeId", "name", "email", "active");
+        assertThat(converter.read(Employee.class, write(withoutPosition)))
+                .usingRecursiveComparison().isEqualTo(withoutPosition);
+        assertThat(converter.read(Employee.class, writeWithDefaultMapping(employee)))
+                .usingRecursiveComparison().isEqualTo(employee);
+    }
+
+    // Encoding to BSON and back is what the driver does, so numeric and date types come back as Mongo returns them
+    private Document write(Object entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+        return new RawBsonDocument(document, CODEC).decode(CODEC);
+    }
+
+    // What MappingMongoConverter stored before the hand-written converters were registered
+    private Document writeWithDefaultMapping(Object entity) {
+        MappingMongoConverter defaultConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        defaultConverter.afterPropertiesSet();
+        Document document = new Document();
+        defaultConverter.write(entity, document);
+        return new RawBsonDocument(document, CODEC).decode(CODEC);
+    }
+}
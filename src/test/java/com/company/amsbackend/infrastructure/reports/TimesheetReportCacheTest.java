@@ -0,0 +1,120 @@
+package com.company.amsbackend.infrastructure.reports;
+
+import com.company.amsbackend.domain.entity.Attendance;
+import com.company.amsbackend.domain.entity.AttendanceEvent;
+import com.company.amsbackend.domain.enums.AttendanceEventType;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimesheetReportCacheTest {
+
+    private static final String EMPLOYEE_ID = "EMP-REPORT-CACHE";
+    private static final String NAME = "Cached Employee";
+    private static final byte[] DATA = {1, 2, 3};
+
+    private final SimpleMongoClientDatabaseFactory databaseFactory =
+            new SimpleMongoClientDatabaseFactory(EmbeddedMongoSupport.connectionString());
+    private final MongoTemplate mongoTemplate = new MongoTemplate(databaseFactory);
+    private final YearMonth lastMonth = YearMonth.now().minusMonths(1);
+
+    @TempDir
+    Path directory;
+
+    private TimesheetReportCache cache;
+    private Attendance session;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Attendance.class);
+        mongoTemplate.dropCollection(AttendanceEvent.class);
+        cache = new TimesheetReportCache(mongoTemplate, new SimpleMeterRegistry(), directory.toString(), true);
+        session = mongoTemplate.save(Attendance.builder()
+                .employeeId(EMPLOYEE_ID)
+                .checkInTime(lastMonth.atDay(5).atTime(9, 0))
+                .checkOutTime(lastMonth.atDay(5).atTime(17, 0))
+                .minutesWorked(480L)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        databaseFactory.destroy();
+    }
+
+    @Test
+    void anUnchangedMonthIsServedFromTheCache() {
+        store(100);
+
+        assertThat(cache.get(EMPLOYEE_ID, NAME, lastMonth)).hasValue(DATA);
+    }
+
+    @Test
+    void aSessionSavedWithoutAnEventMakesTheEntryStale() {
+        store(100);
+
+        session.setMinutesWorked(240L);
+        mongoTemplate.save(session);
+
+        assertThat(cache.get(EMPLOYEE_ID, NAME, lastMonth)).isEmpty();
+    }
+
+    @Test
+    void aSessionAddedOrRemovedMakesTheEntryStale() {
+        store(100);
+        Attendance added = mongoTemplate.save(Attendance.builder()
+                .employeeId(EMPLOYEE_ID)
+                .checkInTime(lastMonth.atDay(6).atTime(9, 0))
+                .build());
+        assertThat(cache.get(EMPLOYEE_ID, NAME, lastMonth)).isEmpty();
+
+        store(100);
+        mongoTemplate.remove(added);
+        assertThat(cache.get(EMPLOYEE_ID, NAME, lastMonth)).isEmpty();
+    }
+
+    @Test
+    void anEventRecordedAfterRenderingMakesTheEntryStale() {
+        store(100);
+
+        mongoTemplate.insert(AttendanceEvent.builder()
+                .sequence(101)
+                .type(AttendanceEventType.EDIT_APPROVED)
+                .employeeId(EMPLOYEE_ID)
+                .attendanceId(session.getId())
+                .checkInTime(session.getCheckInTime())
+                .build());
+
+        assertThat(cache.get(EMPLOYEE_ID, NAME, lastMonth)).isEmpty();
+    }
+
+    @Test
+    void aRenamedEmployeeMakesTheEntryStale() {
+        store(100);
+
+        assertThat(cache.get(EMPLOYEE_ID, "Renamed Employee", lastMonth)).isEmpty();
+    }
+
+    @Test
+    void theCurrentMonthIsNeverCached() {
+        YearMonth current = YearMonth.now();
+        cache.put(EMPLOYEE_ID, NAME, current, 100, cache.fingerprint(EMPLOYEE_ID, current), DATA);
+
+        assertThat(cache.isCacheable(current)).isFalse();
+        assertThat(cache.get(EMPLOYEE_ID, NAME, current)).isEmpty();
+    }
+
+    private void store(long sequence) {
+        cache.put(EMPLOYEE_ID, NAME, lastMonth, sequence, cache.fingerprint(EMPLOYEE_ID, lastMonth), DATA);
+    }
+}
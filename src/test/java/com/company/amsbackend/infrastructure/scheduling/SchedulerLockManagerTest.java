@@ -0,0 +1,123 @@
+package com.company.amsbackend.infrastructure.scheduling;
+
+import com.company.amsbackend.domain.entity.SchedulerLock;
+import com.company.amsbackend.support.EmbeddedMongoSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two managers on one database stand in for two nodes competing for the same lease.
+ */
+class SchedulerLockManagerTest {
+
+    private static final String LOCK = "test-job";
+
+    private final SimpleMongoClientDatabaseFactory databaseFactory =
+            new SimpleMongoClientDatabaseFactory(EmbeddedMongoSupport.connectionString());
+    private final MongoTemplate mongoTemplate = new MongoTemplate(databaseFactory);
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SchedulerLockManager nodeA;
+    private SchedulerLockManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        taskScheduler.initialize();
+        mongoTemplate.dropCollection(SchedulerLock.class);
+        nodeA = new SchedulerLockManager(mongoTemplate, taskScheduler, meterRegistry);
+        nodeB = new SchedulerLockManager(mongoTemplate, taskScheduler, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        taskScheduler.shutdown();
+        databaseFactory.destroy();
+    }
+
+    @Test
+    void aHeldLeaseIsNotTakenByAnotherNode() {
+        AtomicInteger runs = new AtomicInteger();
+
+        boolean ranOnA = nodeA.executeWithLock(LOCK, Duration.ofMinutes(1), Duration.ZERO, () -> {
+            runs.incrementAndGet();
+            assertThat(nodeB.executeWithLock(LOCK, Duration.ofMinutes(1), Duration.ZERO, runs::incrementAndGet)).isFalse();
+        });
+
+        assertThat(ranOnA).isTrue();
+        assertThat(runs).hasValue(1);
+        assertThat(meterRegistry.get("scheduler.lock.contended").tag("lock", LOCK).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentAttemptsRunTheJobOnce() throws Exception {
+        int attempts = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                SchedulerLockManager node = i % 2 == 0 ? nodeA : nodeB;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return node.executeWithLock(LOCK, Duration.ofMinutes(1), Duration.ofMinutes(1), runs::incrementAndGet);
+                }));
+            }
+            start.countDown();
+
+            int ran = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    ran++;
+                }
+            }
+            assertThat(ran).isEqualTo(1);
+            assertThat(runs).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void aReleasedLeaseIsKeptForLockAtLeastFor() {
+        assertThat(nodeA.executeWithLock(LOCK, Duration.ofMinutes(1), Duration.ofMinutes(1), () -> { })).isTrue();
+
+        assertThat(nodeB.executeWithLock(LOCK, Duration.ofMinutes(1), Duration.ofMinutes(1), () -> { })).isFalse();
+    }
+
+    @Test
+    void aReleasedLeaseIsFreeOnceLockAtLeastForHasPassed() {
+        assertThat(nodeA.executeWithLock(LOCK, Duration.ofMinutes(1), Duration.ZERO, () -> { })).isTrue();
+
+        assertThat(nodeB.executeWithLock(LOCK, Duration.ofMinutes(1), Duration.ZERO, () -> { })).isTrue();
+    }
+
+    @Test
+    void aCrashedHoldersLeaseExpires() {
+        Instant crashedAt = Instant.now().minus(Duration.ofMinutes(5));
+        mongoTemplate.save(SchedulerLock.builder()
+                .name(LOCK)
+                .lockedAt(crashedAt)
+                .lockUntil(crashedAt.plus(Duration.ofMinutes(1)))
+                .lockedBy("crashed-node:1:token")
+                .build());
+
+        assertThat(nodeB.executeWithLock(LOCK, Duration.ofMinutes(1), Duration.ZERO, () -> { })).isTrue();
+        assertThat(mongoTemplate.findById(LOCK, SchedulerLock.class).getLockedBy()).isNotEqualTo("crashed-node:1:token");
+    }
+}
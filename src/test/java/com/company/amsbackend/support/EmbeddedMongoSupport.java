@@ -0,0 +1,34 @@
+package com.company.amsbackend.support;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Base class for integration tests that need a real Mongo. A single embedded mongod is started
+ * lazily and shared by every test class in the JVM.
+ */
+public abstract class EmbeddedMongoSupport {
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", EmbeddedMongoSupport::connectionString);
+        registry.add("spring.data.mongodb.database", () -> "ams-test");
+        registry.add("spring.mail.host", () -> "localhost");
+    }
+
+    public static synchronized String connectionString() {
+        if (mongod == null) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            Runtime.getRuntime().addShutdownHook(new Thread(mongod::close));
+        }
+        ServerAddress address = mongod.current().getServerAddress();
+        return "mongodb://" + address.getHost() + ":" + address.getPort() + "/ams-test";
+    }
+}